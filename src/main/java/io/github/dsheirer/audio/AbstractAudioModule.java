@@ -41,6 +41,7 @@ public abstract class AbstractAudioModule extends Module implements IAudioSegmen
     private Listener<AudioSegment> mAudioSegmentListener;
     protected MutableIdentifierCollection mIdentifierCollection;
     private Broadcaster<IdentifierUpdateNotification> mIdentifierUpdateNotificationBroadcaster = new Broadcaster<>();
+    private final Listener<IdentifierUpdateNotification> mIdentifierUpdateListener = this::receiveIdentifierUpdate;
     private AliasList mAliasList;
     private AudioSegment mAudioSegment;
     private int mAudioSampleCount = 0;
@@ -82,6 +83,15 @@ public abstract class AbstractAudioModule extends Module implements IAudioSegmen
      * Closes the current audio segment
      */
     protected void closeAudioSegment()
+    {
+        closeCurrentAudioSegment();
+    }
+
+    /**
+     * Closes the current audio segment without invoking any subclass end of call processing.  Used when the segment
+     * reaches the maximum length and is continued in a new linked segment.
+     */
+    private void closeCurrentAudioSegment()
     {
         synchronized(this)
         {
@@ -143,7 +153,7 @@ public abstract class AbstractAudioModule extends Module implements IAudioSegmen
         if(mAudioSampleCount >= mMaxSegmentAudioSampleLength)
         {
             AudioSegment previous = getAudioSegment();
-            closeAudioSegment();
+            closeCurrentAudioSegment();
             audioSegment = getAudioSegment();
             audioSegment.linkTo(previous);
         }
@@ -186,7 +196,17 @@ public abstract class AbstractAudioModule extends Module implements IAudioSegmen
     @Override
     public Listener<IdentifierUpdateNotification> getIdentifierUpdateListener()
     {
-        return mIdentifierUpdateNotificationBroadcaster;
+        return mIdentifierUpdateListener;
+    }
+
+    /**
+     * Applies an identifier update to the identifier collection and to the current audio segment.  Subclasses that
+     * produce audio asynchronously can override this method to apply the update in order with the produced audio.
+     * @param notification to apply
+     */
+    protected void receiveIdentifierUpdate(IdentifierUpdateNotification notification)
+    {
+        mIdentifierUpdateNotificationBroadcaster.receive(notification);
     }
 
     /**
@@ -24,13 +24,11 @@ import io.github.dsheirer.audio.convert.InputAudioFormat;
 import io.github.dsheirer.audio.convert.MP3FrameTools;
 import io.github.dsheirer.audio.convert.MP3Setting;
 import io.github.dsheirer.identifier.IdentifierCollection;
-import io.github.dsheirer.util.ThreadPool;
+import io.github.dsheirer.util.IOProcessor;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Queue;
 import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,7 +38,7 @@ public abstract class AudioStreamingBroadcaster<T extends BroadcastConfiguration
     private final static Logger mLog = LoggerFactory.getLogger(AudioStreamingBroadcaster.class);
 
     public static final int PROCESSOR_RUN_INTERVAL_MS = 1000;
-    private ScheduledFuture<?> mRecordingQueueProcessorFuture;
+    private IOProcessor mRecordingQueueIOProcessor;
 
     private RecordingQueueProcessor mRecordingQueueProcessor = new RecordingQueueProcessor();
     private Queue<AudioRecording> mAudioRecordingQueue = new LinkedTransferQueue<>();
@@ -129,10 +127,13 @@ public abstract class AudioStreamingBroadcaster<T extends BroadcastConfiguration
     {
         if(mStreaming.compareAndSet(false, true))
         {
-            if(mRecordingQueueProcessorFuture == null)
+            if(mRecordingQueueIOProcessor == null)
             {
-                mRecordingQueueProcessorFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(mRecordingQueueProcessor,
-                    0, PROCESSOR_RUN_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                //Streams audio at a fixed rate on an I/O thread so that blocking socket writes don't tie up the
+                //shared scheduled thread pool
+                mRecordingQueueIOProcessor = new IOProcessor("sdrtrunk stream [" + getStreamName() + "]",
+                    mRecordingQueueProcessor, PROCESSOR_RUN_INTERVAL_MS, true);
+                mRecordingQueueIOProcessor.start();
             }
         }
     }
@@ -144,10 +145,10 @@ public abstract class AudioStreamingBroadcaster<T extends BroadcastConfiguration
     {
         if(mStreaming.compareAndSet(true, false))
         {
-            if(mRecordingQueueProcessorFuture != null)
+            if(mRecordingQueueIOProcessor != null)
             {
-                mRecordingQueueProcessorFuture.cancel(true);
-                mRecordingQueueProcessorFuture = null;
+                mRecordingQueueIOProcessor.stop();
+                mRecordingQueueIOProcessor = null;
             }
 
             disconnect();
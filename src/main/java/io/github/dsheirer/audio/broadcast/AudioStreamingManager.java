@@ -33,7 +33,7 @@ import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.AudioSegmentRecorder;
 import io.github.dsheirer.record.RecordFormat;
 import io.github.dsheirer.sample.Listener;
-import io.github.dsheirer.util.ThreadPool;
+import io.github.dsheirer.util.IOProcessor;
 import io.github.dsheirer.util.TimeStamp;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -43,8 +43,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import javafx.beans.value.ChangeListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,7 +59,13 @@ public class AudioStreamingManager implements Listener<AudioSegment>
     private Listener<AudioRecording> mAudioRecordingListener;
     private BroadcastFormat mBroadcastFormat;
     private UserPreferences mUserPreferences;
-    private ScheduledFuture<?> mAudioSegmentProcessorFuture;
+    private IOProcessor mAudioSegmentProcessor;
+    private ChangeListener<Boolean> mCompleteListener = (observable, oldValue, newValue) -> {
+        if(newValue)
+        {
+            signal();
+        }
+    };
     private int mNextRecordingNumber = 1;
 
     /**
@@ -83,6 +88,26 @@ public class AudioStreamingManager implements Listener<AudioSegment>
     public void receive(AudioSegment audioSegment)
     {
         mNewAudioSegments.add(audioSegment);
+        audioSegment.completeProperty().addListener(mCompleteListener);
+
+        //Catch segments that completed before the listener was registered
+        if(audioSegment.completeProperty().get())
+        {
+            signal();
+        }
+    }
+
+    /**
+     * Signals the audio segment processor to process completed audio segments.
+     */
+    private void signal()
+    {
+        IOProcessor processor = mAudioSegmentProcessor;
+
+        if(processor != null)
+        {
+            processor.signal();
+        }
     }
 
     /**
@@ -90,10 +115,13 @@ public class AudioStreamingManager implements Listener<AudioSegment>
      */
     public void start()
     {
-        if(mAudioSegmentProcessorFuture == null)
+        if(mAudioSegmentProcessor == null)
         {
-            mAudioSegmentProcessorFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(new AudioSegmentProcessor(),
-                0, 250, TimeUnit.MILLISECONDS);
+            //Completed audio segments are handed off to the processor as they complete.  The interval processing
+            //covers duplicate flag changes.
+            mAudioSegmentProcessor = new IOProcessor("sdrtrunk audio streaming manager", new AudioSegmentProcessor(),
+                250, false);
+            mAudioSegmentProcessor.start();
         }
     }
 
@@ -102,14 +130,15 @@ public class AudioStreamingManager implements Listener<AudioSegment>
      */
     public void stop()
     {
-        if(mAudioSegmentProcessorFuture != null)
+        if(mAudioSegmentProcessor != null)
         {
-            mAudioSegmentProcessorFuture.cancel(true);
-            mAudioSegmentProcessorFuture = null;
+            mAudioSegmentProcessor.stop();
+            mAudioSegmentProcessor = null;
         }
 
         for(AudioSegment audioSegment: mNewAudioSegments)
         {
+            audioSegment.completeProperty().removeListener(mCompleteListener);
             audioSegment.decrementConsumerCount();
         }
 
@@ -117,6 +146,7 @@ public class AudioStreamingManager implements Listener<AudioSegment>
 
         for(AudioSegment audioSegment: mAudioSegments)
         {
+            audioSegment.completeProperty().removeListener(mCompleteListener);
             audioSegment.decrementConsumerCount();
         }
 
@@ -139,11 +169,13 @@ public class AudioStreamingManager implements Listener<AudioSegment>
             if(audioSegment.isDuplicate() && mUserPreferences.getCallManagementPreference().isDuplicateStreamingSuppressionEnabled())
             {
                 it.remove();
+                audioSegment.completeProperty().removeListener(mCompleteListener);
                 audioSegment.decrementConsumerCount();
             }
             else if(audioSegment.completeProperty().get())
             {
                 it.remove();
+                audioSegment.completeProperty().removeListener(mCompleteListener);
 
                 if(mAudioRecordingListener != null && audioSegment.hasBroadcastChannels())
                 {
@@ -269,7 +301,7 @@ public class AudioStreamingManager implements Listener<AudioSegment>
     }
 
     /**
-     * Scheduled runnable to process audio segments.
+     * Runnable to process audio segments.
      */
     public class AudioSegmentProcessor implements Runnable
     {
@@ -38,8 +38,8 @@ import io.github.dsheirer.audio.broadcast.shoutcast.v2.ShoutcastV2AudioStreaming
 import io.github.dsheirer.audio.broadcast.shoutcast.v2.ShoutcastV2Configuration;
 import io.github.dsheirer.audio.convert.ISilenceGenerator;
 import io.github.dsheirer.audio.convert.InputAudioFormat;
+import io.github.dsheirer.audio.convert.MP3EncoderRegistry;
 import io.github.dsheirer.audio.convert.MP3Setting;
-import io.github.dsheirer.audio.convert.MP3SilenceGenerator;
 import io.github.dsheirer.preference.UserPreferences;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -139,7 +139,7 @@ public class BroadcastFactory
         switch(format)
         {
             case MP3:
-                return new MP3SilenceGenerator(inputAudioFormat, mp3Setting);
+                return MP3EncoderRegistry.getSilenceGenerator(inputAudioFormat, mp3Setting);
             default:
                 throw new IllegalArgumentException("Unrecognized broadcast format [" + format +
                     "] can't create silence generator");
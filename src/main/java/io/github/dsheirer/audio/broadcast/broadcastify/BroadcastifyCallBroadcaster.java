@@ -40,6 +40,7 @@ import io.github.dsheirer.identifier.patch.PatchGroup;
 import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
+import io.github.dsheirer.util.IOProcessor;
 import io.github.dsheirer.util.ThreadPool;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -72,7 +73,7 @@ public class BroadcastifyCallBroadcaster extends AbstractAudioBroadcaster<Broadc
     private static final String MULTIPART_FORM_DATA = MULTIPART_TYPE + "/" + DEFAULT_SUBTYPE;
     private ScheduledFuture<?> mBroadcastifyTestFuture;
     private Queue<AudioRecording> mAudioRecordingQueue = new LinkedTransferQueue<>();
-    private ScheduledFuture<?> mAudioRecordingProcessorFuture;
+    private IOProcessor mAudioRecordingProcessor;
     private HttpClient mHttpClient = HttpClient.newBuilder()
         .version(HttpClient.Version.HTTP_2)
         .followRedirects(HttpClient.Redirect.NORMAL)
@@ -117,13 +118,19 @@ public class BroadcastifyCallBroadcaster extends AbstractAudioBroadcaster<Broadc
         if(mBroadcastifyTestFuture == null && getBroadcastConfiguration().isTestEnabled())
         {
             // Test periodically so we don't get marked offline due to radio inactivity
-            mBroadcastifyTestFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(new BroadcastifyCallTest(), getBroadcastConfiguration().getTestInterval(), getBroadcastConfiguration().getTestInterval(), TimeUnit.MINUTES);
+            // Test runs on an I/O thread since the test request blocks while waiting on the server
+            BroadcastifyCallTest test = new BroadcastifyCallTest();
+            mBroadcastifyTestFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(() -> ThreadPool.getIOExecutor().execute(test),
+                getBroadcastConfiguration().getTestInterval(), getBroadcastConfiguration().getTestInterval(), TimeUnit.MINUTES);
         }
 
-        if(mAudioRecordingProcessorFuture == null)
+        if(mAudioRecordingProcessor == null)
         {
-            mAudioRecordingProcessorFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(new AudioRecordingProcessor(),
-                0, 500, TimeUnit.MILLISECONDS);
+            //Uploads recordings on an I/O thread as soon as they are received, with a periodic run to age-off
+            //recordings while disconnected
+            mAudioRecordingProcessor = new IOProcessor("sdrtrunk Broadcastify Calls [" + getBroadcastConfiguration().getName() + "]",
+                new AudioRecordingProcessor(), 500, false);
+            mAudioRecordingProcessor.start();
         }
     }
 
@@ -138,10 +145,10 @@ public class BroadcastifyCallBroadcaster extends AbstractAudioBroadcaster<Broadc
             mBroadcastifyTestFuture.cancel(true);
             mBroadcastifyTestFuture = null;
         }
-        if(mAudioRecordingProcessorFuture != null)
+        if(mAudioRecordingProcessor != null)
         {
-            mAudioRecordingProcessorFuture.cancel(true);
-            mAudioRecordingProcessorFuture = null;
+            mAudioRecordingProcessor.stop();
+            mAudioRecordingProcessor = null;
             dispose();
             setBroadcastState(BroadcastState.DISCONNECTED);
         }
@@ -218,6 +225,13 @@ public class BroadcastifyCallBroadcaster extends AbstractAudioBroadcaster<Broadc
     {
         mAudioRecordingQueue.offer(audioRecording);
         broadcast(new BroadcastEvent(this, BroadcastEvent.Event.BROADCASTER_QUEUE_CHANGE));
+
+        IOProcessor processor = mAudioRecordingProcessor;
+
+        if(processor != null)
+        {
+            processor.signal();
+        }
     }
 
     /**
@@ -105,7 +105,7 @@ public class IcecastBroadcastMetadataUpdater implements IBroadcastMetadataUpdate
             final String metadataUpdateURL = sb.toString();
             URI uri = URI.create(metadataUpdateURL);
 
-            ThreadPool.CACHED.submit(new Runnable()
+            ThreadPool.getIOExecutor().submit(new Runnable()
             {
                 @Override
                 public void run()
@@ -194,7 +194,7 @@ public class IcecastHTTPAudioBroadcaster extends IcecastAudioBroadcaster
                 }
             };
 
-            ThreadPool.CACHED.submit(runnable);
+            ThreadPool.getIOExecutor().submit(runnable);
         }
 
         return connected();
@@ -266,7 +266,7 @@ public class IcecastTCPAudioBroadcaster extends IcecastAudioBroadcaster
                 }
             };
 
-            ThreadPool.CACHED.submit(runnable);
+            ThreadPool.getIOExecutor().submit(runnable);
         }
 
         return connected();
@@ -40,7 +40,7 @@ import io.github.dsheirer.identifier.patch.PatchGroup;
 import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
-import io.github.dsheirer.util.ThreadPool;
+import io.github.dsheirer.util.IOProcessor;
 import java.io.IOException;
 import java.net.ConnectException;
 import java.net.URI;
@@ -54,8 +54,6 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,7 +73,7 @@ import org.slf4j.LoggerFactory;
      private static final String MULTIPART_FORM_DATA = MULTIPART_TYPE + "/" + DEFAULT_SUBTYPE;
      private static final String APPLICATION_FORM_URLENCODED = "application/x-www-form-urlencoded";
      private Queue<AudioRecording> mAudioRecordingQueue = new LinkedTransferQueue<>();
-     private ScheduledFuture<?> mAudioRecordingProcessorFuture;
+     private IOProcessor mAudioRecordingProcessor;
      private HttpClient mHttpClient = HttpClient.newBuilder()
          .version(HttpClient.Version.HTTP_2)
          .followRedirects(HttpClient.Redirect.NORMAL)
@@ -122,10 +120,13 @@ import org.slf4j.LoggerFactory;
              setBroadcastState(BroadcastState.ERROR);
          }
 
-         if(mAudioRecordingProcessorFuture == null)
+         if(mAudioRecordingProcessor == null)
          {
-             mAudioRecordingProcessorFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(new AudioRecordingProcessor(),
-                 0, 500, TimeUnit.MILLISECONDS);
+             //Uploads recordings on an I/O thread as soon as they are received, with a periodic run to age-off
+             //recordings while disconnected
+             mAudioRecordingProcessor = new IOProcessor("sdrtrunk OpenMHz [" + getBroadcastConfiguration().getName() + "]",
+                 new AudioRecordingProcessor(), 500, false);
+             mAudioRecordingProcessor.start();
          }
      }
 
@@ -135,10 +136,10 @@ import org.slf4j.LoggerFactory;
      @Override
      public void stop()
      {
-         if(mAudioRecordingProcessorFuture != null)
+         if(mAudioRecordingProcessor != null)
          {
-             mAudioRecordingProcessorFuture.cancel(true);
-             mAudioRecordingProcessorFuture = null;
+             mAudioRecordingProcessor.stop();
+             mAudioRecordingProcessor = null;
              dispose();
              setBroadcastState(BroadcastState.DISCONNECTED);
          }
@@ -205,6 +206,13 @@ import org.slf4j.LoggerFactory;
      {
          mAudioRecordingQueue.offer(audioRecording);
          broadcast(new BroadcastEvent(this, BroadcastEvent.Event.BROADCASTER_QUEUE_CHANGE));
+
+         IOProcessor processor = mAudioRecordingProcessor;
+
+         if(processor != null)
+         {
+             processor.signal();
+         }
      }
 
      /**
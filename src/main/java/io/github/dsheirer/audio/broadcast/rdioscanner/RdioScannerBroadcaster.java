@@ -40,7 +40,7 @@ import io.github.dsheirer.identifier.patch.PatchGroup;
 import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
-import io.github.dsheirer.util.ThreadPool;
+import io.github.dsheirer.util.IOProcessor;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -53,8 +53,6 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,7 +70,7 @@ public class RdioScannerBroadcaster extends AbstractAudioBroadcaster<RdioScanner
     private static final String DEFAULT_SUBTYPE = "form-data";
     private static final String MULTIPART_FORM_DATA = MULTIPART_TYPE + "/" + DEFAULT_SUBTYPE;
     private Queue<AudioRecording> mAudioRecordingQueue = new LinkedTransferQueue<>();
-    private ScheduledFuture<?> mAudioRecordingProcessorFuture;
+    private IOProcessor mAudioRecordingProcessor;
     private HttpClient mHttpClient = HttpClient.newBuilder()
         .version(HttpClient.Version.HTTP_2)
         .followRedirects(HttpClient.Redirect.NORMAL)
@@ -117,10 +115,13 @@ public class RdioScannerBroadcaster extends AbstractAudioBroadcaster<RdioScanner
             setBroadcastState(BroadcastState.ERROR);
         }
 
-        if(mAudioRecordingProcessorFuture == null)
+        if(mAudioRecordingProcessor == null)
         {
-            mAudioRecordingProcessorFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(new AudioRecordingProcessor(),
-                0, 500, TimeUnit.MILLISECONDS);
+            //Uploads recordings on an I/O thread as soon as they are received, with a periodic run to age-off
+            //recordings while disconnected
+            mAudioRecordingProcessor = new IOProcessor("sdrtrunk Rdio Scanner [" + getBroadcastConfiguration().getName() + "]",
+                new AudioRecordingProcessor(), 500, false);
+            mAudioRecordingProcessor.start();
         }
     }
 
@@ -130,10 +131,10 @@ public class RdioScannerBroadcaster extends AbstractAudioBroadcaster<RdioScanner
     @Override
     public void stop()
     {
-        if(mAudioRecordingProcessorFuture != null)
+        if(mAudioRecordingProcessor != null)
         {
-            mAudioRecordingProcessorFuture.cancel(true);
-            mAudioRecordingProcessorFuture = null;
+            mAudioRecordingProcessor.stop();
+            mAudioRecordingProcessor = null;
             dispose();
             setBroadcastState(BroadcastState.DISCONNECTED);
         }
@@ -195,6 +196,13 @@ public class RdioScannerBroadcaster extends AbstractAudioBroadcaster<RdioScanner
     {
         mAudioRecordingQueue.offer(audioRecording);
         broadcast(new BroadcastEvent(this, BroadcastEvent.Event.BROADCASTER_QUEUE_CHANGE));
+
+        IOProcessor processor = mAudioRecordingProcessor;
+
+        if(processor != null)
+        {
+            processor.signal();
+        }
     }
 
     /**
@@ -182,7 +182,7 @@ public class ShoutcastV1AudioBroadcaster extends AudioStreamingBroadcaster
                 }
             };
 
-            ThreadPool.CACHED.submit(runnable);
+            ThreadPool.getIOExecutor().submit(runnable);
         }
 
         return connected();
@@ -134,7 +134,7 @@ public class ShoutcastV1BroadcastMetadataUpdater implements IBroadcastMetadataUp
 
                 if(updateRequest != null)
                 {
-                    ThreadPool.CACHED.submit(new Runnable()
+                    ThreadPool.getIOExecutor().submit(new Runnable()
                     {
                         @Override
                         public void run()
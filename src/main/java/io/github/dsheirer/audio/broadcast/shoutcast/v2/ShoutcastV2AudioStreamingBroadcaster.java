@@ -224,7 +224,7 @@ public class ShoutcastV2AudioStreamingBroadcaster extends AudioStreamingBroadcas
                 }
             };
 
-            ThreadPool.CACHED.submit(runnable);
+            ThreadPool.getIOExecutor().submit(runnable);
         }
 
         return connected();
@@ -39,7 +39,7 @@ public abstract class AmbeAudioModule extends JmbeAudioModule
 
         if(!sLibraryStatusLogged)
         {
-            if(getAudioCodec() != null)
+            if(hasAudioCodec())
             {
                 mLog.info("AMBE CODEC successfully loaded - P25-2/DMR/NXDN audio will be available");
             }
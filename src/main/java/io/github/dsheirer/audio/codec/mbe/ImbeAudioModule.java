@@ -39,7 +39,7 @@ public abstract class ImbeAudioModule extends JmbeAudioModule
 
         if(!sLibraryStatusLogged)
         {
-            if(getAudioCodec() != null)
+            if(hasAudioCodec())
             {
                 mLog.info("JMBE audio conversion library IMBE CODEC successfully loaded - P25-1 audio will be available");
             }
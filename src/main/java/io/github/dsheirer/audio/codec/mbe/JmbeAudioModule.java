@@ -19,238 +19,192 @@
 
 package io.github.dsheirer.audio.codec.mbe;
 
-import com.google.common.eventbus.Subscribe;
 import io.github.dsheirer.alias.AliasList;
 import io.github.dsheirer.audio.AbstractAudioModule;
 import io.github.dsheirer.audio.squelch.ISquelchStateListener;
-import io.github.dsheirer.eventbus.MyEventBus;
+import io.github.dsheirer.identifier.IdentifierUpdateNotification;
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.IMessageListener;
-import io.github.dsheirer.preference.PreferenceType;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.sample.Listener;
-import java.lang.reflect.InvocationTargetException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import jmbe.iface.IAudioCodec;
-import jmbe.iface.IAudioCodecLibrary;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Base audio module for protocols that use the JMBE audio codec.
+ *
+ * Audio synthesis runs on the shared JMBE vocoder service worker threads.  Subclasses submit voice frames via
+ * decode() and any other state changes that must be ordered with respect to the submitted frames via execute().  The
+ * audio codec is leased from the vocoder service codec pool when the first frame of a call is decoded and it is
+ * returned to the pool when the audio segment is closed at the end of the call.
  */
 public abstract class JmbeAudioModule extends AbstractAudioModule implements Listener<IMessage>, IMessageListener,
     ISquelchStateListener
 {
-    private static final Logger mLog = LoggerFactory.getLogger(JmbeAudioModule.class);
-    private static final String JMBE_AUDIO_LIBRARY = "JMBE";
-    private static final List<String> mLibraryLoadStatusLogged = new ArrayList<>();
+    private final JmbeVocoderService mVocoderService;
+    private final JmbeVocoderService.Lane mLane;
     private IAudioCodec mAudioCodec;
-    private final UserPreferences mUserPreferences;
-    private static Class sLoadedJmbeAudioConverterClass;
+    private int mAudioCodecGeneration;
 
     public JmbeAudioModule(UserPreferences userPreferences, AliasList aliasList, int timeslot)
     {
         super(aliasList, timeslot, DEFAULT_SEGMENT_AUDIO_SAMPLE_LENGTH);
-        mUserPreferences = userPreferences;
-        MyEventBus.getGlobalEventBus().register(this);
-        loadConverter();
+        mVocoderService = JmbeVocoderService.getInstance(userPreferences);
+        mLane = mVocoderService.createLane(this::closeAudioSegmentAndReleaseCodec);
     }
 
+    /**
+     * Closes the audio segment and returns the leased audio codec to the pool.  When invoked from outside of the
+     * vocoder service, the close is queued behind any voice frames that were submitted ahead of it.
+     */
     @Override
     protected void closeAudioSegment()
     {
-        super.closeAudioSegment();
-
-        //Reset the audio codec to clear any leftover frame data from the previous call.
-        if(mAudioCodec != null)
+        if(mLane.isCurrentThread())
         {
-            mAudioCodec.reset();
+            closeAudioSegmentAndReleaseCodec();
+        }
+        else
+        {
+            mLane.submit(this::closeAudioSegmentAndReleaseCodec);
         }
     }
 
+    /**
+     * Applies identifier updates on the vocoder service, after any voice frames that were submitted ahead of the update,
+     * so that identifiers for the next call aren't added to the audio segment of the previous call while that segment
+     * is still receiving queued audio.
+     */
     @Override
-    public void dispose()
-    {
-        super.dispose();
-        MyEventBus.getGlobalEventBus().unregister(this);
-    }
-
-    public IAudioCodec getAudioCodec()
+    protected void receiveIdentifierUpdate(IdentifierUpdateNotification notification)
     {
-        return mAudioCodec;
+        if(mLane.isCurrentThread())
+        {
+            super.receiveIdentifierUpdate(notification);
+        }
+        else
+        {
+            mLane.submit(() -> super.receiveIdentifierUpdate(notification));
+        }
     }
 
     /**
-     * Indicates that the JMBE audio library has been loaded and a suitable audio codec is usable (ie non-null)
+     * Closes the audio segment and returns the codec, resetting it to clear any leftover frame data from the call.
      */
-    protected boolean hasAudioCodec()
+    private void closeAudioSegmentAndReleaseCodec()
     {
-        return getAudioCodec() != null;
-    }
+        super.closeAudioSegment();
 
-    @Override
-    public Listener<IMessage> getMessageListener()
-    {
-        return this;
+        synchronized(this)
+        {
+            if(mAudioCodec != null)
+            {
+                mVocoderService.release(getCodecName(), mAudioCodec, mAudioCodecGeneration);
+                mAudioCodec = null;
+            }
+        }
     }
 
     /**
-     * Receives notifications that the JMBE library preference has been updated via the Guava event bus
+     * Audio codec leased to this module for the current call, leasing a codec from the vocoder service pool when
+     * this module doesn't currently hold one.
      *
-     * @param preferenceType that was updated
+     * @return codec or null if the JMBE library is not available.
      */
-    @Subscribe
-    public void preferenceUpdated(PreferenceType preferenceType)
+    public IAudioCodec getAudioCodec()
     {
-        if(preferenceType == PreferenceType.JMBE_LIBRARY)
+        synchronized(this)
         {
-            mLibraryLoadStatusLogged.clear();
-            loadConverter();
+            if(mAudioCodec != null && mAudioCodecGeneration != mVocoderService.getGeneration())
+            {
+                //The library was reloaded - discard the codec from the previous library
+                mAudioCodec = null;
+            }
+
+            if(mAudioCodec == null)
+            {
+                mAudioCodecGeneration = mVocoderService.getGeneration();
+                mAudioCodec = mVocoderService.acquire(getCodecName());
+            }
+
+            return mAudioCodec;
         }
     }
 
     /**
-     * Name of the CODEC to use from the JMBE library
+     * Indicates that the JMBE audio library has been loaded and a suitable audio codec is usable (ie non-null)
      */
-    protected abstract String getCodecName();
+    protected boolean hasAudioCodec()
+    {
+        return mVocoderService.isAvailable(getCodecName());
+    }
 
     /**
-     * Loads JMBE audio converter library class and then instantiates new converter instances from the loaded class.
+     * Submits a voice frame synthesis task to run on the vocoder service with the codec leased to this module.  Tasks
+     * run in submission order.  If the vocoder service can't keep up, the current audio segment is ended and the codec
+     * is reset after the queued frames, and frames are discarded until the reset completes.
+     *
+     * @param task that synthesizes audio with the codec and adds the audio to this module.
      */
-    protected void loadConverter()
+    protected void decode(Consumer<IAudioCodec> task)
     {
-        IAudioCodec audioConverter = null;
-
-        if(sLoadedJmbeAudioConverterClass == null)
-        {
-            Path path = mUserPreferences.getJmbeLibraryPreference().getPathJmbeLibrary();
+        mLane.submitFrame(() -> {
+            IAudioCodec codec = getAudioCodec();
 
-            if(path != null)
+            if(codec != null)
             {
-                if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-                {
-                    mLog.info("Loading JMBE library from [" + path + "]");
-                }
-
-                try
-                {
-                    URLClassLoader childClassLoader = new URLClassLoader(new URL[]{path.toUri().toURL()},
-                            this.getClass().getClassLoader());
-
-                    sLoadedJmbeAudioConverterClass = Class.forName("jmbe.JMBEAudioLibrary", true, childClassLoader);
-                }
-                catch(IllegalArgumentException iae)
-                {
-                    if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY + getCodecName()))
-                    {
-                        mLog.error("Couldn't load JMBE audio conversion library - " + iae.getMessage());
-                        mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY + getCodecName());
-                    }
-                }
-                catch(MalformedURLException mue)
-                {
-                    if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-                    {
-                        mLog.error("Couldn't load JMBE audio conversion library from path [" + path + "]");
-                        mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
-                    }
-                }
-                catch(ClassNotFoundException e1)
-                {
-                    if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-                    {
-                        mLog.error("Couldn't load JMBE audio conversion library - class not found");
-                        mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
-                    }
-                }
+                task.accept(codec);
             }
-        }
+        });
+    }
 
-        if(sLoadedJmbeAudioConverterClass != null)
-        {
-            try
-            {
-                Object instance = sLoadedJmbeAudioConverterClass.getDeclaredConstructor().newInstance();
+    /**
+     * Submits a task to run on the vocoder service, ordered after any previously submitted voice frames.
+     * @param task to run
+     */
+    protected void execute(Runnable task)
+    {
+        mLane.submit(task);
+    }
 
-                if(instance instanceof IAudioCodecLibrary library)
-                {
-                    if((library.getMajorVersion() == 1 && library.getMinorVersion() >= 0 &&
-                            library.getBuildVersion() >= 0) || library.getMajorVersion() >= 1)
-                    {
-                        audioConverter = library.getAudioConverter(getCodecName());
+    /**
+     * Runs the task on the vocoder service, ordered after any previously submitted voice frames and identifier updates,
+     * and waits for the task to complete.  This must not be invoked from a vocoder service thread.
+     *
+     * @param task to run
+     * @return value produced by the task
+     * @throws ExecutionException if the task throws an exception
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    protected <T> T executeAndWait(Supplier<T> task) throws ExecutionException, InterruptedException
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
 
-                        if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-                        {
-                            mLog.info("JMBE audio conversion library loaded: " + library.getVersion());
-                            mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
-                        }
-                    }
-                    else
-                    {
-                        if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-                        {
-                            mLog.warn("JMBE library version 1.0.0 or higher is required - found: " + library.getVersion());
-                            mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
-                        }
-                    }
-                }
-                else
-                {
-                    if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-                    {
-                        mLog.info("JMBE audio conversion library NOT FOUND");
-                        mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
-                    }
-                }
-            }
-            catch(InvocationTargetException ite)
-            {
-                if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-                {
-                    mLog.error("Couldn't load JMBE audio conversion library - invocation target exception", ite);
-                    mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
-                }
-            }
-            catch(InstantiationException e1)
-            {
-                if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-                {
-                    mLog.error("Couldn't load JMBE audio conversion library - instantiation exception", e1);
-                    mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
-                }
-            }
-            catch(IllegalAccessException e1)
+        execute(() -> {
+            try
             {
-                if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-                {
-                    mLog.error("Couldn't load JMBE audio conversion library - security restrictions");
-                    mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
-                }
+                future.complete(task.get());
             }
-            catch(NoSuchMethodException nsme)
+            catch(Throwable t)
             {
-                if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-                {
-                    mLog.error("Couldn't load JMBE audio conversion library - no such method exception");
-                    mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
-                }
+                future.completeExceptionally(t);
             }
-        }
-        else
-        {
-            if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
-            {
-                mLog.warn("JMBE audio library path is NOT SET in your User Preferences.");
-                mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
-            }
-        }
+        });
 
-        mAudioCodec = audioConverter;
+        return future.get();
     }
+
+    @Override
+    public Listener<IMessage> getMessageListener()
+    {
+        return this;
+    }
+
+    /**
+     * Name of the CODEC to use from the JMBE library
+     */
+    protected abstract String getCodecName();
 }
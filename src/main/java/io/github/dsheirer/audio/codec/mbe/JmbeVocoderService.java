@@ -0,0 +1,447 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio.codec.mbe;
+
+import com.google.common.eventbus.Subscribe;
+import io.github.dsheirer.controller.NamingThreadFactory;
+import io.github.dsheirer.eventbus.MyEventBus;
+import io.github.dsheirer.preference.PreferenceType;
+import io.github.dsheirer.preference.UserPreferences;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import jmbe.iface.IAudioCodec;
+import jmbe.iface.IAudioCodecLibrary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide JMBE vocoder service shared by all JMBE audio modules.
+ *
+ * Loads the JMBE library once through a single class loader, maintains a pool of audio codec instances per codec name
+ * and runs voice frame synthesis on a fixed pool of worker threads so that IMBE/AMBE synthesis doesn't run on the
+ * decoder threads.
+ *
+ * Codec instances carry synthesis state from frame to frame, so an audio module leases a codec for the duration of a
+ * call and returns it (reset) to the pool when the call ends.  The pool therefore only holds as many codecs as there
+ * are concurrent calls rather than one per audio module.
+ *
+ * Each audio module submits work through its own {@link Lane}.  A lane executes its tasks in submission order on one
+ * worker thread at a time and drains its queued tasks in a batch each time it is scheduled.
+ *
+ * When a lane falls too far behind, the lane stops accepting voice frames and queues the module's overflow handler
+ * behind the frames that are already queued.  The handler ends the audio segment and resets the codec, so that the
+ * audio resumes in a new segment with a clean codec state instead of splicing frames across a gap.
+ */
+public class JmbeVocoderService
+{
+    private static final Logger mLog = LoggerFactory.getLogger(JmbeVocoderService.class);
+    private static final String JMBE_AUDIO_LIBRARY = "JMBE";
+
+    /**
+     * Maximum tasks executed per lane each time the lane is scheduled on a worker thread, so that a busy lane doesn't
+     * starve other lanes.
+     */
+    private static final int LANE_BATCH_SIZE = 64;
+
+    /**
+     * Maximum queued voice frame tasks per lane (about 10 seconds of audio) before the lane overflows.
+     */
+    private static final int LANE_MAX_PENDING_FRAMES = 500;
+
+    private static JmbeVocoderService sInstance;
+    private final List<String> mLibraryLoadStatusLogged = new ArrayList<>();
+    private final Map<String,Deque<IAudioCodec>> mCodecPools = new HashMap<>();
+    private final Map<String,Boolean> mCodecAvailability = new ConcurrentHashMap<>();
+    private final AtomicInteger mGeneration = new AtomicInteger();
+    private final AtomicLong mDroppedFrameCount = new AtomicLong();
+    private final ExecutorService mExecutorService;
+    private final UserPreferences mUserPreferences;
+    private IAudioCodecLibrary mLibrary;
+
+    /**
+     * Uses the singleton pattern to construct a single instance.
+     */
+    private JmbeVocoderService(UserPreferences userPreferences)
+    {
+        mUserPreferences = userPreferences;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        mExecutorService = Executors.newFixedThreadPool(threads, new NamingThreadFactory("sdrtrunk vocoder"));
+        loadLibrary();
+        MyEventBus.getGlobalEventBus().register(this);
+    }
+
+    /**
+     * Access a singleton instance of this class, initializing the instance with the specified User Preferences
+     * instance, if it hasn't already been initialized.
+     */
+    public static synchronized JmbeVocoderService getInstance(UserPreferences userPreferences)
+    {
+        if(sInstance == null)
+        {
+            sInstance = new JmbeVocoderService(userPreferences);
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Creates a new task lane for an audio module.
+     * @param overflowHandler to run on the lane, after the queued voice frames, when the lane overflows.  The handler
+     * should end the current audio segment and reset the codec.
+     */
+    public Lane createLane(Runnable overflowHandler)
+    {
+        return new Lane(overflowHandler);
+    }
+
+    /**
+     * Indicates if the JMBE library is loaded and provides the named codec.
+     */
+    public boolean isAvailable(String codecName)
+    {
+        Boolean available = mCodecAvailability.get(codecName);
+
+        if(available == null)
+        {
+            synchronized(this)
+            {
+                IAudioCodec codec = acquire(codecName);
+                available = codec != null;
+
+                if(available)
+                {
+                    getPool(codecName).push(codec);
+                }
+
+                mCodecAvailability.put(codecName, available);
+            }
+        }
+
+        return available;
+    }
+
+    /**
+     * Current library generation.  The generation changes each time the JMBE library is reloaded and codecs from an
+     * earlier generation should no longer be used.
+     */
+    public int getGeneration()
+    {
+        return mGeneration.get();
+    }
+
+    /**
+     * Leases a codec from the pool, creating a new codec if the pool is empty.
+     * @param codecName of the codec
+     * @return codec or null if the library isn't loaded or doesn't provide the codec.
+     */
+    public synchronized IAudioCodec acquire(String codecName)
+    {
+        Deque<IAudioCodec> pool = getPool(codecName);
+
+        if(!pool.isEmpty())
+        {
+            return pool.pop();
+        }
+
+        return createCodec(codecName);
+    }
+
+    /**
+     * Resets and returns the leased codec to the pool.
+     * @param codecName of the codec
+     * @param codec to return
+     * @param generation of the library when the codec was leased.  Codecs from an earlier generation are discarded.
+     */
+    public synchronized void release(String codecName, IAudioCodec codec, int generation)
+    {
+        if(codec != null && generation == mGeneration.get())
+        {
+            codec.reset();
+            getPool(codecName).push(codec);
+        }
+    }
+
+    /**
+     * Quantity of voice frames discarded because an audio module's lane overflowed.
+     */
+    public long getDroppedFrameCount()
+    {
+        return mDroppedFrameCount.get();
+    }
+
+    private Deque<IAudioCodec> getPool(String codecName)
+    {
+        return mCodecPools.computeIfAbsent(codecName, name -> new ArrayDeque<>());
+    }
+
+    /**
+     * Creates a new codec instance from the loaded library.
+     */
+    private IAudioCodec createCodec(String codecName)
+    {
+        if(mLibrary != null)
+        {
+            try
+            {
+                return mLibrary.getAudioConverter(codecName);
+            }
+            catch(Exception e)
+            {
+                if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY + codecName))
+                {
+                    mLog.error("Couldn't create JMBE audio codec [" + codecName + "]", e);
+                    mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY + codecName);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Receives notifications that the JMBE library preference has been updated via the Guava event bus
+     *
+     * @param preferenceType that was updated
+     */
+    @Subscribe
+    public void preferenceUpdated(PreferenceType preferenceType)
+    {
+        if(preferenceType == PreferenceType.JMBE_LIBRARY)
+        {
+            synchronized(this)
+            {
+                mLibraryLoadStatusLogged.clear();
+                mCodecPools.clear();
+                mCodecAvailability.clear();
+                mGeneration.incrementAndGet();
+                mLibrary = null;
+                loadLibrary();
+            }
+        }
+    }
+
+    /**
+     * Loads the JMBE audio library class through a single class loader and creates the library instance.
+     */
+    private void loadLibrary()
+    {
+        Path path = mUserPreferences.getJmbeLibraryPreference().getPathJmbeLibrary();
+
+        if(path == null)
+        {
+            if(!mLibraryLoadStatusLogged.contains(JMBE_AUDIO_LIBRARY))
+            {
+                mLog.warn("JMBE audio library path is NOT SET in your User Preferences.");
+                mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
+            }
+
+            return;
+        }
+
+        mLog.info("Loading JMBE library from [" + path + "]");
+
+        try
+        {
+            URLClassLoader classLoader = new URLClassLoader(new URL[]{path.toUri().toURL()},
+                    getClass().getClassLoader());
+            Class<?> libraryClass = Class.forName("jmbe.JMBEAudioLibrary", true, classLoader);
+            Object instance = libraryClass.getDeclaredConstructor().newInstance();
+
+            if(instance instanceof IAudioCodecLibrary library)
+            {
+                if((library.getMajorVersion() == 1 && library.getMinorVersion() >= 0 &&
+                        library.getBuildVersion() >= 0) || library.getMajorVersion() >= 1)
+                {
+                    mLibrary = library;
+                    mLog.info("JMBE audio conversion library loaded: " + library.getVersion());
+                }
+                else
+                {
+                    mLog.warn("JMBE library version 1.0.0 or higher is required - found: " + library.getVersion());
+                }
+            }
+            else
+            {
+                mLog.info("JMBE audio conversion library NOT FOUND");
+            }
+        }
+        catch(IllegalArgumentException iae)
+        {
+            mLog.error("Couldn't load JMBE audio conversion library - " + iae.getMessage());
+        }
+        catch(MalformedURLException mue)
+        {
+            mLog.error("Couldn't load JMBE audio conversion library from path [" + path + "]");
+        }
+        catch(ClassNotFoundException cnfe)
+        {
+            mLog.error("Couldn't load JMBE audio conversion library - class not found");
+        }
+        catch(InvocationTargetException ite)
+        {
+            mLog.error("Couldn't load JMBE audio conversion library - invocation target exception", ite);
+        }
+        catch(InstantiationException ie)
+        {
+            mLog.error("Couldn't load JMBE audio conversion library - instantiation exception", ie);
+        }
+        catch(IllegalAccessException iae)
+        {
+            mLog.error("Couldn't load JMBE audio conversion library - security restrictions");
+        }
+        catch(NoSuchMethodException nsme)
+        {
+            mLog.error("Couldn't load JMBE audio conversion library - no such method exception");
+        }
+
+        mLibraryLoadStatusLogged.add(JMBE_AUDIO_LIBRARY);
+    }
+
+    /**
+     * Ordered task lane for a single audio module.  Tasks execute in submission order, one worker thread at a time.
+     */
+    public class Lane implements Runnable
+    {
+        private final ConcurrentLinkedQueue<Runnable> mTasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean mScheduled = new AtomicBoolean();
+        private final AtomicInteger mPendingFrames = new AtomicInteger();
+        private final AtomicBoolean mOverflowed = new AtomicBoolean();
+        private final Runnable mOverflowHandler;
+        private volatile Thread mThread;
+
+        private Lane(Runnable overflowHandler)
+        {
+            mOverflowHandler = overflowHandler;
+        }
+
+        /**
+         * Submits a voice frame synthesis task.
+         *
+         * When the lane is backed up, the lane overflows: the overflow handler is queued behind the frames that are
+         * already queued and new frames are discarded until the handler has ended the audio segment and reset the
+         * codec.  Frames submitted after the handler runs start a new audio segment.
+         *
+         * @param task to execute
+         */
+        public void submitFrame(Runnable task)
+        {
+            if(mOverflowed.get() || mPendingFrames.get() >= LANE_MAX_PENDING_FRAMES)
+            {
+                if(mOverflowed.compareAndSet(false, true))
+                {
+                    if(mDroppedFrameCount.get() == 0)
+                    {
+                        mLog.warn("JMBE vocoder service is falling behind - ending audio segments and discarding " +
+                            "voice frames until the vocoder catches up");
+                    }
+
+                    submit(() -> {
+                        mOverflowHandler.run();
+                        mOverflowed.set(false);
+                    });
+                }
+
+                mDroppedFrameCount.incrementAndGet();
+                return;
+            }
+
+            mPendingFrames.incrementAndGet();
+
+            submit(() -> {
+                mPendingFrames.decrementAndGet();
+                task.run();
+            });
+        }
+
+        /**
+         * Submits a control task (ie call end) that is never dropped.
+         * @param task to execute after all previously submitted tasks
+         */
+        public void submit(Runnable task)
+        {
+            mTasks.add(task);
+            schedule();
+        }
+
+        /**
+         * Indicates if the calling thread is currently executing this lane's tasks.
+         */
+        public boolean isCurrentThread()
+        {
+            return mThread == Thread.currentThread();
+        }
+
+        private void schedule()
+        {
+            if(!mTasks.isEmpty() && mScheduled.compareAndSet(false, true))
+            {
+                mExecutorService.execute(this);
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            mThread = Thread.currentThread();
+
+            try
+            {
+                Runnable task;
+                int count = 0;
+
+                while(count++ < LANE_BATCH_SIZE && (task = mTasks.poll()) != null)
+                {
+                    try
+                    {
+                        task.run();
+                    }
+                    catch(Throwable t)
+                    {
+                        mLog.error("Error while executing JMBE vocoder task", t);
+                    }
+                }
+            }
+            finally
+            {
+                mThread = null;
+                mScheduled.set(false);
+            }
+
+            //Reschedule if tasks remain or were added while we were finishing
+            schedule();
+        }
+    }
+}
@@ -37,6 +37,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.concurrent.ExecutionException;
 import jmbe.iface.IAudioCodec;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.DirectoryFileFilter;
@@ -112,24 +113,49 @@ public class MBECallSequenceConverter
                     }
                 }
 
-                IAudioCodec codec = audioModule.getAudioCodec();
+                AudioSegment audioSegment = null;
 
-                for(VoiceFrame voiceFrame: callSequence.getVoiceFrames())
+                try
                 {
-                    byte[] frameBytes = voiceFrame.getFrameBytes();
-                    float[] audio = codec.getAudio(frameBytes);
-                    audioModule.addAudio(audio);
+                    //Decode on the audio module's vocoder lane so that the frames are ordered after the identifier
+                    //updates and the codec is only ever used by one thread
+                    audioSegment = audioModule.executeAndWait(() -> {
+                        IAudioCodec codec = audioModule.getAudioCodec();
+
+                        if(codec == null)
+                        {
+                            throw new IllegalStateException("JMBE audio codec is not available");
+                        }
+
+                        for(VoiceFrame voiceFrame: callSequence.getVoiceFrames())
+                        {
+                            byte[] frameBytes = voiceFrame.getFrameBytes();
+                            float[] audio = codec.getAudio(frameBytes);
+                            audioModule.addAudio(audio);
+                        }
+
+                        return audioModule.getAudioSegment();
+                    });
                 }
-
-                AudioSegment audioSegment = audioModule.getAudioSegment();
-
-                try
+                catch(ExecutionException ee)
                 {
-                    AudioSegmentRecorder.recordWAVE(audioSegment, outputPath, audioSegment.getIdentifierCollection());
+                    mLog.error("Error decoding MBE call sequence", ee.getCause());
                 }
-                catch(IOException ioe)
+                catch(InterruptedException ie)
                 {
-                    mLog.error("Error writing audio segment, ioe");
+                    Thread.currentThread().interrupt();
+                }
+
+                if(audioSegment != null)
+                {
+                    try
+                    {
+                        AudioSegmentRecorder.recordWAVE(audioSegment, outputPath, audioSegment.getIdentifierCollection());
+                    }
+                    catch(IOException ioe)
+                    {
+                        mLog.error("Error writing audio segment, ioe");
+                    }
                 }
 
                 audioModule.stop();
@@ -56,9 +56,9 @@ public class LameFactory
     {
         return switch(sampleRate)
         {
-            case SR_16000, SR_32_16000 -> new RealResampler(8000, 16000, 4096, 512);
-            case SR_22050, SR_32_22050 -> new RealResampler(8000, 22050, 4096, 512);
-            case SR_44100, SR_32_44100 -> new RealResampler(8000, 44100, 4096, 512);
+            case SR_16000, SR_32_16000 -> new RealResampler(8000, 16000, 512);
+            case SR_22050, SR_32_22050 -> new RealResampler(8000, 22050, 512);
+            case SR_44100, SR_32_44100 -> new RealResampler(8000, 44100, 512);
             default -> throw new IllegalArgumentException("Unrecognized sample rate for resampling: " + sampleRate);
         };
     }
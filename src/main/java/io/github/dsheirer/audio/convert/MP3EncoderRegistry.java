@@ -0,0 +1,89 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.audio.convert;
+
+import io.github.dsheirer.audio.AudioSegment;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of shared MP3 encoding, keyed by input audio format and MP3 setting, so that identical audio is encoded
+ * once and the encoded MP3 frames are reused by every consumer with the same settings.
+ *
+ * Encoded audio segments are cached while the audio segment is referenced elsewhere (weak keys), so that an audio
+ * segment that is recorded, streamed, and decomposed into several patched talkgroup streams is only encoded once.
+ * Silence generators are shared by all streaming broadcasters using the same settings.
+ */
+public class MP3EncoderRegistry
+{
+    private static final Map<AudioSegment,Map<EncoderKey,List<byte[]>>> sEncodedAudioSegments =
+            Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<EncoderKey,MP3SilenceGenerator> sSilenceGenerators = new ConcurrentHashMap<>();
+
+    private MP3EncoderRegistry()
+    {
+    }
+
+    /**
+     * Encodes the completed audio segment to MP3 frames, or returns the frames from a previous encoding of the audio
+     * segment with the same settings.  Callers must not modify the returned frames.
+     * @param audioSegment to encode
+     * @param inputAudioFormat for resampling the audio before encoding
+     * @param mp3Setting for the encoder
+     * @param normalizeAudio to normalize the audio before encoding
+     * @return encoded MP3 frames, including the frames flushed from the encoder.
+     */
+    public static List<byte[]> encode(AudioSegment audioSegment, InputAudioFormat inputAudioFormat,
+                                      MP3Setting mp3Setting, boolean normalizeAudio)
+    {
+        Map<EncoderKey,List<byte[]>> encodings = sEncodedAudioSegments.computeIfAbsent(audioSegment,
+                segment -> new ConcurrentHashMap<>());
+
+        return encodings.computeIfAbsent(new EncoderKey(inputAudioFormat, mp3Setting, normalizeAudio),
+                key -> {
+                    MP3AudioConverter converter = new MP3AudioConverter(inputAudioFormat, mp3Setting, normalizeAudio);
+                    List<byte[]> frames = new ArrayList<>(converter.convert(audioSegment.getAudioBuffers()));
+                    frames.addAll(converter.flush());
+                    return Collections.unmodifiableList(frames);
+                });
+    }
+
+    /**
+     * Shared silence generator for the settings.
+     * @param inputAudioFormat for the stream
+     * @param mp3Setting for the stream
+     * @return silence generator
+     */
+    public static MP3SilenceGenerator getSilenceGenerator(InputAudioFormat inputAudioFormat, MP3Setting mp3Setting)
+    {
+        return sSilenceGenerators.computeIfAbsent(new EncoderKey(inputAudioFormat, mp3Setting, false),
+                key -> new MP3SilenceGenerator(inputAudioFormat, mp3Setting));
+    }
+
+    /**
+     * Encoder settings key
+     */
+    private record EncoderKey(InputAudioFormat inputAudioFormat, MP3Setting mp3Setting, boolean normalizeAudio)
+    {
+    }
+}
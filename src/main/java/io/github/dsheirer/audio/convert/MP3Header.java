@@ -103,6 +103,44 @@ public class MP3Header
         return (frame[offset + 2] & 0x02) == 0x02;
     }
 
+    /**
+     * Indicates if the frame header is followed by a 16-bit CRC (protection bit is cleared)
+     * @param frame
+     * @param offset
+     * @return boolean
+     */
+    public static boolean hasCRC(byte[] frame, int offset)
+    {
+        return (frame[offset + 1] & 0x01) == 0x00;
+    }
+
+    /**
+     * Layer 3 main data begin pointer from the side information, which is the number of bytes of this frame's main
+     * data that are stored in the bit reservoir of the preceding frame(s).  A frame with a main data begin value of
+     * zero is self-contained and can be spliced after any other frame.
+     * @param frame
+     * @param offset
+     * @return main data begin byte count, or -1 if the frame is too short to contain the side information.
+     */
+    public static int getMainDataBegin(byte[] frame, int offset)
+    {
+        int sideInformationOffset = offset + 4 + (hasCRC(frame, offset) ? 2 : 0);
+
+        if(frame.length < sideInformationOffset + 2)
+        {
+            return -1;
+        }
+
+        if(getMPEGVersion(frame, offset) == MPEGVersion.V_1)
+        {
+            //9 bits
+            return ((frame[sideInformationOffset] & 0xFF) << 1) | ((frame[sideInformationOffset + 1] & 0x80) >> 7);
+        }
+
+        //8 bits for MPEG 2 and 2.5
+        return frame[sideInformationOffset] & 0xFF;
+    }
+
     /**
      * Get the number of bytes in the frame
      * @param frame
@@ -177,6 +215,11 @@ public class MP3Header
         sb.append(" BR:").append(getBitRate(frame, offset));
         sb.append(" SR:").append(getSampleRate(frame, offset));
 
+        if(getMPEGLayer(frame, offset) == MPEGLayer.LAYER3)
+        {
+            sb.append(" MDB:").append(getMainDataBegin(frame, offset));
+        }
+
         //TODO: add MONO/STEREO
         
         return sb.toString();
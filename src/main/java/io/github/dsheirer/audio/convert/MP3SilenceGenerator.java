@@ -18,16 +18,31 @@
  */
 package io.github.dsheirer.audio.convert;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.commons.math3.util.FastMath;
 
+/**
+ * Generates MP3 silence by repeating a single pre-computed silence frame.  The silence frame is encoded once when the
+ * generator is constructed and is selected so that it doesn't depend on the bit reservoir of preceding frames, so it
+ * can be spliced at any frame boundary between (or after) encoded audio recordings.  Silence frame sequences are
+ * cached by length, so that generating silence for an idle stream doesn't allocate or encode.
+ *
+ * Use MP3EncoderRegistry to obtain a generator that is shared by all streams using the same settings.
+ */
 public class MP3SilenceGenerator implements ISilenceGenerator
 {
     private final static Logger mLog = LoggerFactory.getLogger(MP3SilenceGenerator.class);
+    private static final byte[] XING_TAG = "Xing".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INFO_TAG = "Info".getBytes(StandardCharsets.US_ASCII);
+    private Map<Integer,List<byte[]>> mSilenceSequences = new ConcurrentHashMap<>();
 
     private MP3AudioConverter mMP3AudioConverter;
     private InputAudioFormat mInputAudioFormat;
@@ -71,13 +86,56 @@ public class MP3SilenceGenerator implements ISilenceGenerator
         }
 
         MP3AudioFrames mp3Frames = MP3FrameTools.split(silence);
+
+        //Select the first frame that doesn't borrow main data from the bit reservoir of a preceding frame and that
+        //isn't a VBR (Xing/Info) tag frame, so that it can be repeated and spliced between recordings.
+        while(mp3Frames.hasNextFrame())
+        {
+            mp3Frames.nextFrame();
+            byte[] frame = mp3Frames.getCurrentFrame();
+
+            if(MP3Header.isValid(frame, 0) && MP3Header.getMainDataBegin(frame, 0) == 0 && !isTagFrame(frame))
+            {
+                mSilenceFrame = frame;
+                mSilenceFrameDuration = mp3Frames.getCurrentFrameDuration();
+                return;
+            }
+        }
+
+        //Fallback to the first frame
+        mp3Frames.restart();
+
         if(mp3Frames.hasNextFrame())
         {
             mp3Frames.nextFrame();
             mSilenceFrame = mp3Frames.getCurrentFrame();
             mSilenceFrameDuration = mp3Frames.getCurrentFrameDuration();
+            mLog.warn("Unable to find a self-contained MP3 silence frame - using first encoded frame");
         }
+    }
 
+    /**
+     * Indicates if the frame is a VBR Xing or Info tag frame that carries stream metadata instead of audio.
+     */
+    private static boolean isTagFrame(byte[] frame)
+    {
+        return indexOf(frame, XING_TAG) >= 0 || indexOf(frame, INFO_TAG) >= 0;
+    }
+
+    /**
+     * Index of the pattern in the array or -1 if not found
+     */
+    private static int indexOf(byte[] array, byte[] pattern)
+    {
+        for(int x = 0; x <= array.length - pattern.length; x++)
+        {
+            if(Arrays.equals(array, x, x + pattern.length, pattern, 0, pattern.length))
+            {
+                return x;
+            }
+        }
+
+        return -1;
     }
 
     /**
@@ -87,16 +145,17 @@ public class MP3SilenceGenerator implements ISilenceGenerator
      */
     public MP3AudioFrames generate(long duration_ms)
     {
-        List<byte[]> silenceFrames = new ArrayList<>();
-        int silenceDuration = 0;
-
-        while(silenceDuration < duration_ms)
+        if(mSilenceFrame == null || mSilenceFrameDuration <= 0 || duration_ms <= 0)
         {
-            silenceFrames.add(mSilenceFrame);
-            silenceDuration += mSilenceFrameDuration;
+            return new MP3AudioFrames(0, Collections.emptyList());
         }
 
-        return new MP3AudioFrames(silenceDuration, silenceFrames);
+        int frameCount = (int)((duration_ms + mSilenceFrameDuration - 1) / mSilenceFrameDuration);
+
+        List<byte[]> silenceFrames = mSilenceSequences.computeIfAbsent(frameCount,
+                count -> Collections.nCopies(count, mSilenceFrame));
+
+        return new MP3AudioFrames(frameCount * mSilenceFrameDuration, silenceFrames);
     }
 
     private static byte[] merge(byte[] a, byte[] b)
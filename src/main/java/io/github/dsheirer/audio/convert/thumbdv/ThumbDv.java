@@ -33,7 +33,7 @@ import io.github.dsheirer.audio.convert.thumbdv.message.response.DecodeSpeechRes
 import io.github.dsheirer.audio.convert.thumbdv.message.response.ReadyResponse;
 import io.github.dsheirer.audio.convert.thumbdv.message.response.SetVocoderParameterResponse;
 import io.github.dsheirer.sample.Listener;
-import io.github.dsheirer.util.ThreadPool;
+import io.github.dsheirer.util.IOProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,8 +43,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Northwest Digital Radio (NWDR) ThumbDv dongle.
@@ -73,8 +71,8 @@ public class ThumbDv implements AutoCloseable
     }
 
     private SerialPort mSerialPort;
-    private ScheduledFuture mSerialPortReaderHandle;
-    private ScheduledFuture mAudioDecodeProcessorHandle;
+    private IOProcessor mSerialPortReaderHandle;
+    private IOProcessor mAudioDecodeProcessorHandle;
     private LinkedTransferQueue<DecodeSpeechRequest> mDecodeSpeechRequests = new LinkedTransferQueue<>();
     private AudioProtocol mAudioProtocol;
     private Listener<float[]> mAudioBufferListener;
@@ -100,16 +98,29 @@ public class ThumbDv implements AutoCloseable
         }
 
         mDecodeSpeechRequests.offer(new DecodeSpeechRequest(codecFrame));
+
+        IOProcessor audioDecodeProcessor = mAudioDecodeProcessorHandle;
+
+        if(audioDecodeProcessor != null)
+        {
+            audioDecodeProcessor.signal();
+        }
     }
 
     public void close() throws IOException
     {
         if(mSerialPortReaderHandle != null)
         {
-            mSerialPortReaderHandle.cancel(true);
+            mSerialPortReaderHandle.stop();
             mSerialPortReaderHandle = null;
         }
 
+        if(mAudioDecodeProcessorHandle != null)
+        {
+            mAudioDecodeProcessorHandle.stop();
+            mAudioDecodeProcessorHandle = null;
+        }
+
         if(mSerialPort != null)
         {
             mSerialPort.closePort();
@@ -140,8 +151,10 @@ public class ThumbDv implements AutoCloseable
                         mLog.info("Creating Serial Port Reader");
                         final Runnable r = new SerialPortReader(mSerialPort.getInputStream());
                         mLog.info("Starting Serial Port Reader");
-                        mSerialPortReaderHandle = ThreadPool.SCHEDULED.scheduleAtFixedRate(r, 0,
-                                5, TimeUnit.MILLISECONDS);
+                        //Serial port reads are native calls and are polled at a fixed interval on a dedicated I/O
+                        //thread so that the reader's wait for packet bytes doesn't block the shared thread pool
+                        mSerialPortReaderHandle = new IOProcessor("sdrtrunk thumbdv serial reader", r, 5, true);
+                        mSerialPortReaderHandle.start();
 
                         mStarted = true;
                         mLog.info("Startup complete - awaiting reset response");
@@ -245,8 +258,10 @@ public class ThumbDv implements AutoCloseable
             {
                 mLog.info("Audio vocoder parameters configured for " + mAudioProtocol);
                 //Start the audio frame decode processor
-                mAudioDecodeProcessorHandle = ThreadPool.SCHEDULED.scheduleAtFixedRate(new AudioDecodeProcessor(), 0,
-                        10, TimeUnit.MILLISECONDS);
+                //Decode requests are handed off to the processor as they are enqueued
+                mAudioDecodeProcessorHandle = new IOProcessor("sdrtrunk thumbdv decoder", new AudioDecodeProcessor(),
+                        10, false);
+                mAudioDecodeProcessorHandle.start();
             }
         }
         else if(message != null)
@@ -450,19 +450,7 @@ public class BinaryMessage extends BitSet
                     + "or less to fit into a primitive integer value");
         }
 
-        int value = 0;
-
-        for(int index : bits)
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return BitFieldExtractor.getInt(this, bits, 0);
     }
 
     /**
@@ -472,19 +460,7 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(IntField intField)
     {
-        int value = 0;
-
-        for(int index = intField.start(); index <= intField.end(); index++)
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return BitFieldExtractor.getInt(this, intField.start(), intField.end());
     }
 
     /**
@@ -494,19 +470,7 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(FragmentedIntField fragmentedField)
     {
-        int value = 0;
-
-        for(int index: fragmentedField.indices())
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return BitFieldExtractor.getInt(this, fragmentedField.indices(), 0);
     }
 
     /**
@@ -546,19 +510,7 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(IntField intField, int offset)
     {
-        int value = 0;
-
-        for(int index = intField.start() + offset; index <= intField.end() + offset; index++)
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return BitFieldExtractor.getInt(this, intField.start() + offset, intField.end() + offset);
     }
 
     /**
@@ -570,19 +522,7 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(FragmentedIntField fragmentedField, int offset)
     {
-        int value = 0;
-
-        for(int index: fragmentedField.indices())
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index + offset))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return BitFieldExtractor.getInt(this, fragmentedField.indices(), offset);
     }
 
     /**
@@ -679,19 +619,7 @@ public class BinaryMessage extends BitSet
                     + "or less to fit into a primitive integer value");
         }
 
-        int value = 0;
-
-        for(int index : bits)
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index + offset))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return BitFieldExtractor.getInt(this, bits, offset);
     }
 
     public void setInt(int value, int[] indices)
@@ -19,58 +19,78 @@
 
 package io.github.dsheirer.buffer;
 
+import io.github.dsheirer.buffer.convert.IByteSampleConverter;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 
 /**
  * Native buffer sample array wrapper class that provides access to a stream of either interleaved or
  * non-interleaved complex sample buffers converted from the raw byte sample array.
+ *
+ * The samples can be a heap copy of the native samples or a zero-copy view of the USB transfer buffer.
  */
 public class ByteNativeBuffer extends AbstractNativeBuffer
 {
     private static final int FRAGMENT_SIZE = 8192;
-    private final static float[] LOOKUP_VALUES;
+    private final IByteSampleConverter mConverter;
     private float mAverageDc;
+    private TransferByteBuffer mSamples;
 
-    //Creates a static lookup table that converts the 8-bit valued range from 0 - 255 into scaled float values
-    //of -1.0 to 0 to 1.0
-    static
+    /**
+     * Constructs an instance
+     * @param samples to process
+     * @param timestamp of the samples
+     * @param averageDc measured from sample stream
+     * @param samplesPerMillisecond to calculate derivative timestamps for sub-buffers.
+     * @param converter for unsigned 8-bit samples
+     */
+    public ByteNativeBuffer(byte[] samples, long timestamp, float averageDc, float samplesPerMillisecond,
+                            IByteSampleConverter converter)
     {
-        LOOKUP_VALUES = new float[256];
-
-        for(int x = 0; x < 256; x++)
-        {
-            LOOKUP_VALUES[x] = ((float)x - 127.5f) / 128.0f;
-        }
+        this(TransferByteBuffer.wrap(samples), timestamp, averageDc, samplesPerMillisecond, converter);
     }
 
-    private byte[] mSamples;
-
     /**
      * Constructs an instance
-     * @param samples to process
+     * @param samples to process, either a heap copy or a view of the USB transfer buffer
      * @param timestamp of the samples
      * @param averageDc measured from sample stream
      * @param samplesPerMillisecond to calculate derivative timestamps for sub-buffers.
+     * @param converter for unsigned 8-bit samples
      */
-    public ByteNativeBuffer(byte[] samples, long timestamp, float averageDc, float samplesPerMillisecond)
+    public ByteNativeBuffer(TransferByteBuffer samples, long timestamp, float averageDc, float samplesPerMillisecond,
+                            IByteSampleConverter converter)
     {
         super(timestamp, samplesPerMillisecond);
         //Ensure we're an even multiple of the fragment size.  Typically, this will be 64k or 128k
-        if(samples.length % FRAGMENT_SIZE != 0)
+        if(samples.length() % FRAGMENT_SIZE != 0)
         {
-            throw new IllegalArgumentException("Samples byte[] length [" + samples.length + "] must be an even multiple of " + FRAGMENT_SIZE);
+            throw new IllegalArgumentException("Samples byte[] length [" + samples.length() + "] must be an even multiple of " + FRAGMENT_SIZE);
         }
 
         mSamples = samples;
         mAverageDc = averageDc;
+        mConverter = converter;
     }
 
     @Override
     public int sampleCount()
     {
-        return mSamples.length / 2;
+        return mSamples.length() / 2;
+    }
+
+    @Override
+    public void retain()
+    {
+        mSamples.retain();
+    }
+
+    @Override
+    public void release()
+    {
+        mSamples.release();
     }
 
     @Override
@@ -85,6 +105,22 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
         return new InterleavedComplexSamplesIterator();
     }
 
+    /**
+     * Converts a fragment of samples into the I and Q arrays.
+     */
+    private void convert(ByteBuffer samples, int offset, float[] i, float[] q)
+    {
+        mConverter.convert(samples, offset, i, q, mAverageDc, mAverageDc);
+    }
+
+    /**
+     * Converts a fragment of samples into the interleaved array.
+     */
+    private void convert(ByteBuffer samples, int offset, float[] converted)
+    {
+        mConverter.convertInterleaved(samples, offset, converted, mAverageDc, mAverageDc);
+    }
+
     private class ComplexSamplesIterator implements Iterator<ComplexSamples>
     {
         private int mSamplesPointer = 0;
@@ -92,7 +128,7 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
         @Override
         public boolean hasNext()
         {
-            return mSamplesPointer < mSamples.length;
+            return mSamplesPointer < mSamples.length();
         }
 
         @Override
@@ -102,15 +138,26 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
 
             float[] i = new float[FRAGMENT_SIZE];
             float[] q = new float[FRAGMENT_SIZE];
-            int samplesOffset = mSamplesPointer;
 
-            for(int pointer = 0; pointer < i.length; pointer++)
+            long stamp = mSamples.startRead();
+            convert(mSamples.buffer(), mSamplesPointer, i, q);
+
+            //Convert again from the heap copy if the buffer was detached from the transfer while we were reading
+            if(!mSamples.validate(stamp))
             {
-                i[pointer] = LOOKUP_VALUES[(0xFF & mSamples[samplesOffset++])] - mAverageDc;
-                q[pointer] = LOOKUP_VALUES[(0xFF & mSamples[samplesOffset++])] - mAverageDc;
+                stamp = mSamples.readLock();
+
+                try
+                {
+                    convert(mSamples.buffer(), mSamplesPointer, i, q);
+                }
+                finally
+                {
+                    mSamples.unlockRead(stamp);
+                }
             }
 
-            mSamplesPointer = samplesOffset;
+            mSamplesPointer += FRAGMENT_SIZE * 2;
             return new ComplexSamples(i, q, timestamp);
         }
     }
@@ -125,7 +172,7 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
         @Override
         public boolean hasNext()
         {
-            return mSamplesPointer < mSamples.length;
+            return mSamplesPointer < mSamples.length();
         }
 
         @Override
@@ -135,14 +182,25 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
 
             float[] converted = new float[FRAGMENT_SIZE * 2];
 
-            int samplesPointer = mSamplesPointer;
+            long stamp = mSamples.startRead();
+            convert(mSamples.buffer(), mSamplesPointer, converted);
 
-            for(int pointer = 0; pointer < converted.length; pointer++)
+            //Convert again from the heap copy if the buffer was detached from the transfer while we were reading
+            if(!mSamples.validate(stamp))
             {
-                converted[pointer] = LOOKUP_VALUES[(0xFF & mSamples[samplesPointer++])] - mAverageDc;
+                stamp = mSamples.readLock();
+
+                try
+                {
+                    convert(mSamples.buffer(), mSamplesPointer, converted);
+                }
+                finally
+                {
+                    mSamples.unlockRead(stamp);
+                }
             }
 
-            mSamplesPointer = samplesPointer;
+            mSamplesPointer += converted.length;
 
             return new InterleavedComplexSamples(converted, timestamp);
         }
@@ -19,6 +19,8 @@
 
 package io.github.dsheirer.buffer;
 
+import io.github.dsheirer.buffer.convert.IByteSampleConverter;
+import io.github.dsheirer.buffer.convert.SampleConverterFactory;
 import java.nio.ByteBuffer;
 
 /**
@@ -27,6 +29,7 @@ import java.nio.ByteBuffer;
 public class ByteNativeBufferFactory extends AbstractNativeBufferFactory
 {
     private DcCorrectionManager mDcCorrectionManager = new DcCorrectionManager();
+    private IByteSampleConverter mConverter = SampleConverterFactory.getByteSampleConverter(true);
 
     @Override
     public INativeBuffer getBuffer(ByteBuffer samples, long timestamp)
@@ -36,27 +39,47 @@ public class ByteNativeBufferFactory extends AbstractNativeBufferFactory
 
         if(mDcCorrectionManager.shouldCalculateDc())
         {
-            calculateDc(copy);
+            calculateDc(ByteBuffer.wrap(copy), copy.length);
         }
 
-        return new ByteNativeBuffer(copy, timestamp, mDcCorrectionManager.getAverageDc(), getSamplesPerMillisecond());
+        return new ByteNativeBuffer(copy, timestamp, mDcCorrectionManager.getAverageDc(), getSamplesPerMillisecond(),
+            mConverter);
+    }
+
+    @Override
+    public boolean isZeroCopySupported()
+    {
+        return true;
+    }
+
+    @Override
+    public INativeBuffer getBuffer(TransferByteBuffer samples, long timestamp)
+    {
+        if(mDcCorrectionManager.shouldCalculateDc())
+        {
+            calculateDc(samples.buffer(), samples.length());
+        }
+
+        return new ByteNativeBuffer(samples, timestamp, mDcCorrectionManager.getAverageDc(), getSamplesPerMillisecond(),
+            mConverter);
     }
 
     /**
      * Calculates the average DC in the sample stream so that it can be subtracted from the samples when the
      * native buffer is used.
      * @param samples containing DC offset
+     * @param length of valid samples
      */
-    private void calculateDc(byte[] samples)
+    private void calculateDc(ByteBuffer samples, int length)
     {
         float dcAccumulator = 0;
 
-        for(byte sample: samples)
+        for(int x = 0; x < length; x++)
         {
-            dcAccumulator += (sample & 0xFF);
+            dcAccumulator += (samples.get(x) & 0xFF);
         }
 
-        dcAccumulator /= samples.length;
+        dcAccumulator /= length;
         dcAccumulator -= 127.5f;
         dcAccumulator /= 128.0f;
         mDcCorrectionManager.adjust(dcAccumulator);
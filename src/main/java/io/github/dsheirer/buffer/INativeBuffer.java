@@ -50,4 +50,21 @@ public interface INativeBuffer
      * @return millis since epoch
      */
     long getTimestamp();
+
+    /**
+     * Adds a reference to this buffer.  Consumers that queue the buffer for processing after the receive() call
+     * returns must retain the buffer before queueing it and release it after processing.  Buffers that don't
+     * reference native memory ignore this call.
+     */
+    default void retain()
+    {
+    }
+
+    /**
+     * Releases a reference to this buffer.  Buffers that reference native memory return that memory to the tuner for
+     * reuse once the last reference is released.
+     */
+    default void release()
+    {
+    }
 }
@@ -38,6 +38,44 @@ public interface INativeBufferFactory
      */
     INativeBuffer getBuffer(ByteBuffer samples, long timestamp);
 
+    /**
+     * Indicates if this factory can create native buffers that read the samples directly from the USB transfer buffer
+     * via getBuffer(TransferByteBuffer, long) instead of copying the samples into the JVM heap.
+     */
+    default boolean isZeroCopySupported()
+    {
+        return false;
+    }
+
+    /**
+     * Create a native buffer implementation that reads the samples directly from the transfer buffer without making
+     * a copy.  The returned native buffer holds the creator's reference to the transfer buffer.
+     *
+     * The default implementation, for factories that don't support zero-copy buffers, copies the samples from the
+     * transfer buffer, releases the creator's reference and creates the native buffer from the copy.
+     *
+     * @param samples transfer buffer view of native memory
+     * @param timestamp of the samples
+     * @return instance
+     */
+    default INativeBuffer getBuffer(TransferByteBuffer samples, long timestamp)
+    {
+        byte[] copy = new byte[samples.length()];
+        long stamp = samples.readLock();
+
+        try
+        {
+            samples.buffer().get(0, copy);
+        }
+        finally
+        {
+            samples.unlockRead(stamp);
+        }
+
+        samples.release();
+        return getBuffer(ByteBuffer.wrap(copy), timestamp);
+    }
+
     /**
      * Sets the samples per millisecond rate based on the current sample rate.
      *
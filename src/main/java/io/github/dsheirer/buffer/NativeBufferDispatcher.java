@@ -0,0 +1,63 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.buffer;
+
+import io.github.dsheirer.source.heartbeat.HeartbeatManager;
+import io.github.dsheirer.util.Dispatcher;
+
+/**
+ * Dispatcher for native buffers that holds a reference to each native buffer while it is queued so that buffers
+ * backed by native USB transfer memory are not reused before they are processed.
+ * @param <T> native buffer type
+ */
+public class NativeBufferDispatcher<T extends INativeBuffer> extends Dispatcher<T>
+{
+    /**
+     * Constructs an instance with integrated heartbeat support.
+     * @param threadName to name the dispatcher thread
+     * @param interval for processing each batch in milliseconds.
+     * @param heartbeatManager to receive a heartbeat command at each processing interval.
+     */
+    public NativeBufferDispatcher(String threadName, long interval, HeartbeatManager heartbeatManager)
+    {
+        super(threadName, interval, heartbeatManager);
+    }
+
+    /**
+     * Constructs an instance
+     * @param threadName to name the dispatcher thread
+     * @param interval for processing each batch in milliseconds.
+     */
+    public NativeBufferDispatcher(String threadName, long interval)
+    {
+        super(threadName, interval);
+    }
+
+    @Override
+    protected void queued(T nativeBuffer)
+    {
+        nativeBuffer.retain();
+    }
+
+    @Override
+    protected void dequeued(T nativeBuffer)
+    {
+        nativeBuffer.release();
+    }
+}
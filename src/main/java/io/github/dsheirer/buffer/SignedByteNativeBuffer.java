@@ -19,33 +19,23 @@
 
 package io.github.dsheirer.buffer;
 
+import io.github.dsheirer.buffer.convert.IByteSampleConverter;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 
 /**
  * Native buffer sample array wrapper class that provides access to a stream of either interleaved or
  * non-interleaved complex sample buffers converted from the raw byte sample array.
+ *
+ * The samples can be a heap copy of the native samples or a zero-copy view of the USB transfer buffer.
  */
 public class SignedByteNativeBuffer extends AbstractNativeBuffer
 {
     private static final int FRAGMENT_SIZE = 2048;
-    private final static float[] LOOKUP_VALUES;
-
-    //Creates a static lookup table that converts the signed byte values as:
-    // Index   0 - 127: 0.0f to 1.0f
-    // Index 128 - 255: -1.0f to -0.0f
-    static
-    {
-        LOOKUP_VALUES = new float[256];
-
-        for(int x = 0; x < 256; x++)
-        {
-            LOOKUP_VALUES[x] = (float)((byte)x) / 128.0f;
-        }
-    }
-
-    private byte[] mSamples;
+    private final IByteSampleConverter mConverter;
+    private TransferByteBuffer mSamples;
     private float mIAverageDc;
     private float mQAverageDc;
 
@@ -56,26 +46,55 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
      * @param iAverageDc of the sample stream
      * @param qAverageDc of the sample stream
      * @param samplesPerMillisecond to calculate sub-buffer timestamps
+     * @param converter for signed 8-bit samples
      */
-    public SignedByteNativeBuffer(byte[] samples, long timestamp, float iAverageDc, float qAverageDc, float samplesPerMillisecond)
+    public SignedByteNativeBuffer(byte[] samples, long timestamp, float iAverageDc, float qAverageDc, float samplesPerMillisecond,
+                                  IByteSampleConverter converter)
     {
-        super(timestamp, samplesPerMillisecond);
+        this(TransferByteBuffer.wrap(samples), timestamp, iAverageDc, qAverageDc, samplesPerMillisecond, converter);
+    }
 
+    /**
+     * Constructs an instance
+     * @param samples to process, either a heap copy or a view of the USB transfer buffer
+     * @param timestamp of the samples
+     * @param iAverageDc of the sample stream
+     * @param qAverageDc of the sample stream
+     * @param samplesPerMillisecond to calculate sub-buffer timestamps
+     * @param converter for signed 8-bit samples
+     */
+    public SignedByteNativeBuffer(TransferByteBuffer samples, long timestamp, float iAverageDc, float qAverageDc,
+                                  float samplesPerMillisecond, IByteSampleConverter converter)
+    {
+        super(timestamp, samplesPerMillisecond);
         //Ensure we're an even multiple of the fragment size.  Typically, this will be 64k or 128k
-        if(samples.length % FRAGMENT_SIZE != 0)
+        if(samples.length() % FRAGMENT_SIZE != 0)
         {
-            throw new IllegalArgumentException("Samples byte[] length [" + samples.length + "] must be an even multiple of " + FRAGMENT_SIZE);
+            throw new IllegalArgumentException("Samples byte[] length [" + samples.length() + "] must be an even multiple of " + FRAGMENT_SIZE);
         }
 
         mSamples = samples;
         mIAverageDc = iAverageDc;
         mQAverageDc = qAverageDc;
+        mConverter = converter;
     }
 
     @Override
     public int sampleCount()
     {
-        return mSamples.length / 2;
+        return mSamples.length() / 2;
+    }
+
+    @Override
+    public void retain()
+    {
+        mSamples.retain();
+    }
+
+    @Override
+    public void release()
+    {
+        mSamples.release();
     }
 
     @Override
@@ -90,6 +109,22 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
         return new InterleavedComplexSamplesIterator();
     }
 
+    /**
+     * Converts a fragment of samples into the I and Q arrays.
+     */
+    private void convert(ByteBuffer samples, int offset, float[] i, float[] q)
+    {
+        mConverter.convert(samples, offset, i, q, mIAverageDc, mQAverageDc);
+    }
+
+    /**
+     * Converts a fragment of samples into the interleaved array.
+     */
+    private void convert(ByteBuffer samples, int offset, float[] converted)
+    {
+        mConverter.convertInterleaved(samples, offset, converted, mIAverageDc, mQAverageDc);
+    }
+
     /**
      * Iterator of complex samples over the native byte buffer array
      */
@@ -100,7 +135,7 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
         @Override
         public boolean hasNext()
         {
-            return mSamplesPointer < mSamples.length;
+            return mSamplesPointer < mSamples.length();
         }
 
         @Override
@@ -110,15 +145,26 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
 
             float[] i = new float[FRAGMENT_SIZE];
             float[] q = new float[FRAGMENT_SIZE];
-            int samplesOffset = mSamplesPointer;
 
-            for(int pointer = 0; pointer < i.length; pointer++)
+            long stamp = mSamples.startRead();
+            convert(mSamples.buffer(), mSamplesPointer, i, q);
+
+            //Convert again from the heap copy if the buffer was detached from the transfer while we were reading
+            if(!mSamples.validate(stamp))
             {
-                i[pointer] = LOOKUP_VALUES[(0xFF & mSamples[samplesOffset++])] - mIAverageDc;
-                q[pointer] = LOOKUP_VALUES[(0xFF & mSamples[samplesOffset++])] - mQAverageDc;
+                stamp = mSamples.readLock();
+
+                try
+                {
+                    convert(mSamples.buffer(), mSamplesPointer, i, q);
+                }
+                finally
+                {
+                    mSamples.unlockRead(stamp);
+                }
             }
 
-            mSamplesPointer = samplesOffset;
+            mSamplesPointer += FRAGMENT_SIZE * 2;
             return new ComplexSamples(i, q, timestamp);
         }
     }
@@ -133,7 +179,7 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
         @Override
         public boolean hasNext()
         {
-            return mSamplesPointer < mSamples.length;
+            return mSamplesPointer < mSamples.length();
         }
 
         @Override
@@ -143,15 +189,25 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
 
             float[] converted = new float[FRAGMENT_SIZE * 2];
 
-            int samplesOffset = mSamplesPointer;
+            long stamp = mSamples.startRead();
+            convert(mSamples.buffer(), mSamplesPointer, converted);
 
-            for(int pointer = 0; pointer < converted.length; pointer += 2)
+            //Convert again from the heap copy if the buffer was detached from the transfer while we were reading
+            if(!mSamples.validate(stamp))
             {
-                converted[pointer] = LOOKUP_VALUES[(0xFF & mSamples[samplesOffset++])] - mIAverageDc;
-                converted[pointer + 1] = LOOKUP_VALUES[(0xFF & mSamples[samplesOffset++])] - mQAverageDc;
+                stamp = mSamples.readLock();
+
+                try
+                {
+                    convert(mSamples.buffer(), mSamplesPointer, converted);
+                }
+                finally
+                {
+                    mSamples.unlockRead(stamp);
+                }
             }
 
-            mSamplesPointer = samplesOffset;
+            mSamplesPointer += converted.length;
 
             return new InterleavedComplexSamples(converted, timestamp);
         }
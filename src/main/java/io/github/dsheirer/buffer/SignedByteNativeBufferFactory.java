@@ -19,6 +19,8 @@
 
 package io.github.dsheirer.buffer;
 
+import io.github.dsheirer.buffer.convert.IByteSampleConverter;
+import io.github.dsheirer.buffer.convert.SampleConverterFactory;
 import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
@@ -67,6 +69,11 @@ public class SignedByteNativeBufferFactory extends AbstractNativeBufferFactory
      */
     private float mQAverageDc = 0.0f;
 
+    /**
+     * Signed 8-bit sample converter
+     */
+    private IByteSampleConverter mConverter = SampleConverterFactory.getByteSampleConverter(false);
+
     @Override
     public INativeBuffer getBuffer(ByteBuffer samples, long timestamp)
     {
@@ -75,10 +82,29 @@ public class SignedByteNativeBufferFactory extends AbstractNativeBufferFactory
 
         if(shouldCalculateDc())
         {
-            calculateDc(copy);
+            calculateDc(ByteBuffer.wrap(copy), copy.length);
+        }
+
+        return new SignedByteNativeBuffer(copy, timestamp, mIAverageDc, mQAverageDc, getSamplesPerMillisecond(),
+            mConverter);
+    }
+
+    @Override
+    public boolean isZeroCopySupported()
+    {
+        return true;
+    }
+
+    @Override
+    public INativeBuffer getBuffer(TransferByteBuffer samples, long timestamp)
+    {
+        if(shouldCalculateDc())
+        {
+            calculateDc(samples.buffer(), samples.length());
         }
 
-        return new SignedByteNativeBuffer(copy, timestamp, mIAverageDc, mQAverageDc, getSamplesPerMillisecond());
+        return new SignedByteNativeBuffer(samples, timestamp, mIAverageDc, mQAverageDc, getSamplesPerMillisecond(),
+            mConverter);
     }
 
     /**
@@ -107,24 +133,25 @@ public class SignedByteNativeBufferFactory extends AbstractNativeBufferFactory
      * Calculates the average DC in the sample stream so that it can be subtracted from the samples when the
      * native buffer is used.
      * @param samples containing DC offset
+     * @param length of valid samples
      */
-    private void calculateDc(byte[] samples)
+    private void calculateDc(ByteBuffer samples, int length)
     {
         float iDcAccumulator = 0;
         float qDcAccumulator = 0;
 
-        for(int x = 0; x < samples.length; x += 2)
+        for(int x = 0; x < length; x += 2)
         {
-            iDcAccumulator += samples[x];
-            qDcAccumulator += samples[x + 1];
+            iDcAccumulator += samples.get(x);
+            qDcAccumulator += samples.get(x + 1);
         }
 
-        iDcAccumulator /= (samples.length / 2);
+        iDcAccumulator /= (length / 2);
         iDcAccumulator /= 128.0f;
         iDcAccumulator -= mIAverageDc;
         mIAverageDc += (iDcAccumulator * DC_FILTER_GAIN);
 
-        qDcAccumulator /= (samples.length / 2);
+        qDcAccumulator /= (length / 2);
         qDcAccumulator /= 128.0f;
         qDcAccumulator -= mQAverageDc;
         mQAverageDc += (qDcAccumulator * DC_FILTER_GAIN);
@@ -0,0 +1,225 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Reference counted view of a USB transfer's native (direct) byte buffer that allows native buffers to convert
+ * samples directly from the transfer memory without first copying the samples into the JVM heap.
+ *
+ * The transfer is returned to its owner for reuse when the last reference is released.  Consumers that hold the
+ * native buffer beyond the receive() call (ie queue it for processing on another thread) must retain() the buffer
+ * before queueing it and release() it once processed.
+ *
+ * When consumers hold the buffer too long, the owner can detach() the buffer.  Detaching copies the samples into a
+ * heap byte array and switches this buffer to the copy, so that the transfer can be reused immediately while
+ * consumers continue to see the original samples.
+ *
+ * Readers access the backing buffer under an optimistic read stamp and must validate the stamp after reading.  An
+ * invalid stamp means the buffer was detached during the read and the read must be repeated against the copy.
+ */
+public class TransferByteBuffer
+{
+    private final StampedLock mLock = new StampedLock();
+    private final AtomicInteger mReferenceCount = new AtomicInteger(1);
+    private final Consumer<TransferByteBuffer> mReturnListener;
+    private final int mLength;
+    private ByteBuffer mBuffer;
+    private boolean mReturned;
+
+    /**
+     * Constructs an instance that holds one reference on behalf of the creator.
+     * @param buffer from the USB transfer.  The buffer contents must not be modified until it is returned.
+     * @param length of valid bytes in the buffer
+     * @param returnListener to receive this buffer when the last reference is released.  The transfer can be reused
+     * once the listener is notified.
+     */
+    public TransferByteBuffer(ByteBuffer buffer, int length, Consumer<TransferByteBuffer> returnListener)
+    {
+        mBuffer = buffer;
+        mLength = length;
+        mReturnListener = returnListener;
+    }
+
+    /**
+     * Creates a detached (heap) instance from a byte array.
+     * @param samples to wrap
+     * @return instance that does not reference a transfer.
+     */
+    public static TransferByteBuffer wrap(byte[] samples)
+    {
+        TransferByteBuffer buffer = new TransferByteBuffer(ByteBuffer.wrap(samples), samples.length, null);
+        buffer.mReturned = true;
+        return buffer;
+    }
+
+    /**
+     * Number of valid bytes
+     */
+    public int length()
+    {
+        return mLength;
+    }
+
+    /**
+     * Adds a reference to this buffer.
+     */
+    public void retain()
+    {
+        mReferenceCount.incrementAndGet();
+    }
+
+    /**
+     * Releases a reference to this buffer and returns the transfer to its owner when the last reference is released.
+     */
+    public void release()
+    {
+        if(mReferenceCount.decrementAndGet() == 0)
+        {
+            returnTransfer();
+        }
+    }
+
+    /**
+     * Copies the samples into the heap and returns the transfer to its owner, if the transfer has not already been
+     * returned.
+     * @return true if this buffer was detached from the transfer, or false if the transfer was already returned.
+     */
+    public boolean detach()
+    {
+        long stamp = mLock.writeLock();
+
+        try
+        {
+            if(mReturned)
+            {
+                return false;
+            }
+
+            byte[] copy = new byte[mLength];
+            mBuffer.get(0, copy);
+            mBuffer = ByteBuffer.wrap(copy);
+            mReturned = true;
+        }
+        finally
+        {
+            mLock.unlockWrite(stamp);
+        }
+
+        if(mReturnListener != null)
+        {
+            mReturnListener.accept(this);
+        }
+
+        return true;
+    }
+
+    /**
+     * Indicates if this buffer is still backed by the transfer memory.
+     */
+    public boolean isAttached()
+    {
+        long stamp = mLock.readLock();
+
+        try
+        {
+            return !mReturned;
+        }
+        finally
+        {
+            mLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the transfer to the owner when the last reference is released.  A detached buffer's transfer has
+     * already been returned.
+     */
+    private void returnTransfer()
+    {
+        long stamp = mLock.writeLock();
+        boolean notify;
+
+        try
+        {
+            notify = !mReturned;
+            mReturned = true;
+        }
+        finally
+        {
+            mLock.unlockWrite(stamp);
+        }
+
+        if(notify && mReturnListener != null)
+        {
+            mReturnListener.accept(this);
+        }
+    }
+
+    /**
+     * Starts an optimistic read.  Read the samples from buffer() and then invoke validate() with the stamp.
+     * @return stamp, or zero if the buffer is currently being detached.
+     */
+    public long startRead()
+    {
+        return mLock.tryOptimisticRead();
+    }
+
+    /**
+     * Validates an optimistic read.
+     * @param stamp from startRead()
+     * @return true if the samples read since the stamp was issued are valid.
+     */
+    public boolean validate(long stamp)
+    {
+        return stamp != 0 && mLock.validate(stamp);
+    }
+
+    /**
+     * Acquires a (blocking) read lock for use when an optimistic read fails validation.
+     * @return stamp to release with unlockRead()
+     */
+    public long readLock()
+    {
+        return mLock.readLock();
+    }
+
+    /**
+     * Releases a read lock
+     * @param stamp from readLock()
+     */
+    public void unlockRead(long stamp)
+    {
+        mLock.unlockRead(stamp);
+    }
+
+    /**
+     * Current backing buffer.  Use absolute get methods only.  The returned buffer may change when this buffer is
+     * detached, so access it after startRead() and re-access it after a failed validation.
+     */
+    public ByteBuffer buffer()
+    {
+        return mBuffer;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer.convert;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts interleaved 8-bit I/Q tuner samples to scaled float samples (-1.0 to 1.0) with DC offset removal.
+ *
+ * Implementations are stateless and can be shared across threads.
+ */
+public interface IByteSampleConverter
+{
+    /**
+     * Converts and de-interleaves samples into the I and Q arrays.  The number of complex samples converted is the
+     * length of the I array.
+     * @param samples buffer of interleaved I/Q bytes, accessed with absolute indexing
+     * @param offset to the first I byte in the sample buffer
+     * @param i array to receive the converted inphase samples
+     * @param q array to receive the converted quadrature samples
+     * @param iDc average DC offset to remove from the inphase samples
+     * @param qDc average DC offset to remove from the quadrature samples
+     */
+    void convert(ByteBuffer samples, int offset, float[] i, float[] q, float iDc, float qDc);
+
+    /**
+     * Converts samples into the interleaved array.  The number of bytes converted is the length of the array.
+     * @param samples buffer of interleaved I/Q bytes, accessed with absolute indexing
+     * @param offset to the first I byte in the sample buffer
+     * @param interleaved array to receive the converted, interleaved samples
+     * @param iDc average DC offset to remove from the inphase samples
+     * @param qDc average DC offset to remove from the quadrature samples
+     */
+    void convertInterleaved(ByteBuffer samples, int offset, float[] interleaved, float iDc, float qDc);
+}
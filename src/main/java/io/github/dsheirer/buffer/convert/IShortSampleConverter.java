@@ -0,0 +1,49 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer.convert;
+
+/**
+ * Converts 16-bit I/Q tuner samples (e.g. 12/14-bit ADC values delivered as shorts) to scaled float samples
+ * (-1.0 to 1.0).
+ *
+ * Implementations are stateless and can be shared across threads.
+ */
+public interface IShortSampleConverter
+{
+    /**
+     * Converts samples into the I and Q arrays.  The number of samples converted is the length of the output arrays.
+     * @param i samples
+     * @param q samples
+     * @param offset to the first sample to convert
+     * @param iConverted array to receive the converted inphase samples
+     * @param qConverted array to receive the converted quadrature samples
+     */
+    void convert(short[] i, short[] q, int offset, float[] iConverted, float[] qConverted);
+
+    /**
+     * Converts and interleaves samples into the interleaved array.  The number of complex samples converted is half
+     * the length of the interleaved array.
+     * @param i samples
+     * @param q samples
+     * @param offset to the first sample to convert
+     * @param interleaved array to receive the converted, interleaved samples
+     */
+    void convertInterleaved(short[] i, short[] q, int offset, float[] interleaved);
+}
@@ -0,0 +1,88 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer.convert;
+
+import io.github.dsheirer.vector.calibrate.CalibrationManager;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+
+/**
+ * Factory for creating an optimal scalar or vector (SIMD) tuner sample converter implementation
+ */
+public class SampleConverterFactory
+{
+    /**
+     * Selects and instantiates the best 8-bit sample converter version, scalar or vector, based on previous
+     * calibration.
+     * @param unsigned true for unsigned (offset binary) samples or false for signed samples
+     * @return converter
+     */
+    public static IByteSampleConverter getByteSampleConverter(boolean unsigned)
+    {
+        Implementation implementation = CalibrationManager.getInstance()
+            .getImplementation(CalibrationType.SAMPLE_CONVERTER_BYTE);
+        return getByteSampleConverter(unsigned, implementation);
+    }
+
+    /**
+     * Instantiates the specified 8-bit sample converter implementation.
+     * @param unsigned true for unsigned (offset binary) samples or false for signed samples
+     * @param implementation to construct
+     * @return converter
+     */
+    public static IByteSampleConverter getByteSampleConverter(boolean unsigned, Implementation implementation)
+    {
+        return switch(implementation)
+        {
+            case VECTOR_SIMD_PREFERRED, VECTOR_SIMD_512, VECTOR_SIMD_256, VECTOR_SIMD_128, VECTOR_SIMD_64 ->
+                new VectorByteSampleConverter(unsigned);
+            case SCALAR, UNCALIBRATED -> new ScalarByteSampleConverter(unsigned);
+            default -> throw new IllegalArgumentException("Unknown implementation type: " + implementation);
+        };
+    }
+
+    /**
+     * Selects and instantiates the best 16-bit sample converter version, scalar or vector, based on previous
+     * calibration.
+     * @return converter
+     */
+    public static IShortSampleConverter getShortSampleConverter()
+    {
+        Implementation implementation = CalibrationManager.getInstance()
+            .getImplementation(CalibrationType.SAMPLE_CONVERTER_SHORT);
+        return getShortSampleConverter(implementation);
+    }
+
+    /**
+     * Instantiates the specified 16-bit sample converter implementation.
+     * @param implementation to construct
+     * @return converter
+     */
+    public static IShortSampleConverter getShortSampleConverter(Implementation implementation)
+    {
+        return switch(implementation)
+        {
+            case VECTOR_SIMD_PREFERRED, VECTOR_SIMD_512, VECTOR_SIMD_256, VECTOR_SIMD_128, VECTOR_SIMD_64 ->
+                new VectorShortSampleConverter();
+            case SCALAR, UNCALIBRATED -> new ScalarShortSampleConverter();
+            default -> throw new IllegalArgumentException("Unknown implementation type: " + implementation);
+        };
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer.convert;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Scalar 8-bit sample converter using a lookup table.
+ */
+public class ScalarByteSampleConverter implements IByteSampleConverter
+{
+    private final float[] mLookupValues = new float[256];
+
+    /**
+     * Constructs an instance
+     * @param unsigned true for unsigned (offset binary, e.g. RTL-SDR) samples or false for signed (e.g. HackRF) samples
+     */
+    public ScalarByteSampleConverter(boolean unsigned)
+    {
+        for(int x = 0; x < 256; x++)
+        {
+            //Unsigned values 0 - 255 map to -1.0 to 1.0, signed values -128 to 127 map to -1.0 to 1.0
+            mLookupValues[x] = unsigned ? ((float)x - 127.5f) / 128.0f : (float)((byte)x) / 128.0f;
+        }
+    }
+
+    @Override
+    public void convert(ByteBuffer samples, int offset, float[] i, float[] q, float iDc, float qDc)
+    {
+        if(samples.hasArray())
+        {
+            byte[] array = samples.array();
+            int pointer = samples.arrayOffset() + offset;
+
+            for(int x = 0; x < i.length; x++)
+            {
+                i[x] = mLookupValues[0xFF & array[pointer++]] - iDc;
+                q[x] = mLookupValues[0xFF & array[pointer++]] - qDc;
+            }
+        }
+        else
+        {
+            for(int x = 0; x < i.length; x++)
+            {
+                i[x] = mLookupValues[0xFF & samples.get(offset++)] - iDc;
+                q[x] = mLookupValues[0xFF & samples.get(offset++)] - qDc;
+            }
+        }
+    }
+
+    @Override
+    public void convertInterleaved(ByteBuffer samples, int offset, float[] interleaved, float iDc, float qDc)
+    {
+        if(samples.hasArray())
+        {
+            byte[] array = samples.array();
+            int pointer = samples.arrayOffset() + offset;
+
+            for(int x = 0; x < interleaved.length; x += 2)
+            {
+                interleaved[x] = mLookupValues[0xFF & array[pointer++]] - iDc;
+                interleaved[x + 1] = mLookupValues[0xFF & array[pointer++]] - qDc;
+            }
+        }
+        else
+        {
+            for(int x = 0; x < interleaved.length; x += 2)
+            {
+                interleaved[x] = mLookupValues[0xFF & samples.get(offset++)] - iDc;
+                interleaved[x + 1] = mLookupValues[0xFF & samples.get(offset++)] - qDc;
+            }
+        }
+    }
+
+    /**
+     * Converts a single sample byte to a scaled float value without DC offset removal.
+     * @param sample to convert
+     * @return converted value
+     */
+    public float convert(byte sample)
+    {
+        return mLookupValues[0xFF & sample];
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer.convert;
+
+/**
+ * Scalar 16-bit sample converter.
+ */
+public class ScalarShortSampleConverter implements IShortSampleConverter
+{
+    private static final float SAMPLE_TO_FLOAT = 1.0f / 32768.0f;
+
+    @Override
+    public void convert(short[] i, short[] q, int offset, float[] iConverted, float[] qConverted)
+    {
+        for(int x = 0; x < iConverted.length; x++)
+        {
+            iConverted[x] = i[offset + x] * SAMPLE_TO_FLOAT;
+            qConverted[x] = q[offset + x] * SAMPLE_TO_FLOAT;
+        }
+    }
+
+    @Override
+    public void convertInterleaved(short[] i, short[] q, int offset, float[] interleaved)
+    {
+        int index = 0;
+
+        for(int x = 0; x < interleaved.length / 2; x++)
+        {
+            interleaved[index++] = i[offset + x] * SAMPLE_TO_FLOAT;
+            interleaved[index++] = q[offset + x] * SAMPLE_TO_FLOAT;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer.convert;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD 8-bit sample converter.  Widens bytes to floats, scales, removes DC offset and (optionally) de-interleaves
+ * using the preferred float vector species for the host processor.
+ *
+ * Heap buffers are loaded directly from the backing array and direct (USB transfer) buffers are loaded through a
+ * memory segment view so that neither path incurs per-byte bounds-checked buffer accessors.
+ */
+public class VectorByteSampleConverter implements IByteSampleConverter
+{
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int FLOAT_LANES = FLOAT_SPECIES.length();
+    //Narrowest byte species that covers one float vector of lanes (minimum 64-bit shape)
+    private static final VectorSpecies<Byte> BYTE_SPECIES = ByteVector.SPECIES_PREFERRED
+            .withShape(VectorShape.forBitSize(Math.max(64, FLOAT_LANES * 8)));
+    //De-interleave shuffles that gather the even (I) or odd (Q) lanes into the lower or upper half of the vector
+    private static final int HALF = FLOAT_LANES / 2;
+    private static final VectorShuffle<Float> EVEN_LOW = VectorShuffle.fromOp(FLOAT_SPECIES,
+            lane -> (lane * 2) % FLOAT_LANES);
+    private static final VectorShuffle<Float> EVEN_HIGH = VectorShuffle.fromOp(FLOAT_SPECIES,
+            lane -> ((lane + HALF) * 2) % FLOAT_LANES);
+    private static final VectorShuffle<Float> ODD_LOW = VectorShuffle.fromOp(FLOAT_SPECIES,
+            lane -> (lane * 2 + 1) % FLOAT_LANES);
+    private static final VectorShuffle<Float> ODD_HIGH = VectorShuffle.fromOp(FLOAT_SPECIES,
+            lane -> ((lane + HALF) * 2 + 1) % FLOAT_LANES);
+    private static final VectorMask<Float> HIGH_LANES = VectorMask.fromLong(FLOAT_SPECIES, -1L << HALF);
+    private static final VectorMask<Float> ODD_LANES = VectorMask.fromLong(FLOAT_SPECIES, 0xAAAAAAAAAAAAAAAAL);
+    private static final float SCALE = 1.0f / 128.0f;
+
+    private final ScalarByteSampleConverter mScalarConverter;
+    private final boolean mUnsigned;
+    private final float mBias;
+
+    /**
+     * Constructs an instance
+     * @param unsigned true for unsigned (offset binary, e.g. RTL-SDR) samples or false for signed (e.g. HackRF) samples
+     */
+    public VectorByteSampleConverter(boolean unsigned)
+    {
+        mUnsigned = unsigned;
+        //Unsigned samples map (x - 127.5) / 128 which is the signed value (x ^ 0x80) / 128 plus a half-step bias
+        mBias = unsigned ? 0.5f / 128.0f : 0.0f;
+        mScalarConverter = new ScalarByteSampleConverter(unsigned);
+    }
+
+    @Override
+    public void convert(ByteBuffer samples, int offset, float[] i, float[] q, float iDc, float qDc)
+    {
+        FloatVector offsets = FloatVector.broadcast(FLOAT_SPECIES, mBias - iDc).blend(mBias - qDc, ODD_LANES);
+        int bytesLength = i.length * 2;
+        int bound = vectorBound(bytesLength);
+        int x = 0;
+
+        if(samples.hasArray())
+        {
+            byte[] array = samples.array();
+            int base = samples.arrayOffset() + offset;
+
+            for(; x < bound; x += FLOAT_LANES * 2)
+            {
+                FloatVector a = widen(ByteVector.fromArray(BYTE_SPECIES, array, base + x), offsets);
+                FloatVector b = widen(ByteVector.fromArray(BYTE_SPECIES, array, base + x + FLOAT_LANES), offsets);
+                a.rearrange(EVEN_LOW).blend(b.rearrange(EVEN_HIGH), HIGH_LANES).intoArray(i, x / 2);
+                a.rearrange(ODD_LOW).blend(b.rearrange(ODD_HIGH), HIGH_LANES).intoArray(q, x / 2);
+            }
+        }
+        else
+        {
+            MemorySegment segment = MemorySegment.ofBuffer(view(samples));
+
+            for(; x < bound; x += FLOAT_LANES * 2)
+            {
+                FloatVector a = widen(load(segment, offset + x), offsets);
+                FloatVector b = widen(load(segment, offset + x + FLOAT_LANES), offsets);
+                a.rearrange(EVEN_LOW).blend(b.rearrange(EVEN_HIGH), HIGH_LANES).intoArray(i, x / 2);
+                a.rearrange(ODD_LOW).blend(b.rearrange(ODD_HIGH), HIGH_LANES).intoArray(q, x / 2);
+            }
+        }
+
+        convertTail(samples, offset, x, i, q, iDc, qDc);
+    }
+
+    @Override
+    public void convertInterleaved(ByteBuffer samples, int offset, float[] interleaved, float iDc, float qDc)
+    {
+        FloatVector offsets = FloatVector.broadcast(FLOAT_SPECIES, mBias - iDc)
+                .blend(mBias - qDc, ODD_LANES);
+        int bound = vectorBound(interleaved.length);
+        int x = 0;
+
+        if(samples.hasArray())
+        {
+            byte[] array = samples.array();
+            int base = samples.arrayOffset() + offset;
+
+            for(; x < bound; x += FLOAT_LANES)
+            {
+                widen(ByteVector.fromArray(BYTE_SPECIES, array, base + x), offsets).intoArray(interleaved, x);
+            }
+        }
+        else
+        {
+            MemorySegment segment = MemorySegment.ofBuffer(view(samples));
+
+            for(; x < bound; x += FLOAT_LANES)
+            {
+                widen(load(segment, offset + x), offsets).intoArray(interleaved, x);
+            }
+        }
+
+        for(; x < interleaved.length; x += 2)
+        {
+            interleaved[x] = mScalarConverter.convert(samples.get(offset + x)) - iDc;
+            interleaved[x + 1] = mScalarConverter.convert(samples.get(offset + x + 1)) - qDc;
+        }
+    }
+
+    /**
+     * Converts the remaining samples that don't fill a full vector pair.
+     */
+    private void convertTail(ByteBuffer samples, int offset, int x, float[] i, float[] q, float iDc, float qDc)
+    {
+        for(; x < i.length * 2; x += 2)
+        {
+            i[x / 2] = mScalarConverter.convert(samples.get(offset + x)) - iDc;
+            q[x / 2] = mScalarConverter.convert(samples.get(offset + x + 1)) - qDc;
+        }
+    }
+
+    /**
+     * Widens the first float vector's worth of byte lanes to scaled floats with the per-lane offset applied.
+     */
+    private FloatVector widen(ByteVector bytes, FloatVector offsets)
+    {
+        if(mUnsigned)
+        {
+            bytes = bytes.lanewise(VectorOperators.XOR, (byte)0x80);
+        }
+
+        return ((FloatVector)bytes.convertShape(VectorOperators.B2F, FLOAT_SPECIES, 0)).mul(SCALE).add(offsets);
+    }
+
+    /**
+     * Loads a byte vector from the memory segment at the byte offset.
+     */
+    private static ByteVector load(MemorySegment segment, int offset)
+    {
+        return ByteVector.fromMemorySegment(BYTE_SPECIES, segment, offset, ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Loop bound for the vector loop, in bytes, that ensures the widest byte vector load stays within the converted
+     * range.
+     */
+    private static int vectorBound(int bytesLength)
+    {
+        return bytesLength - (BYTE_SPECIES.length() + FLOAT_LANES) + 1;
+    }
+
+    /**
+     * Buffer view spanning the full capacity so that absolute offsets match the memory segment offsets.
+     */
+    private static ByteBuffer view(ByteBuffer samples)
+    {
+        if(samples.position() == 0 && samples.limit() == samples.capacity())
+        {
+            return samples;
+        }
+
+        return samples.duplicate().clear();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer.convert;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD 16-bit sample converter.  Widens shorts to floats, scales and (optionally) interleaves using the preferred
+ * float vector species for the host processor.
+ */
+public class VectorShortSampleConverter implements IShortSampleConverter
+{
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int FLOAT_LANES = FLOAT_SPECIES.length();
+    //Narrowest short species that covers one float vector of lanes (minimum 64-bit shape)
+    private static final VectorSpecies<Short> SHORT_SPECIES = ShortVector.SPECIES_PREFERRED
+            .withShape(VectorShape.forBitSize(Math.max(64, FLOAT_LANES * 16)));
+    //Interleave shuffles that spread the lower or upper half of the vector across every other lane
+    private static final VectorShuffle<Float> SPREAD_LOW = VectorShuffle.fromOp(FLOAT_SPECIES, lane -> lane / 2);
+    private static final VectorShuffle<Float> SPREAD_HIGH = VectorShuffle.fromOp(FLOAT_SPECIES,
+            lane -> (FLOAT_LANES + lane) / 2);
+    private static final VectorMask<Float> ODD_LANES = VectorMask.fromLong(FLOAT_SPECIES, 0xAAAAAAAAAAAAAAAAL);
+    private static final float SAMPLE_TO_FLOAT = 1.0f / 32768.0f;
+
+    @Override
+    public void convert(short[] i, short[] q, int offset, float[] iConverted, float[] qConverted)
+    {
+        int bound = iConverted.length - SHORT_SPECIES.length() + 1;
+        int x = 0;
+
+        for(; x < bound; x += FLOAT_LANES)
+        {
+            widen(i, offset + x).intoArray(iConverted, x);
+            widen(q, offset + x).intoArray(qConverted, x);
+        }
+
+        for(; x < iConverted.length; x++)
+        {
+            iConverted[x] = i[offset + x] * SAMPLE_TO_FLOAT;
+            qConverted[x] = q[offset + x] * SAMPLE_TO_FLOAT;
+        }
+    }
+
+    @Override
+    public void convertInterleaved(short[] i, short[] q, int offset, float[] interleaved)
+    {
+        int length = interleaved.length / 2;
+        int bound = length - SHORT_SPECIES.length() + 1;
+        int x = 0;
+
+        for(; x < bound; x += FLOAT_LANES)
+        {
+            FloatVector iVector = widen(i, offset + x);
+            FloatVector qVector = widen(q, offset + x);
+            iVector.rearrange(SPREAD_LOW).blend(qVector.rearrange(SPREAD_LOW), ODD_LANES)
+                    .intoArray(interleaved, x * 2);
+            iVector.rearrange(SPREAD_HIGH).blend(qVector.rearrange(SPREAD_HIGH), ODD_LANES)
+                    .intoArray(interleaved, x * 2 + FLOAT_LANES);
+        }
+
+        for(; x < length; x++)
+        {
+            interleaved[x * 2] = i[offset + x] * SAMPLE_TO_FLOAT;
+            interleaved[x * 2 + 1] = q[offset + x] * SAMPLE_TO_FLOAT;
+        }
+    }
+
+    /**
+     * Loads and widens one float vector's worth of samples to scaled floats.
+     */
+    private static FloatVector widen(short[] samples, int offset)
+    {
+        return ((FloatVector)ShortVector.fromArray(SHORT_SPECIES, samples, offset)
+                .convertShape(VectorOperators.S2F, FLOAT_SPECIES, 0)).mul(SAMPLE_TO_FLOAT);
+    }
+}
@@ -37,6 +37,7 @@ import io.github.dsheirer.identifier.decoder.DecoderLogicalChannelNameIdentifier
 import io.github.dsheirer.module.Module;
 import io.github.dsheirer.module.ProcessingChain;
 import io.github.dsheirer.module.decode.DecoderFactory;
+import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.module.decode.event.IDecodeEvent;
 import io.github.dsheirer.module.log.EventLogManager;
 import io.github.dsheirer.preference.UserPreferences;
@@ -50,6 +51,7 @@ import io.github.dsheirer.source.config.SourceConfigTuner;
 import io.github.dsheirer.source.config.SourceConfigTunerMultipleFrequency;
 import io.github.dsheirer.source.tuner.channel.TunerChannelSource;
 import io.github.dsheirer.source.tuner.manager.TunerManager;
+import io.github.dsheirer.util.DispatchPriority;
 import io.github.dsheirer.util.ThreadPool;
 import java.awt.GraphicsEnvironment;
 import java.util.ArrayList;
@@ -398,6 +400,17 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
                     channel.getDecodeConfiguration().getDecoderType().getShortDisplayString() + "]";
             source = mTunerManager.getSource(channel.getSourceConfiguration(),
                 channel.getDecodeConfiguration().getChannelSpecification(), threadName);
+
+            //Standard channels (e.g. control channels) are scheduled ahead of traffic channels
+            if(source instanceof TunerChannelSource)
+            {
+                ((TunerChannelSource)source).setDispatchPriority(channel.isTrafficChannel() ? DispatchPriority.NORMAL :
+                        DispatchPriority.HIGH);
+
+                //Only conventional analog channels opt in to idle channel parking
+                ((TunerChannelSource)source).setParkable(!channel.isTrafficChannel() &&
+                        DecoderType.PARKABLE_DECODERS.contains(channel.getDecodeConfiguration().getDecoderType()));
+            }
         }
         catch(SourceException se)
         {
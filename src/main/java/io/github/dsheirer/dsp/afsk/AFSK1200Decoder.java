@@ -69,7 +69,7 @@ public class AFSK1200Decoder implements Listener<float[]>
     private boolean mSampleDecision;
 
     //Resample to an integral of the baud rate 1200 baud * 6 samples per symbol = 7200.0 Hertz
-    private RealResampler mResampler = new RealResampler(8000.0, SAMPLE_RATE, 8192, 512);
+    private RealResampler mResampler = new RealResampler(8000.0, SAMPLE_RATE, 512);
 
     /**
      * Constructs a decoder using the provided arguments.
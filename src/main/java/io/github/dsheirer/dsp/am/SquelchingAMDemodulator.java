@@ -109,6 +109,12 @@ public class SquelchingAMDemodulator implements ISquelchingDemodulator, Listener
         mAdaptiveSquelch.setSquelchThreshold(threshold);
     }
 
+    @Override
+    public float getSquelchThreshold()
+    {
+        return mAdaptiveSquelch.getSquelchThreshold();
+    }
+
     @Override
     public void setSquelchAutoTrack(boolean autoTrack)
     {
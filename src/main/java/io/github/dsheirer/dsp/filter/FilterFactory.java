@@ -21,6 +21,13 @@ package io.github.dsheirer.dsp.filter;
 import io.github.dsheirer.dsp.filter.decimate.IRealDecimationFilter;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
 import io.github.dsheirer.dsp.filter.fir.FIRFilterSpecification;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexSampleFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.ScalarComplexSampleFIRFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexSampleFIRFilter128Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexSampleFIRFilter256Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexSampleFIRFilter512Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexSampleFIRFilter64Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexSampleFIRFilterDefaultBit;
 import io.github.dsheirer.dsp.filter.fir.real.IRealFilter;
 import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter;
 import io.github.dsheirer.dsp.filter.fir.real.VectorRealFIRFilter128Bit;
@@ -1099,6 +1106,48 @@ public class FilterFactory
         }
     }
 
+    /**
+     * Creates the optimal complex sample FIR filter implementation using calibration data to select
+     * from among the scalar and vector implementations.  The filter processes the I and Q sample arrays
+     * in a single pass using the same set of coefficients.
+     * @param coefficients for the filter
+     * @return complex fir filter implementation
+     */
+    public static IComplexSampleFilter getComplexFilter(float[] coefficients)
+    {
+        return getComplexDecimationFilter(coefficients, 1);
+    }
+
+    /**
+     * Creates the optimal decimating complex sample FIR filter implementation using calibration data to select
+     * from among the scalar and vector implementations.
+     * @param coefficients for the filter
+     * @param decimation factor where 1 is no decimation
+     * @return complex fir filter implementation
+     */
+    public static IComplexSampleFilter getComplexDecimationFilter(float[] coefficients, int decimation)
+    {
+        Implementation implementation = CalibrationManager.getInstance().getImplementation(CalibrationType.FILTER_FIR_COMPLEX);
+
+        switch(implementation)
+        {
+            case VECTOR_SIMD_PREFERRED:
+                return new VectorComplexSampleFIRFilterDefaultBit(coefficients, decimation);
+            case VECTOR_SIMD_64:
+                return new VectorComplexSampleFIRFilter64Bit(coefficients, decimation);
+            case VECTOR_SIMD_128:
+                return new VectorComplexSampleFIRFilter128Bit(coefficients, decimation);
+            case VECTOR_SIMD_256:
+                return new VectorComplexSampleFIRFilter256Bit(coefficients, decimation);
+            case VECTOR_SIMD_512:
+                return new VectorComplexSampleFIRFilter512Bit(coefficients, decimation);
+            case UNCALIBRATED:
+            case SCALAR:
+            default:
+                return new ScalarComplexSampleFIRFilter(coefficients, decimation);
+        }
+    }
+
     /**
      * Constructs the optimal decimation filter implementation for filter length and window type
      * using calibration data to select among scalar and vector implementation options.
@@ -104,7 +104,18 @@ public abstract class AbstractComplexPolyphaseChannelizer implements Listener<In
      */
     protected void dispatch(List<float[]> channelResultsList)
     {
-        for(PolyphaseChannelSource channel : mChannels)
+        dispatch(channelResultsList, mChannels);
+    }
+
+    /**
+     * Dispatches the processed channel samples to the specified polyphase channel outputs.
+     *
+     * @param channelResultsList a list of arrays of I/Q samples per channel
+     * @param channels to receive the results
+     */
+    protected void dispatch(List<float[]> channelResultsList, List<PolyphaseChannelSource> channels)
+    {
+        for(PolyphaseChannelSource channel : channels)
         {
             channel.receiveChannelResults(channelResultsList, mCurrentSamplesTimestamp);
         }
@@ -148,6 +159,14 @@ public abstract class AbstractComplexPolyphaseChannelizer implements Listener<In
         }
     }
 
+    /**
+     * Polyphase channel sources currently registered to receive processed output channel samples.
+     */
+    protected List<PolyphaseChannelSource> getChannels()
+    {
+        return mChannels;
+    }
+
     /**
      * Number of polyphase channels registered to receive sample streams
      */
@@ -0,0 +1,42 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.channelizer;
+
+/**
+ * Polyphase channelizer filter bank stage.  Performs the multiply-accumulate of the inline sample buffer against the
+ * aligned (inline) prototype filter, producing one accumulated value for each I/Q sub-channel.
+ *
+ * The inline sample buffer and filter are arranged as tapsPerChannel contiguous blocks where each block contains
+ * one value per sub-channel.
+ */
+public abstract class ChannelizerFilterBank
+{
+    /**
+     * Multiplies the samples by the filter and accumulates the products for each sub-channel into the accumulator,
+     * overwriting any existing accumulator contents.
+     *
+     * @param samples inline sample buffer, length subChannelCount * tapsPerChannel
+     * @param filter inline aligned filter, length subChannelCount * tapsPerChannel
+     * @param accumulator to receive the accumulated value for each sub-channel, length subChannelCount
+     * @param subChannelCount number of I/Q sub-channels (twice the channel count)
+     * @param tapsPerChannel number of filter taps per polyphase channel
+     */
+    public abstract void filter(float[] samples, float[] filter, float[] accumulator, int subChannelCount,
+                                int tapsPerChannel);
+}
@@ -21,10 +21,14 @@ package io.github.dsheirer.dsp.filter.channelizer;
 import io.github.dsheirer.dsp.filter.FilterFactory;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
+import io.github.dsheirer.source.tuner.manager.ProcessingLoadMonitor;
 import io.github.dsheirer.util.Dispatcher;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import org.apache.commons.math3.util.FastMath;
 import org.jtransforms.fft.FloatFFT_1D;
 import org.slf4j.Logger;
@@ -46,13 +50,19 @@ import org.slf4j.LoggerFactory;
  *
  * Instead of using an array of channel filters as described in the Harris text, this filter and the sample buffer
  * are arranged as a contiguous array to maximize Java's ability to leverage native processor Single Instruction
- * Multiple Data (SIMD) intrinsics (since Java 8).  The filter process is broken into four steps:
+ * Multiple Data (SIMD) intrinsics (since Java 8).  The filter process is broken into three steps:
  *
- *   -Multiply the inline array of samples and filter coefficients
- *   -Accumulate the results for each sub-channel
+ *   -Multiply the inline array of samples and filter coefficients and accumulate the results for each sub-channel
+ *    using the calibrated scalar or vector filter bank implementation
  *   -Rearrange the sub-channel results to correctly order the sub-channels
  *   -Perform IFFT
  *
+ * When only a few channel outputs are needed by the registered channel sources, the IFFT is replaced by a pruned
+ * inverse DFT that only evaluates the output bins that are consumed by the registered channels.  Each pruned bin costs
+ * one complex multiply-accumulate per channel, so the pruned transform is used whenever the active bin count is small
+ * enough that it is cheaper than the full IFFT.  The channelizer transitions between the pruned and full transforms
+ * automatically as channels are added or removed, or as channel indexes change following a tuner frequency change.
+ *
  * Note: design the prototype filter as a Nyquist windowed filter with a -6.02 db attenuation at the channel edge
  * frequency if you need Perfect Reconstruction where you'll later re-join two or more channels to form a wider
  * bandwidth channel or to isolate a signal that located between two channels.
@@ -68,18 +78,34 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
      */
     private static final int PROCESSED_CHANNEL_RESULTS_THRESHOLD = 1024;
 
+    /**
+     * Relative cost per channel of the full IFFT (~5 * log2(N) flops) versus a single pruned DFT bin (~4 flops per
+     * channel) used to determine when to switch between pruned and full transforms.
+     */
+    private static final double FFT_FLOPS_PER_CHANNEL_FACTOR = 5.0;
+    private static final double PRUNED_BIN_FLOPS_PER_CHANNEL = 4.0;
+
     //Sized to process 40 times per second
     private IFFTProcessorDispatcher mIFFTProcessorDispatcher = new IFFTProcessorDispatcher(25);
+    private ProcessingLoadMonitor mProcessingLoadMonitor;
     private FloatFFT_1D mFFT;
     private float[] mInlineSamples;
     private float[] mInlineFilter;
+    private float[] mFilterAccumulator;
+    private ChannelizerFilterBank mFilterBank = ChannelizerFilterBankFactory.getFilterBank();
     private boolean mTopBlockIndicator = true;
     private int[] mTopBlockMap;
     private int[] mMiddleBlockMap;
     private int mSampleBufferPointer;
     private int mSamplesPerBlock;
     private int mTapsPerChannel;
-    private List<float[]> mProcessedChannelResultsList = new ArrayList<>();
+    private float[] mTwiddleCosine;
+    private float[] mTwiddleSine;
+    private int mMaxPrunedBinCount;
+    private boolean mPrunedTransform = false;
+    private List<float[]> mProcessedChannelResultsList = new ArrayList<>(PROCESSED_CHANNEL_RESULTS_THRESHOLD);
+    private volatile ChannelSnapshot mChannelSnapshot = new ChannelSnapshot(List.of(), new int[0], false);
+    private float[] mBinResults = new float[0];
 
     /**
      * Creates a NMDPFB channelizer instance.
@@ -141,6 +167,15 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
         mIFFTProcessorDispatcher.stop();
     }
 
+    /**
+     * Sets the monitor to receive the processing time of the IFFT processor thread, for tuner load balancing.
+     * @param processingLoadMonitor to receive processing times, or null
+     */
+    public void setProcessingLoadMonitor(ProcessingLoadMonitor processingLoadMonitor)
+    {
+        mProcessingLoadMonitor = processingLoadMonitor;
+    }
+
     /**
      * Calculates the multiple of two number of channels that can be channelized from the specified sample rate so that
      * each channel has a minimum bandwidth of the default channel bandwidth (12.5 kHz).
@@ -223,8 +258,9 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
 
                 if(mProcessedChannelResultsList.size() >= PROCESSED_CHANNEL_RESULTS_THRESHOLD)
                 {
-                    mIFFTProcessorDispatcher.receive(new ArrayList<>(mProcessedChannelResultsList));
-                    mProcessedChannelResultsList.clear();
+                    //Hand off the full list to the IFFT dispatcher and start a new list, versus copying the list
+                    mIFFTProcessorDispatcher.receive(mProcessedChannelResultsList);
+                    mProcessedChannelResultsList = new ArrayList<>(PROCESSED_CHANNEL_RESULTS_THRESHOLD);
                 }
 
                 //Right-shift the samples in the buffer over to make room for a new block of samples
@@ -336,67 +372,193 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
      */
     private float[] process()
     {
+        //Multiply each of the samples by the corresponding filter tap and accumulate into each of the I/Q sub-channels
+        mFilterBank.filter(mInlineSamples, mInlineFilter, mFilterAccumulator, getSubChannelCount(), mTapsPerChannel);
+
+        float[] processed = new float[getSubChannelCount()];
+        int[] blockMap = mTopBlockIndicator ? mTopBlockMap : mMiddleBlockMap;
+
+        for(int x = 0; x < processed.length; x++)
+        {
+            processed[x] = mFilterAccumulator[blockMap[x]];
+        }
+
+        mTopBlockIndicator = !mTopBlockIndicator;
+
+        return processed;
+    }
+
+    /**
+     * Initializes the channelizer filter structures.
+     *
+     * @param coefficients of the prototype filter for this channelizer
+     */
+    private void init(float[] coefficients)
+    {
+        int channelCount = getChannelCount();
+        mFFT = new FloatFFT_1D(channelCount);
         int bufferLength = getSubChannelCount() * mTapsPerChannel;
-        float[] inlineInterimOutput = new float[bufferLength];
+        mSamplesPerBlock = channelCount; //Same as subChannelCount / 2
+        mTopBlockMap = getTopBlockMap(channelCount);
+        mMiddleBlockMap = getMiddleBlockMap(channelCount);
+        mInlineFilter = getAlignedFilter(coefficients, channelCount, mTapsPerChannel);
+        mInlineSamples = new float[bufferLength];
+        mFilterAccumulator = new float[getSubChannelCount()];
 
-        //Multiply each of the samples by the corresponding filter tap
-        for(int x = 0; x < mInlineSamples.length; x++)
+        //Twiddle factors for the pruned inverse DFT
+        mTwiddleCosine = new float[channelCount];
+        mTwiddleSine = new float[channelCount];
+
+        for(int x = 0; x < channelCount; x++)
         {
-            inlineInterimOutput[x] = mInlineSamples[x] * mInlineFilter[x];
+            double angle = 2.0 * FastMath.PI * x / channelCount;
+            mTwiddleCosine[x] = (float)FastMath.cos(angle);
+            mTwiddleSine[x] = (float)FastMath.sin(angle);
         }
 
-        float[] filterAccumulator = new float[getSubChannelCount()];
+        double fftCost = FFT_FLOPS_PER_CHANNEL_FACTOR * FastMath.log(2.0, channelCount);
+        mMaxPrunedBinCount = (int)FastMath.floor(fftCost / PRUNED_BIN_FLOPS_PER_CHANNEL);
+    }
 
-        int tapOffset = 0;
+    @Override
+    public void addChannel(PolyphaseChannelSource polyphaseChannelSource)
+    {
+        super.addChannel(polyphaseChannelSource);
+        updateChannelSnapshot();
+    }
+
+    @Override
+    public void removeChannel(PolyphaseChannelSource polyphaseChannelSource)
+    {
+        super.removeChannel(polyphaseChannelSource);
+        updateChannelSnapshot();
+    }
+
+    /**
+     * Updates the snapshot of registered channels and the channelizer output indexes that they consume.  The IFFT
+     * processor takes the snapshot once per batch and dispatches the batch to the same set of channels that the output
+     * indexes were calculated for, so a channel added during a batch can't receive zeroed outputs.  Invoke this after
+     * queueing channel output processor updates so that the new indexes are calculated before the update is applied.
+     * The snapshot is updated again once the channels apply the queued updates, to retire the previous indexes.
+     */
+    public synchronized void updateChannelSnapshot()
+    {
+        List<PolyphaseChannelSource> channels = List.copyOf(getChannels());
+        mChannelSnapshot = new ChannelSnapshot(channels, getActiveChannelIndexes(channels),
+            hasPendingOutputProcessorUpdate(channels));
+    }
 
-        //Accumulate the sample/filter product results into each of the I/Q sub-channels
-        for(int tap = 0; tap < mTapsPerChannel; tap++)
+    /**
+     * Updates the snapshot after the batch is dispatched when the snapshot includes indexes for queued output processor
+     * updates and the channels have since applied those updates.
+     * @param snapshot used for the dispatched batch
+     */
+    private synchronized void updateChannelSnapshotAfterPendingUpdates(ChannelSnapshot snapshot)
+    {
+        if(snapshot == mChannelSnapshot && !hasPendingOutputProcessorUpdate(snapshot.channels()))
         {
-            tapOffset = tap * getSubChannelCount();
+            updateChannelSnapshot();
+        }
+    }
 
-            for(int channel = 0; channel < getSubChannelCount(); channel++)
+    /**
+     * Indicates if any of the channels has a queued output processor update that has not yet been applied.
+     * @param channels to check
+     */
+    private static boolean hasPendingOutputProcessorUpdate(List<PolyphaseChannelSource> channels)
+    {
+        for(PolyphaseChannelSource channel: channels)
+        {
+            if(channel.hasPendingOutputProcessorUpdate())
             {
-                filterAccumulator[channel] += inlineInterimOutput[tapOffset + channel];
+                return true;
             }
         }
 
-        float[] processed = new float[getSubChannelCount()];
+        return false;
+    }
 
-        if(mTopBlockIndicator)
+    /**
+     * Identifies the set of channelizer output bins (channel indexes) that are consumed by the channels.
+     * @param channels to evaluate
+     * @return sorted array of unique channel indexes.
+     */
+    private static int[] getActiveChannelIndexes(List<PolyphaseChannelSource> channels)
+    {
+        SortedSet<Integer> indexes = new TreeSet<>();
+
+        for(PolyphaseChannelSource channel: channels)
         {
-            for(int x = 0; x < getSubChannelCount(); x++)
+            List<Integer> channelIndexes = channel.getChannelizerIndexes();
+
+            if(channelIndexes != null)
             {
-                processed[x] = filterAccumulator[mTopBlockMap[x]];
+                indexes.addAll(channelIndexes);
             }
         }
-        else
+
+        int[] activeIndexes = new int[indexes.size()];
+        int pointer = 0;
+
+        for(Integer index: indexes)
         {
-            for(int x = 0; x < getSubChannelCount(); x++)
-            {
-                processed[x] = filterAccumulator[mMiddleBlockMap[x]];
-            }
+            activeIndexes[pointer++] = index;
         }
 
-        mTopBlockIndicator = !mTopBlockIndicator;
-
-        return processed;
+        return activeIndexes;
     }
 
     /**
-     * Initializes the channelizer filter structures.
+     * Performs a scaled inverse DFT on the channel results array, evaluating only the specified output bins.  The
+     * remaining (unused) bins are set to zero.  Equivalent to FloatFFT_1D.complexInverse(channelResults, true) for the
+     * evaluated bins.
      *
-     * @param coefficients of the prototype filter for this channelizer
+     * @param channelResults interleaved I/Q array to transform in place
+     * @param indexes of the output bins to evaluate
+     * @param binResults scratch array to hold the evaluated bins, sized at least 2 * indexes length
      */
-    private void init(float[] coefficients)
+    private void prunedInverse(float[] channelResults, int[] indexes, float[] binResults)
     {
         int channelCount = getChannelCount();
-        mFFT = new FloatFFT_1D(channelCount);
-        int bufferLength = getSubChannelCount() * mTapsPerChannel;
-        mSamplesPerBlock = channelCount; //Same as subChannelCount / 2
-        mTopBlockMap = getTopBlockMap(channelCount);
-        mMiddleBlockMap = getMiddleBlockMap(channelCount);
-        mInlineFilter = getAlignedFilter(coefficients, channelCount, mTapsPerChannel);
-        mInlineSamples = new float[bufferLength];
+        float scale = 1.0f / channelCount;
+        float i, q, inphase, quadrature, cosine, sine;
+        int twiddle;
+
+        for(int x = 0; x < indexes.length; x++)
+        {
+            int bin = indexes[x];
+            inphase = 0.0f;
+            quadrature = 0.0f;
+            twiddle = 0;
+
+            for(int channel = 0; channel < channelCount; channel++)
+            {
+                i = channelResults[2 * channel];
+                q = channelResults[2 * channel + 1];
+                cosine = mTwiddleCosine[twiddle];
+                sine = mTwiddleSine[twiddle];
+                inphase += (i * cosine) - (q * sine);
+                quadrature += (i * sine) + (q * cosine);
+
+                twiddle += bin;
+
+                if(twiddle >= channelCount)
+                {
+                    twiddle -= channelCount;
+                }
+            }
+
+            binResults[2 * x] = inphase * scale;
+            binResults[2 * x + 1] = quadrature * scale;
+        }
+
+        Arrays.fill(channelResults, 0.0f);
+
+        for(int x = 0; x < indexes.length; x++)
+        {
+            channelResults[2 * indexes[x]] = binResults[2 * x];
+            channelResults[2 * indexes[x] + 1] = binResults[2 * x + 1];
+        }
     }
 
     /**
@@ -415,27 +577,72 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
             //channel results array contained in each results buffer and then dispatch the buffer
             //so that it can be distributed to each channel listener.
             setListener(list -> {
+                long start = System.nanoTime();
+
                 try
                 {
-                    List<float[]> processedChannelResults = new ArrayList<>();
+                    ChannelSnapshot snapshot = mChannelSnapshot;
+                    int[] activeIndexes = snapshot.indexes();
+                    boolean pruned = activeIndexes.length <= mMaxPrunedBinCount;
 
-                    for(float[] channelResults: list)
+                    if(pruned != mPrunedTransform)
                     {
-                        if(channelResults != null)
+                        mPrunedTransform = pruned;
+                        mLog.debug("Channelizer switching to " + (pruned ? "pruned DFT" : "full IFFT") +
+                            " for [" + activeIndexes.length + "] active channel outputs");
+                    }
+
+                    if(pruned)
+                    {
+                        if(mBinResults.length < activeIndexes.length * 2)
+                        {
+                            mBinResults = new float[activeIndexes.length * 2];
+                        }
+
+                        //Evaluate only the output bins consumed by the registered channels
+                        for(float[] channelResults: list)
+                        {
+                            prunedInverse(channelResults, activeIndexes, mBinResults);
+                        }
+                    }
+                    else
+                    {
+                        //Rotate each of the channels to the correct phase using an in-place IFFT on each results array
+                        //so that the batch list can be dispatched without copying
+                        for(float[] channelResults: list)
                         {
-                            //Rotate each of the channels to the correct phase using the IFFT
                             mFFT.complexInverse(channelResults, true);
-                            processedChannelResults.add(channelResults);
                         }
                     }
 
-                    dispatch(processedChannelResults);
+                    dispatch(list, snapshot.channels());
+
+                    //Channels apply queued output processor updates during dispatch - retire the previous indexes
+                    if(snapshot.pendingUpdate())
+                    {
+                        updateChannelSnapshotAfterPendingUpdates(snapshot);
+                    }
                 }
                 catch(Throwable t)
                 {
                     mLog.error("Error during IFFT and dispatch of processed channel results", t);
                 }
+
+                ProcessingLoadMonitor processingLoadMonitor = mProcessingLoadMonitor;
+
+                if(processingLoadMonitor != null)
+                {
+                    processingLoadMonitor.record(System.nanoTime() - start);
+                }
             });
         }
     }
+
+    /**
+     * Registered channels and the sorted, unique channelizer output indexes that they consume, including indexes for
+     * queued output processor updates when pending update is true.
+     */
+    private record ChannelSnapshot(List<PolyphaseChannelSource> channels, int[] indexes, boolean pendingUpdate)
+    {
+    }
 }
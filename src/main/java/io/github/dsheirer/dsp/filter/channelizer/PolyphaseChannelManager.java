@@ -19,6 +19,7 @@
 package io.github.dsheirer.dsp.filter.channelizer;
 
 import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.NativeBufferDispatcher;
 import io.github.dsheirer.buffer.INativeBufferProvider;
 import io.github.dsheirer.controller.channel.event.ChannelStopProcessingRequest;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
@@ -33,7 +34,8 @@ import io.github.dsheirer.source.SourceException;
 import io.github.dsheirer.source.tuner.TunerController;
 import io.github.dsheirer.source.tuner.channel.TunerChannel;
 import io.github.dsheirer.source.tuner.channel.TunerChannelSource;
-import io.github.dsheirer.util.Dispatcher;
+import io.github.dsheirer.source.tuner.manager.ProcessingLoadMonitor;
+import io.github.dsheirer.source.tuner.occupancy.SpectralOccupancyMonitor;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -80,9 +82,11 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
     private ComplexPolyphaseChannelizerM2 mPolyphaseChannelizer;
     private ChannelSourceEventListener mChannelSourceEventListener = new ChannelSourceEventListener();
     private NativeBufferReceiver mNativeBufferReceiver = new NativeBufferReceiver();
-    private Dispatcher mBufferDispatcher;
+    private NativeBufferDispatcher<INativeBuffer> mBufferDispatcher;
     private Map<Integer,float[]> mOutputProcessorFilters = new HashMap<>();
     private boolean mRunning = true;
+    private ProcessingLoadMonitor mProcessingLoadMonitor;
+    private SpectralOccupancyMonitor mSpectralOccupancyMonitor;
 
     /**
      * Creates a polyphase channel manager instance.
@@ -110,8 +114,13 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
         }
 
         mChannelCalculator = new ChannelCalculator(sampleRate, channelCount, frequency, CHANNEL_OVERSAMPLING);
-        mBufferDispatcher = new Dispatcher("sdrtrunk polyphase buffer processor", 10);
+        mBufferDispatcher = new NativeBufferDispatcher<>("sdrtrunk polyphase buffer processor", 10);
         mBufferDispatcher.setListener(mNativeBufferReceiver);
+
+        if(SpectralOccupancyMonitor.isEnabled())
+        {
+            mSpectralOccupancyMonitor = new SpectralOccupancyMonitor(mChannelCalculator);
+        }
     }
 
     /**
@@ -202,6 +211,7 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
             {
                 channelSource = new PolyphaseChannelSource(tunerChannel, mChannelCalculator, mFilterManager,
                         mChannelSourceEventListener, threadName);
+                channelSource.setProcessingLoadMonitor(mProcessingLoadMonitor);
 
                 mChannelSources.add(channelSource);
             }
@@ -229,6 +239,12 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
             checkChannelizerConfiguration();
 
             mPolyphaseChannelizer.addChannel(channelSource);
+
+            if(mSpectralOccupancyMonitor != null && channelSource.isParkable())
+            {
+                mSpectralOccupancyMonitor.add(channelSource.getTunerChannel(), channelSource::setOccupancy);
+            }
+
             mSourceEventBroadcaster.broadcast(SourceEvent.channelCountChange(getTunerChannelCount()));
 
             //If this is the first channel, register to start the sample buffers flowing
@@ -258,6 +274,11 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
                 mPolyphaseChannelizer.removeChannel(channelSource);
             }
 
+            if(mSpectralOccupancyMonitor != null)
+            {
+                mSpectralOccupancyMonitor.remove(channelSource.getTunerChannel());
+            }
+
             mSourceEventBroadcaster.broadcast(SourceEvent.channelCountChange(getTunerChannelCount()));
 
             //If this is the last/only channel, deregister to stop the sample buffers
@@ -346,6 +367,7 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
             {
                 mPolyphaseChannelizer = new ComplexPolyphaseChannelizerM2(tunerSampleRate,
                     POLYPHASE_CHANNELIZER_TAPS_PER_CHANNEL);
+                mPolyphaseChannelizer.setProcessingLoadMonitor(mProcessingLoadMonitor);
             }
             catch(IllegalArgumentException iae)
             {
@@ -381,6 +403,12 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
                 stopChannelSource(channelSource);
             }
         }
+
+        //Include the queued output processor indexes in the channelizer's active output set
+        if(mPolyphaseChannelizer != null)
+        {
+            mPolyphaseChannelizer.updateChannelSnapshot();
+        }
     }
 
     /**
@@ -407,6 +435,26 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
         return mChannelSources.size();
     }
 
+    /**
+     * Sets the monitor to receive the processing time of the polyphase channelizer, the channelizer's IFFT processor
+     * and each channel's output processor, for tuner load balancing.
+     * @param processingLoadMonitor from the channel source manager
+     */
+    public void setProcessingLoadMonitor(ProcessingLoadMonitor processingLoadMonitor)
+    {
+        mProcessingLoadMonitor = processingLoadMonitor;
+
+        if(mPolyphaseChannelizer != null)
+        {
+            mPolyphaseChannelizer.setProcessingLoadMonitor(processingLoadMonitor);
+        }
+
+        for(PolyphaseChannelSource channelSource: mChannelSources)
+        {
+            channelSource.setProcessingLoadMonitor(processingLoadMonitor);
+        }
+    }
+
     /**
      * Adds the listener to receive source events
      */
@@ -519,6 +567,7 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
 
             if(mPolyphaseChannelizer != null)
             {
+                long start = System.nanoTime();
                 Iterator<InterleavedComplexSamples> iterator = nativeBuffer.iteratorInterleaved();
 
                 while(iterator.hasNext())
@@ -532,6 +581,16 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
                         mLog.error("Error", throwable);
                     }
                 }
+
+                if(mSpectralOccupancyMonitor != null)
+                {
+                    mSpectralOccupancyMonitor.receive(nativeBuffer);
+                }
+
+                if(mProcessingLoadMonitor != null)
+                {
+                    mProcessingLoadMonitor.record(System.nanoTime() - start);
+                }
             }
         }
     }
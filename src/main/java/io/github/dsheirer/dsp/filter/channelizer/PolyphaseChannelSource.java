@@ -27,7 +27,12 @@ import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.SourceEvent;
 import io.github.dsheirer.source.tuner.channel.TunerChannel;
 import io.github.dsheirer.source.tuner.channel.TunerChannelSource;
+import io.github.dsheirer.source.tuner.manager.ProcessingLoadMonitor;
+import io.github.dsheirer.source.tuner.occupancy.ChannelOccupancy;
+import io.github.dsheirer.util.DispatchPriority;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,14 +45,19 @@ import org.slf4j.LoggerFactory;
 public class PolyphaseChannelSource extends TunerChannelSource implements Listener<ComplexSamples>
 {
     private Logger mLog = LoggerFactory.getLogger(PolyphaseChannelSource.class);
+    //Channel results retained while parked and replayed on wake, covering more than two occupancy measurement intervals
+    private static final long PARKED_PRE_ROLL_MS = 250;
     private IPolyphaseChannelOutputProcessor mPolyphaseChannelOutputProcessor;
     private Listener<ComplexSamples> mSamplesListener;
     private double mChannelSampleRate;
     private long mIndexCenterFrequency;
-    private List<Integer> mOutputProcessorIndexes = new ArrayList<>();
+    private volatile List<Integer> mOutputProcessorIndexes = List.of();
+    private volatile List<Integer> mPendingOutputProcessorIndexes = List.of();
     private double mTunerSampleRate;
     private double mTunerCenterFrequency;
     private PendingOutputProcessorUpdate mPendingOutputProcessorUpdate;
+    private volatile boolean mParked;
+    private final Deque<ParkedChannelResults> mParkedChannelResults = new ArrayDeque<>();
 
     /**
      * Constructs an instance
@@ -85,6 +95,34 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
         return mOutputProcessorIndexes;
     }
 
+    /**
+     * Channelizer output indexes consumed by this channel, including the indexes for a queued output processor update
+     * so that the channelizer already produces those outputs for the batch where the update is applied.
+     * @return indexes
+     */
+    public List<Integer> getChannelizerIndexes()
+    {
+        List<Integer> pending = mPendingOutputProcessorIndexes;
+
+        if(pending.isEmpty())
+        {
+            return mOutputProcessorIndexes;
+        }
+
+        List<Integer> indexes = new ArrayList<>(mOutputProcessorIndexes);
+        indexes.addAll(pending);
+        return indexes;
+    }
+
+    /**
+     * Indicates if this channel has a queued output processor update, with valid channel indexes, that has not yet
+     * been applied.
+     */
+    public boolean hasPendingOutputProcessorUpdate()
+    {
+        return !mPendingOutputProcessorIndexes.isEmpty();
+    }
+
     /**
      * Sample rate or bandwidth of the tuner providing input to the channelizer.
      * @return sample rate
@@ -103,6 +141,28 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
         return mTunerCenterFrequency;
     }
 
+    @Override
+    public void setDispatchPriority(DispatchPriority dispatchPriority)
+    {
+        super.setDispatchPriority(dispatchPriority);
+
+        if(mPolyphaseChannelOutputProcessor != null)
+        {
+            mPolyphaseChannelOutputProcessor.setDispatchPriority(dispatchPriority);
+        }
+    }
+
+    @Override
+    public void setProcessingLoadMonitor(ProcessingLoadMonitor processingLoadMonitor)
+    {
+        super.setProcessingLoadMonitor(processingLoadMonitor);
+
+        if(mPolyphaseChannelOutputProcessor != null)
+        {
+            mPolyphaseChannelOutputProcessor.setProcessingLoadMonitor(processingLoadMonitor);
+        }
+    }
+
     @Override
     public void start()
     {
@@ -151,6 +211,40 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
         }
     }
 
+    /**
+     * Updates the spectral occupancy for this channel.  When the channel is vacant, the channel is parked and the
+     * channel results are not processed or dispatched to the downstream consumer, avoiding demodulation and decoding
+     * of an idle channel.  While parked, the measured channel power is broadcast to the consumer in place of the
+     * power normally reported by the consumer's squelch.  The most recent channel results are retained while parked
+     * and replayed when the channel wakes so that the start of a transmission isn't lost.  Ignored unless this channel
+     * source is parkable.
+     * @param channelOccupancy measurement for this channel
+     */
+    public void setOccupancy(ChannelOccupancy channelOccupancy)
+    {
+        boolean parked = isParkable() && !channelOccupancy.occupied();
+
+        if(mParked != parked)
+        {
+            mParked = parked;
+            mLog.debug("Channel [" + getTunerChannel().getFrequency() + "] " + (parked ? "parked" : "unparked") +
+                " - power [" + channelOccupancy.powerDb() + "dB] noise floor [" + channelOccupancy.noiseFloorDb() + "dB]");
+        }
+
+        if(parked)
+        {
+            broadcastConsumerSourceEvent(SourceEvent.channelPowerLevel(this, channelOccupancy.powerDb()));
+        }
+    }
+
+    /**
+     * Indicates if this channel is parked because the spectral occupancy monitor found no energy in the channel.
+     */
+    public boolean isParked()
+    {
+        return mParked;
+    }
+
     /**
      * Queues a request to update the output processor whenever the source tuner's center frequency changes.
      * @param channelCalculator providing access to updated tuner center frequency, sample rate, etc.
@@ -159,6 +253,16 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
     public void updateOutputProcessor(ChannelCalculator channelCalculator, SynthesisFilterManager filterManager)
             throws IllegalArgumentException
     {
+        try
+        {
+            mPendingOutputProcessorIndexes = List.copyOf(channelCalculator.getChannelIndexes(getTunerChannel()));
+        }
+        catch(IllegalArgumentException iae)
+        {
+            //The update will fail and be handled when it is applied
+            mPendingOutputProcessorIndexes = List.of();
+        }
+
         mPendingOutputProcessorUpdate = new PendingOutputProcessorUpdate(channelCalculator, filterManager);
     }
 
@@ -178,8 +282,7 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
         //calculator will throw an IllegalArgException ... handled below
         List<Integer> indexes = channelCalculator.getChannelIndexes(getTunerChannel());
 
-        mOutputProcessorIndexes.clear();
-        mOutputProcessorIndexes.addAll(indexes);
+        mOutputProcessorIndexes = List.copyOf(indexes);
         mTunerCenterFrequency = channelCalculator.getCenterFrequency();
         mTunerSampleRate = channelCalculator.getSampleRate();
 
@@ -227,6 +330,8 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
                             indexes, channelCalculator.getChannelCount(), getHeartbeatManager(), mThreadName);
                     mPolyphaseChannelOutputProcessor.setListener(this);
                     mPolyphaseChannelOutputProcessor.setFrequencyOffset(getFrequencyOffset());
+                    mPolyphaseChannelOutputProcessor.setDispatchPriority(getDispatchPriority());
+                    mPolyphaseChannelOutputProcessor.setProcessingLoadMonitor(getProcessingLoadMonitor());
                     mPolyphaseChannelOutputProcessor.start();
                     break;
                 case 2:
@@ -238,6 +343,8 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
                                 indexes, filter, channelCalculator.getChannelCount(), getHeartbeatManager(), mThreadName);
                         mPolyphaseChannelOutputProcessor.setListener(this);
                         mPolyphaseChannelOutputProcessor.setFrequencyOffset(getFrequencyOffset());
+                        mPolyphaseChannelOutputProcessor.setDispatchPriority(getDispatchPriority());
+                        mPolyphaseChannelOutputProcessor.setProcessingLoadMonitor(getProcessingLoadMonitor());
                         mPolyphaseChannelOutputProcessor.start();
                     }
                     catch(FilterDesignException fde)
@@ -278,12 +385,28 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
             SynthesisFilterManager filterManager = mPendingOutputProcessorUpdate.getSynthesisFilterManager();
             mPendingOutputProcessorUpdate = null;
             doUpdateOutputProcessor(channelCalculator, filterManager);
+            mPendingOutputProcessorIndexes = List.of();
+
+            //Retained results were produced for the previous channel indexes
+            mParkedChannelResults.clear();
         }
 
         try
         {
-            if(mPolyphaseChannelOutputProcessor != null)
+            if(mParked)
             {
+                retain(channelResultsList, currentSamplesTimestamp);
+            }
+            else if(mPolyphaseChannelOutputProcessor != null)
+            {
+                //Replay the results retained while parked ahead of the current results
+                while(!mParkedChannelResults.isEmpty())
+                {
+                    ParkedChannelResults parked = mParkedChannelResults.removeFirst();
+                    mPolyphaseChannelOutputProcessor.receiveChannelResults(parked.channelResultsList(),
+                        parked.timestamp());
+                }
+
                 mPolyphaseChannelOutputProcessor.receiveChannelResults(channelResultsList, currentSamplesTimestamp);
             }
         }
@@ -293,6 +416,22 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
         }
     }
 
+    /**
+     * Retains the channel results while parked, discarding retained results older than the pre-roll duration.
+     * @param channelResultsList to retain
+     * @param timestamp for the results
+     */
+    private void retain(List<float[]> channelResultsList, long timestamp)
+    {
+        mParkedChannelResults.addLast(new ParkedChannelResults(channelResultsList, timestamp));
+
+        while(mParkedChannelResults.size() > 1 &&
+            timestamp - mParkedChannelResults.peekFirst().timestamp() > PARKED_PRE_ROLL_MS)
+        {
+            mParkedChannelResults.removeFirst();
+        }
+    }
+
     /**
      * Downstream channel sample rate
      *
@@ -394,4 +533,11 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
             return mSynthesisFilterManager;
         }
     }
+
+    /**
+     * Channel results retained while parked.
+     */
+    private record ParkedChannelResults(List<float[]> channelResultsList, long timestamp)
+    {
+    }
 }
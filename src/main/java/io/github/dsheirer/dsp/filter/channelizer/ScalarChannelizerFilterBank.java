@@ -0,0 +1,48 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.channelizer;
+
+/**
+ * Scalar implementation of the polyphase channelizer filter bank stage.
+ */
+public class ScalarChannelizerFilterBank extends ChannelizerFilterBank
+{
+    @Override
+    public void filter(float[] samples, float[] filter, float[] accumulator, int subChannelCount, int tapsPerChannel)
+    {
+        int tapOffset;
+
+        //Initialize the accumulator with the products from the first tap block
+        for(int channel = 0; channel < subChannelCount; channel++)
+        {
+            accumulator[channel] = samples[channel] * filter[channel];
+        }
+
+        //Accumulate the sample/filter product results for the remaining taps into each of the I/Q sub-channels
+        for(int tap = 1; tap < tapsPerChannel; tap++)
+        {
+            tapOffset = tap * subChannelCount;
+
+            for(int channel = 0; channel < subChannelCount; channel++)
+            {
+                accumulator[channel] += samples[tapOffset + channel] * filter[tapOffset + channel];
+            }
+        }
+    }
+}
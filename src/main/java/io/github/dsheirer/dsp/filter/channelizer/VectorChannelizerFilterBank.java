@@ -0,0 +1,71 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector implementation of the polyphase channelizer filter bank stage that uses JDK 17+ SIMD instructions.
+ *
+ * Each group of sub-channels is accumulated across all taps in a SIMD register using fused multiply-accumulate before
+ * being stored, so the sample/filter products are never written to an interim array.
+ */
+public class VectorChannelizerFilterBank extends ChannelizerFilterBank
+{
+    private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void filter(float[] samples, float[] filter, float[] accumulator, int subChannelCount, int tapsPerChannel)
+    {
+        int vectorBound = VECTOR_SPECIES.loopBound(subChannelCount);
+        int tapOffset;
+        FloatVector vectorAccumulator;
+
+        for(int channel = 0; channel < vectorBound; channel += VECTOR_SPECIES.length())
+        {
+            vectorAccumulator = FloatVector.zero(VECTOR_SPECIES);
+
+            for(int tap = 0; tap < tapsPerChannel; tap++)
+            {
+                tapOffset = tap * subChannelCount + channel;
+                vectorAccumulator = FloatVector.fromArray(VECTOR_SPECIES, samples, tapOffset)
+                    .fma(FloatVector.fromArray(VECTOR_SPECIES, filter, tapOffset), vectorAccumulator);
+            }
+
+            vectorAccumulator.intoArray(accumulator, channel);
+        }
+
+        //Scalar processing for any remaining sub-channels that don't fill a SIMD register
+        float scalarAccumulator;
+
+        for(int channel = vectorBound; channel < subChannelCount; channel++)
+        {
+            scalarAccumulator = 0.0f;
+
+            for(int tap = 0; tap < tapsPerChannel; tap++)
+            {
+                tapOffset = tap * subChannelCount + channel;
+                scalarAccumulator += samples[tapOffset] * filter[tapOffset];
+            }
+
+            accumulator[channel] = scalarAccumulator;
+        }
+    }
+}
@@ -21,6 +21,8 @@ package io.github.dsheirer.dsp.filter.channelizer.output;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.heartbeat.HeartbeatManager;
+import io.github.dsheirer.source.tuner.manager.ProcessingLoadMonitor;
+import io.github.dsheirer.util.DispatchPriority;
 import io.github.dsheirer.util.Dispatcher;
 import java.util.List;
 import org.slf4j.Logger;
@@ -32,6 +34,7 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
 
     private Dispatcher<List<float[]>> mChannelResultsDispatcher;
     private HeartbeatManager mHeartbeatManager;
+    private ProcessingLoadMonitor mProcessingLoadMonitor;
     protected Listener<ComplexSamples> mComplexSamplesListener;
     private int mInputChannelCount;
     private long mCurrentSampleTimestamp = System.currentTimeMillis();
@@ -50,7 +53,10 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
         //Process 1/10th of the sample rate per second at a rate of 20 times a second (200% of anticipated rate)
         mHeartbeatManager = heartbeatManager;
         mChannelResultsDispatcher = new Dispatcher(threadName,50, mHeartbeatManager);
+        mChannelResultsDispatcher.setCooperativeScheduling(true);
         mChannelResultsDispatcher.setListener(floats -> {
+            long start = System.nanoTime();
+
             try
             {
                 process(floats);
@@ -59,6 +65,13 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
             {
                 mLog.error("Error processing channel results", t);
             }
+
+            ProcessingLoadMonitor processingLoadMonitor = mProcessingLoadMonitor;
+
+            if(processingLoadMonitor != null)
+            {
+                processingLoadMonitor.record(System.nanoTime() - start);
+            }
         });
     }
 
@@ -83,6 +96,18 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
         mChannelResultsDispatcher.stop();
     }
 
+    @Override
+    public void setDispatchPriority(DispatchPriority priority)
+    {
+        mChannelResultsDispatcher.setPriority(priority);
+    }
+
+    @Override
+    public void setProcessingLoadMonitor(ProcessingLoadMonitor processingLoadMonitor)
+    {
+        mProcessingLoadMonitor = processingLoadMonitor;
+    }
+
     /**
      * Registers the listener to receive the assembled complex sample buffers from this processor.
      */
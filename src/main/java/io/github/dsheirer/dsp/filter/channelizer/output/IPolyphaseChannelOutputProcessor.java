@@ -20,6 +20,8 @@ package io.github.dsheirer.dsp.filter.channelizer.output;
 
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
+import io.github.dsheirer.source.tuner.manager.ProcessingLoadMonitor;
+import io.github.dsheirer.util.DispatchPriority;
 import java.util.List;
 
 public interface IPolyphaseChannelOutputProcessor
@@ -38,6 +40,19 @@ public interface IPolyphaseChannelOutputProcessor
      * Stop processing channel results.
      */
     void stop();
+
+    /**
+     * Sets the scheduling priority for processing channel results on the shared dispatch scheduler.
+     * @param priority to apply
+     */
+    void setDispatchPriority(DispatchPriority priority);
+
+    /**
+     * Sets the monitor to receive the time spent processing channel results, for tuner load balancing.
+     * @param processingLoadMonitor to receive processing times, or null
+     */
+    void setProcessingLoadMonitor(ProcessingLoadMonitor processingLoadMonitor);
+
     /**
      * Receive and enqueue output results from the polyphase analysis channelizer
      * @param channelResults to enqueue
@@ -0,0 +1,132 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.fir.complex;
+
+import io.github.dsheirer.sample.complex.ComplexSamples;
+import org.apache.commons.lang3.ArrayUtils;
+
+/**
+ * Base FIR filter for non-interleaved complex samples with optional integer decimation.  Manages the I/Q history
+ * buffers and decimation phase across sample buffers and delegates the multiply-accumulate work to the scalar or
+ * vector sub-class implementation.
+ */
+public abstract class ComplexSampleFIRFilter implements IComplexSampleFilter
+{
+    protected float[] mCoefficients;
+    protected float[] mIBuffer;
+    protected float[] mQBuffer;
+    private int mBufferOverlap;
+    private int mDecimation;
+    private int mDecimationOffset = 0;
+
+    /**
+     * Constructs an instance
+     * @param coefficients of the filter in normal order.
+     * @param arrayLength for the coefficients array, padded with zeros beyond the coefficients length, to align with
+     * the SIMD lane width of the implementation.
+     * @param decimation factor where 1 is no decimation.
+     */
+    protected ComplexSampleFIRFilter(float[] coefficients, int arrayLength, int decimation)
+    {
+        if(decimation < 1)
+        {
+            throw new IllegalArgumentException("Decimation factor must be 1 or greater");
+        }
+
+        mDecimation = decimation;
+
+        //Reverse a copy of the coefficients so that we don't modify the (possibly cached) coefficients argument
+        float[] reversed = coefficients.clone();
+        ArrayUtils.reverse(reversed);
+        mCoefficients = new float[arrayLength];
+        System.arraycopy(reversed, 0, mCoefficients, 0, reversed.length);
+
+        //Set buffer overlap to the larger of the aligned coefficient array length minus 1 or the coefficients length
+        //minus 1 to ensure we don't get an index out of bounds exception when loading samples from the buffer.
+        mBufferOverlap = Math.max(arrayLength - 1, coefficients.length - 1);
+
+        //We'll resize these later when we get the first sample buffer.  For now, make them non-null.
+        mIBuffer = new float[arrayLength];
+        mQBuffer = new float[arrayLength];
+    }
+
+    /**
+     * Decimation factor for this filter.
+     */
+    public int getDecimation()
+    {
+        return mDecimation;
+    }
+
+    @Override
+    public ComplexSamples filter(ComplexSamples samples)
+    {
+        float[] i = samples.i();
+        float[] q = samples.q();
+        int bufferLength = i.length + mBufferOverlap;
+
+        //Resize the data buffers if needed.  This shouldn't happen more than once since all buffers should be same size
+        if(mIBuffer.length != bufferLength)
+        {
+            float[] iTemp = new float[bufferLength];
+            float[] qTemp = new float[bufferLength];
+            //Move residual samples from end of previous buffers to the beginning of the new temp buffers and reassign
+            System.arraycopy(mIBuffer, mIBuffer.length - mBufferOverlap, iTemp, 0, mBufferOverlap);
+            System.arraycopy(mQBuffer, mQBuffer.length - mBufferOverlap, qTemp, 0, mBufferOverlap);
+            mIBuffer = iTemp;
+            mQBuffer = qTemp;
+        }
+        else
+        {
+            //Move residual samples from end of buffers to the beginning of the buffers
+            System.arraycopy(mIBuffer, i.length, mIBuffer, 0, mBufferOverlap);
+            System.arraycopy(mQBuffer, q.length, mQBuffer, 0, mBufferOverlap);
+        }
+
+        //Copy new sample arrays to end of buffers
+        System.arraycopy(i, 0, mIBuffer, mBufferOverlap, i.length);
+        System.arraycopy(q, 0, mQBuffer, mBufferOverlap, q.length);
+
+        int outputCount = 0;
+
+        if(mDecimationOffset < i.length)
+        {
+            outputCount = (i.length - mDecimationOffset + mDecimation - 1) / mDecimation;
+        }
+
+        float[] iFiltered = new float[outputCount];
+        float[] qFiltered = new float[outputCount];
+
+        filter(mDecimationOffset, iFiltered, qFiltered);
+
+        //Carry the decimation phase forward into the next buffer
+        mDecimationOffset += (outputCount * mDecimation) - i.length;
+
+        return new ComplexSamples(iFiltered, qFiltered, samples.timestamp());
+    }
+
+    /**
+     * Performs the multiply-accumulate filtering of the I/Q buffers.  Output sample x is computed from the buffer
+     * sample window starting at index (offset + x * decimation).
+     * @param offset to the first buffer sample for the first output sample.
+     * @param iFiltered to receive the filtered I samples
+     * @param qFiltered to receive the filtered Q samples
+     */
+    protected abstract void filter(int offset, float[] iFiltered, float[] qFiltered);
+}
@@ -0,0 +1,37 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.fir.complex;
+
+import io.github.dsheirer.sample.complex.ComplexSamples;
+
+/**
+ * FIR filter for non-interleaved complex samples that filters the I and Q sample arrays in a single pass using a
+ * shared set of real-valued coefficients.
+ */
+public interface IComplexSampleFilter
+{
+    /**
+     * Filters the complex samples buffer.  When the filter is constructed with a decimation factor greater than one,
+     * the returned buffer contains one filtered sample for each decimation-factor count of input samples.
+     *
+     * @param samples to filter
+     * @return filtered samples carrying the timestamp of the input buffer.
+     */
+    ComplexSamples filter(ComplexSamples samples);
+}
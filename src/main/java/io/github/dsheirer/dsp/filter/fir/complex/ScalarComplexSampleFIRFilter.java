@@ -0,0 +1,69 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.fir.complex;
+
+/**
+ * Scalar implementation of a non-interleaved complex sample FIR filter with optional decimation.
+ */
+public class ScalarComplexSampleFIRFilter extends ComplexSampleFIRFilter
+{
+    /**
+     * Constructs an instance
+     * @param coefficients of the filter in normal order.
+     * @param decimation factor where 1 is no decimation.
+     */
+    public ScalarComplexSampleFIRFilter(float[] coefficients, int decimation)
+    {
+        super(coefficients, coefficients.length, decimation);
+    }
+
+    /**
+     * Constructs a non-decimating instance
+     * @param coefficients of the filter in normal order.
+     */
+    public ScalarComplexSampleFIRFilter(float[] coefficients)
+    {
+        this(coefficients, 1);
+    }
+
+    @Override
+    protected void filter(int offset, float[] iFiltered, float[] qFiltered)
+    {
+        int decimation = getDecimation();
+        int bufferPointer = offset;
+        float coefficient, iAccumulator, qAccumulator;
+
+        for(int x = 0; x < iFiltered.length; x++)
+        {
+            iAccumulator = 0.0f;
+            qAccumulator = 0.0f;
+
+            for(int coefficientPointer = 0; coefficientPointer < mCoefficients.length; coefficientPointer++)
+            {
+                coefficient = mCoefficients[coefficientPointer];
+                iAccumulator += mIBuffer[bufferPointer + coefficientPointer] * coefficient;
+                qAccumulator += mQBuffer[bufferPointer + coefficientPointer] * coefficient;
+            }
+
+            iFiltered[x] = iAccumulator;
+            qFiltered[x] = qAccumulator;
+            bufferPointer += decimation;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.fir.complex;
+
+import io.github.dsheirer.vector.VectorUtilities;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Non-interleaved complex sample FIR filter with optional decimation.  Each coefficient vector load is shared by the
+ * I and Q multiply-accumulate operations.
+ *
+ * This filter uses the Java Vector API for SIMD available in JDK 17+ and uses SIMD 128-bit/4-lane instructions.
+ */
+public class VectorComplexSampleFIRFilter128Bit extends ComplexSampleFIRFilter
+{
+    private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_128;
+
+    /**
+     * Constructs an instance
+     * @param coefficients of the filter in normal order.
+     * @param decimation factor where 1 is no decimation.
+     */
+    public VectorComplexSampleFIRFilter128Bit(float[] coefficients, int decimation)
+    {
+        super(coefficients, VECTOR_SPECIES.loopBound(coefficients.length + VECTOR_SPECIES.length() - 1), decimation);
+        VectorUtilities.checkSpecies(VECTOR_SPECIES);
+    }
+
+    /**
+     * Constructs a non-decimating instance
+     * @param coefficients of the filter in normal order.
+     */
+    public VectorComplexSampleFIRFilter128Bit(float[] coefficients)
+    {
+        this(coefficients, 1);
+    }
+
+    @Override
+    protected void filter(int offset, float[] iFiltered, float[] qFiltered)
+    {
+        int decimation = getDecimation();
+        int bufferPointer = offset;
+        FloatVector iAccumulator, qAccumulator, filter;
+
+        for(int x = 0; x < iFiltered.length; x++)
+        {
+            iAccumulator = FloatVector.zero(VECTOR_SPECIES);
+            qAccumulator = FloatVector.zero(VECTOR_SPECIES);
+
+            for(int coefficientPointer = 0; coefficientPointer < mCoefficients.length; coefficientPointer += VECTOR_SPECIES.length())
+            {
+                filter = FloatVector.fromArray(VECTOR_SPECIES, mCoefficients, coefficientPointer);
+                iAccumulator = filter.fma(FloatVector.fromArray(VECTOR_SPECIES, mIBuffer, bufferPointer + coefficientPointer), iAccumulator);
+                qAccumulator = filter.fma(FloatVector.fromArray(VECTOR_SPECIES, mQBuffer, bufferPointer + coefficientPointer), qAccumulator);
+            }
+
+            iFiltered[x] = iAccumulator.reduceLanes(VectorOperators.ADD);
+            qFiltered[x] = qAccumulator.reduceLanes(VectorOperators.ADD);
+            bufferPointer += decimation;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.resample;
+
+import io.github.dsheirer.dsp.filter.FilterFactory;
+import io.github.dsheirer.dsp.filter.design.FilterDesignException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable polyphase filter bank for rational ratio (L/M) resampling.  The prototype low-pass filter is designed at the
+ * interpolated (L x input) sample rate and decomposed into L phases.  Each phase is stored in reverse order and zero
+ * padded to a multiple of 8 taps so that it can be applied as a contiguous dot product against the input history.
+ *
+ * Filter banks are cached and shared by all resamplers that use the same input and output sample rates.
+ */
+public class PolyphaseFilterBank
+{
+    public static final int MAXIMUM_PHASES = 1024;
+    private static final int TAPS_PER_PHASE = 24;
+    private static final int TAP_ALIGNMENT = 8;
+    private static final double CUTOFF = 0.45;
+    private static final float ATTENUATION = 80.0f;
+    private static final Map<Ratio,PolyphaseFilterBank> sFilterBanks = new ConcurrentHashMap<>();
+
+    private final int mInterpolation;
+    private final int mDecimation;
+    private final int mTapsPerPhase;
+    private final float[] mCoefficients;
+
+    /**
+     * Constructs an instance.  Use the static get() method to access a shared instance.
+     * @param interpolation (L) or number of phases
+     * @param decimation (M)
+     */
+    private PolyphaseFilterBank(int interpolation, int decimation)
+    {
+        mInterpolation = interpolation;
+        mDecimation = decimation;
+
+        //When decimating, the cutoff is scaled down by the decimation rate, so scale up the taps per phase to maintain
+        //the same transition bandwidth relative to the output sample rate.
+        int tapsPerPhase = (int)Math.ceil(TAPS_PER_PHASE * Math.max(1.0, (double)decimation / interpolation));
+        int length = tapsPerPhase * interpolation;
+
+        if(length % 2 == 0)
+        {
+            length--;
+        }
+
+        double cutoff = CUTOFF / Math.max(interpolation, decimation);
+        float[] prototype;
+
+        try
+        {
+            prototype = FilterFactory.getKaiserSinc(length, cutoff, ATTENUATION);
+        }
+        catch(FilterDesignException fde)
+        {
+            //Should never happen since length is always odd
+            throw new IllegalStateException("Unable to design polyphase resampler filter", fde);
+        }
+
+        mTapsPerPhase = ((tapsPerPhase + TAP_ALIGNMENT - 1) / TAP_ALIGNMENT) * TAP_ALIGNMENT;
+        mCoefficients = new float[interpolation * mTapsPerPhase];
+        int padding = mTapsPerPhase - tapsPerPhase;
+
+        //Decompose into phases, reverse the tap order, apply interpolation gain and left-pad with zeros
+        for(int phase = 0; phase < interpolation; phase++)
+        {
+            int offset = phase * mTapsPerPhase;
+
+            for(int tap = 0; tap < tapsPerPhase; tap++)
+            {
+                int index = phase + (tap * interpolation);
+
+                if(index < prototype.length)
+                {
+                    mCoefficients[offset + padding + tapsPerPhase - 1 - tap] = prototype[index] * interpolation;
+                }
+            }
+        }
+    }
+
+    /**
+     * Access a shared filter bank for resampling between the sample rates.
+     * @param inputRate sample rate
+     * @param outputRate sample rate
+     * @return shared filter bank instance
+     */
+    public static PolyphaseFilterBank get(double inputRate, double outputRate)
+    {
+        return sFilterBanks.computeIfAbsent(getRatio(inputRate, outputRate),
+            ratio -> new PolyphaseFilterBank(ratio.interpolation(), ratio.decimation()));
+    }
+
+    /**
+     * Calculates the interpolation (L) and decimation (M) rates from the best rational approximation (continued
+     * fractions) of output rate / input rate where L does not exceed the maximum number of phases.  Most audio rate
+     * pairs (e.g. 8000 to 44100 = 441/80) have an exact representation.
+     * @param inputRate sample rate
+     * @param outputRate sample rate
+     * @return ratio
+     */
+    public static Ratio getRatio(double inputRate, double outputRate)
+    {
+        if(inputRate <= 0 || outputRate <= 0)
+        {
+            throw new IllegalArgumentException("Sample rates must be positive: input [" + inputRate + "] output [" +
+                outputRate + "]");
+        }
+
+        double ratio = outputRate / inputRate;
+        long previousNumerator = 0, numerator = 1;
+        long previousDenominator = 1, denominator = 0;
+        double remainder = ratio;
+
+        for(int x = 0; x < 32; x++)
+        {
+            long term = (long)Math.floor(remainder);
+            long nextNumerator = term * numerator + previousNumerator;
+            long nextDenominator = term * denominator + previousDenominator;
+
+            if(nextNumerator > MAXIMUM_PHASES || nextDenominator > Integer.MAX_VALUE)
+            {
+                break;
+            }
+
+            previousNumerator = numerator;
+            numerator = nextNumerator;
+            previousDenominator = denominator;
+            denominator = nextDenominator;
+
+            double fraction = remainder - term;
+
+            if(Math.abs(ratio - ((double)numerator / denominator)) < 1e-12 * ratio || fraction < 1e-12)
+            {
+                break;
+            }
+
+            remainder = 1.0 / fraction;
+        }
+
+        //Ratio is smaller than 1/Integer.MAX_VALUE or the first convergent exceeds the maximum phase count
+        if(denominator == 0 || numerator == 0)
+        {
+            throw new IllegalArgumentException("Unsupported resampling ratio: input [" + inputRate + "] output [" +
+                outputRate + "]");
+        }
+
+        return new Ratio((int)numerator, (int)denominator);
+    }
+
+    /**
+     * Interpolation rate (L) which is also the number of phases in the filter bank.
+     */
+    public int getInterpolation()
+    {
+        return mInterpolation;
+    }
+
+    /**
+     * Decimation rate (M).
+     */
+    public int getDecimation()
+    {
+        return mDecimation;
+    }
+
+    /**
+     * Number of (zero-padded) taps in each phase.
+     */
+    public int getTapsPerPhase()
+    {
+        return mTapsPerPhase;
+    }
+
+    /**
+     * Filter bank coefficients organized as contiguous phases of reversed taps.  Do not modify.
+     */
+    public float[] getCoefficients()
+    {
+        return mCoefficients;
+    }
+
+    /**
+     * Interpolation (L) and decimation (M) rates for a rational resampling ratio.
+     */
+    public record Ratio(int interpolation, int decimation) {}
+}
@@ -0,0 +1,157 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.resample;
+
+import java.util.Arrays;
+
+/**
+ * Streaming rational ratio (L/M) polyphase resampler for real samples.
+ *
+ * Each output sample is produced by applying a single phase of the shared polyphase filter bank to the input sample
+ * history, so only the outputs that are needed are computed.  The resampler doesn't allocate during processing: input
+ * is staged in a fixed-size history buffer and output is written to a caller-supplied array.
+ *
+ * Subclasses provide the (scalar or vector SIMD) dot product implementation.  Use the ResamplerFactory to create an
+ * instance of the optimal implementation for this computer.
+ */
+public abstract class PolyphaseResampler
+{
+    private static final int CHUNK_SIZE = 1024;
+
+    private final PolyphaseFilterBank mFilterBank;
+    private final float[] mCoefficients;
+    private final float[] mBuffer;
+    private final int mTapsPerPhase;
+    private final int mInterpolation;
+    private final int mDecimation;
+    private final int mHistoryLength;
+    private int mBufferCount;
+    private int mIndex;
+    private int mPhase;
+
+    /**
+     * Constructs an instance
+     * @param filterBank to use for resampling
+     */
+    protected PolyphaseResampler(PolyphaseFilterBank filterBank)
+    {
+        mFilterBank = filterBank;
+        mCoefficients = filterBank.getCoefficients();
+        mTapsPerPhase = filterBank.getTapsPerPhase();
+        mInterpolation = filterBank.getInterpolation();
+        mDecimation = filterBank.getDecimation();
+        mHistoryLength = mTapsPerPhase - 1;
+        mBuffer = new float[mHistoryLength + CHUNK_SIZE];
+    }
+
+    /**
+     * Filter bank used by this resampler
+     */
+    public PolyphaseFilterBank getFilterBank()
+    {
+        return mFilterBank;
+    }
+
+    /**
+     * Resample factor (output rate / input rate)
+     */
+    public double getResampleFactor()
+    {
+        return (double)mInterpolation / mDecimation;
+    }
+
+    /**
+     * Maximum number of output samples that can be produced from the specified number of input samples.  Use this to
+     * size the output array provided to the resample() method.
+     * @param inputLength number of input samples
+     * @return maximum output sample count
+     */
+    public int getMaximumOutputLength(int inputLength)
+    {
+        return (int)(((long)inputLength * mInterpolation) / mDecimation) + 2;
+    }
+
+    /**
+     * Resamples the input samples and writes the resampled output to the output array.
+     *
+     * @param input samples
+     * @param inputOffset to the first input sample
+     * @param inputLength number of input samples to process
+     * @param output array to receive resampled samples, sized to hold at least getMaximumOutputLength(inputLength)
+     * samples after the output offset.
+     * @param outputOffset to the first output sample position
+     * @return number of output samples written to the output array
+     */
+    public int resample(float[] input, int inputOffset, int inputLength, float[] output, int outputOffset)
+    {
+        int outputPointer = outputOffset;
+
+        while(inputLength > 0)
+        {
+            int count = Math.min(inputLength, CHUNK_SIZE - mBufferCount);
+            System.arraycopy(input, inputOffset, mBuffer, mHistoryLength + mBufferCount, count);
+            mBufferCount += count;
+            inputOffset += count;
+            inputLength -= count;
+
+            //mIndex is the offset of the filter window for the next output, relative to the start of the buffer
+            while(mIndex < mBufferCount)
+            {
+                output[outputPointer++] = dot(mCoefficients, mPhase * mTapsPerPhase, mBuffer, mIndex, mTapsPerPhase);
+
+                mPhase += mDecimation;
+                mIndex += mPhase / mInterpolation;
+                mPhase %= mInterpolation;
+            }
+
+            if(mBufferCount == CHUNK_SIZE)
+            {
+                //Retain the history and reset the buffer for the next chunk of input
+                System.arraycopy(mBuffer, mBufferCount, mBuffer, 0, mHistoryLength);
+                mIndex -= mBufferCount;
+                mBufferCount = 0;
+            }
+        }
+
+        return outputPointer - outputOffset;
+    }
+
+    /**
+     * Resets the input sample history and filter phase.
+     */
+    public void reset()
+    {
+        Arrays.fill(mBuffer, 0.0f);
+        mBufferCount = 0;
+        mIndex = 0;
+        mPhase = 0;
+    }
+
+    /**
+     * Calculates the dot product of the filter phase coefficients and the input sample history.
+     * @param coefficients of the filter bank
+     * @param coefficientOffset to the start of the filter phase
+     * @param samples buffer
+     * @param sampleOffset to the oldest sample in the filter window
+     * @param length of the filter phase
+     * @return dot product
+     */
+    protected abstract float dot(float[] coefficients, int coefficientOffset, float[] samples, int sampleOffset,
+                                 int length);
+}
@@ -18,42 +18,37 @@
  */
 package io.github.dsheirer.dsp.filter.resample;
 
-import com.laszlosystems.libresample4j.Resampler;
-import com.laszlosystems.libresample4j.SampleBuffers;
 import io.github.dsheirer.sample.Listener;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.nio.ByteBuffer;
-import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Real sample buffer resampler
+ * Real sample buffer resampler that produces uniform length output arrays using a rational ratio polyphase resampler.
  */
 public class RealResampler
 {
     protected static final Logger mLog = LoggerFactory.getLogger(RealResampler.class);
 
-    private Resampler mResampler;
+    private PolyphaseResampler mResampler;
     private Listener<float[]> mResampledListener;
-    private BufferManager mBufferManager;
-    private double mResampleFactor;
+    private float[] mResampled = new float[0];
+    private float[] mOutputArray;
+    private int mOutputPointer;
+    private int mOutputArrayLength;
 
     /**
      * Constructs an instance.
      * @param inputRate sample rate
      * @param outputRate sample rate
-     * @param bufferSize for the input and output float buffers sized large enough to hold at least two of the
-     * input or output buffer lengths, whichever is larger
      * @param outputArrayLength to create uniform length output arrays
      */
-    public RealResampler(double inputRate, double outputRate, int bufferSize, int outputArrayLength)
+    public RealResampler(double inputRate, double outputRate, int outputArrayLength)
     {
-        mResampleFactor = outputRate / inputRate;
-        mResampler = new Resampler(true, mResampleFactor, mResampleFactor);
-        mBufferManager = new BufferManager(bufferSize, outputArrayLength);
+        mResampler = ResamplerFactory.getResampler(inputRate, outputRate);
+        mOutputArrayLength = outputArrayLength;
+        mOutputArray = new float[mOutputArrayLength];
     }
 
     /**
@@ -61,7 +56,7 @@ public class RealResampler
      */
     public double getResampleFactor()
     {
-        return mResampleFactor;
+        return mResampler.getResampleFactor();
     }
 
     /**
@@ -103,98 +98,61 @@ public class RealResampler
     /**
      * Primary input method to the resampler
      * @param samples to resample
-     * @param lastBatch set to true if this is the last set of samples
+     * @param lastBatch set to true if this is the last set of samples, to dispatch any partially filled output array
      */
     public void resample(float[] samples, boolean lastBatch)
     {
-        mBufferManager.load(samples);
-        mResampler.process(mResampleFactor, mBufferManager, lastBatch);
-    }
-
-    /**
-     * Registers the listener to receive the resampled output buffers
-     * @param listener to receive buffers
-     */
-    public void setListener(Listener<float[]> listener)
-    {
-        mResampledListener = listener;
-    }
+        int maximumLength = mResampler.getMaximumOutputLength(samples.length);
 
-    /**
-     * Buffer manager for input and output buffers used during the resampling process.
-     */
-    public class BufferManager implements SampleBuffers
-    {
-        private int mOutputArrayLength;
-        private FloatBuffer mInputBuffer;
-        private FloatBuffer mOutputBuffer;
-
-        /**
-         * Constructs an instance
-         * @param bufferSize for the input and output float buffers
-         * @param outputArrayLength to create uniform length output sample arrays
-         */
-        public BufferManager(int bufferSize, int outputArrayLength)
+        if(mResampled.length < maximumLength)
         {
-            mOutputArrayLength = outputArrayLength;
-
-            //The size of the underlying byte buffer in bytes is 4 times the requested input buffer size in floats
-            mInputBuffer = ByteBuffer.allocate(bufferSize * 4).asFloatBuffer();
-            mOutputBuffer = ByteBuffer.allocate(bufferSize * 4).asFloatBuffer();
+            mResampled = new float[maximumLength];
         }
 
-        /**
-         * Queues the buffer samples for resampling
-         */
-        public void load(float[] samples)
-        {
-            mInputBuffer.put(samples);
-        }
+        int resampledLength = mResampler.resample(samples, 0, samples.length, mResampled, 0);
+        int resampledPointer = 0;
 
-        @Override
-        public int getInputBufferLength()
+        while(resampledPointer < resampledLength)
         {
-            return mInputBuffer.position();
-        }
+            int length = Math.min(resampledLength - resampledPointer, mOutputArrayLength - mOutputPointer);
+            System.arraycopy(mResampled, resampledPointer, mOutputArray, mOutputPointer, length);
+            resampledPointer += length;
+            mOutputPointer += length;
 
-        @Override
-        public int getOutputBufferLength()
-        {
-            return mOutputBuffer.remaining();
+            if(mOutputPointer == mOutputArrayLength)
+            {
+                dispatch(mOutputArray);
+                mOutputArray = new float[mOutputArrayLength];
+                mOutputPointer = 0;
+            }
         }
 
-        /**
-         * Provides input to the resampler
-         */
-        @Override
-        public void produceInput(float[] samples, int offset, int length)
+        if(lastBatch && mOutputPointer > 0)
         {
-            mInputBuffer.flip();
-            mInputBuffer.get(samples, offset, length);
-            mInputBuffer.compact();
+            float[] partial = new float[mOutputPointer];
+            System.arraycopy(mOutputArray, 0, partial, 0, mOutputPointer);
+            dispatch(partial);
+            mOutputPointer = 0;
         }
+    }
 
-        /**
-         * Receives output from the resampler and dispatches output buffers periodically.
-         */
-        @Override
-        public void consumeOutput(float[] samples, int offset, int length)
+    /**
+     * Dispatches the resampled output array to the registered listener
+     */
+    private void dispatch(float[] resampled)
+    {
+        if(mResampledListener != null)
         {
-            mOutputBuffer.put(samples, offset, length);
-
-            while(mOutputBuffer.position() > mOutputArrayLength)
-            {
-                float[] resampled = new float[mOutputArrayLength];
-
-                mOutputBuffer.flip();
-                mOutputBuffer.get(resampled);
-                mOutputBuffer.compact();
-
-                if(mResampledListener != null)
-                {
-                    mResampledListener.receive(resampled);
-                }
-            }
+            mResampledListener.receive(resampled);
         }
     }
+
+    /**
+     * Registers the listener to receive the resampled output buffers
+     * @param listener to receive buffers
+     */
+    public void setListener(Listener<float[]> listener)
+    {
+        mResampledListener = listener;
+    }
 }
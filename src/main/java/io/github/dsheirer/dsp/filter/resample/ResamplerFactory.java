@@ -0,0 +1,62 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.resample;
+
+import io.github.dsheirer.vector.calibrate.CalibrationManager;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+
+/**
+ * Factory for creating an optimal scalar or vector (SIMD) polyphase resampler implementation
+ */
+public class ResamplerFactory
+{
+    /**
+     * Selects and instantiates the best resampler version, scalar or vector, based on previous calibration.
+     * @param inputRate sample rate
+     * @param outputRate sample rate
+     * @return resampler
+     */
+    public static PolyphaseResampler getResampler(double inputRate, double outputRate)
+    {
+        Implementation implementation = CalibrationManager.getInstance()
+            .getImplementation(CalibrationType.RESAMPLER_POLYPHASE);
+        return getResampler(inputRate, outputRate, implementation);
+    }
+
+    /**
+     * Instantiates the specified resampler implementation.
+     * @param inputRate sample rate
+     * @param outputRate sample rate
+     * @param implementation to construct.
+     * @return resampler.
+     */
+    public static PolyphaseResampler getResampler(double inputRate, double outputRate, Implementation implementation)
+    {
+        PolyphaseFilterBank filterBank = PolyphaseFilterBank.get(inputRate, outputRate);
+
+        return switch(implementation)
+        {
+            case VECTOR_SIMD_PREFERRED, VECTOR_SIMD_512, VECTOR_SIMD_256, VECTOR_SIMD_128, VECTOR_SIMD_64 ->
+                new VectorPolyphaseResampler(filterBank);
+            case SCALAR, UNCALIBRATED -> new ScalarPolyphaseResampler(filterBank);
+            default -> throw new IllegalArgumentException("Unknown implementation type: " + implementation);
+        };
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.resample;
+
+/**
+ * Scalar implementation of the polyphase resampler.
+ */
+public class ScalarPolyphaseResampler extends PolyphaseResampler
+{
+    /**
+     * Constructs an instance
+     * @param filterBank to use for resampling
+     */
+    public ScalarPolyphaseResampler(PolyphaseFilterBank filterBank)
+    {
+        super(filterBank);
+    }
+
+    @Override
+    protected float dot(float[] coefficients, int coefficientOffset, float[] samples, int sampleOffset, int length)
+    {
+        float accumulator = 0.0f;
+
+        for(int x = 0; x < length; x++)
+        {
+            accumulator += coefficients[coefficientOffset + x] * samples[sampleOffset + x];
+        }
+
+        return accumulator;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.resample;
+
+import io.github.dsheirer.vector.VectorUtilities;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector SIMD implementation of the polyphase resampler using the preferred vector species for this computer.
+ * Note: this resampler uses Project Panama SIMD instructions available in JDK 17+
+ */
+public class VectorPolyphaseResampler extends PolyphaseResampler
+{
+    private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * Constructs an instance
+     * @param filterBank to use for resampling
+     */
+    public VectorPolyphaseResampler(PolyphaseFilterBank filterBank)
+    {
+        super(filterBank);
+        VectorUtilities.checkSpecies(VECTOR_SPECIES);
+    }
+
+    @Override
+    protected float dot(float[] coefficients, int coefficientOffset, float[] samples, int sampleOffset, int length)
+    {
+        FloatVector accumulator = FloatVector.zero(VECTOR_SPECIES);
+        int bound = VECTOR_SPECIES.loopBound(length);
+        int x = 0;
+
+        for(; x < bound; x += VECTOR_SPECIES.length())
+        {
+            FloatVector filter = FloatVector.fromArray(VECTOR_SPECIES, coefficients, coefficientOffset + x);
+            FloatVector buffer = FloatVector.fromArray(VECTOR_SPECIES, samples, sampleOffset + x);
+            accumulator = filter.fma(buffer, accumulator);
+        }
+
+        float sum = accumulator.reduceLanes(VectorOperators.ADD);
+
+        //Phase lengths are padded to a multiple of 8 taps, so a tail only occurs with 512-bit species
+        for(; x < length; x++)
+        {
+            sum += coefficients[coefficientOffset + x] * samples[sampleOffset + x];
+        }
+
+        return sum;
+    }
+}
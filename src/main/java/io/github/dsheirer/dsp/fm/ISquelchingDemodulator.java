@@ -49,6 +49,12 @@ public interface ISquelchingDemodulator extends IDemodulator
      */
     void setSquelchThreshold(float threshold);
 
+    /**
+     * Current threshold used for power squelch, including any auto-track adjustments.
+     * @return threshold in decibels
+     */
+    float getSquelchThreshold();
+
     /**
      * Enables or disables the squelch auto-tracking feature where the squelch threshold is auto-adjusted based on the
      * observed channel power when the signal is not present (ie squelch state).
@@ -114,6 +114,12 @@ public class SquelchingFMDemodulator implements ISquelchingDemodulator, Listener
         mAdaptiveSquelch.setSquelchThreshold(threshold);
     }
 
+    @Override
+    public float getSquelchThreshold()
+    {
+        return mAdaptiveSquelch.getSquelchThreshold();
+    }
+
     @Override
     public void setSquelchAutoTrack(boolean autoTrack)
     {
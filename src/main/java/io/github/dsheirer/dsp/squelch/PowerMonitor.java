@@ -87,6 +87,46 @@ public class PowerMonitor
         }
     }
 
+    /**
+     * Processes the average power of a complex baseband sample buffer for the periodic power level broadcast.  This
+     * is a low-cost alternative to processing each sample when the average power is already calculated.
+     * @param averagePower of the sample buffer (inphase * inphase + quadrature * quadrature)
+     * @param sampleCount of the sample buffer
+     */
+    public void process(float averagePower, int sampleCount)
+    {
+        mPowerLevelBroadcastCount += sampleCount;
+
+        if(mPowerLevelBroadcastCount > mPowerLevelBroadcastThreshold)
+        {
+            mPowerLevelBroadcastCount = 0;
+            broadcast(SourceEvent.channelPowerLevel(null, 10.0 * Math.log10(mPowerFilter.filter(averagePower))));
+        }
+    }
+
+    /**
+     * Calculates the average power of the I&Q complex baseband sample buffers.
+     * @param i inphase samples
+     * @param q quadrature samples
+     * @return average power (inphase * inphase + quadrature * quadrature)
+     */
+    public static float getAveragePower(float[] i, float[] q)
+    {
+        if(i.length == 0)
+        {
+            return 0.0f;
+        }
+
+        float accumulator = 0.0f;
+
+        for(int x = 0; x < i.length; x++)
+        {
+            accumulator += i[x] * i[x] + q[x] * q[x];
+        }
+
+        return accumulator / i.length;
+    }
+
     /**
      * Registers the listener to receive power level notifications and squelch threshold requests
      */
@@ -0,0 +1,83 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.symbol;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Symbol-accurate processing clock for decoders and message framers.
+ *
+ * Each incoming sample buffer carries the timestamp of its first sample.  The owning decoder updates this clock with
+ * that reference timestamp as each buffer arrives and the framer increments the clock for each demodulated symbol.  The
+ * current timestamp is then the reference timestamp plus the elapsed duration of the symbols counted since the
+ * reference was set.  This keeps message timestamps tied to the sample stream rather than to the wall clock, so that
+ * timestamps remain correct when processing is delayed or when replaying recordings faster than real time.
+ *
+ * If a reference timestamp has not yet been provided, the clock falls back to the system wall clock.
+ */
+public class SymbolClock
+{
+    private final double mMillisecondsPerSymbol;
+    private long mReferenceTimestamp = 0;
+    private int mSymbolsSinceReference = 0;
+
+    /**
+     * Constructs an instance
+     * @param symbolRate in symbols per second
+     */
+    public SymbolClock(double symbolRate)
+    {
+        Validate.isTrue(symbolRate > 0, "Symbol rate must be greater than 0");
+        mMillisecondsPerSymbol = 1000.0 / symbolRate;
+    }
+
+    /**
+     * Sets or updates the reference timestamp from an incoming sample buffer and resets the symbol counter.
+     * @param timestamp of the first sample in the buffer, in milliseconds.
+     */
+    public void setReferenceTimestamp(long timestamp)
+    {
+        mReferenceTimestamp = timestamp;
+        mSymbolsSinceReference = 0;
+    }
+
+    /**
+     * Increments the clock by a single symbol.
+     */
+    public void increment()
+    {
+        mSymbolsSinceReference++;
+    }
+
+    /**
+     * Calculates the timestamp accurate to the most recently counted symbol.
+     * @return timestamp in milliseconds, or the current system time if no reference timestamp has been provided.
+     */
+    public long getTimestamp()
+    {
+        if(mReferenceTimestamp > 0)
+        {
+            return mReferenceTimestamp + (long)(mSymbolsSinceReference * mMillisecondsPerSymbol);
+        }
+
+        mSymbolsSinceReference = 0;
+        return System.currentTimeMillis();
+    }
+}
@@ -190,6 +190,50 @@ public class BerlekempMassey
         }
     }
 
+    /**
+     * Encodes the parity symbols for a systematic codeword.
+     *
+     * The information symbols are read from codeword indexes NN-KK to NN-1 and the calculated parity symbols are
+     * placed in codeword indexes 0 to NN-KK-1, matching the codeword layout expected by the decode() method.  For a
+     * shortened code, the unused information symbols should be set to zero.
+     *
+     * @param codeword array of length NN with symbols in polynomial form
+     */
+    public void encode(int[] codeword)
+    {
+        int parityLength = NN - KK;
+        int[] bb = new int[parityLength];
+
+        for(int i = KK - 1; i >= 0; i--)
+        {
+            int feedback = index_of[codeword[parityLength + i] ^ bb[parityLength - 1]];
+
+            if(feedback != -1)
+            {
+                for(int j = parityLength - 1; j > 0; j--)
+                {
+                    if(gg[j] != -1)
+                    {
+                        bb[j] = bb[j - 1] ^ alpha_to[(gg[j] + feedback) % NN];
+                    }
+                    else
+                    {
+                        bb[j] = bb[j - 1];
+                    }
+                }
+
+                bb[0] = alpha_to[(gg[0] + feedback) % NN];
+            }
+            else
+            {
+                System.arraycopy(bb, 0, bb, 1, parityLength - 1);
+                bb[0] = 0;
+            }
+        }
+
+        System.arraycopy(bb, 0, codeword, 0, parityLength);
+    }
+
     /**
      * Decodes
      *
@@ -508,6 +508,19 @@ public class CRCP25
      * @return true if the message passes the CRC-12 check.
      */
     public static boolean crc12_FACCH(CorrectedBinaryMessage message)
+    {
+        int checksum = message.getInt(144, 155); //12-bit transmitted checksum
+        int residual = calculateCrc12_FACCH(message) ^ checksum;
+        return residual == 0;
+    }
+
+    /**
+     * Calculates the CRC-12 checksum for the first 144 bits of a P25 Phase 2 MAC PDU Contents for S-OEMI/FACCH.
+     *
+     * @param message containing the MAC PDU contents
+     * @return 12-bit checksum to transmit in bits 144-155
+     */
+    public static int calculateCrc12_FACCH(BinaryMessage message)
     {
         int calculated = 0xFFF; //Initial fill of all ones.
 
@@ -517,9 +530,7 @@ public class CRCP25
             calculated ^= CRC_12_FACCH[i];
         }
 
-        int checksum = message.getInt(144, 155); //12-bit transmitted checksum
-        int residual = calculated ^ checksum;
-        return residual == 0;
+        return calculated;
     }
 
     /**
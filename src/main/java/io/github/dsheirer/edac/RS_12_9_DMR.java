@@ -19,6 +19,7 @@
 
 package io.github.dsheirer.edac;
 
+import io.github.dsheirer.bits.BinaryMessage;
 import io.github.dsheirer.bits.CorrectedBinaryMessage;
 import java.util.ArrayList;
 import java.util.List;
@@ -86,6 +87,30 @@ public class RS_12_9_DMR
     private static final int POLYNOMIAL_MAXIMUM_DEGREE = (CHECKSUM_SIZE * 2);
     public static final int ERRORS_CANT_BE_CORRECTED = -1;
 
+    /**
+     * Calculates the 3x 8-bit parity symbols for the 9x 8-bit message symbols of the Full Link Control (FLC) message,
+     * applies the mask and loads the masked parity symbols into bits 72-95 of the message.
+     *
+     * @param message that is 96-bits long containing the 72-bit FLC message in bits 0-71.
+     * @param mask to apply to each of the parity symbols.
+     */
+    public static void encode(BinaryMessage message, int mask)
+    {
+        int[] codeword = new int[12];
+
+        for(int index = 0; index < 9; index++)
+        {
+            codeword[index] = (0xFF & message.getByte(index * 8));
+        }
+
+        int[] checksum = calculateChecksum(codeword);
+
+        for(int index = 0; index < 3; index++)
+        {
+            message.setByte((index + 9) * 8, (byte)(0xFF & (checksum[index] ^ mask)));
+        }
+    }
+
     /**
      * Performs error detection and correction on the Full Link Control (FLC) message.  The message should be 96-bits
      * long containing 9x 8-bit message symbols and 3x 8-bit parity symbols.  The RS(12,9,4) algorithm can detect and
@@ -130,6 +130,7 @@ public class SDRTrunk implements Listener<TunerEvent>
     private DiagnosticMonitor mDiagnosticMonitor;
     private IconModel mIconModel = new IconModel();
     private PlaylistManager mPlaylistManager;
+    private EventLogManager mEventLogManager;
     private SettingsManager mSettingsManager;
     private SpectralDisplayPanel mSpectralPanel;
     private JFrame mMainGui;
@@ -195,8 +196,8 @@ public class SDRTrunk implements Listener<TunerEvent>
         mSettingsManager = new SettingsManager();
 
         AliasModel aliasModel = new AliasModel();
-        EventLogManager eventLogManager = new EventLogManager(aliasModel, mUserPreferences);
-        mPlaylistManager = new PlaylistManager(mUserPreferences, mTunerManager, aliasModel, eventLogManager, mIconModel);
+        mEventLogManager = new EventLogManager(aliasModel, mUserPreferences);
+        mPlaylistManager = new PlaylistManager(mUserPreferences, mTunerManager, aliasModel, mEventLogManager, mIconModel);
 
         boolean headless = GraphicsEnvironment.isHeadless();
 
@@ -645,6 +646,7 @@ public class SDRTrunk implements Listener<TunerEvent>
         mJavaFxWindowManager.shutdown();
         mLog.info("Stopping channels ...");
         mPlaylistManager.getChannelProcessingManager().shutdown();
+        mEventLogManager.shutdown();
         mAudioRecordingManager.stop();
         mResourceMonitor.stop();
 
@@ -43,6 +43,8 @@ public class TunerPreferenceEditor extends HBox
         "channelizer is more efficient when decoding 3 or more channels.";
     private static final String HELP_TEXT_HETERODYNE = "Processes each channel on-demand.  This " +
         "channelizer may work better for computers with constrained resources when processing a small number of channels.";
+    private static final String HELP_TEXT_HYBRID = "Uses the heterodyne channelizer for the first few channels and " +
+        "the polyphase channelizer when more channels are active, switching as channels start and stop.";
 
     private TunerPreference mTunerPreference;
     private GridPane mEditorPane;
@@ -52,6 +54,8 @@ public class TunerPreferenceEditor extends HBox
     private Label mHelpTextPolyphaseLabel;
     private Label mHeterodyneLabel;
     private Label mHelpTextHeterodyneLabel;
+    private Label mHybridLabel;
+    private Label mHelpTextHybridLabel;
     private ChoiceBox<RspDuoSelectionMode> mRspDuoTunerModeChoiceBox;
     private Label mRspDuoModeLabel;
 
@@ -80,6 +84,10 @@ public class TunerPreferenceEditor extends HBox
             mEditorPane.add(getHeterodyneLabel(), 0, ++row, 2, 1);
             mEditorPane.add(getHelpTextHeterodyneLabel(), 0, ++row, 2, 3);
             row += 3;
+            mEditorPane.add(new Label(" "), 0, row);
+            mEditorPane.add(getHybridLabel(), 0, ++row, 2, 1);
+            mEditorPane.add(getHelpTextHybridLabel(), 0, ++row, 2, 3);
+            row += 3;
             mEditorPane.add(new Separator(Orientation.HORIZONTAL), 0, row, 2, 1);
             mEditorPane.add(getRspDuoModeLabel(), 0, ++row);
             mEditorPane.add(getRspDuoTunerModeChoiceBox(), 1, row);
@@ -166,6 +174,27 @@ public class TunerPreferenceEditor extends HBox
         return mHelpTextHeterodyneLabel;
     }
 
+    private Label getHybridLabel()
+    {
+        if(mHybridLabel == null)
+        {
+            mHybridLabel = new Label("Hybrid");
+        }
+
+        return mHybridLabel;
+    }
+
+    private Label getHelpTextHybridLabel()
+    {
+        if(mHelpTextHybridLabel == null)
+        {
+            mHelpTextHybridLabel = new Label(HELP_TEXT_HYBRID);
+            mHelpTextHybridLabel.setWrapText(true);
+        }
+
+        return mHelpTextHybridLabel;
+    }
+
     private ChoiceBox<RspDuoSelectionMode> getRspDuoTunerModeChoiceBox()
     {
         if(mRspDuoTunerModeChoiceBox == null)
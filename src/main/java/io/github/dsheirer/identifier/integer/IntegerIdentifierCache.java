@@ -0,0 +1,123 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.identifier.integer;
+
+import io.github.dsheirer.identifier.Role;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, concurrent interning cache for immutable integer identifiers (talkgroups and radio identifiers).
+ *
+ * Control channel messages repeat the same small population of talkgroup and radio values thousands of times per
+ * minute.  This cache returns a shared identifier instance for a repeated value and role so that message parsing
+ * doesn't allocate a new identifier for each message and so that equality checks downstream short-circuit on
+ * identity.
+ *
+ * The cache is organized as a set-associative table where each value/role hashes to a set of 4 entries that are
+ * maintained in least-recently-used order.  A miss inserts the new identifier at the head of the set and evicts the
+ * least recently used entry.  Entries are read and written without locking.  A lost update under contention can only
+ * cause a duplicate (equivalent) identifier instance to be created, since every hit is verified against the
+ * requested value and role.
+ *
+ * Note: only use this cache for identifier types that are never modified after construction.
+ *
+ * @param <T> identifier type
+ */
+public class IntegerIdentifierCache<T extends IntegerIdentifier>
+{
+    private static final int WAYS = 4;
+    private final AtomicReferenceArray<T> mEntries;
+    private final int mSetMask;
+    private final IdentifierFactory<T> mFactory;
+
+    /**
+     * Constructs an instance
+     * @param capacity of the cache, rounded up to a power of two.
+     * @param factory to create identifiers on a cache miss.
+     */
+    public IntegerIdentifierCache(int capacity, IdentifierFactory<T> factory)
+    {
+        int sets = Math.max(Integer.highestOneBit(Math.max(capacity / WAYS, 1) - 1) << 1, 1);
+        mSetMask = sets - 1;
+        mEntries = new AtomicReferenceArray<>(sets * WAYS);
+        mFactory = factory;
+    }
+
+    /**
+     * Returns a shared identifier instance for the value and role, creating it on a cache miss.
+     * @param value of the identifier
+     * @param role of the identifier
+     * @return identifier
+     */
+    public T get(int value, Role role)
+    {
+        int base = (hash(value, role) & mSetMask) * WAYS;
+
+        for(int way = 0; way < WAYS; way++)
+        {
+            T identifier = mEntries.get(base + way);
+
+            if(identifier == null)
+            {
+                break;
+            }
+
+            if(identifier.getValue() == value && identifier.getRole() == role)
+            {
+                //Move to the head of the set
+                for(int x = way; x > 0; x--)
+                {
+                    mEntries.set(base + x, mEntries.get(base + x - 1));
+                }
+
+                mEntries.set(base, identifier);
+                return identifier;
+            }
+        }
+
+        T identifier = mFactory.create(value, role);
+
+        for(int x = WAYS - 1; x > 0; x--)
+        {
+            mEntries.set(base + x, mEntries.get(base + x - 1));
+        }
+
+        mEntries.set(base, identifier);
+        return identifier;
+    }
+
+    /**
+     * Spreads the value and role across the cache sets.
+     */
+    private static int hash(int value, Role role)
+    {
+        int hash = (value * 31 + role.ordinal()) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Creates an identifier on a cache miss.
+     * @param <T> identifier type
+     */
+    public interface IdentifierFactory<T>
+    {
+        T create(int value, Role role);
+    }
+}
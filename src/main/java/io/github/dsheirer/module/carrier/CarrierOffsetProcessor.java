@@ -47,6 +47,7 @@ public class CarrierOffsetProcessor
     private final FloatAveragingBuffer mAveragingBuffer = new FloatAveragingBuffer(5);
     private final FloatAveragingBuffer mOffsetAverage = new FloatAveragingBuffer(10, 3);
     private final StandardDeviation mStandardDeviation = new StandardDeviation();
+    private final float[] mMagnitudes = new float[FFT_BIN_SIZE];
     private float mCarrierOffset;
     private float mResolution;
     private int mHalfWidth;
@@ -176,8 +177,8 @@ public class CarrierOffsetProcessor
         float[] samples = complexSamples.toInterleaved(offset, FFT_BIN_SIZE).samples();
         WindowFactory.apply(WINDOW, samples);
         FFT.complexForward(samples);
-        float[] magnitudes = ComplexDecibelConverter.convert(samples);
-        float peakIndex = findPeak(magnitudes);
+        ComplexDecibelConverter.convert(samples, mMagnitudes);
+        float peakIndex = findPeak(mMagnitudes);
 
         //Return float max value for Low SNR or no signal
         if(peakIndex == Float.MAX_VALUE)
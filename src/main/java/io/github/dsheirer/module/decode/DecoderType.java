@@ -79,6 +79,12 @@ public enum DecoderType
         DecoderType.MDC1200,
         DecoderType.TAIT_1200);
 
+    /**
+     * Conventional analog decoders whose (non-traffic) channels can be parked by the tuner spectral occupancy monitor
+     * while the channel is vacant.
+     */
+    public static final EnumSet<DecoderType> PARKABLE_DECODERS = EnumSet.of(DecoderType.AM, DecoderType.NBFM);
+
     /**
      * Decoders that produce a (recordable) bitstream
      */
@@ -26,11 +26,13 @@ import io.github.dsheirer.dsp.filter.decimate.DecimationFilterFactory;
 import io.github.dsheirer.dsp.filter.decimate.IRealDecimationFilter;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
 import io.github.dsheirer.dsp.filter.fir.FIRFilterSpecification;
-import io.github.dsheirer.dsp.filter.fir.real.IRealFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexSampleFilter;
 import io.github.dsheirer.dsp.filter.resample.RealResampler;
 import io.github.dsheirer.dsp.fm.ISquelchingDemodulator;
+import io.github.dsheirer.dsp.squelch.PowerMonitor;
 import io.github.dsheirer.dsp.window.WindowType;
 import io.github.dsheirer.module.decode.PrimaryDecoder;
+import io.github.dsheirer.properties.SystemProperties;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.sample.complex.IComplexSamplesListener;
@@ -38,11 +40,20 @@ import io.github.dsheirer.sample.real.IRealBufferProvider;
 import io.github.dsheirer.source.ISourceEventListener;
 import io.github.dsheirer.source.ISourceEventProvider;
 import io.github.dsheirer.source.SourceEvent;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.apache.commons.math3.util.FastMath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Abstract analog decoder module with integrated squelch control
+ *
+ * Includes an opt-in low-cost pre-squelch stage (decoder.analog.pre.squelch.enabled system property) that measures
+ * only the channel power of the decimated samples while the squelch is closed and the channel is quiet.  When parked,
+ * baseband filtering, demodulation, squelch and resampling are bypassed until the channel power rises to within a
+ * margin of the squelch threshold.  A short pre-roll of decimated samples is replayed through the full chain at
+ * wake-up so that the filters and squelch are primed and no audio is lost at squelch open.
  */
 public abstract class SquelchingAnalogDecoder extends PrimaryDecoder implements ISourceEventListener, ISourceEventProvider,
         IComplexSamplesListener, Listener<ComplexSamples>, IRealBufferProvider,
@@ -50,8 +61,12 @@ public abstract class SquelchingAnalogDecoder extends PrimaryDecoder implements
 {
     private final static Logger mLog = LoggerFactory.getLogger(SquelchingAnalogDecoder.class);
     private static final double DEMODULATED_AUDIO_SAMPLE_RATE = 8000.0;
-    private IRealFilter mIBasebandFilter;
-    private IRealFilter mQBasebandFilter;
+    private static final String PRE_SQUELCH_PROPERTY = "decoder.analog.pre.squelch.enabled";
+    private static final float PRE_SQUELCH_MARGIN_DB = 6.0f;
+    private static final float PRE_SQUELCH_HYSTERESIS = (float)FastMath.pow(10.0, -3.0 / 10.0);
+    private static final int PRE_SQUELCH_HOLD_MS = 1000;
+    private static final int PRE_SQUELCH_PRE_ROLL_MS = 100;
+    private IComplexSampleFilter mBasebandFilter;
     private IRealDecimationFilter mIDecimationFilter;
     private IRealDecimationFilter mQDecimationFilter;
     private ISquelchingDemodulator mDemodulator;
@@ -62,6 +77,14 @@ public abstract class SquelchingAnalogDecoder extends PrimaryDecoder implements
     private double mChannelBandwidth;
     private double mOutputSampleRate = DEMODULATED_AUDIO_SAMPLE_RATE;
     protected boolean mSquelch = true;
+    private final boolean mPreSquelchEnabled;
+    private final PowerMonitor mPowerMonitor = new PowerMonitor();
+    private final Deque<ComplexSamples> mPreRoll = new ArrayDeque<>();
+    private int mPreRollSampleCount;
+    private int mPreRollSampleLimit;
+    private int mHoldSampleLimit;
+    private int mQuietSampleCount;
+    private boolean mParked;
 
     /**
      * Constructs an instance
@@ -75,6 +98,7 @@ public abstract class SquelchingAnalogDecoder extends PrimaryDecoder implements
         mDemodulator = squelchingDemodulator;
 		mChannelBandwidth = config.getBandwidth().getValue();
 		mDemodulator.setSquelchThreshold(config.getSquelchThreshold());
+        mPreSquelchEnabled = SystemProperties.getInstance().get(PRE_SQUELCH_PROPERTY, false);
     }
 
     /**
@@ -159,9 +183,85 @@ public abstract class SquelchingAnalogDecoder extends PrimaryDecoder implements
 
         float[] decimatedI = mIDecimationFilter.decimateReal(samples.i());
         float[] decimatedQ = mQDecimationFilter.decimateReal(samples.q());
+        ComplexSamples decimated = new ComplexSamples(decimatedI, decimatedQ, samples.timestamp());
+
+        if(mPreSquelchEnabled && preSquelch(decimated))
+        {
+            return;
+        }
+
+        process(decimated);
+    }
+
+    /**
+     * Pre-squelch stage that parks the decoder while the squelch is closed and the decimated channel power stays
+     * below the pre-squelch threshold for the hold period, and unparks when the channel power rises above the
+     * pre-squelch threshold.
+     * @param decimated samples
+     * @return true if the decoder is parked and the samples were consumed by the pre-squelch stage
+     */
+    private boolean preSquelch(ComplexSamples decimated)
+    {
+        int sampleCount = decimated.i().length;
+        float power = PowerMonitor.getAveragePower(decimated.i(), decimated.q());
+        float threshold = (float)FastMath.pow(10.0, (mDemodulator.getSquelchThreshold() - PRE_SQUELCH_MARGIN_DB) / 10.0);
 
-        float[] filteredI = mIBasebandFilter.filter(decimatedI);
-        float[] filteredQ = mQBasebandFilter.filter(decimatedQ);
+        if(mParked)
+        {
+            if(power >= threshold)
+            {
+                mParked = false;
+                mQuietSampleCount = 0;
+
+                //Replay the pre-roll to prime the filters and squelch ahead of the current buffer
+                while(!mPreRoll.isEmpty())
+                {
+                    process(mPreRoll.poll());
+                }
+
+                mPreRollSampleCount = 0;
+                return false;
+            }
+
+            mPreRoll.add(decimated);
+            mPreRollSampleCount += sampleCount;
+
+            while(mPreRollSampleCount - mPreRoll.peek().i().length >= mPreRollSampleLimit)
+            {
+                mPreRollSampleCount -= mPreRoll.poll().i().length;
+            }
+
+            mPowerMonitor.process(power, sampleCount);
+            notifyIdle();
+            return true;
+        }
+
+        if(mSquelch && power < threshold * PRE_SQUELCH_HYSTERESIS)
+        {
+            mQuietSampleCount += sampleCount;
+
+            if(mQuietSampleCount >= mHoldSampleLimit)
+            {
+                mParked = true;
+            }
+        }
+        else
+        {
+            mQuietSampleCount = 0;
+        }
+
+        return false;
+    }
+
+    /**
+     * Filters, demodulates and resamples the decimated samples and updates the squelch and call state.
+     * @param decimated samples
+     */
+    private void process(ComplexSamples decimated)
+    {
+        ComplexSamples filtered = mBasebandFilter.filter(decimated);
+        float[] filteredI = filtered.i();
+        float[] filteredQ = filtered.q();
 
         float[] demodulated = mDemodulator.demodulate(filteredI, filteredQ);
 
@@ -293,6 +393,7 @@ public abstract class SquelchingAnalogDecoder extends PrimaryDecoder implements
     public void setSourceEventListener(Listener<SourceEvent> listener)
     {
         mDemodulator.setSourceEventListener(listener);
+        mPowerMonitor.setSourceEventListener(listener);
     }
 
     /**
@@ -302,6 +403,7 @@ public abstract class SquelchingAnalogDecoder extends PrimaryDecoder implements
     public void removeSourceEventListener()
     {
         mDemodulator.setSourceEventListener(null);
+        mPowerMonitor.setSourceEventListener(null);
     }
 
     /**
@@ -323,10 +425,9 @@ public abstract class SquelchingAnalogDecoder extends PrimaryDecoder implements
                     mDemodulator.receive(sourceEvent);
                     break;
                 case NOTIFICATION_SAMPLE_RATE_CHANGE:
-                    if(mIBasebandFilter != null)
+                    if(mBasebandFilter != null)
                     {
-                        mIBasebandFilter = null;
-                        mQBasebandFilter = null;
+                        mBasebandFilter = null;
                     }
 
                     double sampleRate = sourceEvent.getValue().doubleValue();
@@ -360,6 +461,13 @@ public abstract class SquelchingAnalogDecoder extends PrimaryDecoder implements
                     }
 
                     mDemodulator.setSampleRate((int) decimatedSampleRate);
+                    mPowerMonitor.setSampleRate((int) decimatedSampleRate);
+                    mPreRollSampleLimit = (int)(decimatedSampleRate * PRE_SQUELCH_PRE_ROLL_MS / 1000);
+                    mHoldSampleLimit = (int)(decimatedSampleRate * PRE_SQUELCH_HOLD_MS / 1000);
+                    mPreRoll.clear();
+                    mPreRollSampleCount = 0;
+                    mQuietSampleCount = 0;
+                    mParked = false;
 
                     int passBandStop = (int) (mChannelBandwidth * .8);
                     int stopBandStart = (int) mChannelBandwidth;
@@ -398,10 +506,9 @@ public abstract class SquelchingAnalogDecoder extends PrimaryDecoder implements
                                 WindowType.HAMMING, true);
                     }
 
-                    mIBasebandFilter = FilterFactory.getRealFilter(coefficients);
-                    mQBasebandFilter = FilterFactory.getRealFilter(coefficients);
+                    mBasebandFilter = FilterFactory.getComplexFilter(coefficients);
 
-                    mResampler = new RealResampler(decimatedSampleRate, mOutputSampleRate, 4192, 512);
+                    mResampler = new RealResampler(decimatedSampleRate, mOutputSampleRate, 512);
                     mResampler.setListener(resampled -> broadcast(resampled));
                     break;
             }
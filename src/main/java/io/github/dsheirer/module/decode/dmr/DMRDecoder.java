@@ -24,7 +24,7 @@ import io.github.dsheirer.dsp.filter.FilterFactory;
 import io.github.dsheirer.dsp.filter.decimate.DecimationFilterFactory;
 import io.github.dsheirer.dsp.filter.decimate.IRealDecimationFilter;
 import io.github.dsheirer.dsp.filter.fir.FIRFilterSpecification;
-import io.github.dsheirer.dsp.filter.fir.real.IRealFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexSampleFilter;
 import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter;
 import io.github.dsheirer.dsp.psk.demod.DifferentialDemodulator;
 import io.github.dsheirer.dsp.psk.demod.DifferentialDemodulatorFactory;
@@ -94,8 +94,7 @@ public class DMRDecoder extends Decoder implements IByteBufferProvider, IComplex
     private final DMRMessageFramer mMessageFramer;
     private final DMRSoftSymbolProcessor mSymbolProcessor;
     private final DMRMessageProcessor mMessageProcessor;
-    private IRealFilter mIBasebandFilter;
-    private IRealFilter mQBasebandFilter;
+    private IComplexSampleFilter mBasebandFilter;
     private IRealDecimationFilter mDecimationFilterI;
     private IRealDecimationFilter mDecimationFilterQ;
     private RealFIRFilter mRRCFilterI;
@@ -143,8 +142,7 @@ public class DMRDecoder extends Decoder implements IByteBufferProvider, IComplex
         mPowerMonitor.setSampleRate((int)sampleRate);
         mCarrierOffsetProcessor.setSampleRate(sampleRate);
 
-        mIBasebandFilter = FilterFactory.getRealFilter(getBasebandFilter(sampleRate));
-        mQBasebandFilter = FilterFactory.getRealFilter(getBasebandFilter(sampleRate));
+        mBasebandFilter = FilterFactory.getComplexFilter(getBasebandFilter(sampleRate));
 
         int decimation = 1;
 
@@ -187,8 +185,9 @@ public class DMRDecoder extends Decoder implements IByteBufferProvider, IComplex
 
         mMessageFramer.setTimestamp(samples.timestamp());
 
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        ComplexSamples filtered = mBasebandFilter.filter(samples);
+        float[] i = filtered.i();
+        float[] q = filtered.q();
 
         //Process buffer for power measurements
         mPowerMonitor.process(i, q);
@@ -21,6 +21,7 @@ package io.github.dsheirer.module.decode.dmr;
 
 import io.github.dsheirer.bits.CorrectedBinaryMessage;
 import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.SymbolClock;
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.SyncLossMessage;
 import io.github.dsheirer.module.decode.dmr.message.CACH;
@@ -55,8 +56,7 @@ public class DMRMessageFramer implements Listener<Dibit>
     private boolean mBufferAActive = false;
     private boolean mAssemblingBurst = false;
     private int mDibitCounter = 0;
-    private int mDibitSinceTimestampCounter = 0;
-    private long mReferenceTimestamp = 0;
+    private final SymbolClock mSymbolClock = new SymbolClock(4800);
     private boolean mRunning = false;
     private final DMRMessageFactory mMessageFactory;
 
@@ -78,7 +78,7 @@ public class DMRMessageFramer implements Listener<Dibit>
     public void receive(Dibit dibit)
     {
         mDibitCounter++;
-        mDibitSinceTimestampCounter++;
+        mSymbolClock.increment();
 
         //Issue a sync loss for each full 1-second interval (ie 4800 dibits) of no sync.
         if(!mAssemblingBurst && mDibitCounter >= 4800)
@@ -396,8 +396,7 @@ public class DMRMessageFramer implements Listener<Dibit>
      */
     public void setTimestamp(long time)
     {
-        mReferenceTimestamp = time;
-        mDibitSinceTimestampCounter = 0;
+        mSymbolClock.setReferenceTimestamp(time);
     }
 
     /**
@@ -406,14 +405,6 @@ public class DMRMessageFramer implements Listener<Dibit>
      */
     private long getTimestamp()
     {
-        if(mReferenceTimestamp > 0)
-        {
-            return mReferenceTimestamp + (long)(1000.0 * mDibitSinceTimestampCounter / 4800);
-        }
-        else
-        {
-            mDibitSinceTimestampCounter = 0;
-            return System.currentTimeMillis();
-        }
+        return mSymbolClock.getTimestamp();
     }
 }
@@ -85,8 +85,9 @@ public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateP
     @Override
     public void reset()
     {
-        //Explicitly clear FROM identifiers to ensure previous call TONE identifiers are cleared.
-        mIdentifierCollection.remove(Role.FROM);
+        //Explicitly clear FROM identifiers to ensure previous call TONE identifiers are cleared.  Identifiers are
+        //updated on the vocoder service, in order with the synthesized audio for the previous call.
+        execute(() -> mIdentifierCollection.remove(Role.FROM));
 
         mEncryptedCall = false;
         mEncryptedCallStateEstablished = false;
@@ -222,16 +223,18 @@ public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateP
 
     private void produceAudio(byte[] frame, long timestamp)
     {
-        try
-        {
-            IAudioWithMetadata audioWithMetadata = getAudioCodec().getAudioWithMetadata(frame);
-            addAudio(audioWithMetadata.getAudio());
-            processMetadata(audioWithMetadata, timestamp);
-        }
-        catch(Exception e)
-        {
-            mLog.error("Error synthesizing DMR AMBE audio - continuing [" + e.getMessage() + "]");
-        }
+        decode(codec -> {
+            try
+            {
+                IAudioWithMetadata audioWithMetadata = codec.getAudioWithMetadata(frame);
+                addAudio(audioWithMetadata.getAudio());
+                processMetadata(audioWithMetadata, timestamp);
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error synthesizing DMR AMBE audio - continuing [" + e.getMessage() + "]");
+            }
+        });
     }
 
     /**
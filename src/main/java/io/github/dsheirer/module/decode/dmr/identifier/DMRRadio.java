@@ -23,6 +23,7 @@
 package io.github.dsheirer.module.decode.dmr.identifier;
 
 import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.protocol.Protocol;
 
@@ -31,6 +32,8 @@ import io.github.dsheirer.protocol.Protocol;
  */
 public class DMRRadio extends RadioIdentifier
 {
+    private static final IntegerIdentifierCache<DMRRadio> CACHE = new IntegerIdentifierCache<>(16384, DMRRadio::new);
+
     public DMRRadio(Integer value, Role role)
     {
         super(value, role);
@@ -43,26 +46,26 @@ public class DMRRadio extends RadioIdentifier
     }
 
     /**
-     * Creates a DMR TO radio identifier
+     * Creates a DMR TO radio identifier.  Returns a shared (interned) instance for repeated values.
      */
     public static RadioIdentifier createTo(int radioId)
     {
-        return new DMRRadio(radioId, Role.TO);
+        return CACHE.get(radioId, Role.TO);
     }
 
     /**
-     * Creates a DMR FROM radio identifier
+     * Creates a DMR FROM radio identifier.  Returns a shared (interned) instance for repeated values.
      */
     public static RadioIdentifier createFrom(int radioId)
     {
-        return new DMRRadio(radioId, Role.FROM);
+        return CACHE.get(radioId, Role.FROM);
     }
 
     /**
-     * Creates a DMR ANY radio identifier
+     * Creates a DMR ANY radio identifier.  Returns a shared (interned) instance for repeated values.
      */
     public static RadioIdentifier createAny(int radioId)
     {
-        return new DMRRadio(radioId, Role.ANY);
+        return CACHE.get(radioId, Role.ANY);
     }
 }
@@ -45,7 +45,7 @@ public class CACH
     private static final IntField VALUE_FIELD = IntField.range(0, 6);
 
     private static final int CACH_MESSAGE_LENGTH = 24;
-    private static final int[] INTERLEAVE_MATRIX = new int[]{0, 4, 8, 12, 14, 18, 22, 1, 2, 3, 5, 6, 7, 9, 10, 11, 13,
+    public static final int[] INTERLEAVE_MATRIX = new int[]{0, 4, 8, 12, 14, 18, 22, 1, 2, 3, 5, 6, 7, 9, 10, 11, 13,
         15, 16, 17, 19, 20, 21, 23};
     private static final int INBOUND_CHANNEL_ACCESS_TYPE = 0;
     private static final int OUTBOUND_BURST_TIMESLOT = 1;
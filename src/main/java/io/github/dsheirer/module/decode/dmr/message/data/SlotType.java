@@ -25,7 +25,7 @@ import io.github.dsheirer.module.decode.dmr.message.type.DataType;
 
 public class SlotType
 {
-    private static final int[] MESSAGE_INDEXES = new int[]{122, 123, 124, 125, 126, 127, 128, 129, 130, 131, 180, 181,
+    public static final int[] MESSAGE_INDEXES = new int[]{122, 123, 124, 125, 126, 127, 128, 129, 130, 131, 180, 181,
         182, 183, 184, 185, 186, 187, 188, 189};
 
     //Note: extracted message bit index values are offset by +4 from the ICD specified index values
@@ -31,7 +31,7 @@ import org.slf4j.LoggerFactory;
 public class EMB
 {
     private final static Logger mLog = LoggerFactory.getLogger(EMB.class);
-    private static final int[] VALID_WORDS = new int[]{
+    public static final int[] VALID_WORDS = new int[]{
         0x0000, 0x0273, 0x04E5, 0x0696, 0x09C9, 0x0BBA, 0x0D2C, 0x0F5F, 0x11E2, 0x1391, 0x1507, 0x1774, 0x182B, 0x1A58,
         0x1CCE, 0x1EBD, 0x21B7, 0x23C4, 0x2552, 0x2721, 0x287E, 0x2A0D, 0x2C9B, 0x2EE8, 0x3055, 0x3226, 0x34B0, 0x36C3,
         0x399C, 0x3BEF, 0x3D79, 0x3F0A, 0x411E, 0x436D, 0x45FB, 0x4788, 0x48D7, 0x4AA4, 0x4C32, 0x4E41, 0x50FC, 0x528F,
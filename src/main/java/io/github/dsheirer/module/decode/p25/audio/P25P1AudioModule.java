@@ -62,7 +62,8 @@ public class P25P1AudioModule extends ImbeAudioModule
     @Override
     public void reset()
     {
-        getIdentifierCollection().clear();
+        //Identifiers are updated on the vocoder service, in order with the synthesized audio for the previous call
+        execute(() -> getIdentifierCollection().clear());
     }
 
     @Override
@@ -137,9 +138,7 @@ public class P25P1AudioModule extends ImbeAudioModule
         {
             for(byte[] frame : ldu.getIMBEFrames())
             {
-                float[] audio = getAudioCodec().getAudio(frame);
-                audio = mGain.apply(audio);
-                addAudio(audio);
+                decode(codec -> addAudio(mGain.apply(codec.getAudio(frame))));
             }
         }
         else
@@ -82,10 +82,12 @@ public class P25P2AudioModule extends AmbeAudioModule implements IdentifierUpdat
     @Override
     public void reset()
     {
-        //Explicitly clear FROM identifiers to ensure previous call TONE identifiers are cleared.
-        mIdentifierCollection.remove(Role.FROM);
-
-        mToneMetadataProcessor.reset();
+        //Explicitly clear FROM identifiers to ensure previous call TONE identifiers are cleared.  Identifiers and tone
+        //metadata are updated on the vocoder service, in order with the synthesized audio for the previous call.
+        execute(() -> {
+            mIdentifierCollection.remove(Role.FROM);
+            mToneMetadataProcessor.reset();
+        });
         mQueuedAudioTimeslots.clear();
 
         //Reset encrypted call handling flags
@@ -185,16 +187,18 @@ public class P25P2AudioModule extends AmbeAudioModule implements IdentifierUpdat
             {
                 byte[] voiceFrameBytes = voiceFrame.getBytes();
 
-                try
-                {
-                    IAudioWithMetadata audioWithMetadata = getAudioCodec().getAudioWithMetadata(voiceFrameBytes);
-                    addAudio(audioWithMetadata.getAudio());
-                    processMetadata(audioWithMetadata, timestamp);
-                }
-                catch(Exception e)
-                {
-                    mLog.error("Error synthesizing AMBE audio - continuing [" + e.getLocalizedMessage() + "]");
-                }
+                decode(codec -> {
+                    try
+                    {
+                        IAudioWithMetadata audioWithMetadata = codec.getAudioWithMetadata(voiceFrameBytes);
+                        addAudio(audioWithMetadata.getAudio());
+                        processMetadata(audioWithMetadata, timestamp);
+                    }
+                    catch(Exception e)
+                    {
+                        mLog.error("Error synthesizing AMBE audio - continuing [" + e.getLocalizedMessage() + "]");
+                    }
+                });
             }
         }
     }
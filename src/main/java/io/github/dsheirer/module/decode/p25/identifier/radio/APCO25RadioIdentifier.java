@@ -23,6 +23,7 @@
 package io.github.dsheirer.module.decode.p25.identifier.radio;
 
 import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.protocol.Protocol;
 
@@ -31,6 +32,8 @@ import io.github.dsheirer.protocol.Protocol;
  */
 public class APCO25RadioIdentifier extends RadioIdentifier
 {
+    private static final IntegerIdentifierCache<APCO25RadioIdentifier> CACHE = new IntegerIdentifierCache<>(16384, APCO25RadioIdentifier::new);
+
     public APCO25RadioIdentifier(Integer value, Role role)
     {
         super(value, role);
@@ -43,26 +46,26 @@ public class APCO25RadioIdentifier extends RadioIdentifier
     }
 
     /**
-     * Creates an APCO-25 TO radio identifier
+     * Creates an APCO-25 TO radio identifier.  Returns a shared (interned) instance for repeated values.
      */
     public static RadioIdentifier createTo(int radioId)
     {
-        return new APCO25RadioIdentifier(radioId, Role.TO);
+        return CACHE.get(radioId, Role.TO);
     }
 
     /**
-     * Creates an APCO-25 FROM radio identifier
+     * Creates an APCO-25 FROM radio identifier.  Returns a shared (interned) instance for repeated values.
      */
     public static RadioIdentifier createFrom(int radioId)
     {
-        return new APCO25RadioIdentifier(radioId, Role.FROM);
+        return CACHE.get(radioId, Role.FROM);
     }
 
     /**
-     * Creates an APCO-25 ANY radio identifier
+     * Creates an APCO-25 ANY radio identifier.  Returns a shared (interned) instance for repeated values.
      */
     public static RadioIdentifier createAny(int radioId)
     {
-        return new APCO25RadioIdentifier(radioId, Role.ANY);
+        return CACHE.get(radioId, Role.ANY);
     }
 }
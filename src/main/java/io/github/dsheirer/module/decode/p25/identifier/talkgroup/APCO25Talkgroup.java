@@ -20,11 +20,15 @@
 package io.github.dsheirer.module.decode.p25.identifier.talkgroup;
 
 import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
 import io.github.dsheirer.protocol.Protocol;
 
 public class APCO25Talkgroup extends TalkgroupIdentifier
 {
+    private static final IntegerIdentifierCache<APCO25Talkgroup> CACHE =
+            new IntegerIdentifierCache<>(8192, APCO25Talkgroup::new);
+
     public APCO25Talkgroup(Integer value)
     {
         super(value, Role.TO);
@@ -42,18 +46,18 @@ public class APCO25Talkgroup extends TalkgroupIdentifier
     }
 
     /**
-     * Creates an APCO-25 TO talkgroup identifier
+     * Creates an APCO-25 TO talkgroup identifier.  Returns a shared (interned) instance for repeated values.
      */
     public static APCO25Talkgroup create(int talkgroup)
     {
-        return new APCO25Talkgroup(talkgroup);
+        return CACHE.get(talkgroup, Role.TO);
     }
 
     /**
-     * Creates an APCO-25 talkgroup identifier with ANY role
+     * Creates an APCO-25 talkgroup identifier with ANY role.  Returns a shared (interned) instance for repeated values.
      */
     public static TalkgroupIdentifier createAny(int talkgroup)
     {
-        return new APCO25Talkgroup(talkgroup, Role.ANY);
+        return CACHE.get(talkgroup, Role.ANY);
     }
 }
@@ -51,8 +51,9 @@ public class P25P1DecoderC4FMInstrumented extends P25P1DecoderC4FM
     {
         mMessageFramer.setCurrentTime(samples.timestamp());
 
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        ComplexSamples filtered = mBasebandFilter.filter(samples);
+        float[] i = filtered.i();
+        float[] q = filtered.q();
 
         if(mFilteredSymbolListener != null)
         {
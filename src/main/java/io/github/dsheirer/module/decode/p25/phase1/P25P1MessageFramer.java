@@ -29,6 +29,7 @@ import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.dsp.psk.pll.IPhaseLockedLoop;
 import io.github.dsheirer.dsp.symbol.Dibit;
 import io.github.dsheirer.dsp.symbol.ISyncDetectListener;
+import io.github.dsheirer.dsp.symbol.SymbolClock;
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.MessageProviderModule;
 import io.github.dsheirer.message.StuffBitsMessage;
@@ -81,14 +82,13 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
     private int mNAC;
     private int mStatusSymbolDibitCounter = 0;
     private int mTrailingDibitsToSuppress = 0;
-    private double mBitRate;
-    private long mCurrentTime = System.currentTimeMillis();
+    private final SymbolClock mSymbolClock;
     private ISyncDetectListener mSyncDetectListener;
 
     public P25P1MessageFramer(IPhaseLockedLoop phaseLockedLoop, int bitRate)
     {
         mDataUnitDetector = new P25P1DataUnitDetector(this, phaseLockedLoop);
-        mBitRate = bitRate;
+        mSymbolClock = new SymbolClock(bitRate / 2.0);
     }
 
     public P25P1MessageFramer(int bitRate)
@@ -120,31 +120,18 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
      */
     private long getTimestamp()
     {
-        return mCurrentTime;
+        return mSymbolClock.getTimestamp();
     }
 
     /**
-     * Sets the current time.  This should be invoked by an incoming message buffer stream.
+     * Sets the current time.  This should be invoked with the timestamp of each incoming sample buffer so that
+     * message timestamps are calculated from the sample stream rather than from the wall clock.
      *
-     * @param currentTime
+     * @param currentTime of the first sample in the buffer
      */
     public void setCurrentTime(long currentTime)
     {
-        mCurrentTime = currentTime;
-    }
-
-    /**
-     * Updates the current timestamp based on the number of bits processed versus the bit rate per second
-     * in order to keep an accurate running timestamp to use for timestamped message creation.
-     *
-     * @param bitsProcessed thus far
-     */
-    private void updateBitsProcessed(int bitsProcessed)
-    {
-        if(bitsProcessed > 0)
-        {
-            mCurrentTime += (long)((double)bitsProcessed / mBitRate * 1000.0);
-        }
+        mSymbolClock.setReferenceTimestamp(currentTime);
     }
 
     /**
@@ -170,6 +157,8 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
     @Override
     public void receive(Dibit dibit)
     {
+        mSymbolClock.increment();
+
         if(mAssemblingMessage)
         {
             //Strip out the status symbol dibit after every 70 bits or 35 dibits
@@ -217,7 +206,6 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
             if(mTrailingDibitsToSuppress > 0)
             {
                 mTrailingDibitsToSuppress--;
-                updateBitsProcessed(2);
                 return;
             }
 
@@ -232,7 +220,7 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
             switch(mDataUnitID)
             {
                 case PACKET_HEADER_DATA_UNIT:
-                    mPDUSequence = PDUMessageFactory.createPacketSequence(mNAC, mCurrentTime, mBinaryMessage);
+                    mPDUSequence = PDUMessageFactory.createPacketSequence(mNAC, getTimestamp(), mBinaryMessage);
 
                     if(mPDUSequence != null)
                     {
@@ -332,7 +320,6 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
                     }
                     else
                     {
-                        updateBitsProcessed(messageLength);
                         mBinaryMessage = new CorrectedBinaryMessage(messageLength);
                         if(mDataUnitID == P25P1DataUnitID.TRUNKING_SIGNALING_BLOCK_1)
                         {
@@ -359,7 +346,6 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
 
     private void reset(int bitsProcessed)
     {
-        updateBitsProcessed(bitsProcessed);
         mPDUSequence = null;
         mBinaryMessage = null;
         mAssemblingMessage = false;
@@ -427,9 +413,6 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
 
     private void dispatchSyncLoss(int bitsProcessed)
     {
-        //Updates current timestamp according to the number of bits procesed
-        updateBitsProcessed(bitsProcessed);
-
         if(bitsProcessed > 0 && mMessageListener != null)
         {
             if(bitsProcessed < 64)
@@ -58,8 +58,11 @@ public class P25P2DecoderHDQPSKInstrumented extends P25P2DecoderHDQPSK
     @Override
     public void receive(ComplexSamples samples)
     {
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        mMessageFramer.setTimestamp(samples.timestamp());
+
+        ComplexSamples filtered = mBasebandFilter.filter(samples);
+        float[] i = filtered.i();
+        float[] q = filtered.q();
 
         if(mFilteredSymbolListener != null)
         {
@@ -78,6 +78,15 @@ public class P25P2MessageFramer implements Listener<Dibit>
         }
     }
 
+    /**
+     * Sets or updates the current dibit stream time from an incoming sample buffer.
+     * @param timestamp of the first sample in the buffer.
+     */
+    public void setTimestamp(long timestamp)
+    {
+        mSuperFrameDetector.setTimestamp(timestamp);
+    }
+
     /**
      * Sets the sample rate for the sync detector
      */
@@ -22,6 +22,7 @@ import io.github.dsheirer.bits.CorrectedBinaryMessage;
 import io.github.dsheirer.dsp.psk.pll.IPhaseLockedLoop;
 import io.github.dsheirer.dsp.symbol.Dibit;
 import io.github.dsheirer.dsp.symbol.ISyncDetectListener;
+import io.github.dsheirer.dsp.symbol.SymbolClock;
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.SyncLossMessage;
 import io.github.dsheirer.module.decode.p25.phase2.enumeration.ScrambleParameters;
@@ -98,6 +99,11 @@ public class P25P2SuperFrameDetector implements Listener<Dibit>, ISyncDetectList
      */
     private static final int UN_SYNCHRONIZED_SYNC_MATCH_THRESHOLD = 4;
 
+    /**
+     * Phase 2 H-DQPSK symbol rate (6000 symbols per second).
+     */
+    private static final int SYMBOL_RATE = 6000;
+
     private ScramblingSequence mScramblingSequence = new ScramblingSequence();
     private Listener<IMessage> mMessageListener;
     private P25P2SyncDetector mSyncDetector;
@@ -116,6 +122,7 @@ public class P25P2SuperFrameDetector implements Listener<Dibit>, ISyncDetectList
     private int mDibitsProcessed = 0;
     private boolean mSynchronized = false;
     private ISyncDetectListener mSyncDetectListener;
+    private final SymbolClock mSymbolClock = new SymbolClock(SYMBOL_RATE);
 
     public P25P2SuperFrameDetector(IPhaseLockedLoop phaseLockedLoop)
     {
@@ -152,6 +159,15 @@ public class P25P2SuperFrameDetector implements Listener<Dibit>, ISyncDetectList
         mSyncDetector.setSampleRate(sampleRate);
     }
 
+    /**
+     * Sets or updates the current dibit stream time from an incoming sample buffer.
+     * @param timestamp of the first sample in the buffer, used as the reference timestamp.
+     */
+    public void setTimestamp(long timestamp)
+    {
+        mSymbolClock.setReferenceTimestamp(timestamp);
+    }
+
     public void reset()
     {
     }
@@ -178,17 +194,20 @@ public class P25P2SuperFrameDetector implements Listener<Dibit>, ISyncDetectList
         }
     }
 
+    /**
+     * Calculates the timestamp accurate to the currently received dibit.
+     * @return timestamp in milliseconds.
+     */
     private long getCurrentTimestamp()
     {
-        //TODO: implement a dibit counter and timestamp calculator.  We should receive a timestamp update with each
-        //TODO: buffer that arrives.  Use the timestamp dibit counter to calculate the exact timestamp of where we're at.
-        return System.currentTimeMillis();
+        return mSymbolClock.getTimestamp();
     }
 
     @Override
     public void receive(Dibit dibit)
     {
         mDibitsProcessed++;
+        mSymbolClock.increment();
 
         mFragmentBuffer.put(dibit);
 
@@ -124,6 +124,33 @@ public class LinearFeedbackShiftRegister
         return sequence;
     }
 
+    /**
+     * Generates a 4320 bit (de)scrambling sequence for APCO25 Phase II channel superframe, packed into long words
+     * using the same bit ordering as BitSet.toLongArray() where bit index N is stored in word N / 64 at bit
+     * position N % 64.
+     *
+     * @param wacn for the network from the Network Status Broadcast message.
+     * @param system for the network from the Network Status Broadcast message.
+     * @param nac for the network from the Network Status Broadcast message.
+     * @return packed scrambling sequence
+     */
+    public long[] generatePackedScramblingSequence(int wacn, int system, int nac)
+    {
+        updateSeed(wacn, system, nac);
+
+        long[] words = new long[(4320 + 63) / 64];
+
+        for(int x = 0; x < 4320; x++)
+        {
+            if(next())
+            {
+                words[x >> 6] |= (1L << (x & 0x3F));
+            }
+        }
+
+        return words;
+    }
+
     /**
      * Generates a (de)scrambling sequence for the specified seed and length
      * @param seed value to use
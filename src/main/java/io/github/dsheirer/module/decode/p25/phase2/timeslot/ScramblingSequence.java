@@ -34,8 +34,10 @@ public class ScramblingSequence
 {
     private final static Logger mLog = LoggerFactory.getLogger(ScramblingSequence.class);
 
-    private LinearFeedbackShiftRegister mShiftRegister = new LinearFeedbackShiftRegister();
     private List<BinaryMessage> mScramblingSegments = new ArrayList<>();
+    private int mWacn;
+    private int mSystem;
+    private int mNac;
 
     /**
      * Constructs an instance
@@ -63,22 +65,16 @@ public class ScramblingSequence
 
     /**
      * Updates this scrambling sequence with the specified parameters from the Network Broadcast Status message and
-     * generates 12 x 320-bit scrambling sequences for each of the superframe's 12 timeslots.
+     * accesses the 12 x 320-bit scrambling sequences for each of the superframe's 12 timeslots from the shared cache.
      */
     public boolean update(int wacn, int system, int nac)
     {
-        if(!mShiftRegister.isCurrent(wacn, system, nac))
+        if(mWacn != wacn || mSystem != system || mNac != nac)
         {
-            mScramblingSegments.clear();
-
-            BinaryMessage scramblingSequence = mShiftRegister.generateScramblingSequence(wacn, system, nac);
-
-            //Note: the scrambling sequence starts at halfway through the first ISCH of the superframe, so we start
-            //chopping the LFSR sequence using 320 of each 360 bits starting at bit 20 of 40 of the first ISCH.
-            for(int x = 20; x < 4320; x += 360)
-            {
-                mScramblingSegments.add(scramblingSequence.getSubMessage(x, x + 320));
-            }
+            mWacn = wacn;
+            mSystem = system;
+            mNac = nac;
+            mScramblingSegments = ScramblingSequenceCache.getSegments(wacn, system, nac);
 
             //Return true to indicate that the sequence was updated
             return true;
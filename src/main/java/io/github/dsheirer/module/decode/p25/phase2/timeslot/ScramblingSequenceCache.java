@@ -0,0 +1,135 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.p25.phase2.timeslot;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of APCO-25 Phase II scrambling sequence segments, keyed by the (WACN, SYSTEM, NAC) seed.
+ *
+ * Each traffic channel for a system uses the identical scrambling sequence, so the sequence is generated once and the
+ * 12 x 320-bit timeslot segments are shared by every channel that uses the same seed.  Segments are cut from the
+ * packed LFSR output as long words, so each segment is built with word shifts instead of per-bit copies.
+ *
+ * Note: the cached segments are shared across decoders and must never be modified.  They are only used as the
+ * argument to a (word-wide) BitSet.xor() to descramble each timeslot.
+ */
+public class ScramblingSequenceCache
+{
+    private static final int MAX_CACHE_SIZE = 64;
+    private static final int SEGMENT_LENGTH = 320;
+    private static final Map<Long,List<BinaryMessage>> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor - use the static method.
+     */
+    private ScramblingSequenceCache()
+    {
+    }
+
+    /**
+     * Accesses the 12 timeslot scrambling segments for the specified seed parameters, generating the sequence if it
+     * is not already cached.
+     *
+     * @param wacn for the network from the Network Status Broadcast message.
+     * @param system for the network from the Network Status Broadcast message.
+     * @param nac for the network from the Network Status Broadcast message.
+     * @return unmodifiable list of 12 x 320-bit scrambling segments.
+     */
+    public static List<BinaryMessage> getSegments(int wacn, int system, int nac)
+    {
+        long key = ((long)(0xFFFFF & wacn) << 24) | ((0xFFF & system) << 12) | (0xFFF & nac);
+
+        List<BinaryMessage> segments = CACHE.get(key);
+
+        if(segments == null)
+        {
+            //Seed parameters only change with the system, so anything beyond a handful of entries is stale
+            if(CACHE.size() >= MAX_CACHE_SIZE)
+            {
+                CACHE.clear();
+            }
+
+            segments = CACHE.computeIfAbsent(key, k -> generate(wacn, system, nac));
+        }
+
+        return segments;
+    }
+
+    /**
+     * Generates the scrambling sequence and chops it into 12 timeslot segments.
+     *
+     * Note: the scrambling sequence starts at halfway through the first ISCH of the superframe, so we start chopping
+     * the LFSR sequence using 320 of each 360 bits starting at bit 20 of 40 of the first ISCH.
+     */
+    private static List<BinaryMessage> generate(int wacn, int system, int nac)
+    {
+        long[] sequence = new LinearFeedbackShiftRegister().generatePackedScramblingSequence(wacn, system, nac);
+
+        BinaryMessage[] segments = new BinaryMessage[12];
+
+        for(int timeslot = 0; timeslot < 12; timeslot++)
+        {
+            long[] words = extract(sequence, 20 + (timeslot * 360), SEGMENT_LENGTH);
+            segments[timeslot] = new BinaryMessage(BitSet.valueOf(words), SEGMENT_LENGTH);
+        }
+
+        return List.of(segments);
+    }
+
+    /**
+     * Extracts a bit range from the packed words into a new packed word array starting at bit 0.
+     * @param words to extract from
+     * @param start bit index
+     * @param length in bits
+     * @return packed bits
+     */
+    private static long[] extract(long[] words, int start, int length)
+    {
+        long[] extracted = new long[(length + 63) / 64];
+        int shift = start & 0x3F;
+
+        for(int x = 0; x < extracted.length; x++)
+        {
+            int index = (start >> 6) + x;
+            long word = words[index] >>> shift;
+
+            if(shift != 0 && index + 1 < words.length)
+            {
+                word |= words[index + 1] << (64 - shift);
+            }
+
+            extracted[x] = word;
+        }
+
+        int remainder = length & 0x3F;
+
+        if(remainder != 0)
+        {
+            extracted[extracted.length - 1] &= (1L << remainder) - 1;
+        }
+
+        return extracted;
+    }
+}
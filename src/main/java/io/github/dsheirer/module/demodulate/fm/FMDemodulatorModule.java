@@ -23,7 +23,7 @@ import io.github.dsheirer.dsp.filter.decimate.DecimationFilterFactory;
 import io.github.dsheirer.dsp.filter.decimate.IRealDecimationFilter;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
 import io.github.dsheirer.dsp.filter.fir.FIRFilterSpecification;
-import io.github.dsheirer.dsp.filter.fir.real.IRealFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexSampleFilter;
 import io.github.dsheirer.dsp.filter.resample.RealResampler;
 import io.github.dsheirer.dsp.fm.FmDemodulatorFactory;
 import io.github.dsheirer.dsp.fm.IDemodulator;
@@ -50,8 +50,7 @@ public class FMDemodulatorModule extends Module implements ISourceEventListener,
 {
     private final static Logger mLog = LoggerFactory.getLogger(FMDemodulatorModule.class);
     private static final double DEMODULATED_AUDIO_SAMPLE_RATE = 8000.0;
-    private IRealFilter mIBasebandFilter;
-    private IRealFilter mQBasebandFilter;
+    private IComplexSampleFilter mBasebandFilter;
     private IRealDecimationFilter mIDecimationFilter;
     private IRealDecimationFilter mQDecimationFilter;
     private IDemodulator mDemodulator = FmDemodulatorFactory.getFmDemodulator();
@@ -125,7 +124,7 @@ public class FMDemodulatorModule extends Module implements ISourceEventListener,
     @Override
     public void receive(ComplexSamples samples)
     {
-        if(mIBasebandFilter == null || mIDecimationFilter == null)
+        if(mBasebandFilter == null || mIDecimationFilter == null)
         {
             throw new IllegalStateException("FM demodulator module must receive a sample rate change source " +
                     "event before it can process complex sample buffers");
@@ -133,8 +132,9 @@ public class FMDemodulatorModule extends Module implements ISourceEventListener,
 
         float[] decimatedI = mIDecimationFilter.decimateReal(samples.i());
         float[] decimatedQ = mQDecimationFilter.decimateReal(samples.q());
-        float[] filteredI = mIBasebandFilter.filter(decimatedI);
-        float[] filteredQ = mQBasebandFilter.filter(decimatedQ);
+        ComplexSamples filtered = mBasebandFilter.filter(new ComplexSamples(decimatedI, decimatedQ, samples.timestamp()));
+        float[] filteredI = filtered.i();
+        float[] filteredQ = filtered.q();
         float[] demodulated = mDemodulator.demodulate(filteredI, filteredQ);
         mPowerMonitor.process(filteredI, filteredQ);
 
@@ -233,10 +233,9 @@ public class FMDemodulatorModule extends Module implements ISourceEventListener,
                             WindowType.HAMMING, true);
                 }
 
-                mIBasebandFilter = FilterFactory.getRealFilter(coefficients);
-                mQBasebandFilter = FilterFactory.getRealFilter(coefficients);
+                mBasebandFilter = FilterFactory.getComplexFilter(coefficients);
 
-                mResampler = new RealResampler(decimatedSampleRate, DEMODULATED_AUDIO_SAMPLE_RATE, 4192, 512);
+                mResampler = new RealResampler(decimatedSampleRate, DEMODULATED_AUDIO_SAMPLE_RATE, 512);
                 mResampler.setListener(resampled -> broadcast(resampled));
             }
         }
@@ -23,6 +23,8 @@ import io.github.dsheirer.alias.AliasModel;
 import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.module.Module;
 import io.github.dsheirer.module.log.config.EventLogConfiguration;
+import io.github.dsheirer.module.log.store.DecodeEventStore;
+import io.github.dsheirer.module.log.store.DecodeEventStoreLogger;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.source.config.SourceConfigTuner;
 import io.github.dsheirer.util.StringUtils;
@@ -36,9 +38,12 @@ import java.util.List;
 public class EventLogManager
 {
     private final static Logger mLog = LoggerFactory.getLogger(EventLogManager.class);
+    private static final String EVENT_STORE_DIRECTORY = "event_store";
 
     private UserPreferences mUserPreferences;
     private AliasModel mAliasModel;
+    private final EventLogWriter mEventLogWriter = new EventLogWriter();
+    private DecodeEventStore mDecodeEventStore;
 
     public EventLogManager(AliasModel aliasModel, UserPreferences userPreferences)
     {
@@ -46,6 +51,43 @@ public class EventLogManager
         mUserPreferences = userPreferences;
     }
 
+    /**
+     * Shared asynchronous writer used by all event loggers
+     */
+    public EventLogWriter getEventLogWriter()
+    {
+        return mEventLogWriter;
+    }
+
+    /**
+     * Writes any queued log entries and closes all open event log files.  Invoke on application shutdown after
+     * channel processing has stopped.
+     */
+    public void shutdown()
+    {
+        mEventLogWriter.shutdown();
+
+        if(mDecodeEventStore != null)
+        {
+            mDecodeEventStore.shutdown();
+        }
+    }
+
+    /**
+     * Shared decode event store, located in the event log directory.  Call events are written to the store in
+     * addition to the call event log files so that they can be queried by identifier and time range.
+     */
+    public synchronized DecodeEventStore getDecodeEventStore()
+    {
+        if(mDecodeEventStore == null)
+        {
+            Path directory = mUserPreferences.getDirectoryPreference().getDirectoryEventLog().resolve(EVENT_STORE_DIRECTORY);
+            mDecodeEventStore = new DecodeEventStore(directory);
+        }
+
+        return mDecodeEventStore;
+    }
+
     public List<Module> getLoggers(Channel channel)
     {
         EventLogConfiguration config = channel.getEventLogConfiguration();
@@ -64,6 +106,12 @@ public class EventLogManager
             switch(type)
             {
                 case CALL_EVENT:
+                    if(channel.getChannelType() == Channel.ChannelType.STANDARD)
+                    {
+                        loggers.add(getLogger(type, prefix, frequency));
+                        loggers.add(new DecodeEventStoreLogger(getDecodeEventStore()));
+                    }
+                    break;
                 case DECODED_MESSAGE:
                     if(channel.getChannelType() == Channel.ChannelType.STANDARD)
                     {
@@ -71,6 +119,12 @@ public class EventLogManager
                     }
                     break;
                 case TRAFFIC_CALL_EVENT:
+                    if(channel.getChannelType() == Channel.ChannelType.TRAFFIC)
+                    {
+                        loggers.add(getLogger(type, prefix, frequency));
+                        loggers.add(new DecodeEventStoreLogger(getDecodeEventStore()));
+                    }
+                    break;
                 case TRAFFIC_DECODED_MESSAGE:
                     if(channel.getChannelType() == Channel.ChannelType.TRAFFIC)
                     {
@@ -96,13 +150,13 @@ public class EventLogManager
         switch(eventLogType)
         {
             case CALL_EVENT:
-                return new DecodeEventLogger(mAliasModel, eventLogDirectory, sb.toString(), frequency);
+                return new DecodeEventLogger(mAliasModel, mEventLogWriter, eventLogDirectory, sb.toString(), frequency);
             case DECODED_MESSAGE:
-                return new MessageEventLogger(eventLogDirectory, sb.toString(), MessageEventLogger.Type.DECODED, frequency);
+                return new MessageEventLogger(mEventLogWriter, eventLogDirectory, sb.toString(), MessageEventLogger.Type.DECODED, frequency);
             case TRAFFIC_CALL_EVENT:
-                return new DecodeEventLogger(mAliasModel, eventLogDirectory, sb.toString(), frequency);
+                return new DecodeEventLogger(mAliasModel, mEventLogWriter, eventLogDirectory, sb.toString(), frequency);
             case TRAFFIC_DECODED_MESSAGE:
-                return new MessageEventLogger(eventLogDirectory, sb.toString(), MessageEventLogger.Type.DECODED, frequency);
+                return new MessageEventLogger(mEventLogWriter, eventLogDirectory, sb.toString(), MessageEventLogger.Type.DECODED, frequency);
             default:
                 return null;
         }
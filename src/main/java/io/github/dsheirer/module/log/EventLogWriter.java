@@ -0,0 +1,533 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.log;
+
+import io.github.dsheirer.controller.NamingThreadFactory;
+import io.github.dsheirer.util.ThreadPool;
+import io.github.dsheirer.util.TimeStamp;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared asynchronous writer service for event log files.
+ *
+ * Decoder threads hand off log entries through a non-blocking queue and return immediately.  A single writer thread
+ * drains the queue at a fixed interval and group-commits each batch, so that each log file is flushed at most once per
+ * interval regardless of the message rate on the channel.
+ *
+ * Log files are rotated when they exceed a maximum size or age.  Rotated files are compressed with gzip on a background
+ * thread and the uncompressed file is removed once compression completes.
+ *
+ * The queue is bounded.  When the writer can't keep up, new entries are dropped and counted rather than blocking the
+ * producing decoder thread.  Queue depth, dropped, written and batch size metrics are logged when the writer shuts down.
+ */
+public class EventLogWriter
+{
+    private final static Logger mLog = LoggerFactory.getLogger(EventLogWriter.class);
+
+    /**
+     * Interval for draining and flushing queued log entries, in milliseconds.
+     */
+    private static final long FLUSH_INTERVAL_MS = 250;
+
+    /**
+     * Maximum number of queued (unwritten) entries before new entries are dropped.
+     */
+    private static final int MAX_QUEUED_ENTRIES = 100_000;
+
+    /**
+     * Log files are rotated when they reach this size in bytes (50 MB).
+     */
+    private static final long MAX_FILE_SIZE_BYTES = 50L * 1024 * 1024;
+
+    /**
+     * Log files are rotated when they reach this age in milliseconds (24 hours).
+     */
+    private static final long MAX_FILE_AGE_MS = TimeUnit.HOURS.toMillis(24);
+
+    private static final String COMPRESSED_FILE_EXTENSION = ".gz";
+
+    private final LinkedTransferQueue<Entry> mQueue = new LinkedTransferQueue<>();
+    private final List<Entry> mBatch = new ArrayList<>();
+    private final Set<LogFile> mOpenFiles = new HashSet<>();
+    private final Set<LogFile> mDirtyFiles = new HashSet<>();
+    private final AtomicInteger mQueuedCount = new AtomicInteger();
+    private final AtomicLong mDroppedCount = new AtomicLong();
+    private final AtomicLong mWrittenCount = new AtomicLong();
+    private final AtomicInteger mMaxBatchSize = new AtomicInteger();
+    private final AtomicBoolean mRunning = new AtomicBoolean();
+    private ScheduledExecutorService mExecutorService;
+
+    /**
+     * Constructs an instance.  The writer thread is started on demand when the first log file is opened.
+     */
+    public EventLogWriter()
+    {
+    }
+
+    /**
+     * Opens a log file handle.  The file is created on the writer thread, so this method doesn't block on file I/O.
+     *
+     * @param directory to contain the log file
+     * @param fileNameSuffix appended to the timestamp and frequency prefix of the file name
+     * @param frequency of the channel, used in the file name
+     * @param header to write at the start of the file and at the start of each rotated file
+     * @return log file handle for writing entries.
+     */
+    public LogFile open(Path directory, String fileNameSuffix, long frequency, String header)
+    {
+        start();
+        LogFile logFile = new LogFile(directory, fileNameSuffix, frequency, header);
+        enqueue(new Entry(logFile, null, EntryType.OPEN), true);
+        return logFile;
+    }
+
+    /**
+     * Queues the entry for writing to the log file.  This method does not block.  If the queue is full, the entry is
+     * dropped and counted in the dropped entry metric.
+     *
+     * @param logFile to receive the entry
+     * @param logEntry to write
+     */
+    public void write(LogFile logFile, String logEntry)
+    {
+        enqueue(new Entry(logFile, logEntry, EntryType.WRITE), false);
+    }
+
+    /**
+     * Queues a request to flush and close the log file after any previously queued entries are written.
+     * @param logFile to close
+     */
+    public void close(LogFile logFile)
+    {
+        enqueue(new Entry(logFile, null, EntryType.CLOSE), true);
+    }
+
+    /**
+     * Quantity of entries waiting to be written.
+     */
+    public int getQueuedCount()
+    {
+        return mQueuedCount.get();
+    }
+
+    /**
+     * Quantity of entries dropped because the queue was full.
+     */
+    public long getDroppedCount()
+    {
+        return mDroppedCount.get();
+    }
+
+    /**
+     * Quantity of entries written to log files.
+     */
+    public long getWrittenCount()
+    {
+        return mWrittenCount.get();
+    }
+
+    /**
+     * Largest quantity of entries that were processed in a single batch.
+     */
+    public int getMaxBatchSize()
+    {
+        return mMaxBatchSize.get();
+    }
+
+    /**
+     * Enqueues the entry for the writer thread.
+     * @param entry to enqueue
+     * @param force to enqueue the entry even when the queue is full, for open and close control entries.
+     */
+    private void enqueue(Entry entry, boolean force)
+    {
+        if(!force && mQueuedCount.get() >= MAX_QUEUED_ENTRIES)
+        {
+            if(mDroppedCount.getAndIncrement() == 0)
+            {
+                mLog.warn("Event log writer queue is full - dropping log entries until the writer catches up");
+            }
+
+            return;
+        }
+
+        mQueuedCount.incrementAndGet();
+        mQueue.add(entry);
+    }
+
+    /**
+     * Starts the writer thread if it is not already running.
+     */
+    private void start()
+    {
+        if(mRunning.compareAndSet(false, true))
+        {
+            mExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory("sdrtrunk event log writer"));
+            mExecutorService.scheduleAtFixedRate(this::process, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the writer thread, writes any queued entries and closes all open log files.  Queued entries are only
+     * drained on the calling thread once the writer thread has terminated, so that log files are never accessed from
+     * two threads at the same time.
+     */
+    public void shutdown()
+    {
+        if(mRunning.compareAndSet(true, false))
+        {
+            ScheduledExecutorService executorService = mExecutorService;
+            mExecutorService = null;
+            executorService.shutdown();
+
+            boolean terminated = false;
+
+            try
+            {
+                terminated = executorService.awaitTermination(2, TimeUnit.SECONDS);
+
+                if(!terminated)
+                {
+                    executorService.shutdownNow();
+                    terminated = executorService.awaitTermination(2, TimeUnit.SECONDS);
+                }
+            }
+            catch(InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            if(terminated)
+            {
+                //Drain any remaining entries on the calling thread and close everything that is still open
+                process();
+
+                for(LogFile logFile: mOpenFiles)
+                {
+                    logFile.close(false);
+                }
+
+                mOpenFiles.clear();
+            }
+            else
+            {
+                mLog.warn("Event log writer thread did not stop - [" + getQueuedCount() +
+                    "] queued entries were not written and open log files were not closed");
+            }
+
+            mLog.info("Event log writer stopped - written [" + getWrittenCount() + "] dropped [" +
+                getDroppedCount() + "] queued [" + getQueuedCount() + "] max batch size [" + getMaxBatchSize() + "]");
+        }
+    }
+
+    /**
+     * Drains the queue and writes the batch, flushing each modified log file once at the end of the batch.  This
+     * method is only invoked on the writer thread, or on the shutdown thread after the writer thread is stopped.
+     */
+    private void process()
+    {
+        try
+        {
+            mQueue.drainTo(mBatch);
+
+            if(mBatch.isEmpty())
+            {
+                return;
+            }
+
+            mQueuedCount.addAndGet(-mBatch.size());
+
+            if(mBatch.size() > mMaxBatchSize.get())
+            {
+                mMaxBatchSize.set(mBatch.size());
+            }
+
+            for(Entry entry: mBatch)
+            {
+                LogFile logFile = entry.logFile();
+
+                switch(entry.type())
+                {
+                    case OPEN:
+                        logFile.open();
+                        mOpenFiles.add(logFile);
+                        break;
+                    case WRITE:
+                        if(logFile.write(entry.logEntry()))
+                        {
+                            mDirtyFiles.add(logFile);
+                            mWrittenCount.incrementAndGet();
+                        }
+                        break;
+                    case CLOSE:
+                        logFile.close(true);
+                        mOpenFiles.remove(logFile);
+                        mDirtyFiles.remove(logFile);
+                        break;
+                }
+            }
+
+            for(LogFile logFile: mDirtyFiles)
+            {
+                logFile.flush();
+            }
+
+            mDirtyFiles.clear();
+        }
+        catch(Throwable t)
+        {
+            mLog.error("Error while writing event log entries", t);
+        }
+        finally
+        {
+            mBatch.clear();
+        }
+    }
+
+    /**
+     * Compresses the log file on a background thread and deletes the uncompressed file on success.
+     * @param path of the closed log file
+     */
+    private static void compress(Path path)
+    {
+        ThreadPool.CACHED.submit(() -> {
+            Path compressed = path.resolveSibling(path.getFileName().toString() + COMPRESSED_FILE_EXTENSION);
+
+            try(InputStream in = Files.newInputStream(path);
+                OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed)))
+            {
+                in.transferTo(out);
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error compressing rotated event log file [" + path + "]", ioe);
+
+                try
+                {
+                    Files.deleteIfExists(compressed);
+                }
+                catch(IOException ioe2)
+                {
+                    //Do nothing
+                }
+
+                return;
+            }
+
+            try
+            {
+                Files.delete(path);
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Unable to delete rotated event log file [" + path + "] after compression", ioe);
+            }
+        });
+    }
+
+    /**
+     * Log entry types
+     */
+    private enum EntryType
+    {
+        OPEN, WRITE, CLOSE
+    }
+
+    /**
+     * Queued log entry or control request
+     */
+    private record Entry(LogFile logFile, String logEntry, EntryType type) {}
+
+    /**
+     * Handle to a rotating log file.  All file access occurs on the writer thread.
+     */
+    public static class LogFile
+    {
+        private final Path mDirectory;
+        private final String mFileNameSuffix;
+        private final long mFrequency;
+        private final String mHeader;
+        private volatile String mFileName;
+        private BufferedWriter mWriter;
+        private Path mPath;
+        private long mBytesWritten;
+        private long mOpenedTimestamp;
+
+        private LogFile(Path directory, String fileNameSuffix, long frequency, String header)
+        {
+            mDirectory = directory;
+            mFileNameSuffix = fileNameSuffix;
+            mFrequency = frequency;
+            mHeader = header;
+        }
+
+        /**
+         * Current log file name, or null if the file has not yet been opened.
+         */
+        public String getFileName()
+        {
+            return mFileName;
+        }
+
+        /**
+         * Creates the log file and writes the header.
+         */
+        private void open()
+        {
+            StringBuilder sb = new StringBuilder();
+            sb.append(mDirectory);
+            sb.append(File.separator);
+            sb.append(TimeStamp.getLongTimeStamp("_"));
+            sb.append("_");
+            sb.append(mFrequency);
+            sb.append("_Hz_");
+            sb.append(mFileNameSuffix);
+
+            mPath = Path.of(sb.toString());
+
+            try
+            {
+                mWriter = Files.newBufferedWriter(mPath, StandardCharsets.UTF_8);
+                mFileName = mPath.toString();
+                mBytesWritten = 0;
+                mOpenedTimestamp = System.currentTimeMillis();
+                write(mHeader);
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Couldn't create log file in directory:" + mDirectory);
+                mWriter = null;
+            }
+        }
+
+        /**
+         * Writes the entry, rotating the file first when it exceeds the maximum size or age.
+         * @return true if the entry was written.
+         */
+        private boolean write(String logEntry)
+        {
+            if(mWriter == null)
+            {
+                return false;
+            }
+
+            if(mBytesWritten >= MAX_FILE_SIZE_BYTES || (System.currentTimeMillis() - mOpenedTimestamp) >= MAX_FILE_AGE_MS)
+            {
+                rotate();
+
+                if(mWriter == null)
+                {
+                    return false;
+                }
+            }
+
+            String line = (logEntry != null ? logEntry : "") + "\n";
+
+            try
+            {
+                mWriter.write(line);
+                mBytesWritten += line.length();
+                return true;
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error writing entry to event log file", ioe);
+            }
+
+            return false;
+        }
+
+        /**
+         * Closes the current file, schedules it for compression and opens a new file.
+         */
+        private void rotate()
+        {
+            Path closed = mPath;
+            close(false);
+
+            if(closed != null)
+            {
+                compress(closed);
+            }
+
+            open();
+        }
+
+        private void flush()
+        {
+            if(mWriter != null)
+            {
+                try
+                {
+                    mWriter.flush();
+                }
+                catch(IOException ioe)
+                {
+                    mLog.error("Error flushing event log file", ioe);
+                }
+            }
+        }
+
+        /**
+         * Flushes and closes the current file.
+         * @param logErrors to log an error if the file can't be closed
+         */
+        private void close(boolean logErrors)
+        {
+            if(mWriter != null)
+            {
+                try
+                {
+                    mWriter.close();
+                }
+                catch(IOException ioe)
+                {
+                    if(logErrors)
+                    {
+                        mLog.error("Couldn't close log file:" + mFileNameSuffix);
+                    }
+                }
+
+                mWriter = null;
+            }
+        }
+    }
+}
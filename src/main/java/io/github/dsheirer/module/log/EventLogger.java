@@ -19,28 +19,23 @@
 package io.github.dsheirer.module.log;
 
 import io.github.dsheirer.module.Module;
-import io.github.dsheirer.util.TimeStamp;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.nio.file.Path;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+/**
+ * Base event logger.  Log entries are handed off to the shared asynchronous event log writer so that decoder threads
+ * never block on file I/O.
+ */
 public abstract class EventLogger extends Module
 {
-    private final static Logger mLog = LoggerFactory.getLogger(EventLogger.class);
-
-    private Path mLogDirectory;
-    private String mFileNameSuffix;
-    private String mLogFileName;
-    private long mFrequency;
-    protected Writer mLogFile;
+    private final EventLogWriter mEventLogWriter;
+    private final Path mLogDirectory;
+    private final String mFileNameSuffix;
+    private final long mFrequency;
+    private EventLogWriter.LogFile mLogFile;
 
-    public EventLogger(Path logDirectory, String fileNameSuffix, long frequency)
+    public EventLogger(EventLogWriter eventLogWriter, Path logDirectory, String fileNameSuffix, long frequency)
     {
+        mEventLogWriter = eventLogWriter;
         mLogDirectory = logDirectory;
         mFileNameSuffix = fileNameSuffix;
         mFrequency = frequency;
@@ -48,9 +43,11 @@ public abstract class EventLogger extends Module
 
     public String toString()
     {
-        if(mLogFileName != null)
+        String fileName = mLogFile != null ? mLogFile.getFileName() : null;
+
+        if(fileName != null)
         {
-            return mLogFileName;
+            return fileName;
         }
         else
         {
@@ -65,26 +62,7 @@ public abstract class EventLogger extends Module
     {
         if(mLogFile == null)
         {
-            try
-            {
-                StringBuilder sb = new StringBuilder();
-                sb.append(mLogDirectory);
-                sb.append(File.separator);
-                sb.append(TimeStamp.getLongTimeStamp("_"));
-                sb.append("_");
-                sb.append(mFrequency);
-                sb.append("_Hz_");
-                sb.append(mFileNameSuffix);
-
-                mLogFileName = sb.toString();
-                mLogFile = new OutputStreamWriter(new FileOutputStream(mLogFileName));
-
-                write(getHeader());
-            }
-            catch(FileNotFoundException e)
-            {
-                mLog.error("Couldn't create log file in directory:" + mLogDirectory);
-            }
+            mLogFile = mEventLogWriter.open(mLogDirectory, mFileNameSuffix, mFrequency, getHeader());
         }
     }
 
@@ -92,32 +70,16 @@ public abstract class EventLogger extends Module
     {
         if(mLogFile != null)
         {
-            try
-            {
-                mLogFile.flush();
-                mLogFile.close();
-                mLogFile = null;
-            }
-            catch(Exception e)
-            {
-                mLog.error("Couldn't close log file:" + mFileNameSuffix);
-            }
+            mEventLogWriter.close(mLogFile);
+            mLogFile = null;
         }
     }
 
     protected void write(String eventLogEntry)
     {
-        try
-        {
-            if(mLogFile != null)
-            {
-                mLogFile.write((eventLogEntry != null ? eventLogEntry : "") + "\n");
-                mLogFile.flush();
-            }
-        }
-        catch(Exception e)
+        if(mLogFile != null)
         {
-            mLog.error("Error writing entry to event log file", e);
+            mEventLogWriter.write(mLogFile, eventLogEntry);
         }
     }
 }
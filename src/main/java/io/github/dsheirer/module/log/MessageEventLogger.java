@@ -33,9 +33,10 @@ public class MessageEventLogger extends EventLogger implements IMessageListener,
 
     private Type mType;
 
-    public MessageEventLogger(Path logDirectory, String fileNameSuffix, Type type, long frequency)
+    public MessageEventLogger(EventLogWriter eventLogWriter, Path logDirectory, String fileNameSuffix, Type type,
+                              long frequency)
     {
-        super(logDirectory, fileNameSuffix, frequency);
+        super(eventLogWriter, logDirectory, fileNameSuffix, frequency);
         mType = type;
     }
 
@@ -0,0 +1,112 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.log.store;
+
+import io.github.dsheirer.channel.IChannelDescriptor;
+import io.github.dsheirer.identifier.Form;
+import io.github.dsheirer.identifier.Identifier;
+import io.github.dsheirer.identifier.IdentifierClass;
+import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.configuration.FrequencyConfigurationIdentifier;
+import io.github.dsheirer.module.decode.event.IDecodeEvent;
+
+/**
+ * Immutable snapshot of a decode event as stored in the decode event store.
+ *
+ * Decode events are updated in place while a call is in progress, so each snapshot is captured on the producing thread
+ * and the store keeps the latest snapshot for each event ID.
+ *
+ * @param timeStart of the event in milliseconds
+ * @param duration of the event in milliseconds, or 0
+ * @param protocol name
+ * @param eventType name
+ * @param from identifier value, or empty
+ * @param to identifier value, or empty
+ * @param channel descriptor, or empty
+ * @param frequency in Hertz, or 0
+ * @param timeslot for the event, or -1 if the event has no timeslot
+ * @param details about the event, or empty
+ * @param eventId that is common to each update of the same decode event
+ */
+public record DecodeEventRecord(long timeStart, int duration, String protocol, String eventType, String from,
+                                String to, String channel, long frequency, int timeslot, String details, int eventId)
+{
+    /**
+     * Creates a snapshot of the decode event.
+     * @param event to capture
+     * @return snapshot record
+     */
+    public static DecodeEventRecord from(IDecodeEvent event)
+    {
+        long frequency = 0;
+        IChannelDescriptor descriptor = event.getChannelDescriptor();
+
+        if(descriptor != null)
+        {
+            frequency = descriptor.getDownlinkFrequency();
+        }
+        else
+        {
+            Identifier identifier = event.getIdentifierCollection()
+                    .getIdentifier(IdentifierClass.CONFIGURATION, Form.CHANNEL_FREQUENCY, Role.ANY);
+
+            if(identifier instanceof FrequencyConfigurationIdentifier frequencyIdentifier)
+            {
+                frequency = frequencyIdentifier.getValue();
+            }
+        }
+
+        long duration = Math.max(0, Math.min(event.getDuration(), Integer.MAX_VALUE));
+
+        return new DecodeEventRecord(event.getTimeStart(), (int)duration,
+                event.getProtocol() != null ? event.getProtocol().name() : "",
+                event.getEventType() != null ? event.getEventType().name() : "",
+                getValue(event.getIdentifierCollection().getFromIdentifier()),
+                getValue(event.getIdentifierCollection().getToIdentifier()),
+                descriptor != null ? descriptor.toString() : "",
+                frequency,
+                event.hasTimeslot() ? event.getTimeslot() : -1,
+                event.getDetails() != null ? event.getDetails() : "",
+                event.hashCode());
+    }
+
+    /**
+     * Identifier value used as the stored (and queryable) form of an identifier.
+     * @param identifier to convert
+     * @return value string or empty string
+     */
+    public static String getValue(Identifier<?> identifier)
+    {
+        if(identifier != null && identifier.getValue() != null)
+        {
+            return identifier.getValue().toString();
+        }
+
+        return "";
+    }
+
+    /**
+     * Indicates if the event has a timeslot
+     */
+    public boolean hasTimeslot()
+    {
+        return timeslot >= 0;
+    }
+}
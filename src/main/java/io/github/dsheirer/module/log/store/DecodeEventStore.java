@@ -0,0 +1,282 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.log.store;
+
+import io.github.dsheirer.controller.NamingThreadFactory;
+import io.github.dsheirer.module.decode.event.IDecodeEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded append-only columnar store for decode events.
+ *
+ * Events are stored in one segment per (UTC) day under the store directory.  Producers hand off a snapshot of each
+ * decode event on the decoder thread and a single writer thread appends the queued snapshots to the segment for the
+ * event's start day once per interval.  Queries select the day segments that overlap the requested time range and read
+ * each segment through memory mapped column buffers, using the segment identifier index when the query specifies an
+ * identifier.
+ *
+ * Decode events are updated while a call is in progress, so the store records each update and queries return the
+ * latest update for each event.
+ */
+public class DecodeEventStore
+{
+    private final static Logger mLog = LoggerFactory.getLogger(DecodeEventStore.class);
+    private static final long FLUSH_INTERVAL_MS = 1000;
+    private static final long MILLISECONDS_PER_DAY = 86_400_000L;
+
+    private final Path mDirectory;
+    private final LinkedTransferQueue<DecodeEventRecord> mQueue = new LinkedTransferQueue<>();
+    private final List<DecodeEventRecord> mBatch = new ArrayList<>();
+    private final TreeMap<LocalDate,DecodeEventStoreSegment> mOpenSegments = new TreeMap<>();
+    private final AtomicBoolean mRunning = new AtomicBoolean();
+    private ScheduledExecutorService mExecutorService;
+
+    /**
+     * Constructs an instance
+     * @param directory for the store
+     */
+    public DecodeEventStore(Path directory)
+    {
+        mDirectory = directory;
+    }
+
+    /**
+     * Store directory
+     */
+    public Path getDirectory()
+    {
+        return mDirectory;
+    }
+
+    /**
+     * Queues a snapshot of the decode event for storage.  This method doesn't block on file I/O.
+     * @param event to store
+     */
+    public void append(IDecodeEvent event)
+    {
+        if(event != null)
+        {
+            start();
+            mQueue.add(DecodeEventRecord.from(event));
+        }
+    }
+
+    /**
+     * Starts the writer thread if it is not already running.
+     */
+    private void start()
+    {
+        if(mRunning.compareAndSet(false, true))
+        {
+            mExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory("sdrtrunk decode event store"));
+            mExecutorService.scheduleAtFixedRate(this::process, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the writer thread, stores any queued events and closes the open segments.
+     */
+    public void shutdown()
+    {
+        if(mRunning.compareAndSet(true, false))
+        {
+            mExecutorService.shutdown();
+
+            try
+            {
+                mExecutorService.awaitTermination(2, TimeUnit.SECONDS);
+            }
+            catch(InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            mExecutorService = null;
+
+            synchronized(mOpenSegments)
+            {
+                process();
+
+                for(DecodeEventStoreSegment segment: mOpenSegments.values())
+                {
+                    segment.close();
+                }
+
+                mOpenSegments.clear();
+            }
+        }
+    }
+
+    /**
+     * Appends queued records to their day segments and flushes the segments.  Segments that are more than one day
+     * older than the newest open segment are closed so that their identifier index is written.
+     */
+    private void process()
+    {
+        synchronized(mOpenSegments)
+        {
+            try
+            {
+                mQueue.drainTo(mBatch);
+
+                if(mBatch.isEmpty())
+                {
+                    return;
+                }
+
+                for(DecodeEventRecord record: mBatch)
+                {
+                    LocalDate day = DecodeEventStoreSegment.getDay(record.timeStart());
+                    DecodeEventStoreSegment segment = mOpenSegments.get(day);
+
+                    if(segment == null)
+                    {
+                        segment = DecodeEventStoreSegment.openForAppend(mDirectory, day);
+                        mOpenSegments.put(day, segment);
+                    }
+
+                    segment.append(record);
+                }
+
+                LocalDate newest = mOpenSegments.lastKey();
+
+                for(DecodeEventStoreSegment segment: new ArrayList<>(mOpenSegments.values()))
+                {
+                    if(segment.getDay().isBefore(newest.minusDays(1)))
+                    {
+                        segment.close();
+                        mOpenSegments.remove(segment.getDay());
+                    }
+                    else
+                    {
+                        segment.flush();
+                    }
+                }
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Error writing decode events to the decode event store", t);
+            }
+            finally
+            {
+                mBatch.clear();
+            }
+        }
+    }
+
+    /**
+     * Finds the decode events that overlap the time range and that match the optional identifier values.  Returns the
+     * latest update for each event, ordered by event start time.
+     *
+     * @param from identifier value (ie radio) to match, or null for any
+     * @param to identifier value (ie talkgroup) to match, or null for any
+     * @param start of the time range in milliseconds
+     * @param end of the time range in milliseconds
+     * @return matching events.
+     * @throws IOException if there is an error reading the store
+     */
+    public List<DecodeEventRecord> query(String from, String to, long start, long end) throws IOException
+    {
+        //Store anything that is queued so that the query includes the most recent events
+        process();
+        return query(mDirectory, from, to, null, start, end);
+    }
+
+    /**
+     * Finds the decode events in the store directory that overlap the time range and that match the optional
+     * identifier values.  This method can be used against a store that is being written by another process.
+     *
+     * @param directory of the store
+     * @param from identifier value to match, or null for any
+     * @param to identifier value to match, or null for any
+     * @param any identifier value to match as either from or to, or null for any
+     * @param start of the time range in milliseconds
+     * @param end of the time range in milliseconds
+     * @return matching events, with the latest update for each event, ordered by event start time.
+     * @throws IOException if there is an error reading the store
+     */
+    public static List<DecodeEventRecord> query(Path directory, String from, String to, String any, long start, long end)
+        throws IOException
+    {
+        List<DecodeEventRecord> results = new ArrayList<>();
+
+        if(!Files.isDirectory(directory))
+        {
+            return results;
+        }
+
+        //Include the preceding day for events that started before midnight and continue into the time range
+        LocalDate firstDay = DecodeEventStoreSegment.getDay(start - MILLISECONDS_PER_DAY);
+        LocalDate lastDay = DecodeEventStoreSegment.getDay(end);
+
+        try(Stream<Path> paths = Files.list(directory))
+        {
+            for(Path path: paths.filter(Files::isDirectory).sorted().toList())
+            {
+                LocalDate day;
+
+                try
+                {
+                    day = LocalDate.parse(path.getFileName().toString());
+                }
+                catch(DateTimeParseException dtpe)
+                {
+                    continue;
+                }
+
+                if(!day.isBefore(firstDay) && !day.isAfter(lastDay))
+                {
+                    DecodeEventStoreSegment.openForRead(path, day).query(from, to, any, start, end, results);
+                }
+            }
+        }
+
+        //Keep the last (ie latest) update of each event.  Event start time doesn't change across updates and it
+        //disambiguates event IDs that are reused over time.
+        Map<String,DecodeEventRecord> latest = new LinkedHashMap<>();
+
+        for(DecodeEventRecord record: results)
+        {
+            latest.put(record.eventId() + "_" + record.timeStart(), record);
+        }
+
+        List<DecodeEventRecord> events = new ArrayList<>(latest.values());
+        events.sort(Comparator.comparingLong(DecodeEventRecord::timeStart));
+        return events;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.log.store;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Command line query tool for the decode event store.
+ *
+ * Usage: DecodeEventStoreQuery store_directory [--to value] [--from value] [--id value] [--start time] [--end time]
+ *
+ * Times are local date/times in ISO format (e.g. 2025-03-01T08:00:00).  The default time range is all time.  The --id
+ * option matches the identifier value in either the from or the to role.  Results are written to standard out as CSV.
+ */
+public class DecodeEventStoreQuery
+{
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    public static void main(String[] args) throws Exception
+    {
+        if(args.length < 1 || (args.length % 2) != 1)
+        {
+            System.out.println("Usage: DecodeEventStoreQuery store_directory [--to value] [--from value] [--id value] " +
+                    "[--start yyyy-MM-ddTHH:mm:ss] [--end yyyy-MM-ddTHH:mm:ss]");
+            return;
+        }
+
+        Path directory = Path.of(args[0]);
+        String from = null;
+        String to = null;
+        String any = null;
+        long start = 0;
+        long end = Long.MAX_VALUE / 2;
+
+        for(int x = 1; x < args.length; x += 2)
+        {
+            String value = args[x + 1];
+
+            switch(args[x])
+            {
+                case "--from" -> from = value;
+                case "--to" -> to = value;
+                case "--id" -> any = value;
+                case "--start" -> start = toMilliseconds(value);
+                case "--end" -> end = toMilliseconds(value);
+                default -> throw new IllegalArgumentException("Unrecognized option: " + args[x]);
+            }
+        }
+
+        long queryStart = System.nanoTime();
+        List<DecodeEventRecord> records = DecodeEventStore.query(directory, from, to, any, start, end);
+        long elapsed = System.nanoTime() - queryStart;
+
+        System.out.println("TIMESTAMP,DURATION_MS,PROTOCOL,EVENT,FROM,TO,CHANNEL,FREQUENCY,TIMESLOT,DETAILS,EVENT_ID");
+
+        for(DecodeEventRecord record: records)
+        {
+            System.out.println(String.join(",",
+                    TIMESTAMP_FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timeStart()),
+                            ZoneId.systemDefault())),
+                    record.duration() > 0 ? String.valueOf(record.duration()) : "",
+                    record.protocol(),
+                    record.eventType(),
+                    quote(record.from()),
+                    quote(record.to()),
+                    quote(record.channel()),
+                    record.frequency() > 0 ? String.valueOf(record.frequency()) : "",
+                    record.hasTimeslot() ? "TS:" + record.timeslot() : "",
+                    quote(record.details()),
+                    String.valueOf(record.eventId())));
+        }
+
+        System.err.println(records.size() + " events in " + (elapsed / 1_000_000.0) + " ms");
+    }
+
+    private static long toMilliseconds(String localDateTime)
+    {
+        return LocalDateTime.parse(localDateTime).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String quote(String value)
+    {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
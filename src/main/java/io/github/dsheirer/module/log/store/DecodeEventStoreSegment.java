@@ -0,0 +1,634 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.log.store;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One day (UTC) of decode events stored as a set of append-only column files in a segment directory.
+ *
+ * Column encodings:
+ * <ul>
+ *     <li>Time: 32-bit millisecond offset from the start of the segment day (frame of reference)</li>
+ *     <li>Duration, event ID: 32-bit integer</li>
+ *     <li>Frequency: 64-bit integer Hertz</li>
+ *     <li>Timeslot: 8-bit signed integer</li>
+ *     <li>Protocol, event type, from, to, channel and details: 32-bit codes into the segment string dictionary</li>
+ * </ul>
+ *
+ * The segment's string dictionary is an append-only file of length-prefixed UTF-8 strings where each string's code is
+ * its position in the file.  When the segment is closed, an identifier index of sorted (code, row) pairs for the from
+ * and to columns is written so that identifier queries don't have to scan the columns.  Rows that were appended after
+ * the index was written, for example in the currently active segment, are scanned.
+ *
+ * Columns are read through read-only memory mapped buffers.  The number of readable rows is the smallest row count
+ * across the column files, so that a reader never sees a partially appended row.
+ */
+public class DecodeEventStoreSegment
+{
+    private final static Logger mLog = LoggerFactory.getLogger(DecodeEventStoreSegment.class);
+    private static final long MILLISECONDS_PER_DAY = 86_400_000L;
+    private static final String DICTIONARY_FILE = "dictionary.dat";
+    private static final String INDEX_FILE = "identifier.idx";
+    private static final String COLUMN_FILE_EXTENSION = ".col";
+    private static final int NOT_FOUND = -2;
+
+    /**
+     * Segment columns and their fixed widths in bytes
+     */
+    enum Column
+    {
+        TIME(4),
+        DURATION(4),
+        PROTOCOL(4),
+        EVENT_TYPE(4),
+        FROM(4),
+        TO(4),
+        CHANNEL(4),
+        FREQUENCY(8),
+        TIMESLOT(1),
+        DETAILS(4),
+        EVENT_ID(4);
+
+        private final int mWidth;
+
+        Column(int width)
+        {
+            mWidth = width;
+        }
+
+        public int getWidth()
+        {
+            return mWidth;
+        }
+
+        public String getFileName()
+        {
+            return name().toLowerCase() + COLUMN_FILE_EXTENSION;
+        }
+    }
+
+    private final Path mDirectory;
+    private final LocalDate mDay;
+    private final long mDayStart;
+    private final List<String> mDictionary = new ArrayList<>();
+    private final Map<String,Integer> mDictionaryCodes = new HashMap<>();
+    private final Map<Column,DataOutputStream> mColumnStreams = new EnumMap<>(Column.class);
+    private DataOutputStream mDictionaryStream;
+    private int mRowCount;
+
+    /**
+     * Constructs an instance.  Use the static open methods to access a segment.
+     */
+    private DecodeEventStoreSegment(Path directory, LocalDate day)
+    {
+        mDirectory = directory;
+        mDay = day;
+        mDayStart = day.toEpochDay() * MILLISECONDS_PER_DAY;
+    }
+
+    /**
+     * Segment (UTC) day
+     */
+    public LocalDate getDay()
+    {
+        return mDay;
+    }
+
+    /**
+     * Day for the timestamp
+     * @param timestamp in milliseconds
+     * @return UTC day
+     */
+    public static LocalDate getDay(long timestamp)
+    {
+        return LocalDate.ofEpochDay(Math.floorDiv(timestamp, MILLISECONDS_PER_DAY));
+    }
+
+    /**
+     * Directory name for the segment day
+     */
+    public static String getDirectoryName(LocalDate day)
+    {
+        return day.toString();
+    }
+
+    /**
+     * Opens a segment for appending, creating it if needed.  Column files from an interrupted session are truncated to
+     * the last complete row and a stale identifier index is removed.
+     * @param storeDirectory parent directory for the store
+     * @param day for the segment
+     * @return segment open for appending.
+     * @throws IOException if the segment can't be opened
+     */
+    public static DecodeEventStoreSegment openForAppend(Path storeDirectory, LocalDate day) throws IOException
+    {
+        DecodeEventStoreSegment segment = new DecodeEventStoreSegment(storeDirectory.resolve(getDirectoryName(day)), day);
+        Files.createDirectories(segment.mDirectory);
+        long dictionaryLength = segment.loadDictionary();
+        segment.mRowCount = segment.getCompleteRowCount();
+
+        if(Files.exists(segment.getDictionaryPath()))
+        {
+            try(FileChannel channel = FileChannel.open(segment.getDictionaryPath(), StandardOpenOption.WRITE))
+            {
+                channel.truncate(dictionaryLength);
+            }
+        }
+
+        for(Column column: Column.values())
+        {
+            Path path = segment.getColumnPath(column);
+
+            if(Files.exists(path))
+            {
+                try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+                {
+                    channel.truncate((long)segment.mRowCount * column.getWidth());
+                }
+            }
+
+            segment.mColumnStreams.put(column, new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))));
+        }
+
+        segment.mDictionaryStream = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(segment.getDictionaryPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+
+        Files.deleteIfExists(segment.getIndexPath());
+
+        return segment;
+    }
+
+    /**
+     * Opens an existing segment for reading.
+     * @param segmentDirectory for the segment
+     * @param day for the segment
+     * @return segment open for reading.
+     * @throws IOException if the segment can't be read
+     */
+    public static DecodeEventStoreSegment openForRead(Path segmentDirectory, LocalDate day) throws IOException
+    {
+        DecodeEventStoreSegment segment = new DecodeEventStoreSegment(segmentDirectory, day);
+        segment.loadDictionary();
+        segment.mRowCount = segment.getCompleteRowCount();
+        return segment;
+    }
+
+    /**
+     * Appends the record to the segment.  Data is buffered until flush() or close() is invoked.
+     * @param record to append
+     * @throws IOException if there is an error
+     */
+    public void append(DecodeEventRecord record) throws IOException
+    {
+        mColumnStreams.get(Column.TIME).writeInt((int)(record.timeStart() - mDayStart));
+        mColumnStreams.get(Column.DURATION).writeInt(record.duration());
+        mColumnStreams.get(Column.PROTOCOL).writeInt(encode(record.protocol()));
+        mColumnStreams.get(Column.EVENT_TYPE).writeInt(encode(record.eventType()));
+        mColumnStreams.get(Column.FROM).writeInt(encode(record.from()));
+        mColumnStreams.get(Column.TO).writeInt(encode(record.to()));
+        mColumnStreams.get(Column.CHANNEL).writeInt(encode(record.channel()));
+        mColumnStreams.get(Column.FREQUENCY).writeLong(record.frequency());
+        mColumnStreams.get(Column.TIMESLOT).writeByte(record.timeslot());
+        mColumnStreams.get(Column.DETAILS).writeInt(encode(record.details()));
+        mColumnStreams.get(Column.EVENT_ID).writeInt(record.eventId());
+        mRowCount++;
+    }
+
+    /**
+     * Flushes buffered data to the segment files.  The dictionary is flushed ahead of the columns so that a concurrent
+     * reader can always resolve the codes in the complete rows that it sees.
+     * @throws IOException if there is an error
+     */
+    public void flush() throws IOException
+    {
+        if(mDictionaryStream != null)
+        {
+            mDictionaryStream.flush();
+        }
+
+        for(DataOutputStream stream: mColumnStreams.values())
+        {
+            stream.flush();
+        }
+    }
+
+    /**
+     * Flushes and closes the segment files and writes the identifier index.
+     */
+    public void close()
+    {
+        try
+        {
+            flush();
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error flushing decode event store segment [" + mDirectory + "]", ioe);
+        }
+
+        for(DataOutputStream stream: mColumnStreams.values())
+        {
+            try
+            {
+                stream.close();
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error closing decode event store column file", ioe);
+            }
+        }
+
+        mColumnStreams.clear();
+
+        if(mDictionaryStream != null)
+        {
+            try
+            {
+                mDictionaryStream.close();
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error closing decode event store dictionary file", ioe);
+            }
+
+            mDictionaryStream = null;
+        }
+
+        try
+        {
+            writeIndex();
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error writing decode event store segment index [" + mDirectory + "]", ioe);
+        }
+    }
+
+    /**
+     * Finds the records in this segment that overlap the time range and that match the optional identifiers.
+     *
+     * @param from identifier value to match, or null for any
+     * @param to identifier value to match, or null for any
+     * @param any identifier value to match as either from or to, or null for any
+     * @param start of the time range in milliseconds
+     * @param end of the time range in milliseconds
+     * @param results to receive the matching records
+     * @throws IOException if there is an error reading the segment
+     */
+    public void query(String from, String to, String any, long start, long end, List<DecodeEventRecord> results)
+        throws IOException
+    {
+        int fromCode = lookup(from);
+        int toCode = lookup(to);
+        int anyCode = lookup(any);
+
+        if(fromCode == NOT_FOUND || toCode == NOT_FOUND || anyCode == NOT_FOUND || mRowCount == 0)
+        {
+            return;
+        }
+
+        Map<Column,ByteBuffer> columns = new EnumMap<>(Column.class);
+
+        for(Column column: Column.values())
+        {
+            try(FileChannel channel = FileChannel.open(getColumnPath(column), StandardOpenOption.READ))
+            {
+                columns.put(column, channel.map(FileChannel.MapMode.READ_ONLY, 0, (long)mRowCount * column.getWidth()));
+            }
+        }
+
+        IntBuffer times = columns.get(Column.TIME).asIntBuffer();
+        IntBuffer durations = columns.get(Column.DURATION).asIntBuffer();
+        IntBuffer froms = columns.get(Column.FROM).asIntBuffer();
+        IntBuffer tos = columns.get(Column.TO).asIntBuffer();
+
+        //Use the identifier index when the query specifies an identifier, otherwise scan the time column
+        int indexCode = anyCode >= 0 ? anyCode : (toCode >= 0 ? toCode : fromCode);
+        int[] candidates = indexCode >= 0 ? getIndexedRows(indexCode, froms, tos) : null;
+        int candidateCount = candidates != null ? candidates.length : mRowCount;
+
+        for(int x = 0; x < candidateCount; x++)
+        {
+            int row = candidates != null ? candidates[x] : x;
+            long timeStart = mDayStart + times.get(row);
+
+            if(timeStart <= end && timeStart + durations.get(row) >= start &&
+               (fromCode < 0 || froms.get(row) == fromCode) &&
+               (toCode < 0 || tos.get(row) == toCode) &&
+               (anyCode < 0 || froms.get(row) == anyCode || tos.get(row) == anyCode))
+            {
+                results.add(read(columns, row, timeStart));
+            }
+        }
+    }
+
+    /**
+     * Reads the record at the specified row.
+     */
+    private DecodeEventRecord read(Map<Column,ByteBuffer> columns, int row, long timeStart)
+    {
+        return new DecodeEventRecord(timeStart,
+                columns.get(Column.DURATION).getInt(row * 4),
+                decode(columns.get(Column.PROTOCOL).getInt(row * 4)),
+                decode(columns.get(Column.EVENT_TYPE).getInt(row * 4)),
+                decode(columns.get(Column.FROM).getInt(row * 4)),
+                decode(columns.get(Column.TO).getInt(row * 4)),
+                decode(columns.get(Column.CHANNEL).getInt(row * 4)),
+                columns.get(Column.FREQUENCY).getLong(row * 8),
+                columns.get(Column.TIMESLOT).get(row),
+                decode(columns.get(Column.DETAILS).getInt(row * 4)),
+                columns.get(Column.EVENT_ID).getInt(row * 4));
+    }
+
+    /**
+     * Rows where the from or to column contains the identifier code, from the identifier index plus a scan of any rows
+     * appended after the index was written.
+     */
+    private int[] getIndexedRows(int code, IntBuffer froms, IntBuffer tos) throws IOException
+    {
+        int[] rows = new int[16];
+        int count = 0;
+        int indexedRowCount = 0;
+        Path indexPath = getIndexPath();
+
+        if(Files.exists(indexPath))
+        {
+            try(FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ))
+            {
+                MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                indexedRowCount = Math.min(index.getInt(0), mRowCount);
+                int entryCount = index.getInt(4);
+                IntBuffer entries = index.position(8).slice().asIntBuffer();
+
+                //Binary search for the first entry with the code
+                int low = 0;
+                int high = entryCount;
+
+                while(low < high)
+                {
+                    int mid = (low + high) >>> 1;
+
+                    if(entries.get(mid * 2) < code)
+                    {
+                        low = mid + 1;
+                    }
+                    else
+                    {
+                        high = mid;
+                    }
+                }
+
+                for(int x = low; x < entryCount && entries.get(x * 2) == code; x++)
+                {
+                    int row = entries.get(x * 2 + 1);
+
+                    if(row < indexedRowCount)
+                    {
+                        if(count == rows.length)
+                        {
+                            rows = Arrays.copyOf(rows, count * 2);
+                        }
+
+                        rows[count++] = row;
+                    }
+                }
+            }
+        }
+
+        for(int row = indexedRowCount; row < mRowCount; row++)
+        {
+            if(froms.get(row) == code || tos.get(row) == code)
+            {
+                if(count == rows.length)
+                {
+                    rows = Arrays.copyOf(rows, count * 2);
+                }
+
+                rows[count++] = row;
+            }
+        }
+
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Writes the identifier index of sorted (code, row) pairs for the from and to columns.
+     */
+    private void writeIndex() throws IOException
+    {
+        int rowCount = getCompleteRowCount();
+
+        if(rowCount == 0)
+        {
+            return;
+        }
+
+        long[] entries = new long[rowCount * 2];
+        int entryCount = 0;
+        int emptyCode = mDictionaryCodes.getOrDefault("", -1);
+
+        for(Column column: new Column[]{Column.FROM, Column.TO})
+        {
+            try(FileChannel channel = FileChannel.open(getColumnPath(column), StandardOpenOption.READ))
+            {
+                IntBuffer codes = channel.map(FileChannel.MapMode.READ_ONLY, 0, (long)rowCount * 4).asIntBuffer();
+
+                for(int row = 0; row < rowCount; row++)
+                {
+                    int code = codes.get(row);
+
+                    if(code != emptyCode)
+                    {
+                        entries[entryCount++] = ((long)code << 32) | row;
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(entries, 0, entryCount);
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + entryCount * 8);
+        buffer.putInt(rowCount);
+        buffer.putInt(0);
+
+        int uniqueCount = 0;
+        long previous = -1;
+
+        //Both columns can hold the same code for a row - store each (code, row) pair once
+        for(int x = 0; x < entryCount; x++)
+        {
+            if(entries[x] != previous)
+            {
+                buffer.putInt((int)(entries[x] >>> 32));
+                buffer.putInt((int)entries[x]);
+                previous = entries[x];
+                uniqueCount++;
+            }
+        }
+
+        buffer.putInt(4, uniqueCount);
+        buffer.flip();
+
+        Path temp = mDirectory.resolve(INDEX_FILE + ".tmp");
+
+        try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            while(buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+        }
+
+        Files.move(temp, getIndexPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Dictionary code for the value.
+     * @return code, -1 if the value is null (ie match any), or NOT_FOUND if the value isn't in the dictionary.
+     */
+    private int lookup(String value)
+    {
+        if(value == null)
+        {
+            return -1;
+        }
+
+        return mDictionaryCodes.getOrDefault(value, NOT_FOUND);
+    }
+
+    /**
+     * Dictionary code for the value, adding the value to the dictionary when it is new.
+     */
+    private int encode(String value) throws IOException
+    {
+        Integer code = mDictionaryCodes.get(value);
+
+        if(code == null)
+        {
+            code = mDictionary.size();
+            mDictionary.add(value);
+            mDictionaryCodes.put(value, code);
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            mDictionaryStream.writeInt(bytes.length);
+            mDictionaryStream.write(bytes);
+        }
+
+        return code;
+    }
+
+    /**
+     * Dictionary value for the code
+     */
+    private String decode(int code)
+    {
+        return code >= 0 && code < mDictionary.size() ? mDictionary.get(code) : "";
+    }
+
+    /**
+     * Loads the dictionary, ignoring a partially written trailing entry.
+     * @return length in bytes of the complete dictionary entries.
+     */
+    private long loadDictionary() throws IOException
+    {
+        Path path = getDictionaryPath();
+
+        if(!Files.exists(path))
+        {
+            return 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        int validLength = 0;
+
+        while(buffer.remaining() >= 4)
+        {
+            int length = buffer.getInt();
+
+            if(length < 0 || length > buffer.remaining())
+            {
+                break;
+            }
+
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            mDictionaryCodes.put(value, mDictionary.size());
+            mDictionary.add(value);
+            validLength = buffer.position();
+        }
+
+        return validLength;
+    }
+
+    /**
+     * Smallest complete row count across the column files
+     */
+    private int getCompleteRowCount() throws IOException
+    {
+        long rows = Long.MAX_VALUE;
+
+        for(Column column: Column.values())
+        {
+            Path path = getColumnPath(column);
+            rows = Math.min(rows, Files.exists(path) ? Files.size(path) / column.getWidth() : 0);
+        }
+
+        return (int)Math.min(rows, Integer.MAX_VALUE);
+    }
+
+    private Path getColumnPath(Column column)
+    {
+        return mDirectory.resolve(column.getFileName());
+    }
+
+    private Path getDictionaryPath()
+    {
+        return mDirectory.resolve(DICTIONARY_FILE);
+    }
+
+    private Path getIndexPath()
+    {
+        return mDirectory.resolve(INDEX_FILE);
+    }
+}
@@ -76,6 +76,10 @@ public class TunerPreference extends Preference
                 {
                     mChannelizerType = ChannelizerType.HETERODYNE;
                 }
+                else if(type.equalsIgnoreCase(ChannelizerType.HYBRID.name()))
+                {
+                    mChannelizerType = ChannelizerType.HYBRID;
+                }
             }
 
             if(type == null)
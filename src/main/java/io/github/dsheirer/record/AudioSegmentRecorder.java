@@ -22,7 +22,7 @@ package io.github.dsheirer.record;
 import io.github.dsheirer.audio.AudioFormats;
 import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.audio.convert.InputAudioFormat;
-import io.github.dsheirer.audio.convert.MP3AudioConverter;
+import io.github.dsheirer.audio.convert.MP3EncoderRegistry;
 import io.github.dsheirer.audio.convert.MP3Setting;
 import io.github.dsheirer.identifier.IdentifierCollection;
 import io.github.dsheirer.preference.UserPreferences;
@@ -115,23 +115,15 @@ public class AudioSegmentRecorder
 
             boolean normalizeAudio = userPreferences.getMP3Preference().isNormalizeAudioBeforeEncode();
 
-            MP3AudioConverter converter = new MP3AudioConverter(inputAudioFormat, mp3Setting, normalizeAudio);
-            List<byte[]> mp3Frames = converter.convert(audioSegment.getAudioBuffers());
+            //Encoding is shared with any other recording or stream of this audio segment that uses the same settings
+            List<byte[]> mp3Frames = MP3EncoderRegistry.encode(audioSegment, inputAudioFormat, mp3Setting,
+                normalizeAudio);
+
             for(byte[] mp3Frame: mp3Frames)
             {
                 outputStream.write(mp3Frame);
             }
 
-            List<byte[]> lastFrames = converter.flush();
-
-            if(!lastFrames.isEmpty())
-            {
-                for(byte[] lastFrame: lastFrames)
-                {
-                    outputStream.write(lastFrame);
-                }
-            }
-
             outputStream.flush();
             outputStream.close();
         }
@@ -26,6 +26,7 @@ import io.github.dsheirer.module.decode.p25.audio.P25P1CallSequenceRecorder;
 import io.github.dsheirer.module.decode.p25.audio.P25P2CallSequenceRecorder;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.binary.BinaryRecorder;
+import io.github.dsheirer.record.compressed.CompressedBasebandRecorder;
 import io.github.dsheirer.record.wave.ComplexSamplesWaveRecorder;
 import io.github.dsheirer.record.wave.IRecordingStatusListener;
 import io.github.dsheirer.record.wave.NativeBufferWaveRecorder;
@@ -183,14 +184,25 @@ public class RecorderFactory
     }
 
     /**
-     * Constructs a baseband recorder for use in a processing chain.
+     * Constructs a tuner baseband recorder using the baseband recording format from the user preferences.
+     * @param channelName for the recording file name
+     * @param frequency of the tuner, stored in compressed recordings
+     * @param userPreferences for the recording directory and format
+     * @param statusListener to receive recording status updates
      */
-    public static NativeBufferWaveRecorder getTunerRecorder(String channelName, UserPreferences userPreferences,
-                                                            IRecordingStatusListener statusListener)
+    public static INativeBufferRecorder getTunerRecorder(String channelName, long frequency,
+                                                         UserPreferences userPreferences,
+                                                         IRecordingStatusListener statusListener)
     {
         StringBuilder sb = new StringBuilder();
         sb.append(getRecordingBasePath(userPreferences));
         sb.append(File.separator).append(StringUtils.replaceIllegalCharacters(channelName)).append("_baseband");
+
+        if(userPreferences.getRecordPreference().getBasebandRecordFormat() == BasebandRecordFormat.COMPRESSED)
+        {
+            return new CompressedBasebandRecorder(BASEBAND_SAMPLE_RATE, frequency, sb.toString(), statusListener);
+        }
+
         return new NativeBufferWaveRecorder(BASEBAND_SAMPLE_RATE, sb.toString(), statusListener);
     }
 }
@@ -0,0 +1,417 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.record.compressed;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Lossless codec for a block of interleaved complex (I/Q) integer samples.
+ *
+ * Each channel (I and Q) is coded independently using the fixed polynomial predictor (order 0, 1 or 2) that produces
+ * the smallest residuals, followed by Rice coding of the zig-zag mapped residuals with a per-channel Rice parameter.
+ * Residuals with very large quotients are escaped and stored as raw 32-bit values.
+ *
+ * Channel payload layout:
+ *  byte 0: predictor order
+ *  byte 1: rice parameter
+ *  order x 32-bit warm-up samples, then the rice coded residuals, padded to a byte boundary.
+ */
+public class BasebandBlockCodec
+{
+    private static final int MAX_ORDER = 2;
+    private static final int MAX_RICE_PARAMETER = 30;
+    private static final int ESCAPE_QUOTIENT = 24;
+
+    private BasebandBlockCodec()
+    {
+        //Static utility class
+    }
+
+    /**
+     * Encodes the interleaved complex samples.
+     * @param samples interleaved I/Q sample values
+     * @param sampleCount number of complex samples (pairs) to encode from the start of the array
+     * @return encoded payload
+     */
+    public static byte[] encode(int[] samples, int sampleCount)
+    {
+        BitWriter writer = new BitWriter(sampleCount * 4 + 64);
+        int[] channel = new int[sampleCount];
+
+        for(int offset = 0; offset < 2; offset++)
+        {
+            for(int x = 0; x < sampleCount; x++)
+            {
+                channel[x] = samples[x * 2 + offset];
+            }
+
+            encodeChannel(channel, sampleCount, writer);
+        }
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes the payload into interleaved complex samples.
+     * @param payload to decode
+     * @param sampleCount number of complex samples (pairs) in the payload
+     * @param decoded array to receive the interleaved sample values, at least sampleCount * 2 long.
+     * @throws IOException if the payload is corrupt
+     */
+    public static void decode(byte[] payload, int sampleCount, int[] decoded) throws IOException
+    {
+        BitReader reader = new BitReader(payload);
+
+        for(int offset = 0; offset < 2; offset++)
+        {
+            decodeChannel(reader, sampleCount, decoded, offset);
+        }
+    }
+
+    /**
+     * Encodes a single channel
+     */
+    private static void encodeChannel(int[] channel, int count, BitWriter writer)
+    {
+        //Evaluate the residual magnitudes of each fixed predictor in a single pass
+        long[] sums = new long[MAX_ORDER + 1];
+
+        for(int x = MAX_ORDER; x < count; x++)
+        {
+            int order0 = channel[x];
+            int order1 = order0 - channel[x - 1];
+            int order2 = order1 - (channel[x - 1] - channel[x - 2]);
+            sums[0] += Math.abs(order0);
+            sums[1] += Math.abs(order1);
+            sums[2] += Math.abs(order2);
+        }
+
+        int order = 0;
+
+        if(count > MAX_ORDER)
+        {
+            for(int candidate = 1; candidate <= MAX_ORDER; candidate++)
+            {
+                if(sums[candidate] < sums[order])
+                {
+                    order = candidate;
+                }
+            }
+        }
+
+        int residualCount = count - order;
+        long zigZagSum = 0;
+
+        for(int x = order; x < count; x++)
+        {
+            zigZagSum += zigZag(residual(channel, x, order));
+        }
+
+        int parameter = 0;
+
+        if(residualCount > 0)
+        {
+            long mean = zigZagSum / residualCount;
+
+            if(mean > 0)
+            {
+                parameter = Math.min(MAX_RICE_PARAMETER, 63 - Long.numberOfLeadingZeros(mean));
+            }
+        }
+
+        writer.write(order, 8);
+        writer.write(parameter, 8);
+
+        for(int x = 0; x < order; x++)
+        {
+            writer.write(channel[x], 32);
+        }
+
+        for(int x = order; x < count; x++)
+        {
+            int value = zigZag(residual(channel, x, order));
+            int quotient = value >>> parameter;
+
+            if(quotient < ESCAPE_QUOTIENT)
+            {
+                //Quotient one bits, a zero bit, and the low order parameter bits as a single write
+                long code = ((((1L << quotient) - 1) << 1) << parameter) | (value & ((1L << parameter) - 1));
+                writer.write(code, quotient + 1 + parameter);
+            }
+            else
+            {
+                writer.writeOnes(ESCAPE_QUOTIENT);
+                writer.write(value, 32);
+            }
+        }
+
+        writer.align();
+    }
+
+    /**
+     * Decodes a single channel into the interleaved array
+     */
+    private static void decodeChannel(BitReader reader, int count, int[] decoded, int offset) throws IOException
+    {
+        int order = reader.read(8);
+        int parameter = reader.read(8);
+
+        if(order > MAX_ORDER || parameter > MAX_RICE_PARAMETER || order > count)
+        {
+            throw new IOException("Corrupt baseband block - predictor order [" + order + "] rice parameter [" +
+                    parameter + "]");
+        }
+
+        for(int x = 0; x < order; x++)
+        {
+            decoded[x * 2 + offset] = reader.read(32);
+        }
+
+        for(int x = order; x < count; x++)
+        {
+            int quotient = reader.readUnary();
+            int value;
+
+            if(quotient < ESCAPE_QUOTIENT)
+            {
+                value = (quotient << parameter) | reader.read(parameter);
+            }
+            else
+            {
+                value = reader.read(32);
+            }
+
+            int residual = (value >>> 1) ^ -(value & 1);
+            int index = x * 2 + offset;
+
+            switch(order)
+            {
+                case 0:
+                    decoded[index] = residual;
+                    break;
+                case 1:
+                    decoded[index] = residual + decoded[index - 2];
+                    break;
+                default:
+                    decoded[index] = residual + 2 * decoded[index - 2] - decoded[index - 4];
+                    break;
+            }
+        }
+
+        reader.align();
+    }
+
+    /**
+     * Prediction residual for the sample at the index using the fixed predictor of the specified order.
+     */
+    private static int residual(int[] channel, int index, int order)
+    {
+        switch(order)
+        {
+            case 0:
+                return channel[index];
+            case 1:
+                return channel[index] - channel[index - 1];
+            default:
+                return channel[index] - 2 * channel[index - 1] + channel[index - 2];
+        }
+    }
+
+    /**
+     * Maps signed values to unsigned values: 0, -1, 1, -2, 2 ... to 0, 1, 2, 3, 4 ...
+     */
+    private static int zigZag(int value)
+    {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Big-endian bit writer backed by a growable byte array.
+     */
+    private static class BitWriter
+    {
+        private byte[] mBytes;
+        private int mPointer;
+        private long mAccumulator;
+        private int mBitCount;
+
+        BitWriter(int initialSize)
+        {
+            mBytes = new byte[initialSize];
+        }
+
+        /**
+         * Writes the low-order bit count bits of the value.
+         * @param value to write
+         * @param bitCount 0 - 56 bits
+         */
+        void write(long value, int bitCount)
+        {
+            if(bitCount == 0)
+            {
+                return;
+            }
+
+            mAccumulator = (mAccumulator << bitCount) | (value & (-1L >>> (64 - bitCount)));
+            mBitCount += bitCount;
+            flush();
+        }
+
+        /**
+         * Writes a run of one bits
+         */
+        void writeOnes(int count)
+        {
+            while(count > 0)
+            {
+                int toWrite = Math.min(count, 24);
+                write((1 << toWrite) - 1, toWrite);
+                count -= toWrite;
+            }
+        }
+
+        /**
+         * Pads with zero bits to the next byte boundary
+         */
+        void align()
+        {
+            if(mBitCount > 0)
+            {
+                write(0, 8 - mBitCount);
+            }
+        }
+
+        private void flush()
+        {
+            while(mBitCount >= 8)
+            {
+                if(mPointer == mBytes.length)
+                {
+                    mBytes = Arrays.copyOf(mBytes, mBytes.length * 2);
+                }
+
+                mBitCount -= 8;
+                mBytes[mPointer++] = (byte)(mAccumulator >>> mBitCount);
+            }
+        }
+
+        byte[] toByteArray()
+        {
+            align();
+            return Arrays.copyOf(mBytes, mPointer);
+        }
+    }
+
+    /**
+     * Big-endian bit reader over a byte array.
+     */
+    private static class BitReader
+    {
+        private final byte[] mBytes;
+        private int mPointer;
+        private long mAccumulator;
+        private int mBitCount;
+
+        BitReader(byte[] bytes)
+        {
+            mBytes = bytes;
+        }
+
+        /**
+         * Reads bit count bits as an unsigned value (or the full int when bit count is 32).
+         */
+        int read(int bitCount) throws IOException
+        {
+            if(bitCount == 0)
+            {
+                return 0;
+            }
+
+            fill(bitCount);
+            mBitCount -= bitCount;
+            return (int)((mAccumulator >>> mBitCount) & (0xFFFFFFFFL >>> (32 - bitCount)));
+        }
+
+        /**
+         * Reads a unary coded quotient, up to the escape quotient run of one bits.  A run that reaches the escape
+         * quotient is not terminated with a zero bit.
+         */
+        int readUnary() throws IOException
+        {
+            if(mBitCount < ESCAPE_QUOTIENT + 1)
+            {
+                fillAvailable(ESCAPE_QUOTIENT + 1);
+            }
+
+            //Left-align the available bits and count the leading one bits
+            long aligned = (mAccumulator << (64 - mBitCount)) | (-1L >>> mBitCount);
+            int ones = Long.numberOfLeadingZeros(~aligned);
+
+            if(ones >= ESCAPE_QUOTIENT)
+            {
+                fill(ESCAPE_QUOTIENT);
+                mBitCount -= ESCAPE_QUOTIENT;
+                return ESCAPE_QUOTIENT;
+            }
+
+            if(ones >= mBitCount)
+            {
+                throw new IOException("Corrupt baseband block - unexpected end of payload");
+            }
+
+            mBitCount -= (ones + 1);
+            return ones;
+        }
+
+        /**
+         * Fills the accumulator with up to the bit count bits, as available from the payload.
+         */
+        private void fillAvailable(int bitCount)
+        {
+            while(mBitCount < bitCount && mPointer < mBytes.length)
+            {
+                mAccumulator = (mAccumulator << 8) | (mBytes[mPointer++] & 0xFF);
+                mBitCount += 8;
+            }
+        }
+
+        /**
+         * Discards bits to the next byte boundary
+         */
+        void align()
+        {
+            mBitCount -= (mBitCount % 8);
+        }
+
+        private void fill(int bitCount) throws IOException
+        {
+            while(mBitCount < bitCount)
+            {
+                if(mPointer >= mBytes.length)
+                {
+                    throw new IOException("Corrupt baseband block - unexpected end of payload");
+                }
+
+                mAccumulator = (mAccumulator << 8) | (mBytes[mPointer++] & 0xFF);
+                mBitCount += 8;
+            }
+        }
+    }
+}
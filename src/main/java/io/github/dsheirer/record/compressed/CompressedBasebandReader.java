@@ -0,0 +1,485 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.record.compressed;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reader for compressed baseband recording files created by the CompressedBasebandWriter, providing sequential reads
+ * of complex samples and sample-accurate seeking via the block index.
+ */
+public class CompressedBasebandReader implements AutoCloseable
+{
+    private final FileChannel mFileChannel;
+    private final double mSampleRate;
+    private final long mFrequency;
+    private final int mBitsPerSample;
+    private final int mSamplesPerBlock;
+    private final long mStartTimestamp;
+    private final float mScale;
+    private long[] mBlockOffsets;
+    private long[] mBlockSampleIndexes;
+    private long[] mBlockTimestamps;
+    private int mBlockCount;
+    private long mSampleCount;
+
+    private int[] mDecoded;
+    private int mDecodedBlock = -1;
+    private int mDecodedSampleCount;
+    private int mCurrentBlock;
+    private int mCurrentBlockPointer;
+
+    /**
+     * Constructs an instance and loads (or rebuilds) the block index.
+     * @param path of the recording file
+     * @throws IOException if the file is not a compressed baseband recording or cannot be read
+     */
+    public CompressedBasebandReader(Path path) throws IOException
+    {
+        mFileChannel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try
+        {
+            ByteBuffer header = read(0, CompressedBasebandWriter.HEADER_SIZE);
+
+            if(header.getLong() != CompressedBasebandWriter.MAGIC)
+            {
+                throw new IOException("Not a compressed baseband recording: " + path);
+            }
+
+            int version = header.getInt();
+
+            if(version != CompressedBasebandWriter.VERSION)
+            {
+                throw new IOException("Unsupported compressed baseband recording version [" + version + "]");
+            }
+
+            mSampleRate = header.getDouble();
+            mFrequency = header.getLong();
+            mBitsPerSample = header.getInt();
+            mSamplesPerBlock = header.getInt();
+            mStartTimestamp = header.getLong();
+
+            if(mBitsPerSample != 8 && mBitsPerSample != 12 && mBitsPerSample != 16)
+            {
+                throw new IOException("Unsupported compressed baseband recording bits per sample [" +
+                        mBitsPerSample + "]");
+            }
+
+            if(mSamplesPerBlock <= 0 || mSamplesPerBlock > CompressedBasebandWriter.MAX_SAMPLES_PER_BLOCK)
+            {
+                throw new IOException("Invalid compressed baseband recording samples per block [" +
+                        mSamplesPerBlock + "]");
+            }
+
+            if(!(mSampleRate > 0) || Double.isInfinite(mSampleRate))
+            {
+                throw new IOException("Invalid compressed baseband recording sample rate [" + mSampleRate + "]");
+            }
+
+            mScale = 1.0f / ((1 << (mBitsPerSample - 1)) - 1);
+            mDecoded = new int[mSamplesPerBlock * 2];
+
+            if(!loadIndex())
+            {
+                scanIndex();
+            }
+        }
+        catch(IOException ioe)
+        {
+            mFileChannel.close();
+            throw ioe;
+        }
+    }
+
+    /**
+     * Indicates if the file is a compressed baseband recording
+     */
+    public static boolean isCompressedRecording(File file)
+    {
+        if(file == null || !file.isFile() || file.length() < CompressedBasebandWriter.HEADER_SIZE)
+        {
+            return false;
+        }
+
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            ByteBuffer magic = ByteBuffer.allocate(8);
+
+            while(magic.hasRemaining() && channel.read(magic) >= 0)
+            {
+                //Fill the buffer
+            }
+
+            return magic.position() == 8 && magic.getLong(0) == CompressedBasebandWriter.MAGIC;
+        }
+        catch(IOException ioe)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Loads the block index written when the recording was closed.
+     * @return true if the index was loaded
+     */
+    private boolean loadIndex() throws IOException
+    {
+        long size = mFileChannel.size();
+
+        if(size < CompressedBasebandWriter.HEADER_SIZE + 4 + CompressedBasebandWriter.TRAILER_SIZE)
+        {
+            return false;
+        }
+
+        ByteBuffer trailer = read(size - CompressedBasebandWriter.TRAILER_SIZE, CompressedBasebandWriter.TRAILER_SIZE);
+        long indexOffset = trailer.getLong();
+
+        if(trailer.getLong() != CompressedBasebandWriter.INDEX_MAGIC || indexOffset < CompressedBasebandWriter.HEADER_SIZE ||
+                indexOffset > size - CompressedBasebandWriter.TRAILER_SIZE - 4)
+        {
+            return false;
+        }
+
+        int blockCount = read(indexOffset, 4).getInt();
+
+        if(blockCount < 0 || indexOffset + 4 + (long)blockCount * CompressedBasebandWriter.INDEX_ENTRY_SIZE +
+                CompressedBasebandWriter.TRAILER_SIZE != size)
+        {
+            return false;
+        }
+
+        ByteBuffer index = read(indexOffset + 4, blockCount * CompressedBasebandWriter.INDEX_ENTRY_SIZE);
+        allocateIndex(blockCount);
+
+        for(int x = 0; x < blockCount; x++)
+        {
+            addBlock(index.getLong(), index.getLong(), index.getLong());
+        }
+
+        mSampleCount = 0;
+
+        if(mBlockCount > 0)
+        {
+            ByteBuffer lastBlock = read(mBlockOffsets[mBlockCount - 1], CompressedBasebandWriter.BLOCK_HEADER_SIZE);
+            mSampleCount = mBlockSampleIndexes[mBlockCount - 1] + lastBlock.getInt(20);
+        }
+
+        return true;
+    }
+
+    /**
+     * Rebuilds the block index by scanning the block headers in a file that was not closed normally.  Scanning stops
+     * at the first incomplete or corrupt block.
+     */
+    private void scanIndex() throws IOException
+    {
+        long size = mFileChannel.size();
+        long offset = CompressedBasebandWriter.HEADER_SIZE;
+        allocateIndex(1024);
+        mSampleCount = 0;
+
+        while(offset + CompressedBasebandWriter.BLOCK_HEADER_SIZE <= size)
+        {
+            ByteBuffer blockHeader = read(offset, CompressedBasebandWriter.BLOCK_HEADER_SIZE);
+
+            if(blockHeader.getInt() != CompressedBasebandWriter.BLOCK_SYNC)
+            {
+                break;
+            }
+
+            long sampleIndex = blockHeader.getLong();
+            long timestamp = blockHeader.getLong();
+            int sampleCount = blockHeader.getInt();
+            int payloadLength = blockHeader.getInt();
+            long next = offset + CompressedBasebandWriter.BLOCK_HEADER_SIZE + payloadLength;
+
+            if(sampleIndex != mSampleCount || sampleCount <= 0 || sampleCount > mSamplesPerBlock || payloadLength < 0 ||
+                    next > size)
+            {
+                break;
+            }
+
+            addBlock(offset, sampleIndex, timestamp);
+            mSampleCount += sampleCount;
+            offset = next;
+        }
+    }
+
+    private void allocateIndex(int capacity)
+    {
+        mBlockOffsets = new long[Math.max(capacity, 1)];
+        mBlockSampleIndexes = new long[mBlockOffsets.length];
+        mBlockTimestamps = new long[mBlockOffsets.length];
+        mBlockCount = 0;
+    }
+
+    private void addBlock(long offset, long sampleIndex, long timestamp)
+    {
+        if(mBlockCount == mBlockOffsets.length)
+        {
+            mBlockOffsets = Arrays.copyOf(mBlockOffsets, mBlockCount * 2);
+            mBlockSampleIndexes = Arrays.copyOf(mBlockSampleIndexes, mBlockCount * 2);
+            mBlockTimestamps = Arrays.copyOf(mBlockTimestamps, mBlockCount * 2);
+        }
+
+        mBlockOffsets[mBlockCount] = offset;
+        mBlockSampleIndexes[mBlockCount] = sampleIndex;
+        mBlockTimestamps[mBlockCount] = timestamp;
+        mBlockCount++;
+    }
+
+    /**
+     * Reads the specified number of bytes from the file at the offset.
+     */
+    private ByteBuffer read(long offset, int length) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        while(buffer.hasRemaining())
+        {
+            if(mFileChannel.read(buffer, offset + buffer.position()) < 0)
+            {
+                throw new IOException("Unexpected end of compressed baseband recording");
+            }
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Complex sample rate of the recording
+     */
+    public double getSampleRate()
+    {
+        return mSampleRate;
+    }
+
+    /**
+     * Center frequency of the recording in hertz, or zero if not known
+     */
+    public long getFrequency()
+    {
+        return mFrequency;
+    }
+
+    /**
+     * Bits per sample of the recorded sample values
+     */
+    public int getBitsPerSample()
+    {
+        return mBitsPerSample;
+    }
+
+    /**
+     * Timestamp of the first sample in the recording in milliseconds
+     */
+    public long getStartTimestamp()
+    {
+        return mStartTimestamp;
+    }
+
+    /**
+     * Total number of complex samples in the recording
+     */
+    public long getSampleCount()
+    {
+        return mSampleCount;
+    }
+
+    /**
+     * Number of coded blocks in the recording
+     */
+    public int getBlockCount()
+    {
+        return mBlockCount;
+    }
+
+    /**
+     * Current read position as a complex sample index
+     */
+    public long getPosition()
+    {
+        if(mCurrentBlock >= mBlockCount)
+        {
+            return mSampleCount;
+        }
+
+        return mBlockSampleIndexes[mCurrentBlock] + mCurrentBlockPointer;
+    }
+
+    /**
+     * Timestamp of the complex sample at the index, derived from the timestamp of the containing block.
+     * @param sampleIndex of the complex sample
+     * @return timestamp in milliseconds
+     */
+    public long getTimestamp(long sampleIndex)
+    {
+        if(mBlockCount == 0)
+        {
+            return mStartTimestamp;
+        }
+
+        int block = getBlock(sampleIndex);
+        return mBlockTimestamps[block] + (long)((sampleIndex - mBlockSampleIndexes[block]) * 1000.0 / mSampleRate);
+    }
+
+    /**
+     * Index of the block that contains the sample index
+     */
+    private int getBlock(long sampleIndex)
+    {
+        int block = Arrays.binarySearch(mBlockSampleIndexes, 0, mBlockCount, sampleIndex);
+
+        if(block < 0)
+        {
+            block = -block - 2;
+        }
+
+        return Math.max(0, Math.min(block, mBlockCount - 1));
+    }
+
+    /**
+     * Moves the read position to the complex sample index.
+     * @param sampleIndex to seek to, constrained to the range of the recording
+     */
+    public void seek(long sampleIndex)
+    {
+        if(sampleIndex >= mSampleCount)
+        {
+            mCurrentBlock = mBlockCount;
+            mCurrentBlockPointer = 0;
+        }
+        else
+        {
+            mCurrentBlock = getBlock(Math.max(0, sampleIndex));
+            mCurrentBlockPointer = (int)(Math.max(0, sampleIndex) - mBlockSampleIndexes[mCurrentBlock]);
+        }
+    }
+
+    /**
+     * Moves the read position to the sample nearest to the timestamp.
+     * @param timestamp in milliseconds
+     */
+    public void seekToTimestamp(long timestamp)
+    {
+        if(mBlockCount == 0)
+        {
+            return;
+        }
+
+        int block = Arrays.binarySearch(mBlockTimestamps, 0, mBlockCount, timestamp);
+
+        if(block < 0)
+        {
+            block = Math.max(0, -block - 2);
+        }
+
+        long offset = (long)((timestamp - mBlockTimestamps[block]) * mSampleRate / 1000.0);
+        seek(mBlockSampleIndexes[block] + Math.max(0, offset));
+    }
+
+    /**
+     * Reads interleaved complex samples from the current position, scaled to the range -1.0 to 1.0.
+     * @param samples array to fill with interleaved I/Q samples
+     * @return number of complex samples read, which is less than requested at the end of the recording.
+     * @throws IOException if there is an error reading or decoding the recording
+     */
+    public int read(float[] samples) throws IOException
+    {
+        int requested = samples.length / 2;
+        int read = 0;
+
+        while(read < requested && mCurrentBlock < mBlockCount)
+        {
+            decodeBlock(mCurrentBlock);
+
+            int toCopy = Math.min(requested - read, mDecodedSampleCount - mCurrentBlockPointer);
+            int source = mCurrentBlockPointer * 2;
+            int destination = read * 2;
+
+            for(int x = 0; x < toCopy * 2; x++)
+            {
+                samples[destination + x] = mDecoded[source + x] * mScale;
+            }
+
+            read += toCopy;
+            mCurrentBlockPointer += toCopy;
+
+            if(mCurrentBlockPointer >= mDecodedSampleCount)
+            {
+                mCurrentBlock++;
+                mCurrentBlockPointer = 0;
+            }
+        }
+
+        return read;
+    }
+
+    /**
+     * Decodes the block, unless it is already decoded.
+     */
+    private void decodeBlock(int block) throws IOException
+    {
+        if(mDecodedBlock != block)
+        {
+            ByteBuffer blockHeader = read(mBlockOffsets[block], CompressedBasebandWriter.BLOCK_HEADER_SIZE);
+
+            if(blockHeader.getInt() != CompressedBasebandWriter.BLOCK_SYNC)
+            {
+                throw new IOException("Corrupt compressed baseband recording - invalid block sync at offset [" +
+                        mBlockOffsets[block] + "]");
+            }
+
+            blockHeader.position(20);
+            int sampleCount = blockHeader.getInt();
+            int payloadLength = blockHeader.getInt();
+
+            if(sampleCount <= 0 || sampleCount > mSamplesPerBlock)
+            {
+                throw new IOException("Corrupt compressed baseband recording - invalid block sample count [" +
+                        sampleCount + "]");
+            }
+
+            if(payloadLength < 0)
+            {
+                throw new IOException("Corrupt compressed baseband recording - invalid block payload length [" +
+                        payloadLength + "]");
+            }
+
+            ByteBuffer payload = read(mBlockOffsets[block] + CompressedBasebandWriter.BLOCK_HEADER_SIZE, payloadLength);
+            BasebandBlockCodec.decode(payload.array(), sampleCount, mDecoded);
+            mDecodedBlock = block;
+            mDecodedSampleCount = sampleCount;
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        mFileChannel.close();
+    }
+}
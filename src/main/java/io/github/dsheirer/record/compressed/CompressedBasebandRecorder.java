@@ -0,0 +1,319 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.record.compressed;
+
+import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.NativeBufferDispatcher;
+import io.github.dsheirer.module.Module;
+import io.github.dsheirer.record.INativeBufferRecorder;
+import io.github.dsheirer.record.wave.IRecordingStatusListener;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
+import io.github.dsheirer.source.ISourceEventListener;
+import io.github.dsheirer.source.SourceEvent;
+import io.github.dsheirer.util.ThreadPool;
+import io.github.dsheirer.util.TimeStamp;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Baseband recorder module for recording complex (I&Q) samples to a lossless compressed baseband recording file.
+ * Samples are quantized to 16-bits, the same as the wave baseband recorder, and compressed on the recorder thread.
+ *
+ * Each recording session is handled by a single buffer writer that creates, writes, rolls over and closes the
+ * recording files.  All file access by the buffer writer is synchronized, so a stop that closes the recording can't
+ * overlap a write on the recorder thread, and no file is created after the session is closed.
+ */
+public class CompressedBasebandRecorder extends Module implements INativeBufferRecorder, ISourceEventListener
+{
+    private static final Logger mLog = LoggerFactory.getLogger(CompressedBasebandRecorder.class);
+    private static final long STATUS_UPDATE_BYTE_INTERVAL = 1_048_576;
+    private static final long MAX_RECORDING_SIZE = (long)Integer.MAX_VALUE * 2l;
+    private static final int BITS_PER_SAMPLE = 16;
+    private NativeBufferDispatcher<INativeBuffer> mBufferProcessor =
+            new NativeBufferDispatcher<>("sdrtrunk compressed baseband recorder", 250);
+
+    private AtomicBoolean mRunning = new AtomicBoolean();
+    private BufferWriter mBufferWriter;
+    private String mFilePrefix;
+    private float mSampleRate;
+    private long mFrequency;
+    private IRecordingStatusListener mStatusListener;
+
+    /**
+     * Constructs an instance
+     * @param sampleRate of the complex sample stream
+     * @param frequency of the sample stream center frequency, stored in the recording header
+     * @param filePrefix for the recording file path and name
+     * @param statusListener to receive recording status updates
+     */
+    public CompressedBasebandRecorder(float sampleRate, long frequency, String filePrefix,
+                                      IRecordingStatusListener statusListener)
+    {
+        mSampleRate = sampleRate;
+        mFrequency = frequency;
+        mFilePrefix = filePrefix;
+        mStatusListener = statusListener;
+    }
+
+    /**
+     * Sets the sample rate.  A sample rate change while recording starts a new recording file.
+     */
+    @Override
+    public void setSampleRate(float sampleRate)
+    {
+        if(mSampleRate != sampleRate)
+        {
+            mSampleRate = sampleRate;
+
+            if(mRunning.get())
+            {
+                stop();
+                start();
+            }
+        }
+    }
+
+    private String getFileName()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(mFilePrefix);
+        sb.append("_");
+        sb.append(TimeStamp.getTimeStamp("_"));
+        sb.append(CompressedBasebandWriter.FILE_EXTENSION);
+        return sb.toString();
+    }
+
+    @Override
+    public void start()
+    {
+        if(mRunning.compareAndSet(false, true))
+        {
+            mBufferWriter = new BufferWriter(mSampleRate);
+            mBufferProcessor.setListener(mBufferWriter);
+            mBufferProcessor.start();
+        }
+    }
+
+    @Override
+    public void stop()
+    {
+        if(mRunning.compareAndSet(true, false))
+        {
+            mBufferProcessor.stop();
+            mBufferProcessor.setListener(null);
+
+            final BufferWriter bufferWriter = mBufferWriter;
+            mBufferWriter = null;
+
+            if(bufferWriter != null)
+            {
+                //Thread this operation so that it doesn't tie up the calling thread while any in-progress write
+                //completes and the remaining samples and the block index are written.
+                ThreadPool.CACHED.submit(bufferWriter::close);
+            }
+        }
+    }
+
+    @Override
+    public void receive(INativeBuffer nativeBuffer)
+    {
+        if(mRunning.get())
+        {
+            //Queue the buffer with the buffer processor so that compression occurs on the buffer processor thread
+            mBufferProcessor.receive(nativeBuffer);
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+    }
+
+    @Override
+    public Listener<SourceEvent> getSourceEventListener()
+    {
+        return sourceEvent ->
+        {
+            switch(sourceEvent.getEvent())
+            {
+                case NOTIFICATION_SAMPLE_RATE_CHANGE:
+                    setSampleRate(sourceEvent.getValue().floatValue());
+                    break;
+                case NOTIFICATION_FREQUENCY_CHANGE:
+                    mFrequency = sourceEvent.getValue().longValue();
+                    break;
+            }
+        };
+    }
+
+    /**
+     * Converts the float samples to 16-bit values using the same quantization as the wave baseband recorder.
+     */
+    private static short[] convert(float[] samples)
+    {
+        short[] converted = new short[samples.length];
+
+        for(int x = 0; x < samples.length; x++)
+        {
+            float sample = samples[x];
+
+            if(sample > 1.0f)
+            {
+                converted[x] = Short.MAX_VALUE;
+            }
+            else if(sample < -1.0f)
+            {
+                converted[x] = -Short.MAX_VALUE;
+            }
+            else
+            {
+                converted[x] = (short)(sample * Short.MAX_VALUE);
+            }
+        }
+
+        return converted;
+    }
+
+    /**
+     * Writes native buffers delivered from the buffer processor for a single recording session.  Recording files are
+     * created on demand and rolled over when they reach the maximum recording size.
+     */
+    private class BufferWriter implements Listener<INativeBuffer>
+    {
+        private final float mWriterSampleRate;
+        private CompressedBasebandWriter mWriter;
+        private String mFilePath;
+        private int mRecordingCount = 0;
+        private long mLastReportedSize = 0;
+        private boolean mClosed;
+
+        /**
+         * Constructs an instance
+         * @param sampleRate for the recording session
+         */
+        public BufferWriter(float sampleRate)
+        {
+            mWriterSampleRate = sampleRate;
+        }
+
+        @Override
+        public synchronized void receive(INativeBuffer nativeBuffer)
+        {
+            if(mClosed)
+            {
+                return;
+            }
+
+            try
+            {
+                if(mWriter == null)
+                {
+                    openRecording(nativeBuffer.getTimestamp());
+                }
+
+                Iterator<InterleavedComplexSamples> iterator = nativeBuffer.iteratorInterleaved();
+
+                while(iterator.hasNext())
+                {
+                    InterleavedComplexSamples samples = iterator.next();
+
+                    if(mWriter.getBytesWritten() > MAX_RECORDING_SIZE)
+                    {
+                        rollRecording(samples.timestamp());
+                    }
+
+                    mWriter.write(convert(samples.samples()), samples.timestamp());
+                }
+
+                long size = mWriter.getBytesWritten();
+
+                if(size > (mLastReportedSize + STATUS_UPDATE_BYTE_INTERVAL))
+                {
+                    mStatusListener.update(mRecordingCount, mFilePath, size);
+                    mLastReportedSize = size;
+                }
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("I/O exception while writing I/Q buffers to compressed baseband recorder - stopping " +
+                        "recorder", ioe);
+                closeRecording();
+                mClosed = true;
+                stop();
+            }
+        }
+
+        /**
+         * Creates a new recording file.
+         * @param timestamp of the first sample in the recording
+         */
+        private void openRecording(long timestamp) throws IOException
+        {
+            mFilePath = getFileName();
+            mWriter = new CompressedBasebandWriter(Paths.get(mFilePath), mWriterSampleRate, mFrequency,
+                    BITS_PER_SAMPLE, timestamp);
+            mLastReportedSize = 0;
+            mStatusListener.update(++mRecordingCount, mFilePath, 0);
+        }
+
+        /**
+         * Rollover the recording once the current recording file size is full
+         * @param timestamp of the first sample in the new recording
+         */
+        private void rollRecording(long timestamp) throws IOException
+        {
+            closeRecording();
+            openRecording(timestamp);
+        }
+
+        /**
+         * Closes the current recording file, writing any buffered samples and the block index.
+         */
+        private void closeRecording()
+        {
+            if(mWriter != null)
+            {
+                try
+                {
+                    mWriter.close();
+                }
+                catch(IOException ioe)
+                {
+                    mLog.error("Error closing compressed baseband recording", ioe);
+                }
+
+                mWriter = null;
+            }
+        }
+
+        /**
+         * Closes the current recording and prevents any further recording by this writer.
+         */
+        public synchronized void close()
+        {
+            mClosed = true;
+            closeRecording();
+        }
+    }
+}
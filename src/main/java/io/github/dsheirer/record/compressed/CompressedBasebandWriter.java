@@ -0,0 +1,253 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.record.compressed;
+
+import io.github.dsheirer.record.BasebandRecordFormat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writer for compressed baseband recording files.
+ *
+ * File layout (big-endian):
+ *  Header: magic, version, sample rate, center frequency, bits per sample, samples per block, start timestamp
+ *  Blocks: sync word, first sample index, timestamp, sample count, payload length, payload
+ *  Index (written on close): block count, then file offset, first sample index and timestamp for each block
+ *  Trailer: index offset, index magic
+ *
+ * Each block is independently coded so that playback can seek directly to any block.  Files that are not closed
+ * normally (e.g. application crash) have no index, and the reader rebuilds the index by scanning the block headers.
+ */
+public class CompressedBasebandWriter implements AutoCloseable
+{
+    public static final String FILE_EXTENSION = BasebandRecordFormat.COMPRESSED.getExtension();
+    public static final long MAGIC = 0x5344525442425A31L; //SDRTBBZ1
+    public static final long INDEX_MAGIC = 0x5344525442425A49L; //SDRTBBZI
+    public static final int BLOCK_SYNC = 0x42424C4B; //BBLK
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 8 + 4 + 8 + 8 + 4 + 4 + 8;
+    public static final int BLOCK_HEADER_SIZE = 4 + 8 + 8 + 4 + 4;
+    public static final int INDEX_ENTRY_SIZE = 8 + 8 + 8;
+    public static final int TRAILER_SIZE = 8 + 8;
+    public static final int DEFAULT_SAMPLES_PER_BLOCK = 32768;
+    public static final int MAX_SAMPLES_PER_BLOCK = 1_048_576;
+
+    private final FileChannel mFileChannel;
+    private final double mSampleRate;
+    private final int mBitsPerSample;
+    private final int mSamplesPerBlock;
+    private final int[] mBlockSamples;
+    private int mBlockSampleCount;
+    private long mBlockTimestamp;
+    private long mSampleIndex;
+    private long mFilePosition;
+    private long mBytesWritten;
+    private ByteBuffer mIndex = ByteBuffer.allocate(INDEX_ENTRY_SIZE * 1024);
+    private int mBlockCount;
+    private boolean mClosed;
+
+    /**
+     * Constructs an instance and writes the file header.
+     * @param path of the file to create
+     * @param sampleRate of the complex samples
+     * @param frequency of the recording center frequency in hertz, or zero if not known
+     * @param bitsPerSample of the sample values: 8, 12 or 16
+     * @param timestamp of the first sample in milliseconds
+     * @throws IOException if there is an error creating the file
+     */
+    public CompressedBasebandWriter(Path path, double sampleRate, long frequency, int bitsPerSample, long timestamp)
+        throws IOException
+    {
+        if(bitsPerSample != 8 && bitsPerSample != 12 && bitsPerSample != 16)
+        {
+            throw new IllegalArgumentException("Unsupported bits per sample [" + bitsPerSample + "]");
+        }
+
+        mSampleRate = sampleRate;
+        mBitsPerSample = bitsPerSample;
+        mSamplesPerBlock = DEFAULT_SAMPLES_PER_BLOCK;
+        mBlockSamples = new int[mSamplesPerBlock * 2];
+        mBlockTimestamp = timestamp;
+        mFileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putLong(MAGIC);
+        header.putInt(VERSION);
+        header.putDouble(sampleRate);
+        header.putLong(frequency);
+        header.putInt(bitsPerSample);
+        header.putInt(mSamplesPerBlock);
+        header.putLong(timestamp);
+        header.flip();
+        write(header);
+    }
+
+    /**
+     * Writes interleaved complex samples.  Samples are buffered until a full block is available.
+     * @param samples interleaved I/Q values within the signed range of the bits per sample
+     * @param timestamp of the first sample in milliseconds
+     * @throws IOException if there is an error writing to the file
+     */
+    public void write(short[] samples, long timestamp) throws IOException
+    {
+        if(mClosed)
+        {
+            throw new IOException("Writer is closed");
+        }
+
+        int sampleCount = samples.length / 2;
+        int pointer = 0;
+
+        while(pointer < sampleCount)
+        {
+            if(mBlockSampleCount == 0)
+            {
+                //Derive the block timestamp from the buffer timestamp and the sample offset within the buffer
+                mBlockTimestamp = timestamp + (long)(pointer * 1000.0 / mSampleRate);
+            }
+
+            int toCopy = Math.min(sampleCount - pointer, mSamplesPerBlock - mBlockSampleCount);
+
+            for(int x = 0; x < toCopy * 2; x++)
+            {
+                mBlockSamples[mBlockSampleCount * 2 + x] = samples[pointer * 2 + x];
+            }
+
+            mBlockSampleCount += toCopy;
+            pointer += toCopy;
+
+            if(mBlockSampleCount == mSamplesPerBlock)
+            {
+                writeBlock();
+            }
+        }
+    }
+
+    /**
+     * Encodes and writes the currently buffered samples as a block.
+     */
+    private void writeBlock() throws IOException
+    {
+        if(mBlockSampleCount == 0)
+        {
+            return;
+        }
+
+        byte[] payload = BasebandBlockCodec.encode(mBlockSamples, mBlockSampleCount);
+
+        if(mIndex.remaining() < INDEX_ENTRY_SIZE)
+        {
+            ByteBuffer expanded = ByteBuffer.allocate(mIndex.capacity() * 2);
+            mIndex.flip();
+            expanded.put(mIndex);
+            mIndex = expanded;
+        }
+
+        mIndex.putLong(mFilePosition);
+        mIndex.putLong(mSampleIndex);
+        mIndex.putLong(mBlockTimestamp);
+        mBlockCount++;
+
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER_SIZE + payload.length);
+        block.putInt(BLOCK_SYNC);
+        block.putLong(mSampleIndex);
+        block.putLong(mBlockTimestamp);
+        block.putInt(mBlockSampleCount);
+        block.putInt(payload.length);
+        block.put(payload);
+        block.flip();
+        write(block);
+
+        mSampleIndex += mBlockSampleCount;
+        mBlockSampleCount = 0;
+    }
+
+    /**
+     * Writes the buffer to the file
+     */
+    private void write(ByteBuffer buffer) throws IOException
+    {
+        while(buffer.hasRemaining())
+        {
+            mFilePosition += mFileChannel.write(buffer);
+        }
+
+        mBytesWritten = mFilePosition;
+    }
+
+    /**
+     * Number of bytes written to the file
+     */
+    public long getBytesWritten()
+    {
+        return mBytesWritten;
+    }
+
+    /**
+     * Number of complex samples written to the file, including samples buffered for the next block.
+     */
+    public long getSampleCount()
+    {
+        return mSampleIndex + mBlockSampleCount;
+    }
+
+    /**
+     * Bits per sample for this recording
+     */
+    public int getBitsPerSample()
+    {
+        return mBitsPerSample;
+    }
+
+    /**
+     * Writes any buffered samples, the block index and trailer, and closes the file.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if(!mClosed)
+        {
+            mClosed = true;
+
+            try
+            {
+                writeBlock();
+
+                long indexOffset = mFilePosition;
+                mIndex.flip();
+                ByteBuffer index = ByteBuffer.allocate(4 + mIndex.remaining() + TRAILER_SIZE);
+                index.putInt(mBlockCount);
+                index.put(mIndex);
+                index.putLong(indexOffset);
+                index.putLong(INDEX_MAGIC);
+                index.flip();
+                write(index);
+                mFileChannel.force(true);
+            }
+            finally
+            {
+                mFileChannel.close();
+            }
+        }
+    }
+}
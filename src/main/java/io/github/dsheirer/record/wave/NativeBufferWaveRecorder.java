@@ -19,13 +19,14 @@
 package io.github.dsheirer.record.wave;
 
 import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.NativeBufferDispatcher;
 import io.github.dsheirer.module.Module;
+import io.github.dsheirer.record.INativeBufferRecorder;
 import io.github.dsheirer.sample.ConversionUtils;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
 import io.github.dsheirer.source.ISourceEventListener;
 import io.github.dsheirer.source.SourceEvent;
-import io.github.dsheirer.util.Dispatcher;
 import io.github.dsheirer.util.ThreadPool;
 import io.github.dsheirer.util.TimeStamp;
 import java.io.IOException;
@@ -42,12 +43,12 @@ import javax.sound.sampled.AudioFormat;
 /**
  * WAVE audio recorder module for recording complex (I&Q) samples to a wave file
  */
-public class NativeBufferWaveRecorder extends Module implements Listener<INativeBuffer>, ISourceEventListener
+public class NativeBufferWaveRecorder extends Module implements INativeBufferRecorder, ISourceEventListener
 {
     private static final Logger mLog = LoggerFactory.getLogger(ComplexSamplesWaveRecorder.class);
     private static final long STATUS_UPDATE_BYTE_INTERVAL = 1_048_576;
     private static final long MAX_RECORDING_SIZE = (long)Integer.MAX_VALUE * 2l;
-    private Dispatcher<INativeBuffer> mBufferProcessor = new Dispatcher<>("sdrtrunk native buffer wave recorder", 250);
+    private NativeBufferDispatcher<INativeBuffer> mBufferProcessor = new NativeBufferDispatcher<>("sdrtrunk native buffer wave recorder", 250);
 
     private AtomicBoolean mRunning = new AtomicBoolean();
     private NativeBufferWaveWriter mWriter;
@@ -66,6 +67,7 @@ public class NativeBufferWaveRecorder extends Module implements Listener<INative
         setSampleRate(sampleRate);
     }
 
+    @Override
     public void setSampleRate(float sampleRate)
     {
         if(mAudioFormat == null || mAudioFormat.getSampleRate() != sampleRate)
@@ -90,6 +92,7 @@ public class NativeBufferWaveRecorder extends Module implements Listener<INative
         return sb.toString();
     }
 
+    @Override
     public void start()
     {
         if(mRunning.compareAndSet(false, true))
@@ -148,6 +151,7 @@ public class NativeBufferWaveRecorder extends Module implements Listener<INative
         }
     }
 
+    @Override
     public void stop()
     {
         if(mRunning.compareAndSet(true, false))
@@ -27,6 +27,7 @@ import io.github.dsheirer.source.SourceException;
 import io.github.dsheirer.source.tuner.TunerEvent.Event;
 import io.github.dsheirer.source.tuner.manager.ChannelSourceManager;
 import io.github.dsheirer.source.tuner.manager.HeterodyneChannelSourceManager;
+import io.github.dsheirer.source.tuner.manager.HybridChannelSourceManager;
 import io.github.dsheirer.source.tuner.manager.PolyphaseChannelSourceManager;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
@@ -75,6 +76,10 @@ public abstract class Tuner implements ISourceEventProcessor, ITunerErrorListene
         {
             setChannelSourceManager(new HeterodyneChannelSourceManager(mTunerController));
         }
+        else if(channelizerType == ChannelizerType.HYBRID)
+        {
+            setChannelSourceManager(new HybridChannelSourceManager(mTunerController));
+        }
         else
         {
             throw new IllegalArgumentException("Unrecognized channelizer type: " + channelizerType);
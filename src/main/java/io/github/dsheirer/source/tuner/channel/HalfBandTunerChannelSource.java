@@ -19,6 +19,7 @@
 package io.github.dsheirer.source.tuner.channel;
 
 import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.NativeBufferDispatcher;
 import io.github.dsheirer.dsp.filter.decimate.DecimationFilterFactory;
 import io.github.dsheirer.dsp.filter.decimate.IRealDecimationFilter;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
@@ -27,7 +28,7 @@ import io.github.dsheirer.dsp.mixer.ComplexMixerFactory;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.SourceEvent;
-import io.github.dsheirer.util.Dispatcher;
+import io.github.dsheirer.util.DispatchPriority;
 import java.util.Iterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,7 +45,7 @@ public class HalfBandTunerChannelSource<T extends INativeBuffer> extends TunerCh
     //Maximum number of filled buffers for the blocking queue
     private static final int BUFFER_MAX_CAPACITY = 600;
 
-    private Dispatcher<T> mBufferDispatcher;
+    private NativeBufferDispatcher<T> mBufferDispatcher;
     private ComplexMixer mFrequencyCorrectionMixer;
     private IRealDecimationFilter mIDecimationFilter;
     private IRealDecimationFilter mQDecimationFilter;
@@ -76,8 +77,9 @@ public class HalfBandTunerChannelSource<T extends INativeBuffer> extends TunerCh
         mQDecimationFilter = DecimationFilterFactory.getRealDecimationFilter(decimation);
 
         //Set dispatcher to process 1/10 of estimated sample arrival rate, 20 times per second (up to 200% per interval)
-        mBufferDispatcher = new Dispatcher(threadName, 50, getHeartbeatManager());
+        mBufferDispatcher = new NativeBufferDispatcher<>(threadName, 50, getHeartbeatManager());
         mBufferDispatcher.setListener(new NativeBufferProcessor());
+        mBufferDispatcher.setCooperativeScheduling(true);
 
         //Setup the frequency mixer to the current source frequency
         mChannelSampleRate = sampleRate / (double)decimation;
@@ -86,6 +88,13 @@ public class HalfBandTunerChannelSource<T extends INativeBuffer> extends TunerCh
         mFrequencyCorrectionMixer = ComplexMixerFactory.getMixer(frequencyOffset, sampleRate);
     }
 
+    @Override
+    public void setDispatchPriority(DispatchPriority dispatchPriority)
+    {
+        super.setDispatchPriority(dispatchPriority);
+        mBufferDispatcher.setPriority(dispatchPriority);
+    }
+
     @Override
     public void start()
     {
@@ -183,6 +192,7 @@ public class HalfBandTunerChannelSource<T extends INativeBuffer> extends TunerCh
         {
             if(mSamplesListener != null)
             {
+                long start = System.nanoTime();
                 Iterator<ComplexSamples> iterator = nativeBuffer.iterator();
 
                 while(iterator.hasNext())
@@ -204,6 +214,8 @@ public class HalfBandTunerChannelSource<T extends INativeBuffer> extends TunerCh
                         }
                     }
                 }
+
+                recordProcessingTime(start);
             }
         }
     }
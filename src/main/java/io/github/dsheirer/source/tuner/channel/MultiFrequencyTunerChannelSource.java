@@ -28,6 +28,7 @@ import io.github.dsheirer.source.SourceException;
 import io.github.dsheirer.source.heartbeat.Heartbeat;
 import io.github.dsheirer.source.tuner.channel.rotation.FrequencyLockChangeRequest;
 import io.github.dsheirer.source.tuner.manager.TunerManager;
+import io.github.dsheirer.util.DispatchPriority;
 import io.github.dsheirer.util.ThreadPool;
 import java.util.ArrayList;
 import java.util.List;
@@ -122,6 +123,7 @@ public class MultiFrequencyTunerChannelSource extends TunerChannelSource
                 mTunerChannelSource.setSourceEventListener(mConsumerSourceEventAdapter);
                 mTunerChannelSource.setListener(mComplexSamplesListener);
                 mTunerChannelSource.addHeartbeatListener(mHeartbeatListener);
+                mTunerChannelSource.setDispatchPriority(getDispatchPriority());
                 mTunerChannelSource.start();
                 mTunerChannel = nextChannel;
                 mChangingChannels.set(false);
@@ -139,6 +141,19 @@ public class MultiFrequencyTunerChannelSource extends TunerChannelSource
         }
     }
 
+    @Override
+    public void setDispatchPriority(DispatchPriority dispatchPriority)
+    {
+        super.setDispatchPriority(dispatchPriority);
+
+        TunerChannelSource tunerChannelSource = mTunerChannelSource;
+
+        if(tunerChannelSource != null)
+        {
+            tunerChannelSource.setDispatchPriority(dispatchPriority);
+        }
+    }
+
     @Override
     public void start()
     {
@@ -20,12 +20,13 @@
 package io.github.dsheirer.source.tuner.channel;
 
 import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.NativeBufferDispatcher;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.ISourceEventListener;
 import io.github.dsheirer.source.SourceEvent;
 import io.github.dsheirer.source.tuner.TunerController;
-import io.github.dsheirer.util.Dispatcher;
+import io.github.dsheirer.util.DispatchPriority;
 import java.util.Iterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,7 +40,7 @@ public class PassThroughChannelSource extends TunerChannelSource implements ISou
 {
     private final static Logger mLog = LoggerFactory.getLogger(PassThroughChannelSource.class);
     private TunerController mTunerController;
-    private Dispatcher<INativeBuffer> mBufferDispatcher;
+    private NativeBufferDispatcher<INativeBuffer> mBufferDispatcher;
     private Listener<ComplexSamples> mBufferListener;
 
     /**
@@ -55,8 +56,16 @@ public class PassThroughChannelSource extends TunerChannelSource implements ISou
     {
         super(listener, tunerChannel, threadName);
         mTunerController = tunerController;
-        mBufferDispatcher = new Dispatcher<>(threadName, 50, getHeartbeatManager());
+        mBufferDispatcher = new NativeBufferDispatcher<>(threadName, 50, getHeartbeatManager());
         mBufferDispatcher.setListener(new BufferProcessor());
+        mBufferDispatcher.setCooperativeScheduling(true);
+    }
+
+    @Override
+    public void setDispatchPriority(DispatchPriority dispatchPriority)
+    {
+        super.setDispatchPriority(dispatchPriority);
+        mBufferDispatcher.setPriority(dispatchPriority);
     }
 
     @Override
@@ -110,6 +119,7 @@ public class PassThroughChannelSource extends TunerChannelSource implements ISou
         {
             if(mBufferListener != null)
             {
+                long start = System.nanoTime();
                 Iterator<ComplexSamples> iterator = nativeBuffer.iterator();
 
                 while(iterator.hasNext())
@@ -123,6 +133,8 @@ public class PassThroughChannelSource extends TunerChannelSource implements ISou
                         mLog.error("Error dispatching complex sample buffers to listener [" + mBufferListener + "]", t);
                     }
                 }
+
+                recordProcessingTime(start);
             }
         }
     }
@@ -25,6 +25,8 @@ import io.github.dsheirer.source.ISourceEventProcessor;
 import io.github.dsheirer.source.SourceEvent;
 import io.github.dsheirer.source.SourceEventListenerToProcessorAdapter;
 import io.github.dsheirer.source.SourceException;
+import io.github.dsheirer.source.tuner.manager.ProcessingLoadMonitor;
+import io.github.dsheirer.util.DispatchPriority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +39,9 @@ public abstract class TunerChannelSource extends ComplexSource implements ISourc
     private Listener<SourceEvent> mProducerSourceEventListener;
     private Listener<SourceEvent> mConsumerSourceEventListener;
     protected String mThreadName;
+    private ProcessingLoadMonitor mProcessingLoadMonitor;
+    private DispatchPriority mDispatchPriority = DispatchPriority.NORMAL;
+    private boolean mParkable;
 
     /**
      * Tuner Channel Source is a Digital Drop Channel (DDC) abstract class that defines the minimum functionality
@@ -61,6 +66,73 @@ public abstract class TunerChannelSource extends ComplexSource implements ISourc
         return mTunerChannel.getFrequency();
     }
 
+    /**
+     * Scheduling priority for this channel source's sample processing.
+     */
+    public DispatchPriority getDispatchPriority()
+    {
+        return mDispatchPriority;
+    }
+
+    /**
+     * Sets the scheduling priority for this channel source's sample processing when running on the shared dispatch
+     * scheduler.  Sub-classes should override to apply the priority to their dispatcher(s).
+     * @param dispatchPriority to apply
+     */
+    public void setDispatchPriority(DispatchPriority dispatchPriority)
+    {
+        mDispatchPriority = dispatchPriority;
+    }
+
+    /**
+     * Indicates if this channel source can be parked while the channel is vacant.
+     */
+    public boolean isParkable()
+    {
+        return mParkable;
+    }
+
+    /**
+     * Allows this channel source to be parked (no sample processing) by the tuner spectral occupancy monitor while the
+     * channel is vacant.  Only conventional channels that can tolerate a short wake-up delay should opt in.  Set this
+     * before the channel source is started.
+     * @param parkable true to allow parking
+     */
+    public void setParkable(boolean parkable)
+    {
+        mParkable = parkable;
+    }
+
+    /**
+     * Monitor that receives the processing time of this channel source, or null.
+     */
+    public ProcessingLoadMonitor getProcessingLoadMonitor()
+    {
+        return mProcessingLoadMonitor;
+    }
+
+    /**
+     * Sets the monitor to receive the processing time of this channel source, for tuner load balancing.  Sub-classes
+     * should override to apply the monitor to any internal processing stages.
+     * @param processingLoadMonitor from the channel source manager
+     */
+    public void setProcessingLoadMonitor(ProcessingLoadMonitor processingLoadMonitor)
+    {
+        mProcessingLoadMonitor = processingLoadMonitor;
+    }
+
+    /**
+     * Records sample processing time with the processing load monitor, if one is set.
+     * @param startNanos from System.nanoTime() when processing started
+     */
+    protected void recordProcessingTime(long startNanos)
+    {
+        if(mProcessingLoadMonitor != null)
+        {
+            mProcessingLoadMonitor.record(System.nanoTime() - startNanos);
+        }
+    }
+
     /**
      * Signals that this tuner channel source has an error state so that any channel processing can be shutdown.
      * @param errorMessage describing the error
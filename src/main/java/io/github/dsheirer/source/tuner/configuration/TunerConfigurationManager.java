@@ -168,7 +168,7 @@ public class TunerConfigurationManager implements IDiscoveredTunerStatusListener
             {
                 TunerType tunerType = discoveredTuner.getTuner().getTunerType();
 
-                if(tunerType != TunerType.RECORDING)
+                if(tunerType != TunerType.RECORDING && tunerType != TunerType.TEST)
                 {
                     TunerConfiguration tunerConfiguration = getTunerConfiguration(tunerType, discoveredTuner.getId());
 
@@ -193,7 +193,7 @@ public class TunerConfigurationManager implements IDiscoveredTunerStatusListener
         {
             TunerType tunerType = discoveredTuner.getTuner().getTunerType();
 
-            if(tunerType != TunerType.RECORDING)
+            if(tunerType != TunerType.RECORDING && tunerType != TunerType.TEST)
             {
                 TunerConfiguration tunerConfiguration = getTunerConfiguration(tunerType, discoveredTuner.getId());
 
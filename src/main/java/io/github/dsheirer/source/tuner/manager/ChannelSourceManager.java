@@ -38,6 +38,7 @@ public abstract class ChannelSourceManager implements ISourceEventProcessor
     private Logger mLogger = LoggerFactory.getLogger(ChannelSourceManager.class);
 
     private Broadcaster<SourceEvent> mSourceEventBroadcaster = new Broadcaster<>();
+    private ProcessingLoadMonitor mProcessingLoadMonitor = new ProcessingLoadMonitor();
 
     /**
      * Prepare for disposal
@@ -90,6 +91,23 @@ public abstract class ChannelSourceManager implements ISourceEventProcessor
      */
     public abstract void setErrorMessage(String errorMessage);
 
+    /**
+     * Monitor for recording the processing time of this manager's sample stream processing.
+     */
+    public ProcessingLoadMonitor getProcessingLoadMonitor()
+    {
+        return mProcessingLoadMonitor;
+    }
+
+    /**
+     * Current processing load for the sample streams provided by this manager.
+     * @return fraction of a CPU core consumed
+     */
+    public double getProcessingLoad()
+    {
+        return mProcessingLoadMonitor.getLoad();
+    }
+
     /**
      * Adds a listener to receive source events
      */
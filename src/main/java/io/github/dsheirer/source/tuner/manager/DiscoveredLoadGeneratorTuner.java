@@ -0,0 +1,82 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.manager;
+
+import io.github.dsheirer.source.SourceException;
+import io.github.dsheirer.source.tuner.TunerClass;
+import io.github.dsheirer.source.tuner.test.LoadGenerator;
+import io.github.dsheirer.source.tuner.test.LoadGeneratorTuner;
+import java.util.function.Supplier;
+
+/**
+ * Discovered tuner for a synthetic load generator test tuner.
+ */
+public class DiscoveredLoadGeneratorTuner extends DiscoveredTuner
+{
+    private final String mName;
+    private final Supplier<LoadGenerator<?>> mLoadGeneratorSupplier;
+
+    /**
+     * Constructs an instance
+     * @param name of the load generator tuner
+     * @param loadGeneratorSupplier to create the load generator when the tuner is started
+     */
+    public DiscoveredLoadGeneratorTuner(String name, Supplier<LoadGenerator<?>> loadGeneratorSupplier)
+    {
+        mName = name;
+        mLoadGeneratorSupplier = loadGeneratorSupplier;
+    }
+
+    @Override
+    public TunerClass getTunerClass()
+    {
+        return TunerClass.TEST_TUNER;
+    }
+
+    @Override
+    public String getId()
+    {
+        return mName;
+    }
+
+    @Override
+    public void start()
+    {
+        if(isAvailable() && !hasTuner())
+        {
+            mTuner = new LoadGeneratorTuner(mLoadGeneratorSupplier.get(), this);
+
+            try
+            {
+                mTuner.start();
+            }
+            catch(SourceException se)
+            {
+                setErrorMessage("Error - " + se.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return mName;
+    }
+}
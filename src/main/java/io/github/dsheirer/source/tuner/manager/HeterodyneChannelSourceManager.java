@@ -124,6 +124,7 @@ public class HeterodyneChannelSourceManager extends ChannelSourceManager
                     //Attempt to create the channel source first, in case we get a filter design exception
                     HalfBandTunerChannelSource tunerChannelSource = new HalfBandTunerChannelSource(mChannelSourceEventProcessor,
                             tunerChannel, mTunerController.getSampleRate(), channelSpecification, threadName);
+                    tunerChannelSource.setProcessingLoadMonitor(getProcessingLoadMonitor());
 
                     //Add to the list of channel sources so that it will receive the tuner frequency change
                     mChannelSources.add(tunerChannelSource);
@@ -0,0 +1,215 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.source.tuner.manager;
+
+import io.github.dsheirer.properties.SystemProperties;
+import io.github.dsheirer.source.SourceEvent;
+import io.github.dsheirer.source.tuner.TunerController;
+import io.github.dsheirer.source.tuner.channel.ChannelSpecification;
+import io.github.dsheirer.source.tuner.channel.TunerChannel;
+import io.github.dsheirer.source.tuner.channel.TunerChannelSource;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hybrid channel source manager that provides channels from either a heterodyne (mix and decimate) channel source
+ * manager or a polyphase channelizer channel source manager, according to the number of active channels.
+ *
+ * The heterodyne path has a processing cost that scales with each channel, since every channel source mixes and
+ * decimates the full tuner sample stream.  The polyphase channelizer has a fixed processing cost for the full tuner
+ * bandwidth, independent of the channel count, and a small per-channel output cost.  With only a few channels the
+ * heterodyne path is cheaper, and with more channels the polyphase channelizer is cheaper.
+ *
+ * Allocation strategy:
+ *   -While the polyphase channelizer has active channels, new channels are allocated from the polyphase channelizer
+ *    so that its fixed cost is shared across as many channels as possible.
+ *   -Otherwise, new channels are allocated from the heterodyne manager up to the heterodyne channel limit, which is
+ *    configurable via the tuner.hybrid.heterodyne.channel.limit system property.
+ *   -Once the heterodyne manager is at the limit, new channels are allocated from the polyphase channelizer.
+ *
+ * Channels are not migrated between the two managers once allocated, since that would interrupt the sample stream to
+ * the decoder.  As channels come and go, the active strategy naturally switches: once the heterodyne channels are
+ * released, the polyphase channelizer carries all of the new channels, and once the polyphase channelizer has no more
+ * channels it stops processing and new channels return to the heterodyne path.
+ *
+ * Both managers share the same tuner center frequency.  When one manager has active channels, the other manager is
+ * only allowed to allocate a new channel when the combined channel set fits the current tuner center frequency, so
+ * that neither manager can retune the tuner away from the other manager's channels.
+ */
+public class HybridChannelSourceManager extends ChannelSourceManager
+{
+    private final static Logger mLog = LoggerFactory.getLogger(HybridChannelSourceManager.class);
+
+    public static final String HETERODYNE_CHANNEL_LIMIT_PROPERTY = "tuner.hybrid.heterodyne.channel.limit";
+
+    /**
+     * Default maximum number of concurrent heterodyne channels before new channels are allocated from the polyphase
+     * channelizer.  Each heterodyne channel costs roughly a third of the fixed polyphase channelizer cost for the same
+     * tuner sample rate, so the crossover point is independent of the tuner sample rate.
+     */
+    public static final int DEFAULT_HETERODYNE_CHANNEL_LIMIT = 3;
+
+    private final int mHeterodyneChannelLimit;
+    private HeterodyneChannelSourceManager mHeterodyneChannelSourceManager;
+    private PolyphaseChannelSourceManager mPolyphaseChannelSourceManager;
+    private TunerController mTunerController;
+
+    /**
+     * Constructs an instance
+     * @param tunerController with a center tuned frequency that will be managed by this instance
+     */
+    public HybridChannelSourceManager(TunerController tunerController)
+    {
+        mTunerController = tunerController;
+        mHeterodyneChannelLimit = Math.max(0, SystemProperties.getInstance().get(HETERODYNE_CHANNEL_LIMIT_PROPERTY,
+            DEFAULT_HETERODYNE_CHANNEL_LIMIT));
+        mHeterodyneChannelSourceManager = new HeterodyneChannelSourceManager(tunerController);
+        mPolyphaseChannelSourceManager = new PolyphaseChannelSourceManager(tunerController);
+
+        //Register to receive channel count change and frequency error notifications for rebroadcasting
+        mHeterodyneChannelSourceManager.addSourceEventListener(this::process);
+        mPolyphaseChannelSourceManager.addSourceEventListener(this::process);
+    }
+
+    @Override
+    public void dispose()
+    {
+        mHeterodyneChannelSourceManager.dispose();
+        mPolyphaseChannelSourceManager.dispose();
+        super.dispose();
+    }
+
+    @Override
+    public String getStateDescription()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Hybrid Channel Source Manager Providing [").append(getTunerChannelCount()).append("] Channels");
+        sb.append("\n\tHeterodyne Channels [").append(mHeterodyneChannelSourceManager.getTunerChannelCount())
+            .append("] Polyphase Channels [").append(mPolyphaseChannelSourceManager.getTunerChannelCount()).append("]");
+        sb.append("\n").append(mHeterodyneChannelSourceManager.getStateDescription());
+        sb.append("\n").append(mPolyphaseChannelSourceManager.getStateDescription());
+        return sb.toString();
+    }
+
+    @Override
+    public SortedSet<TunerChannel> getTunerChannels()
+    {
+        SortedSet<TunerChannel> tunerChannels = new TreeSet<>(mHeterodyneChannelSourceManager.getTunerChannels());
+        tunerChannels.addAll(mPolyphaseChannelSourceManager.getTunerChannels());
+        return tunerChannels;
+    }
+
+    @Override
+    public int getTunerChannelCount()
+    {
+        return mHeterodyneChannelSourceManager.getTunerChannelCount() +
+            mPolyphaseChannelSourceManager.getTunerChannelCount();
+    }
+
+    @Override
+    public double getProcessingLoad()
+    {
+        return mHeterodyneChannelSourceManager.getProcessingLoad() + mPolyphaseChannelSourceManager.getProcessingLoad();
+    }
+
+    @Override
+    public void stopAllChannels()
+    {
+        mHeterodyneChannelSourceManager.stopAllChannels();
+        mPolyphaseChannelSourceManager.stopAllChannels();
+    }
+
+    @Override
+    public TunerChannelSource getSource(TunerChannel tunerChannel, ChannelSpecification channelSpecification,
+                                        String threadName)
+    {
+        try
+        {
+            mTunerController.getLock().lock();
+
+            int heterodyneCount = mHeterodyneChannelSourceManager.getTunerChannelCount();
+            int polyphaseCount = mPolyphaseChannelSourceManager.getTunerChannelCount();
+
+            if(polyphaseCount == 0 && heterodyneCount < mHeterodyneChannelLimit)
+            {
+                //The heterodyne manager is free to retune the tuner since the polyphase channelizer is idle
+                return mHeterodyneChannelSourceManager.getSource(tunerChannel, channelSpecification, threadName);
+            }
+
+            //Don't allow the polyphase manager to retune the tuner away from the active heterodyne channels
+            if(heterodyneCount > 0 && !fitsCurrentFrequency(tunerChannel))
+            {
+                return null;
+            }
+
+            return mPolyphaseChannelSourceManager.getSource(tunerChannel, channelSpecification, threadName);
+        }
+        finally
+        {
+            mTunerController.getLock().unlock();
+        }
+    }
+
+    /**
+     * Indicates if the combined set of channels from both managers, plus the requested channel, fits within the
+     * current tuner center frequency, using the polyphase manager's own retune test so that allocating the channel
+     * from the polyphase manager cannot retune the tuner away from the active heterodyne channels.
+     * @param tunerChannel requested
+     * @return true if the tuner does not have to be retuned to provide the channel.
+     */
+    private boolean fitsCurrentFrequency(TunerChannel tunerChannel)
+    {
+        SortedSet<TunerChannel> tunerChannels = getTunerChannels();
+        tunerChannels.add(tunerChannel);
+        return mPolyphaseChannelSourceManager.isValidForCurrentCenterFrequency(tunerChannels);
+    }
+
+    @Override
+    public void setErrorMessage(String errorMessage)
+    {
+        mHeterodyneChannelSourceManager.setErrorMessage(errorMessage);
+        mPolyphaseChannelSourceManager.setErrorMessage(errorMessage);
+    }
+
+    /**
+     * Processes source events received from either of the channel source managers.
+     */
+    @Override
+    public void process(SourceEvent sourceEvent)
+    {
+        switch(sourceEvent.getEvent())
+        {
+            case NOTIFICATION_CHANNEL_COUNT_CHANGE:
+                //Each manager locks/unlocks the tuner controller according to its own channel count, so we override
+                //that here using the combined channel count.
+                mTunerController.setLockedSampleRate(getTunerChannelCount() > 0);
+                broadcast(SourceEvent.channelCountChange(getTunerChannelCount()));
+                break;
+            case NOTIFICATION_MEASURED_FREQUENCY_ERROR_SYNC_LOCKED:
+                //Rebroadcast these frequency measurement errors to the tuner and tuner controller
+                broadcast(sourceEvent);
+                break;
+            default:
+                mLog.info("Unrecognized source event: " + sourceEvent);
+                break;
+        }
+    }
+}
@@ -109,6 +109,7 @@ public class PassThroughSourceManager extends ChannelSourceManager
             mTunerController.getLock().lock();
             PassThroughChannelSource channelSource = new PassThroughChannelSource(new SourceEventProxy(),
                     mTunerController, tunerChannel, threadName);
+            channelSource.setProcessingLoadMonitor(getProcessingLoadMonitor());
 
             mTunerChannels.add(tunerChannel);
             mTunerChannelSources.add(channelSource);
@@ -50,6 +50,7 @@ public class PolyphaseChannelSourceManager extends ChannelSourceManager
         mTunerController = tunerController;
 
         mPolyphaseChannelManager = new PolyphaseChannelManager(tunerController);
+        mPolyphaseChannelManager.setProcessingLoadMonitor(getProcessingLoadMonitor());
         //Register to receive channel count change notifications for rebroadcasting
         mPolyphaseChannelManager.addSourceEventListener(this::process);
         mTunerController.addListener(mPolyphaseChannelManager);
@@ -295,6 +296,19 @@ public class PolyphaseChannelSourceManager extends ChannelSourceManager
         return channels.last().getMaxFrequency() - channels.first().getMinFrequency();
     }
 
+    /**
+     * Indicates if the set of channels fits the tuner's current center frequency, using the same test that this
+     * manager applies before deciding to retune the tuner.  When true, allocating any of these channels from this
+     * manager will not change the tuner center frequency.
+     *
+     * @param tunerChannels to test
+     * @return true if the channels are valid for the current tuner center frequency
+     */
+    boolean isValidForCurrentCenterFrequency(SortedSet<TunerChannel> tunerChannels)
+    {
+        return isValidCenterFrequency(tunerChannels, mTunerController.getFrequency());
+    }
+
     /**
      * Indicates if the candidate center frequency is valid to ensure that all of the channels fit within the tuner's
      * bandwidth and avoid any center DC spike blocked frequency region
@@ -494,11 +508,11 @@ public class PolyphaseChannelSourceManager extends ChannelSourceManager
         switch(sourceEvent.getEvent())
         {
             case NOTIFICATION_CHANNEL_COUNT_CHANGE:
-                //Rebroadcast this event to any registered listeners (ie tuner and tuner controller)
-                broadcast(sourceEvent);
                 //Lock the frequency and sample rate controls on the tuner controller so users can't change them
                 //when the polyphase manager has channels allocated
                 mTunerController.setLockedSampleRate(getTunerChannelCount() > 0);
+                //Rebroadcast this event to any registered listeners (ie tuner and tuner controller)
+                broadcast(sourceEvent);
                 break;
             case NOTIFICATION_MEASURED_FREQUENCY_ERROR_SYNC_LOCKED:
                 //Rebroadcast these frequency measurement errors to the tuner and tuner controller
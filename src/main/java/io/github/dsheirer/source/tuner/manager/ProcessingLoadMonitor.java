@@ -0,0 +1,63 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.source.tuner.manager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the processing load of a tuner's sample stream processing as the fraction of a single CPU core consumed,
+ * where 1.0 is one fully busy core.  Processing threads record the time spent processing each buffer and the load is
+ * calculated as the smoothed ratio of processing time to elapsed time.
+ */
+public class ProcessingLoadMonitor
+{
+    private static final long UPDATE_INTERVAL_NANOS = 1_000_000_000L;
+    private static final double SMOOTHING_GAIN = 0.3;
+    private final AtomicLong mProcessingNanos = new AtomicLong();
+    private long mIntervalStart = System.nanoTime();
+    private double mLoad;
+
+    /**
+     * Records processing time.  Safe to invoke from multiple processing threads.
+     * @param processingNanos elapsed time spent processing, in nanoseconds.
+     */
+    public void record(long processingNanos)
+    {
+        mProcessingNanos.addAndGet(processingNanos);
+    }
+
+    /**
+     * Current processing load.
+     * @return fraction of a CPU core consumed, which can exceed 1.0 when processing spans several threads.
+     */
+    public synchronized double getLoad()
+    {
+        long now = System.nanoTime();
+        long elapsed = now - mIntervalStart;
+
+        if(elapsed >= UPDATE_INTERVAL_NANOS)
+        {
+            double current = mProcessingNanos.getAndSet(0) / (double)elapsed;
+            mLoad += (current - mLoad) * SMOOTHING_GAIN;
+            mIntervalStart = now;
+        }
+
+        return mLoad;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.source.tuner.manager;
+
+import io.github.dsheirer.source.tuner.TunerController;
+import io.github.dsheirer.source.tuner.channel.TunerChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ranks the available tuners for sourcing a tuner channel so that channel allocations are spread across all tuners
+ * according to each tuner's current processing load, rather than always falling to the first tuner in the list.
+ *
+ * Tuners are ranked in tiers and then by processing load within each tier:
+ *
+ * 1. Tuners that already cover the channel at their current center frequency and that are not saturated.
+ * 2. Tuners that can accommodate the channel, along with their existing channels, by re-centering (includes idle tuners).
+ * 3. All remaining tuners, so that each channel source manager has the final say on whether it can source the channel.
+ */
+public class TunerChannelAllocator
+{
+    private static final Logger mLog = LoggerFactory.getLogger(TunerChannelAllocator.class);
+
+    /**
+     * Processing load (fraction of a CPU core) above which a tuner is no longer preferred for channels that it already
+     * covers, so that new channels spill over to less loaded tuners that can also cover the frequency.
+     */
+    public static final double SATURATION_LOAD = 0.75;
+
+    /**
+     * Load weighting applied per sourced channel, so that tuners with equal measured load (e.g. at startup, before any
+     * load is measured) are ranked by channel count.
+     */
+    public static final double CHANNEL_WEIGHT = 0.02;
+
+    private static final int TIER_COVERED = 0;
+    private static final int TIER_TUNABLE = 1;
+    private static final int TIER_OTHER = 2;
+
+    /**
+     * Ranks the available tuners for sourcing the tuner channel.
+     * @param tunerChannel to source
+     * @param availableTuners to rank
+     * @return ranked list of tuners, best candidate first.
+     */
+    public static List<DiscoveredTuner> rank(TunerChannel tunerChannel, List<DiscoveredTuner> availableTuners)
+    {
+        List<Candidate> candidates = new ArrayList<>();
+
+        for(DiscoveredTuner discoveredTuner: availableTuners)
+        {
+            if(discoveredTuner.hasTuner())
+            {
+                candidates.add(new Candidate(discoveredTuner, tunerChannel));
+            }
+        }
+
+        candidates.sort(Comparator.comparingInt(Candidate::getTier).thenComparingDouble(Candidate::getScore));
+
+        List<DiscoveredTuner> ranked = new ArrayList<>();
+
+        for(Candidate candidate: candidates)
+        {
+            ranked.add(candidate.getDiscoveredTuner());
+        }
+
+        if(mLog.isDebugEnabled() && !candidates.isEmpty())
+        {
+            mLog.debug("Tuner allocation for channel [" + tunerChannel.getFrequency() + "] candidates " + candidates);
+        }
+
+        return ranked;
+    }
+
+    /**
+     * Tuner allocation candidate with a snapshot of tier and load score.
+     */
+    private static class Candidate
+    {
+        private final DiscoveredTuner mDiscoveredTuner;
+        private int mTier = TIER_OTHER;
+        private double mScore;
+
+        public Candidate(DiscoveredTuner discoveredTuner, TunerChannel tunerChannel)
+        {
+            mDiscoveredTuner = discoveredTuner;
+
+            try
+            {
+                ChannelSourceManager channelSourceManager = discoveredTuner.getTuner().getChannelSourceManager();
+                TunerController tunerController = discoveredTuner.getTuner().getTunerController();
+                double load = channelSourceManager.getProcessingLoad();
+                int channelCount = channelSourceManager.getTunerChannelCount();
+                mScore = load + (channelCount * CHANNEL_WEIGHT);
+
+                SortedSet<TunerChannel> requested = new TreeSet<>();
+                requested.add(tunerChannel);
+
+                if(channelCount > 0 && load < SATURATION_LOAD && tunerController.isTunedFor(requested))
+                {
+                    mTier = TIER_COVERED;
+                }
+                else if(CenterFrequencyCalculator.canTune(tunerChannel, tunerController,
+                        channelSourceManager.getTunerChannels()))
+                {
+                    mTier = TIER_TUNABLE;
+                }
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error evaluating tuner [" + discoveredTuner.getId() + "] for channel allocation", e);
+                mTier = TIER_OTHER;
+                mScore = Double.MAX_VALUE;
+            }
+        }
+
+        public DiscoveredTuner getDiscoveredTuner()
+        {
+            return mDiscoveredTuner;
+        }
+
+        public int getTier()
+        {
+            return mTier;
+        }
+
+        public double getScore()
+        {
+            return mScore;
+        }
+
+        @Override
+        public String toString()
+        {
+            return mDiscoveredTuner.getId() + " tier:" + mTier + " score:" + String.format("%.3f", mScore);
+        }
+    }
+}
@@ -43,6 +43,8 @@ import io.github.dsheirer.source.tuner.sdrplay.api.SDRPlayException;
 import io.github.dsheirer.source.tuner.sdrplay.api.SDRplay;
 import io.github.dsheirer.source.tuner.sdrplay.api.device.DeviceInfo;
 import io.github.dsheirer.source.tuner.sdrplay.rspDuo.DiscoveredRspDuoTuner1;
+import io.github.dsheirer.source.tuner.test.DMRLoadGenerator;
+import io.github.dsheirer.source.tuner.test.P25LoadGenerator;
 import io.github.dsheirer.source.tuner.ui.DiscoveredTunerModel;
 import io.github.dsheirer.util.ThreadPool;
 import java.nio.ByteBuffer;
@@ -77,6 +79,7 @@ public class TunerManager implements IDiscoveredTunerStatusListener
     private final Context mLibUsbApplicationContext = new Context();
     private boolean mLibUsbInitialized = false;
     private SDRplay mSDRplay;
+    private ScheduledFuture<?> mProcessingLoadRefreshFuture;
 
     /**
      * Constructs an instance
@@ -139,6 +142,10 @@ public class TunerManager implements IDiscoveredTunerStatusListener
 
         discoverSdrPlayTuners();
         discoverRecordingTuners();
+        discoverLoadGeneratorTuners();
+
+        mProcessingLoadRefreshFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(
+                mDiscoveredTunerModel::refreshProcessingLoad, 2, 2, TimeUnit.SECONDS);
     }
 
     /**
@@ -146,6 +153,12 @@ public class TunerManager implements IDiscoveredTunerStatusListener
      */
     public void stop()
     {
+        if(mProcessingLoadRefreshFuture != null)
+        {
+            mProcessingLoadRefreshFuture.cancel(true);
+            mProcessingLoadRefreshFuture = null;
+        }
+
         //Stop all tuners
         mDiscoveredTunerModel.releaseDiscoveredTuners();
 
@@ -410,6 +423,22 @@ public class TunerManager implements IDiscoveredTunerStatusListener
         }
     }
 
+    /**
+     * Adds the synthetic P25 and DMR load generator test tuners when enabled via system property.
+     */
+    private void discoverLoadGeneratorTuners()
+    {
+        if(P25LoadGenerator.isEnabled())
+        {
+            startAndConfigureTuner(new DiscoveredLoadGeneratorTuner(P25LoadGenerator.NAME, P25LoadGenerator::new));
+        }
+
+        if(DMRLoadGenerator.isEnabled())
+        {
+            startAndConfigureTuner(new DiscoveredLoadGeneratorTuner(DMRLoadGenerator.NAME, DMRLoadGenerator::new));
+        }
+    }
+
     /**
      * Handles tuner status change events.  Events are sent to the tuner configuration manager so that it can save
      * configuration updates and events are also monitored to detect when a user changes the tuner state of a tuner
@@ -569,7 +598,9 @@ public class TunerManager implements IDiscoveredTunerStatusListener
     }
 
     /**
-     * Iterates current available tuners to get a tuner channel source for the specified frequency and bandwidth
+     * Iterates current available tuners to get a tuner channel source for the specified frequency and bandwidth.
+     * After the preferred tuner, tuners are tried in the order ranked by the tuner channel allocator, which favors
+     * tuners that already cover the channel and that have the lowest processing load.
      * @param tunerChannel requested
      * @param channelSpecification from the decoder
      * @param preferredTuner name
@@ -612,7 +643,8 @@ public class TunerManager implements IDiscoveredTunerStatusListener
                         preferredTuner + "] - searching for another tuner");
             }
 
-            Iterator<DiscoveredTuner> it = mDiscoveredTunerModel.getAvailableTuners().iterator();
+            Iterator<DiscoveredTuner> it = TunerChannelAllocator.rank(tunerChannel,
+                    mDiscoveredTunerModel.getAvailableTuners()).iterator();
 
             while(it.hasNext() && source == null)
             {
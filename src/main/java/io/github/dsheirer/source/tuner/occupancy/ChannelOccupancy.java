@@ -0,0 +1,32 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.occupancy;
+
+/**
+ * Spectral occupancy measurement for a tuner channel.
+ *
+ * @param frequency of the channel in hertz
+ * @param powerDb of the channel, scaled to match the average sample power of the channel sample stream
+ * @param noiseFloorDb estimated for the tuner bandwidth, scaled to the channel bandwidth
+ * @param occupied true if energy was detected in the channel recently enough to keep the channel active
+ */
+public record ChannelOccupancy(long frequency, double powerDb, double noiseFloorDb, boolean occupied)
+{
+}
@@ -0,0 +1,310 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.occupancy;
+
+import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.dsp.filter.channelizer.ChannelCalculator;
+import io.github.dsheirer.dsp.window.WindowFactory;
+import io.github.dsheirer.properties.SystemProperties;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
+import io.github.dsheirer.source.tuner.channel.TunerChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.commons.math3.util.FastMath;
+import org.jtransforms.fft.FloatFFT_1D;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Headless, low-rate spectral occupancy monitor for a tuner.  Periodically calculates a power spectrum from a small
+ * slice of the tuner's native sample buffers and reports the power of each registered tuner channel along with an
+ * occupied/vacant decision, so that idle channels can be parked (no demodulation or decoding) until energy appears.
+ * Only channel sources that opt in to parking (conventional analog channels) are monitored.
+ *
+ * The noise floor is estimated as the median bin power across the tuner bandwidth, which assumes that the tuner
+ * spectrum is mostly unoccupied.  A channel is occupied when its average bin power exceeds the noise floor by the
+ * threshold and stays occupied until the power falls below the threshold, less hysteresis, for the park delay.
+ *
+ * This class is not thread safe for sample processing and should only be fed from a single buffer thread.  Channels
+ * can be added and removed from any thread.
+ */
+public class SpectralOccupancyMonitor implements Listener<INativeBuffer>
+{
+    private static final Logger mLog = LoggerFactory.getLogger(SpectralOccupancyMonitor.class);
+    public static final String ENABLED_PROPERTY = "tuner.occupancy.monitor.enabled";
+    public static final String THRESHOLD_PROPERTY = "tuner.occupancy.monitor.threshold.db";
+    private static final int DEFAULT_THRESHOLD_DB = 6;
+    private static final double HYSTERESIS_DB = 3.0;
+    private static final long MEASUREMENT_INTERVAL_MS = 100;
+    private static final long PARK_DELAY_MS = 2000;
+    private static final double MAXIMUM_BIN_WIDTH = 2500.0;
+    private static final int MINIMUM_FFT_SIZE = 256;
+    private static final int MAXIMUM_FFT_SIZE = 8192;
+    private static final float AVERAGING_GAIN = 0.5f;
+
+    private final ChannelCalculator mChannelCalculator;
+    private final List<MonitoredChannel> mChannels = new CopyOnWriteArrayList<>();
+    private final double mThresholdDb;
+    private FloatFFT_1D mFFT;
+    private float[] mWindow;
+    private float mWindowPower;
+    private float[] mSamples;
+    private float[] mBinPower;
+    private float[] mSortedBinPower;
+    private int mSamplesPointer;
+    private double mSampleRate;
+    private double mCenterFrequency;
+    private long mNextMeasurementTimestamp;
+    private boolean mBinPowerPrimed;
+
+    /**
+     * Constructs an instance.
+     * @param channelCalculator providing the current tuner center frequency and sample rate
+     */
+    public SpectralOccupancyMonitor(ChannelCalculator channelCalculator)
+    {
+        mChannelCalculator = channelCalculator;
+        mThresholdDb = SystemProperties.getInstance().get(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD_DB);
+    }
+
+    /**
+     * Indicates if spectral occupancy monitoring and idle channel parking is enabled.
+     */
+    public static boolean isEnabled()
+    {
+        return SystemProperties.getInstance().get(ENABLED_PROPERTY, false);
+    }
+
+    /**
+     * Adds the tuner channel for occupancy monitoring.
+     * @param tunerChannel to monitor
+     * @param listener to receive occupancy measurements for the channel
+     */
+    public void add(TunerChannel tunerChannel, Listener<ChannelOccupancy> listener)
+    {
+        mChannels.add(new MonitoredChannel(tunerChannel, listener));
+    }
+
+    /**
+     * Removes the tuner channel from occupancy monitoring.
+     * @param tunerChannel to remove
+     */
+    public void remove(TunerChannel tunerChannel)
+    {
+        mChannels.removeIf(monitoredChannel -> monitoredChannel.getTunerChannel() == tunerChannel);
+    }
+
+    /**
+     * Collects samples from the native buffer when a measurement is due and performs the measurement once enough
+     * samples are collected.
+     * @param nativeBuffer of samples from the tuner
+     */
+    @Override
+    public void receive(INativeBuffer nativeBuffer)
+    {
+        if(mChannels.isEmpty() || System.currentTimeMillis() < mNextMeasurementTimestamp)
+        {
+            return;
+        }
+
+        if(mSamplesPointer == 0)
+        {
+            checkConfiguration();
+        }
+        else if(mCenterFrequency != mChannelCalculator.getCenterFrequency())
+        {
+            //Tuner center frequency changed while collecting samples - start over
+            mSamplesPointer = 0;
+            checkConfiguration();
+        }
+
+        Iterator<InterleavedComplexSamples> iterator = nativeBuffer.iteratorInterleaved();
+
+        while(iterator.hasNext() && mSamplesPointer < mSamples.length)
+        {
+            float[] samples = iterator.next().samples();
+            int length = Math.min(samples.length, mSamples.length - mSamplesPointer);
+            System.arraycopy(samples, 0, mSamples, mSamplesPointer, length);
+            mSamplesPointer += length;
+        }
+
+        if(mSamplesPointer == mSamples.length)
+        {
+            mSamplesPointer = 0;
+            mNextMeasurementTimestamp = System.currentTimeMillis() + MEASUREMENT_INTERVAL_MS;
+            measure();
+        }
+    }
+
+    /**
+     * Updates the FFT size and center frequency for the current tuner settings.  The FFT size is the smallest
+     * power of two that provides a bin width no wider than the maximum bin width.
+     */
+    private void checkConfiguration()
+    {
+        mCenterFrequency = mChannelCalculator.getCenterFrequency();
+
+        if(mSamples == null || FastMath.abs(mSampleRate - mChannelCalculator.getSampleRate()) > 0.5)
+        {
+            mSampleRate = mChannelCalculator.getSampleRate();
+
+            int fftSize = MINIMUM_FFT_SIZE;
+
+            while(fftSize < MAXIMUM_FFT_SIZE && (mSampleRate / fftSize) > MAXIMUM_BIN_WIDTH)
+            {
+                fftSize *= 2;
+            }
+
+            mFFT = new FloatFFT_1D(fftSize);
+            mWindow = WindowFactory.getHann(fftSize);
+            mWindowPower = 0.0f;
+
+            for(float coefficient: mWindow)
+            {
+                mWindowPower += coefficient * coefficient;
+            }
+
+            mSamples = new float[fftSize * 2];
+            mBinPower = new float[fftSize];
+            mSortedBinPower = new float[fftSize];
+            mBinPowerPrimed = false;
+        }
+    }
+
+    /**
+     * Calculates the power spectrum, estimates the noise floor, and dispatches the occupancy of each channel.
+     */
+    private void measure()
+    {
+        int fftSize = mBinPower.length;
+
+        for(int x = 0; x < fftSize; x++)
+        {
+            mSamples[2 * x] *= mWindow[x];
+            mSamples[2 * x + 1] *= mWindow[x];
+        }
+
+        mFFT.complexForward(mSamples);
+
+        //Normalize so that summing the bins spanned by a signal yields the average sample power of that signal
+        float scale = 1.0f / (mWindowPower * fftSize);
+
+        for(int x = 0; x < fftSize; x++)
+        {
+            float i = mSamples[2 * x];
+            float q = mSamples[2 * x + 1];
+            float power = (i * i + q * q) * scale;
+
+            mBinPower[x] = mBinPowerPrimed ? mBinPower[x] + (power - mBinPower[x]) * AVERAGING_GAIN : power;
+        }
+
+        mBinPowerPrimed = true;
+
+        System.arraycopy(mBinPower, 0, mSortedBinPower, 0, fftSize);
+        Arrays.sort(mSortedBinPower);
+        double noiseFloor = Math.max(mSortedBinPower[fftSize / 2], Float.MIN_NORMAL);
+        double binWidth = mSampleRate / fftSize;
+        long now = System.currentTimeMillis();
+
+        for(MonitoredChannel channel: mChannels)
+        {
+            channel.update(noiseFloor, binWidth, now);
+        }
+    }
+
+    /**
+     * Tuner channel being monitored and its occupancy state
+     */
+    private class MonitoredChannel
+    {
+        private final TunerChannel mTunerChannel;
+        private final Listener<ChannelOccupancy> mListener;
+        private long mLastOccupiedTimestamp = System.currentTimeMillis();
+        private boolean mOccupied = true;
+
+        public MonitoredChannel(TunerChannel tunerChannel, Listener<ChannelOccupancy> listener)
+        {
+            mTunerChannel = tunerChannel;
+            mListener = listener;
+        }
+
+        public TunerChannel getTunerChannel()
+        {
+            return mTunerChannel;
+        }
+
+        /**
+         * Measures the channel power from the current bin powers and dispatches the channel occupancy.
+         * @param noiseFloor median bin power
+         * @param binWidth in hertz
+         * @param now timestamp
+         */
+        public void update(double noiseFloor, double binWidth, long now)
+        {
+            int fftSize = mBinPower.length;
+            double offset = mTunerChannel.getFrequency() - mCenterFrequency;
+            double halfBandwidth = mTunerChannel.getBandwidth() / 2.0;
+            int start = (int)FastMath.round((offset - halfBandwidth) / binWidth);
+            int end = Math.max(start, (int)FastMath.round((offset + halfBandwidth) / binWidth) - 1);
+
+            //Channels outside the tuner bandwidth are left in their current state
+            if(start < -fftSize / 2 || end >= fftSize / 2)
+            {
+                return;
+            }
+
+            double power = 0.0;
+
+            for(int bin = start; bin <= end; bin++)
+            {
+                power += mBinPower[bin < 0 ? bin + fftSize : bin];
+            }
+
+            int binCount = end - start + 1;
+            double averageBinPowerDb = 10.0 * FastMath.log10(power / binCount);
+            double noiseFloorDb = 10.0 * FastMath.log10(noiseFloor);
+            double threshold = mOccupied ? mThresholdDb - HYSTERESIS_DB : mThresholdDb;
+
+            if(averageBinPowerDb - noiseFloorDb >= threshold)
+            {
+                mLastOccupiedTimestamp = now;
+                mOccupied = true;
+            }
+            else if(now - mLastOccupiedTimestamp > PARK_DELAY_MS)
+            {
+                mOccupied = false;
+            }
+
+            try
+            {
+                mListener.receive(new ChannelOccupancy(mTunerChannel.getFrequency(),
+                    10.0 * FastMath.log10(Math.max(power, Float.MIN_NORMAL)),
+                    noiseFloorDb + 10.0 * FastMath.log10(binCount), mOccupied));
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error dispatching channel occupancy for channel [" + mTunerChannel + "]", e);
+            }
+        }
+    }
+}
@@ -21,6 +21,8 @@ package io.github.dsheirer.source.tuner.recording;
 
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.properties.SystemProperties;
+import io.github.dsheirer.record.BasebandRecordFormat;
+import io.github.dsheirer.record.compressed.CompressedBasebandReader;
 import io.github.dsheirer.source.tuner.configuration.TunerConfigurationManager;
 import io.github.dsheirer.source.tuner.manager.DiscoveredRecordingTuner;
 import io.github.dsheirer.source.tuner.ui.DiscoveredTunerModel;
@@ -28,6 +30,7 @@ import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
+import java.io.IOException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.miginfocom.swing.MigLayout;
@@ -62,7 +65,7 @@ public class AddRecordingTunerDialog extends JFrame
     private JTextField mFrequencyTextField;
     private JButton mAddButton;
     private JButton mCancelButton;
-    private static final Pattern TUNER_RECORDING_PATTERN = Pattern.compile(".*_(\\d*)_baseband_\\d{8}_\\d{6}\\.wav");
+    private static final Pattern TUNER_RECORDING_PATTERN = Pattern.compile(".*_(\\d*)_baseband_\\d{8}_\\d{6}\\.(wav|bbz)");
 
     public AddRecordingTunerDialog(UserPreferences userPreferences, DiscoveredTunerModel discoveredTunerModel,
                                    TunerConfigurationManager tunerConfigurationManager)
@@ -105,13 +108,14 @@ public class AddRecordingTunerDialog extends JFrame
                 @Override
                 public boolean accept(File f)
                 {
-                    return f.getAbsolutePath().endsWith(".wav") || f.isDirectory();
+                    return f.getAbsolutePath().endsWith(BasebandRecordFormat.WAVE.getExtension()) ||
+                           f.getAbsolutePath().endsWith(BasebandRecordFormat.COMPRESSED.getExtension()) || f.isDirectory();
                 }
 
                 @Override
                 public String getDescription()
                 {
-                    return "Recordings (*.wav)";
+                    return "Recordings (*.wav, *.bbz)";
                 }
             });
 
@@ -139,6 +143,21 @@ public class AddRecordingTunerDialog extends JFrame
                     {
                         mFrequencyTextField.setText(m.group(1));
                     }
+                    else if(CompressedBasebandReader.isCompressedRecording(mSelectedRecording))
+                    {
+                        //Compressed recordings store the center frequency in the file header
+                        try(CompressedBasebandReader reader = new CompressedBasebandReader(mSelectedRecording.toPath()))
+                        {
+                            if(reader.getFrequency() > 0)
+                            {
+                                mFrequencyTextField.setText(String.valueOf(reader.getFrequency()));
+                            }
+                        }
+                        catch(IOException ioe)
+                        {
+                            mLog.warn("Unable to read compressed baseband recording header - " + ioe.getMessage());
+                        }
+                    }
                 }
             }
             else
@@ -26,6 +26,7 @@ import io.github.dsheirer.source.tuner.Tuner;
 import io.github.dsheirer.source.tuner.TunerClass;
 import io.github.dsheirer.source.tuner.TunerType;
 import io.github.dsheirer.source.tuner.manager.HeterodyneChannelSourceManager;
+import io.github.dsheirer.source.tuner.manager.HybridChannelSourceManager;
 import io.github.dsheirer.source.tuner.manager.PassThroughSourceManager;
 import io.github.dsheirer.source.tuner.manager.PolyphaseChannelSourceManager;
 import org.slf4j.Logger;
@@ -69,6 +70,10 @@ public class RecordingTuner extends Tuner
             {
                 setChannelSourceManager(new HeterodyneChannelSourceManager(getTunerController()));
             }
+            else if(channelizerType == ChannelizerType.HYBRID)
+            {
+                setChannelSourceManager(new HybridChannelSourceManager(getTunerController()));
+            }
             else
             {
                 throw new IllegalArgumentException("Unrecognized channelizer type: " + channelizerType);
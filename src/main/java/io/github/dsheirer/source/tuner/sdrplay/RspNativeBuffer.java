@@ -20,6 +20,7 @@
 package io.github.dsheirer.source.tuner.sdrplay;
 
 import io.github.dsheirer.buffer.AbstractNativeBuffer;
+import io.github.dsheirer.buffer.convert.IShortSampleConverter;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
 import java.util.Iterator;
@@ -31,7 +32,7 @@ import java.util.Iterator;
  */
 public class RspNativeBuffer extends AbstractNativeBuffer
 {
-    private static final float SAMPLE_TO_FLOAT = 1.0f / 32768.0f;
+    private final IShortSampleConverter mConverter;
     private short[] mISamples;
     private short[] mQSamples;
 
@@ -41,12 +42,15 @@ public class RspNativeBuffer extends AbstractNativeBuffer
      * @param q samples array
      * @param timestamp for the first sample
      * @param samplesPerMillisecond used to calculate sub-buffer fragment timestamp offsets from the start of this buffer.
+     * @param converter for the 16-bit samples
      */
-    public RspNativeBuffer(short[] i, short[] q, long timestamp, float samplesPerMillisecond)
+    public RspNativeBuffer(short[] i, short[] q, long timestamp, float samplesPerMillisecond,
+                           IShortSampleConverter converter)
     {
         super(timestamp, samplesPerMillisecond);
         mISamples = i;
         mQSamples = q;
+        mConverter = converter;
     }
 
     /**
@@ -91,12 +95,7 @@ public class RspNativeBuffer extends AbstractNativeBuffer
         {
             float[] i = new float[mISamples.length];
             float[] q = new float[mISamples.length];
-
-            for(int x = 0; x < mISamples.length; x++)
-            {
-                i[x] = mISamples[x] * SAMPLE_TO_FLOAT;
-                q[x] = mQSamples[x] * SAMPLE_TO_FLOAT;
-            }
+            mConverter.convert(mISamples, mQSamples, 0, i, q);
 
             mSamplePointer += mISamples.length;
 
@@ -121,14 +120,7 @@ public class RspNativeBuffer extends AbstractNativeBuffer
         public InterleavedComplexSamples next()
         {
             float[] samples = new float[mISamples.length * 2];
-
-            int index = 0;
-
-            for(int x = 0; x < mISamples.length; x++)
-            {
-                samples[index++] = mISamples[x] * SAMPLE_TO_FLOAT;
-                samples[index++] = mQSamples[x] * SAMPLE_TO_FLOAT;
-            }
+            mConverter.convertInterleaved(mISamples, mQSamples, 0, samples);
 
             mSamplePointer += mISamples.length;
 
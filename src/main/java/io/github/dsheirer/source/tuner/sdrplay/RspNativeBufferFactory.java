@@ -19,6 +19,8 @@
 
 package io.github.dsheirer.source.tuner.sdrplay;
 
+import io.github.dsheirer.buffer.convert.IShortSampleConverter;
+import io.github.dsheirer.buffer.convert.SampleConverterFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -41,6 +43,7 @@ public class RspNativeBufferFactory
     private int mIncomingBufferLength = 0;
     private int mOptimalBufferLength = 128;
     private float mSamplesPerMillisecond;
+    private IShortSampleConverter mConverter = SampleConverterFactory.getShortSampleConverter();
 
     /**
      * Constructs an instance.
@@ -97,7 +100,8 @@ public class RspNativeBufferFactory
             short[] qOptimal = Arrays.copyOf(qCombined, mOptimalBufferLength);
             qCombined = Arrays.copyOfRange(qCombined, mOptimalBufferLength, qCombined.length);
 
-            RspNativeBuffer buffer = new RspNativeBuffer(iOptimal, qOptimal, mResidualTimestamp, mSamplesPerMillisecond);
+            RspNativeBuffer buffer = new RspNativeBuffer(iOptimal, qOptimal, mResidualTimestamp, mSamplesPerMillisecond,
+                mConverter);
             buffers.add(buffer);
             mResidualTimestamp += (long)(mOptimalBufferLength / mSamplesPerMillisecond);
         }
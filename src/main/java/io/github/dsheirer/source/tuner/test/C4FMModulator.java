@@ -0,0 +1,264 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+/**
+ * C4FM modulator that frequency modulates a stream of 4800 symbol per second dibit frames (P25 Phase 1 or DMR) onto
+ * a carrier at a frequency offset within a wideband complex sample stream.
+ *
+ * Symbols are shaped with a raised cosine (alpha 0.2) frequency pulse evaluated at 10 points per symbol and the
+ * carrier is synthesized from a phase accumulator and sine/cosine lookup table, so that a large number of channels can
+ * be summed into a wideband buffer at modest cost.  When the frame provider has no frame available, the carrier is
+ * keyed off and the channel contributes no samples until the provider produces another frame.
+ */
+public class C4FMModulator implements IModulator
+{
+    private static final int SYMBOL_RATE = 4800;
+    private static final int POINTS_PER_SYMBOL = 10;
+    private static final int PULSE_SPAN = 4;
+    private static final int HISTORY_LENGTH = (2 * PULSE_SPAN) + 1;
+    private static final double ALPHA = 0.2;
+    public static final int P25_DEVIATION_PER_LEVEL = 600;
+    public static final int DMR_DEVIATION_PER_LEVEL = 648;
+    private static final int[] DIBIT_LEVELS = {1, 3, -1, -3};
+    private static final int LOOKUP_BITS = 12;
+    private static final int LOOKUP_SHIFT = 32 - LOOKUP_BITS;
+    private static final float[][] PULSE = getPulse();
+
+    private final IFrameProvider mFrameProvider;
+    private final float[] mCosine;
+    private final float[] mSine;
+    private final double mPhaseIncrementPerHertz;
+    private final double mSamplesPerPoint;
+    private final double mFrequencyOffset;
+    private final double mDeviationPerLevel;
+    private final int[] mHistory = new int[HISTORY_LENGTH];
+    private final int[] mPointIncrements = new int[POINTS_PER_SYMBOL];
+    private int[] mFrame;
+    private int mFramePointer;
+    private int mPoint = POINTS_PER_SYMBOL;
+    private int mPointSamplesRemaining;
+    private double mPointSampleResidual;
+    private int mPhase;
+    private int mTrailingSymbols;
+    private boolean mKeyed;
+
+    /**
+     * Constructs an instance
+     * @param sampleRate of the wideband sample stream
+     * @param frequencyOffset of the carrier relative to the center of the sample stream
+     * @param cosine lookup table (scaled for carrier amplitude) with 2^12 entries
+     * @param sine lookup table (scaled for carrier amplitude) with 2^12 entries
+     * @param frameProvider to supply dibit frames
+     */
+    public C4FMModulator(double sampleRate, double frequencyOffset, float[] cosine, float[] sine,
+                         IFrameProvider frameProvider)
+    {
+        this(sampleRate, frequencyOffset, P25_DEVIATION_PER_LEVEL, cosine, sine, frameProvider);
+    }
+
+    /**
+     * Constructs an instance
+     * @param sampleRate of the wideband sample stream
+     * @param frequencyOffset of the carrier relative to the center of the sample stream
+     * @param deviationPerLevel frequency deviation in hertz for symbol level +1, ie 600 for P25 or 648 for DMR
+     * @param cosine lookup table (scaled for carrier amplitude) with 2^12 entries
+     * @param sine lookup table (scaled for carrier amplitude) with 2^12 entries
+     * @param frameProvider to supply dibit frames
+     */
+    public C4FMModulator(double sampleRate, double frequencyOffset, double deviationPerLevel, float[] cosine,
+                         float[] sine, IFrameProvider frameProvider)
+    {
+        mFrequencyOffset = frequencyOffset;
+        mDeviationPerLevel = deviationPerLevel;
+        mCosine = cosine;
+        mSine = sine;
+        mFrameProvider = frameProvider;
+        mPhaseIncrementPerHertz = Math.pow(2.0, 32) / sampleRate;
+        mSamplesPerPoint = sampleRate / (SYMBOL_RATE * POINTS_PER_SYMBOL);
+    }
+
+    /**
+     * Creates the sine and cosine lookup tables scaled to the carrier amplitude.
+     * @param amplitude of the carrier
+     * @return cosine table at index 0 and sine table at index 1
+     */
+    public static float[][] getLookupTables(float amplitude)
+    {
+        int size = 1 << LOOKUP_BITS;
+        float[][] tables = new float[2][size];
+
+        for(int x = 0; x < size; x++)
+        {
+            double angle = 2.0 * Math.PI * x / size;
+            tables[0][x] = (float)(Math.cos(angle) * amplitude);
+            tables[1][x] = (float)(Math.sin(angle) * amplitude);
+        }
+
+        return tables;
+    }
+
+    /**
+     * Raised cosine pulse values indexed by [point within symbol][history symbol] where history symbol 4 is the
+     * symbol being rendered.
+     */
+    private static float[][] getPulse()
+    {
+        float[][] pulse = new float[POINTS_PER_SYMBOL][HISTORY_LENGTH];
+
+        for(int point = 0; point < POINTS_PER_SYMBOL; point++)
+        {
+            for(int symbol = 0; symbol < HISTORY_LENGTH; symbol++)
+            {
+                double t = ((double)point / POINTS_PER_SYMBOL) - 0.5 - (symbol - PULSE_SPAN);
+                pulse[point][symbol] = (float)raisedCosine(t);
+            }
+        }
+
+        return pulse;
+    }
+
+    /**
+     * Raised cosine (alpha 0.2) impulse response with unity peak, evaluated at t symbol periods.
+     */
+    static double raisedCosine(double t)
+    {
+        if(Math.abs(t) < 1e-9)
+        {
+            return 1.0;
+        }
+
+        double denominator = 1.0 - Math.pow(2.0 * ALPHA * t, 2);
+
+        if(Math.abs(denominator) < 1e-9)
+        {
+            return (Math.PI / 4.0) * (Math.sin(Math.PI * t) / (Math.PI * t));
+        }
+
+        return (Math.sin(Math.PI * t) / (Math.PI * t)) * Math.cos(Math.PI * ALPHA * t) / denominator;
+    }
+
+    @Override
+    public void modulate(float[] samples)
+    {
+        int sampleCount = samples.length / 2;
+        int sample = 0;
+
+        while(sample < sampleCount)
+        {
+            if(mPointSamplesRemaining == 0)
+            {
+                nextPoint();
+            }
+
+            int count = Math.min(mPointSamplesRemaining, sampleCount - sample);
+
+            if(mKeyed)
+            {
+                int increment = mPointIncrements[mPoint];
+                int phase = mPhase;
+                int index = sample * 2;
+
+                for(int x = 0; x < count; x++)
+                {
+                    phase += increment;
+                    int lookup = phase >>> LOOKUP_SHIFT;
+                    samples[index++] += mCosine[lookup];
+                    samples[index++] += mSine[lookup];
+                }
+
+                mPhase = phase;
+            }
+
+            sample += count;
+            mPointSamplesRemaining -= count;
+        }
+    }
+
+    /**
+     * Advances to the next shaping point, loading the next symbol when the current symbol is complete.
+     */
+    private void nextPoint()
+    {
+        mPoint++;
+
+        if(mPoint >= POINTS_PER_SYMBOL)
+        {
+            mPoint = 0;
+            nextSymbol();
+        }
+
+        mPointSampleResidual += mSamplesPerPoint;
+        mPointSamplesRemaining = (int)mPointSampleResidual;
+        mPointSampleResidual -= mPointSamplesRemaining;
+    }
+
+    /**
+     * Loads the next symbol into the shaping history and calculates the phase increments for each shaping point of
+     * the symbol at the center of the history.
+     */
+    private void nextSymbol()
+    {
+        System.arraycopy(mHistory, 1, mHistory, 0, HISTORY_LENGTH - 1);
+
+        if(mFrame == null || mFramePointer >= mFrame.length)
+        {
+            mFrame = mFrameProvider.nextFrame();
+            mFramePointer = 0;
+        }
+
+        if(mFrame != null)
+        {
+            mHistory[HISTORY_LENGTH - 1] = DIBIT_LEVELS[mFrame[mFramePointer++]];
+            mKeyed = true;
+            mTrailingSymbols = HISTORY_LENGTH - 1;
+        }
+        else
+        {
+            mHistory[HISTORY_LENGTH - 1] = 0;
+
+            //Continue to render the shaped tail of the final frame before keying off
+            if(mTrailingSymbols > 0)
+            {
+                mTrailingSymbols--;
+            }
+            else
+            {
+                mKeyed = false;
+            }
+        }
+
+        if(mKeyed)
+        {
+            for(int point = 0; point < POINTS_PER_SYMBOL; point++)
+            {
+                float level = 0.0f;
+
+                for(int symbol = 0; symbol < HISTORY_LENGTH; symbol++)
+                {
+                    level += mHistory[symbol] * PULSE[point][symbol];
+                }
+
+                double frequency = mFrequencyOffset + (level * mDeviationPerLevel);
+                mPointIncrements[point] = (int)(long)(frequency * mPhaseIncrementPerHertz);
+            }
+        }
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.bits.CorrectedBinaryMessage;
+import io.github.dsheirer.edac.CRCDMR;
+import io.github.dsheirer.edac.Golay24;
+import io.github.dsheirer.edac.Hamming13;
+import io.github.dsheirer.edac.Hamming15;
+import io.github.dsheirer.edac.RS_12_9_DMR;
+import io.github.dsheirer.module.decode.dmr.bptc.BPTC_196_96;
+import io.github.dsheirer.module.decode.dmr.message.CACH;
+import io.github.dsheirer.module.decode.dmr.message.data.SlotType;
+import io.github.dsheirer.module.decode.dmr.message.data.csbk.Opcode;
+import io.github.dsheirer.module.decode.dmr.message.type.DataType;
+import io.github.dsheirer.module.decode.dmr.message.type.LCSS;
+import io.github.dsheirer.module.decode.dmr.message.voice.EMB;
+import io.github.dsheirer.module.decode.dmr.sync.DMRSyncPattern;
+import java.util.Random;
+
+/**
+ * DMR Tier III base station burst encoder for synthetic (test) signal generation.  Produces 144-dibit bursts (CACH,
+ * payload, slot type or EMB and sync) for data bursts carrying BPTC(196,96) protected CSBK, multi-block control
+ * (MBC), voice link control header, terminator and idle payloads, and for the six voice bursts (A-F) of a voice
+ * super frame, encoded so that they are decodable by the DMR decoder.
+ *
+ * Dibits are represented as integer values 0-3 where the first transmitted bit is the MSB (ie 1 = D01_PLUS_3).
+ *
+ * Note: voice bursts carry a valid sync or EMB with a pseudo-random vocoder payload and no embedded link control, so
+ * they exercise the traffic channel framing and call tracking but do not carry decodable audio.  The CACH carries
+ * short link control continuation fragments with an empty payload.
+ */
+public class DMRFrameEncoder
+{
+    public static final int BURST_DIBITS = 144;
+    private static final int BURST_BITS = BURST_DIBITS * 2;
+    private static final int CACH_LENGTH = 24;
+    private static final int PAYLOAD_1_START = 24;
+    private static final int PAYLOAD_2_START = 190;
+    private static final int PAYLOAD_1_LENGTH = 98;
+    private static final int SYNC_START = 132;
+    private static final int SYNC_LENGTH = 48;
+    private static final int EMB_1_START = 132;
+    private static final int EMB_2_START = 172;
+    private static final int VOICE_FRAME_COUNT = 6;
+    private static final int CSBK_CRC_MASK = 0xA5A5;
+    private static final int MBC_HEADER_CRC_MASK = 0xAAAA;
+    private static final int MBC_LAST_BLOCK_CRC_MASK = 0x0;
+    private static final int VOICE_LINK_CONTROL_CRC_MASK = 0x96;
+    private static final int TERMINATOR_LINK_CONTROL_CRC_MASK = 0x99;
+    private static final int ABSOLUTE_CHANNEL = 0xFFF;
+    private static final BinaryMessage VOICE_PAYLOAD = getPseudoRandomBits(BURST_BITS);
+
+    private final int mColorCode;
+
+    /**
+     * Constructs an instance
+     * @param colorCode for the slot type and EMB of each burst (0-15).
+     */
+    public DMRFrameEncoder(int colorCode)
+    {
+        mColorCode = colorCode & 0xF;
+    }
+
+    /**
+     * Creates a data burst carrying a BPTC(196,96) protected payload.
+     * @param timeslot of the burst (1 or 2)
+     * @param dataType for the slot type
+     * @param payload containing the 96-bit message with CRC or parity already applied
+     * @return burst dibits
+     */
+    public int[] getDataBurst(int timeslot, DataType dataType, BinaryMessage payload)
+    {
+        BinaryMessage burst = new BinaryMessage(BURST_BITS);
+        addCACH(burst, timeslot);
+
+        BinaryMessage bptc = encodeBPTC(payload);
+
+        for(int x = 0; x < BPTC_196_96.BPTC_LENGTH; x++)
+        {
+            if(bptc.get(x))
+            {
+                burst.set(x < PAYLOAD_1_LENGTH ? PAYLOAD_1_START + x : PAYLOAD_2_START + x - PAYLOAD_1_LENGTH);
+            }
+        }
+
+        //Slot type is a Golay(24,12) word with 4 leading pad bits, followed by color code and data type
+        CorrectedBinaryMessage slotType = new CorrectedBinaryMessage(24);
+        slotType.load(4, 4, mColorCode);
+        slotType.load(8, 4, dataType.getValue());
+        int checksum = 0;
+
+        for(int x = slotType.nextSetBit(0); x >= 0 && x < 12; x = slotType.nextSetBit(x + 1))
+        {
+            checksum ^= Golay24.CHECKSUMS[x];
+        }
+
+        slotType.load(12, 11, checksum);
+
+        if(slotType.cardinality() % 2 != 0)
+        {
+            slotType.set(23);
+        }
+
+        for(int x = 0; x < SlotType.MESSAGE_INDEXES.length; x++)
+        {
+            if(slotType.get(x + 4))
+            {
+                burst.set(SlotType.MESSAGE_INDEXES[x]);
+            }
+        }
+
+        addSync(burst, DMRSyncPattern.BASE_STATION_DATA);
+        return toDibits(burst);
+    }
+
+    /**
+     * Creates a voice burst from a voice super frame.  Burst A carries the voice sync and bursts B-F carry the EMB.
+     * @param timeslot of the burst (1 or 2)
+     * @param frame index within the super frame, 0-5 for bursts A-F
+     * @return burst dibits
+     */
+    public int[] getVoiceBurst(int timeslot, int frame)
+    {
+        BinaryMessage burst = VOICE_PAYLOAD.copy();
+        burst.clear(0, CACH_LENGTH);
+        burst.clear(SYNC_START, SYNC_START + SYNC_LENGTH);
+        addCACH(burst, timeslot);
+
+        if(frame % VOICE_FRAME_COUNT == 0)
+        {
+            addSync(burst, DMRSyncPattern.BASE_STATION_VOICE);
+        }
+        else
+        {
+            //EMB with single fragment link control start/stop, so that the decoder doesn't assemble embedded LC
+            int emb = EMB.VALID_WORDS[(mColorCode << 3) + LCSS.SINGLE_FRAGMENT.ordinal()];
+            burst.load(EMB_1_START, 8, emb >> 8);
+            burst.load(EMB_2_START, 8, emb & 0xFF);
+        }
+
+        return toDibits(burst);
+    }
+
+    /**
+     * Number of bursts in a voice super frame.
+     */
+    public static int getVoiceSuperFrameLength()
+    {
+        return VOICE_FRAME_COUNT;
+    }
+
+    /**
+     * Loads the CACH with the outbound timeslot, channel busy flag and an empty short link control continuation
+     * fragment, Hamming(7,4) protected and interleaved.
+     */
+    private static void addCACH(BinaryMessage burst, int timeslot)
+    {
+        BinaryMessage cach = new BinaryMessage(CACH_LENGTH);
+        cach.set(0);
+
+        if(timeslot == 2)
+        {
+            cach.set(1);
+        }
+
+        cach.load(2, 2, LCSS.CONTINUATION_FRAGMENT.ordinal());
+        cach.load(4, 3, CACH.getCrcChecksum(cach));
+
+        for(int x = 0; x < CACH_LENGTH; x++)
+        {
+            if(cach.get(x))
+            {
+                burst.set(CACH.INTERLEAVE_MATRIX[x]);
+            }
+        }
+    }
+
+    /**
+     * Loads the 48-bit sync pattern into the burst.
+     */
+    private static void addSync(BinaryMessage burst, DMRSyncPattern pattern)
+    {
+        burst.load(SYNC_START, 24, pattern.getPattern() >> 24);
+        burst.load(SYNC_START + 24, 24, pattern.getPattern() & 0xFFFFFF);
+    }
+
+    /**
+     * Encodes the 96-bit payload with BPTC(196,96) row Hamming(15,11) and column Hamming(13,9) parity and interleaves
+     * the result into transmit order.
+     */
+    private static BinaryMessage encodeBPTC(BinaryMessage payload)
+    {
+        CorrectedBinaryMessage matrix = new CorrectedBinaryMessage(BPTC_196_96.BPTC_LENGTH);
+        int pointer = 0;
+
+        //Data occupies the first 11 positions of rows 0-8, following the pad and reserved bits at indexes 0-3
+        for(int index = BPTC_196_96.MESSAGE_START_INDEX; index < BPTC_196_96.MAX_ORIGINAL_INDEX; index++)
+        {
+            if(((index - 1) % BPTC_196_96.COLUMN_COUNT) < 11)
+            {
+                if(payload.get(pointer))
+                {
+                    matrix.set(index);
+                }
+
+                pointer++;
+            }
+        }
+
+        //With zeroed parity, the syndrome is the calculated checksum
+        for(int row = 0; row < 9; row++)
+        {
+            int offset = (row * BPTC_196_96.COLUMN_COUNT) + 1;
+            matrix.load(offset + 11, 4, Hamming15.getSyndrome(matrix, offset));
+        }
+
+        for(int[] column: BPTC_196_96.COLUMN_INDEXES)
+        {
+            int checksum = Hamming13.getSyndrome(matrix, column);
+
+            for(int x = 0; x < 4; x++)
+            {
+                if((checksum & (0x8 >> x)) != 0)
+                {
+                    matrix.set(column[9 + x]);
+                }
+            }
+        }
+
+        BinaryMessage interleaved = new BinaryMessage(BPTC_196_96.BPTC_LENGTH);
+
+        for(int x = 0; x < BPTC_196_96.BPTC_LENGTH; x++)
+        {
+            if(matrix.get(x))
+            {
+                interleaved.set(BPTC_196_96.BPTC_DEINTERLEAVE[x]);
+            }
+        }
+
+        return interleaved;
+    }
+
+    /**
+     * Creates a single block standard CSBK with the opcode and CRC applied.
+     * @param opcode for the CSBK
+     * @param arguments containing bits 16-79 of the CSBK
+     * @return 96-bit CSBK
+     */
+    public static BinaryMessage getCSBK(Opcode opcode, long arguments)
+    {
+        BinaryMessage csbk = new BinaryMessage(96);
+        csbk.set(0);
+        csbk.load(2, 6, opcode.getValue());
+        csbk.load(16, 64, arguments);
+        applyCRC(csbk, CSBK_CRC_MASK);
+        return csbk;
+    }
+
+    /**
+     * Creates a talkgroup voice channel grant as a multi-block CSBK (header and absolute channel parameters block),
+     * so that the grant carries the traffic channel frequency.
+     * @param lcn logical channel number
+     * @param timeslot of the traffic channel (1 or 2)
+     * @param talkgroup for the call
+     * @param source radio for the call
+     * @param frequency of the traffic channel in hertz, a multiple of 125 Hz
+     * @return header and continuation block, each 96 bits with CRC applied
+     */
+    public BinaryMessage[] getTalkgroupVoiceChannelGrant(int lcn, int timeslot, int talkgroup, int source,
+                                                         long frequency)
+    {
+        BinaryMessage header = new BinaryMessage(96);
+        header.load(2, 6, Opcode.STANDARD_TALKGROUP_VOICE_CHANNEL_GRANT.getValue());
+        header.load(16, 12, ABSOLUTE_CHANNEL);
+
+        if(timeslot == 2)
+        {
+            header.set(28);
+        }
+
+        header.load(32, 24, talkgroup);
+        header.load(56, 24, source);
+        applyCRC(header, MBC_HEADER_CRC_MASK);
+
+        BinaryMessage block = new BinaryMessage(96);
+        block.set(0);
+        block.load(2, 6, Opcode.STANDARD_TALKGROUP_VOICE_CHANNEL_GRANT.getValue());
+        block.load(12, 4, mColorCode);
+        block.load(22, 12, lcn);
+        int megahertz = (int)(frequency / 1_000_000);
+        int remainder = (int)((frequency % 1_000_000) / 125);
+        block.load(34, 10, megahertz);
+        block.load(44, 13, remainder);
+        block.load(57, 10, megahertz);
+        block.load(67, 13, remainder);
+        applyCRC(block, MBC_LAST_BLOCK_CRC_MASK);
+
+        return new BinaryMessage[]{header, block};
+    }
+
+    /**
+     * Creates the group voice channel user full link control for a voice header (masked RS(12,9) parity).
+     * @param talkgroup for the call
+     * @param source radio for the call
+     * @return 96-bit link control
+     */
+    public static BinaryMessage getVoiceHeaderLinkControl(int talkgroup, int source)
+    {
+        return getGroupVoiceChannelUser(talkgroup, source, VOICE_LINK_CONTROL_CRC_MASK);
+    }
+
+    /**
+     * Creates the group voice channel user full link control for a terminator (masked RS(12,9) parity).
+     * @param talkgroup for the call
+     * @param source radio for the call
+     * @return 96-bit link control
+     */
+    public static BinaryMessage getTerminatorLinkControl(int talkgroup, int source)
+    {
+        return getGroupVoiceChannelUser(talkgroup, source, TERMINATOR_LINK_CONTROL_CRC_MASK);
+    }
+
+    /**
+     * Creates an idle burst payload.
+     */
+    public static BinaryMessage getIdle()
+    {
+        return new BinaryMessage(96);
+    }
+
+    /**
+     * Creates a group voice channel user full link control message (opcode 0) with RS(12,9) parity.
+     */
+    private static BinaryMessage getGroupVoiceChannelUser(int talkgroup, int source, int mask)
+    {
+        BinaryMessage lc = new BinaryMessage(96);
+        lc.load(24, 24, talkgroup);
+        lc.load(48, 24, source);
+        RS_12_9_DMR.encode(lc, mask);
+        return lc;
+    }
+
+    /**
+     * Calculates the CRC-CCITT over bits 0-79 and loads the masked checksum into bits 80-95.
+     */
+    private static void applyCRC(BinaryMessage message, int mask)
+    {
+        int checksum = mask;
+
+        for(int x = message.nextSetBit(0); x >= 0 && x < 80; x = message.nextSetBit(x + 1))
+        {
+            checksum ^= CRCDMR.CCITT_80_CHECKSUMS[x];
+        }
+
+        message.load(80, 16, checksum);
+    }
+
+    /**
+     * Converts the burst bits to dibits.
+     */
+    private static int[] toDibits(BinaryMessage burst)
+    {
+        int[] dibits = new int[BURST_DIBITS];
+
+        for(int x = 0; x < BURST_DIBITS; x++)
+        {
+            dibits[x] = (burst.get(x * 2) ? 2 : 0) + (burst.get(x * 2 + 1) ? 1 : 0);
+        }
+
+        return dibits;
+    }
+
+    /**
+     * Creates a repeatable pseudo-random bit sequence.
+     */
+    private static BinaryMessage getPseudoRandomBits(int length)
+    {
+        Random random = new Random(0x5EED);
+        BinaryMessage bits = new BinaryMessage(length);
+
+        for(int x = 0; x < length; x++)
+        {
+            if(random.nextBoolean())
+            {
+                bits.set(x);
+            }
+        }
+
+        return bits;
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.module.decode.dmr.message.type.DataType;
+import io.github.dsheirer.properties.SystemProperties;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Synthetic DMR Tier III trunked site generator for capacity and load testing.  Generates a wideband complex sample
+ * stream containing a 4-FSK control channel that transmits multi-block talkgroup voice channel grants on timeslot 1
+ * and a configurable number of 4-FSK two-slot traffic channels that carry a simulated call on each timeslot.
+ *
+ * Each call is announced on the control channel with a talkgroup voice channel grant that carries the absolute
+ * frequency of the traffic channel.  The traffic channel timeslot transmits voice headers, voice super frames and a
+ * terminator with link control when the call ends, and idle bursts otherwise.  The traffic channel keys off when both
+ * timeslots are idle.
+ *
+ * The channel plan uses 12.5 kHz channel spacing where channel (LCN) 0 is the control channel and channels 1 to N are
+ * traffic channels, centered on the tuned frequency.
+ *
+ * Configure via system properties:
+ * test.tuner.dmr.load.generator.enabled (default: false) - adds the load generator tuner at startup
+ * test.tuner.dmr.load.generator.frequency (default: 855000000) - center frequency in hertz
+ * test.tuner.dmr.load.generator.traffic.channels (default: 25) - number of two-slot traffic channels
+ * test.tuner.dmr.load.generator.calls.per.minute (default: 240) - mean call arrival rate
+ * test.tuner.dmr.load.generator.call.duration (default: 12000) - mean call duration in milliseconds
+ */
+public class DMRLoadGenerator extends LoadGenerator<DMRLoadGenerator.DMRCallSlot>
+{
+    private final static Logger mLog = LoggerFactory.getLogger(DMRLoadGenerator.class);
+
+    public static final String NAME = "DMR Load Generator";
+    public static final String PROPERTY_PREFIX = "test.tuner.dmr.load.generator";
+    public static final String ENABLED_PROPERTY = PROPERTY_PREFIX + ".enabled";
+
+    public static final int DEFAULT_FREQUENCY = 855_000_000;
+    private static final int DEFAULT_TRAFFIC_CHANNELS = 25;
+    private static final int DEFAULT_CALLS_PER_MINUTE = 240;
+    private static final int DEFAULT_CALL_DURATION_MS = 12_000;
+
+    private static final int COLOR_CODE = 1;
+    private static final int VOICE_HEADER_COUNT = 2;
+
+    private final DMRFrameEncoder mEncoder = new DMRFrameEncoder(COLOR_CODE);
+    private final Queue<BinaryMessage[]> mGrantQueue = new ArrayDeque<>();
+    private final int[][] mIdleBursts = new int[2][];
+    private final int[][][] mVoiceBursts = new int[2][DMRFrameEncoder.getVoiceSuperFrameLength()][];
+
+    /**
+     * Constructs an instance using the configuration from system properties.
+     */
+    public DMRLoadGenerator()
+    {
+        super(NAME, PROPERTY_PREFIX, DEFAULT_FREQUENCY, DEFAULT_TRAFFIC_CHANNELS, DEFAULT_CALLS_PER_MINUTE,
+            DEFAULT_CALL_DURATION_MS);
+
+        for(int timeslot = 1; timeslot <= 2; timeslot++)
+        {
+            mIdleBursts[timeslot - 1] = mEncoder.getDataBurst(timeslot, DataType.SLOT_IDLE, DMRFrameEncoder.getIdle());
+
+            for(int frame = 0; frame < DMRFrameEncoder.getVoiceSuperFrameLength(); frame++)
+            {
+                mVoiceBursts[timeslot - 1][frame] = mEncoder.getVoiceBurst(timeslot, frame);
+            }
+        }
+
+        float[][] lookup = C4FMModulator.getLookupTables(CARRIER_AMPLITUDE);
+        addModulator(new C4FMModulator(SAMPLE_RATE, getOffset(0), C4FMModulator.DMR_DEVIATION_PER_LEVEL, lookup[0],
+            lookup[1], new ControlChannel()));
+
+        for(int channel = 1; channel <= getTrafficChannelCount(); channel++)
+        {
+            DMRCallSlot timeslot1 = new DMRCallSlot(channel, 1);
+            DMRCallSlot timeslot2 = new DMRCallSlot(channel, 2);
+            addCallSlot(timeslot1);
+            addCallSlot(timeslot2);
+            addModulator(new C4FMModulator(SAMPLE_RATE, getOffset(channel), C4FMModulator.DMR_DEVIATION_PER_LEVEL,
+                lookup[0], lookup[1], new TrafficChannel(timeslot1, timeslot2)));
+        }
+
+        mLog.info("DMR load generator - color code: " + COLOR_CODE);
+    }
+
+    /**
+     * Indicates if the load generator tuner is enabled via system properties.
+     */
+    public static boolean isEnabled()
+    {
+        return SystemProperties.getInstance().get(ENABLED_PROPERTY, false);
+    }
+
+    /**
+     * Queues the talkgroup voice channel grant for the call.
+     */
+    @Override
+    protected void grant(DMRCallSlot callSlot)
+    {
+        BinaryMessage[] grant = mEncoder.getTalkgroupVoiceChannelGrant(callSlot.getLcn(), callSlot.getTimeslot(),
+            callSlot.getTalkgroup(), callSlot.getSource(), getChannelFrequency(callSlot.getLcn()));
+
+        for(int x = 0; x < GRANT_REPEAT_COUNT; x++)
+        {
+            mGrantQueue.add(grant);
+        }
+    }
+
+    /**
+     * Control channel burst provider.  Timeslot 1 transmits the queued multi-block channel grants as a header burst
+     * followed by the continuation block burst, and idle bursts otherwise.  Timeslot 2 transmits idle bursts.
+     */
+    private class ControlChannel implements IFrameProvider
+    {
+        private BinaryMessage mPendingBlock;
+        private boolean mTimeslot1 = true;
+
+        @Override
+        public int[] nextFrame()
+        {
+            boolean timeslot1 = mTimeslot1;
+            mTimeslot1 = !mTimeslot1;
+
+            if(!timeslot1)
+            {
+                return mIdleBursts[1];
+            }
+
+            if(mPendingBlock != null)
+            {
+                int[] burst = mEncoder.getDataBurst(1, DataType.MBC_BLOCK, mPendingBlock);
+                mPendingBlock = null;
+                return burst;
+            }
+
+            BinaryMessage[] grant = mGrantQueue.poll();
+
+            if(grant != null)
+            {
+                mPendingBlock = grant[1];
+                grantTransmitted();
+                return mEncoder.getDataBurst(1, DataType.MBC_HEADER, grant[0]);
+            }
+
+            return mIdleBursts[0];
+        }
+    }
+
+    /**
+     * Two-slot traffic channel burst provider.  Alternates timeslot 1 and 2 bursts while either timeslot has an active
+     * call and keys off when both timeslots are idle.
+     */
+    private class TrafficChannel implements IFrameProvider
+    {
+        private final DMRCallSlot mTimeslot1;
+        private final DMRCallSlot mTimeslot2;
+        private boolean mNextTimeslot1 = true;
+
+        /**
+         * Constructs an instance
+         * @param timeslot1 call slot for timeslot 1
+         * @param timeslot2 call slot for timeslot 2
+         */
+        public TrafficChannel(DMRCallSlot timeslot1, DMRCallSlot timeslot2)
+        {
+            mTimeslot1 = timeslot1;
+            mTimeslot2 = timeslot2;
+        }
+
+        @Override
+        public int[] nextFrame()
+        {
+            if(mNextTimeslot1 && !mTimeslot1.isActive() && !mTimeslot2.isActive())
+            {
+                return null;
+            }
+
+            DMRCallSlot callSlot = mNextTimeslot1 ? mTimeslot1 : mTimeslot2;
+            mNextTimeslot1 = !mNextTimeslot1;
+            return nextBurst(callSlot);
+        }
+
+        /**
+         * Next burst for the call slot: voice headers at the start of the call, voice super frames while the call is
+         * active, a terminator at the end of the super frame where the call ends and idle when the call slot is idle.
+         */
+        private int[] nextBurst(DMRCallSlot callSlot)
+        {
+            int timeslot = callSlot.getTimeslot();
+
+            if(!callSlot.isActive())
+            {
+                return mIdleBursts[timeslot - 1];
+            }
+
+            int sequence = callSlot.getSequence();
+
+            if(sequence < VOICE_HEADER_COUNT)
+            {
+                return mEncoder.getDataBurst(timeslot, DataType.VOICE_HEADER,
+                    DMRFrameEncoder.getVoiceHeaderLinkControl(callSlot.getTalkgroup(), callSlot.getSource()));
+            }
+
+            int frame = (sequence - VOICE_HEADER_COUNT) % DMRFrameEncoder.getVoiceSuperFrameLength();
+
+            if(frame == 0 && isCallComplete(callSlot))
+            {
+                endCall(callSlot);
+                return mEncoder.getDataBurst(timeslot, DataType.TLC,
+                    DMRFrameEncoder.getTerminatorLinkControl(callSlot.getTalkgroup(), callSlot.getSource()));
+            }
+
+            return mVoiceBursts[timeslot - 1][frame];
+        }
+    }
+
+    /**
+     * DMR call slot for a traffic channel timeslot.  Tracks the sequence of bursts transmitted for the call.
+     */
+    public static class DMRCallSlot extends LoadGenerator.CallSlot
+    {
+        private final int mLcn;
+        private final int mTimeslot;
+        private int mSequence;
+
+        /**
+         * Constructs an instance
+         * @param lcn logical channel number
+         * @param timeslot 1 or 2
+         */
+        public DMRCallSlot(int lcn, int timeslot)
+        {
+            mLcn = lcn;
+            mTimeslot = timeslot;
+        }
+
+        public int getLcn()
+        {
+            return mLcn;
+        }
+
+        public int getTimeslot()
+        {
+            return mTimeslot;
+        }
+
+        /**
+         * Sequence number of the next burst for the call, post-incremented.
+         */
+        int getSequence()
+        {
+            return mSequence++;
+        }
+
+        @Override
+        protected void start(int talkgroup, int source, long callEnd)
+        {
+            mSequence = 0;
+            super.start(talkgroup, source, callEnd);
+        }
+    }
+}
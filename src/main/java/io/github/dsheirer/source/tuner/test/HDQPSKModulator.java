@@ -0,0 +1,265 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.dsp.symbol.Dibit;
+
+/**
+ * H-DQPSK (pi/4 differential QPSK) modulator that modulates a stream of 6000 symbol per second dibit frames (P25
+ * Phase 2 TDMA) onto a carrier at a frequency offset within a wideband complex sample stream.
+ *
+ * Each dibit advances the carrier phase by the ideal phase of the dibit (+/-45 or +/-135 degrees).  The complex
+ * symbols are shaped with a raised cosine (alpha 0.2) pulse evaluated at 20 points per symbol and the baseband is
+ * linearly interpolated between shaping points and mixed to the carrier offset with a phase accumulator and
+ * sine/cosine lookup table.  When the frame provider has no frame available, the carrier is keyed off and the channel
+ * contributes no samples until the provider produces another frame.
+ */
+public class HDQPSKModulator implements IModulator
+{
+    private static final int SYMBOL_RATE = 6000;
+    private static final int POINTS_PER_SYMBOL = 20;
+    private static final int PULSE_SPAN = 4;
+    private static final int HISTORY_LENGTH = (2 * PULSE_SPAN) + 1;
+    private static final int LOOKUP_BITS = 12;
+    private static final int LOOKUP_SHIFT = 32 - LOOKUP_BITS;
+    private static final float[][] LOOKUP = C4FMModulator.getLookupTables(1.0f);
+    private static final float[][] PULSE = getPulse();
+    private static final float[][] PHASE_CHANGE = getPhaseChanges();
+
+    private final IFrameProvider mFrameProvider;
+    private final float mAmplitude;
+    private final int mPhaseIncrement;
+    private final double mSamplesPerPoint;
+    private final float[] mHistoryI = new float[HISTORY_LENGTH];
+    private final float[] mHistoryQ = new float[HISTORY_LENGTH];
+    private float mSymbolI = 1.0f;
+    private float mSymbolQ = 0.0f;
+    private float mCurrentI;
+    private float mCurrentQ;
+    private float mIncrementI;
+    private float mIncrementQ;
+    private int[] mFrame;
+    private int mFramePointer;
+    private int mPoint = POINTS_PER_SYMBOL;
+    private int mPointSamplesRemaining;
+    private double mPointSampleResidual;
+    private int mPhase;
+    private int mTrailingSymbols;
+    private boolean mKeyed;
+
+    /**
+     * Constructs an instance
+     * @param sampleRate of the wideband sample stream
+     * @param frequencyOffset of the carrier relative to the center of the sample stream
+     * @param amplitude of the carrier
+     * @param frameProvider to supply dibit frames
+     */
+    public HDQPSKModulator(double sampleRate, double frequencyOffset, float amplitude, IFrameProvider frameProvider)
+    {
+        mAmplitude = amplitude;
+        mFrameProvider = frameProvider;
+        mPhaseIncrement = (int)(long)(frequencyOffset * Math.pow(2.0, 32) / sampleRate);
+        mSamplesPerPoint = sampleRate / (SYMBOL_RATE * POINTS_PER_SYMBOL);
+    }
+
+    /**
+     * Raised cosine pulse values indexed by [point within symbol][history symbol] where history symbol 4 is the
+     * symbol being rendered.
+     */
+    private static float[][] getPulse()
+    {
+        float[][] pulse = new float[POINTS_PER_SYMBOL][HISTORY_LENGTH];
+
+        for(int point = 0; point < POINTS_PER_SYMBOL; point++)
+        {
+            for(int symbol = 0; symbol < HISTORY_LENGTH; symbol++)
+            {
+                double t = ((double)point / POINTS_PER_SYMBOL) - 0.5 - (symbol - PULSE_SPAN);
+                pulse[point][symbol] = (float)C4FMModulator.raisedCosine(t);
+            }
+        }
+
+        return pulse;
+    }
+
+    /**
+     * Phase change rotation (cosine, sine) for each dibit value indexed by [dibit value][0=cosine,1=sine].
+     */
+    private static float[][] getPhaseChanges()
+    {
+        float[][] changes = new float[4][2];
+
+        for(int x = 0; x < 4; x++)
+        {
+            double phase = Dibit.fromValue(x).getIdealPhase();
+            changes[x][0] = (float)Math.cos(phase);
+            changes[x][1] = (float)Math.sin(phase);
+        }
+
+        return changes;
+    }
+
+    @Override
+    public void modulate(float[] samples)
+    {
+        int sampleCount = samples.length / 2;
+        int sample = 0;
+
+        while(sample < sampleCount)
+        {
+            if(mPointSamplesRemaining == 0)
+            {
+                nextPoint();
+            }
+
+            int count = Math.min(mPointSamplesRemaining, sampleCount - sample);
+
+            if(mKeyed)
+            {
+                float[] cosine = LOOKUP[0];
+                float[] sine = LOOKUP[1];
+                float basebandI = mCurrentI;
+                float basebandQ = mCurrentQ;
+                int phase = mPhase;
+                int index = sample * 2;
+
+                for(int x = 0; x < count; x++)
+                {
+                    basebandI += mIncrementI;
+                    basebandQ += mIncrementQ;
+                    phase += mPhaseIncrement;
+                    int lookup = phase >>> LOOKUP_SHIFT;
+                    samples[index++] += (basebandI * cosine[lookup]) - (basebandQ * sine[lookup]);
+                    samples[index++] += (basebandI * sine[lookup]) + (basebandQ * cosine[lookup]);
+                }
+
+                mCurrentI = basebandI;
+                mCurrentQ = basebandQ;
+                mPhase = phase;
+            }
+            else
+            {
+                mPhase += mPhaseIncrement * count;
+            }
+
+            sample += count;
+            mPointSamplesRemaining -= count;
+        }
+    }
+
+    /**
+     * Advances to the next shaping point, loading the next symbol when the current symbol is complete, and calculates
+     * the baseband increments to linearly interpolate from the current baseband value to the shaping point value.
+     */
+    private void nextPoint()
+    {
+        mPoint++;
+
+        if(mPoint >= POINTS_PER_SYMBOL)
+        {
+            mPoint = 0;
+            nextSymbol();
+        }
+
+        mPointSampleResidual += mSamplesPerPoint;
+        mPointSamplesRemaining = (int)mPointSampleResidual;
+        mPointSampleResidual -= mPointSamplesRemaining;
+
+        if(mKeyed)
+        {
+            float targetI = 0.0f;
+            float targetQ = 0.0f;
+            float[] pulse = PULSE[mPoint];
+
+            for(int symbol = 0; symbol < HISTORY_LENGTH; symbol++)
+            {
+                targetI += mHistoryI[symbol] * pulse[symbol];
+                targetQ += mHistoryQ[symbol] * pulse[symbol];
+            }
+
+            if(mPointSamplesRemaining > 0)
+            {
+                mIncrementI = (targetI - mCurrentI) / mPointSamplesRemaining;
+                mIncrementQ = (targetQ - mCurrentQ) / mPointSamplesRemaining;
+            }
+            else
+            {
+                mCurrentI = targetI;
+                mCurrentQ = targetQ;
+            }
+        }
+    }
+
+    /**
+     * Loads the next symbol into the shaping history, rotating the carrier phase reference by the phase change of the
+     * next dibit.
+     */
+    private void nextSymbol()
+    {
+        System.arraycopy(mHistoryI, 1, mHistoryI, 0, HISTORY_LENGTH - 1);
+        System.arraycopy(mHistoryQ, 1, mHistoryQ, 0, HISTORY_LENGTH - 1);
+
+        if(mFrame == null || mFramePointer >= mFrame.length)
+        {
+            mFrame = mFrameProvider.nextFrame();
+            mFramePointer = 0;
+        }
+
+        if(mFrame != null)
+        {
+            float[] change = PHASE_CHANGE[mFrame[mFramePointer++]];
+            float i = (mSymbolI * change[0]) - (mSymbolQ * change[1]);
+            float q = (mSymbolI * change[1]) + (mSymbolQ * change[0]);
+
+            //Normalize to prevent the magnitude from drifting over a long run of symbols
+            float magnitude = (float)Math.sqrt((i * i) + (q * q));
+            mSymbolI = i / magnitude;
+            mSymbolQ = q / magnitude;
+            mHistoryI[HISTORY_LENGTH - 1] = mSymbolI * mAmplitude;
+            mHistoryQ[HISTORY_LENGTH - 1] = mSymbolQ * mAmplitude;
+
+            if(!mKeyed)
+            {
+                mCurrentI = 0.0f;
+                mCurrentQ = 0.0f;
+            }
+
+            mKeyed = true;
+            mTrailingSymbols = HISTORY_LENGTH - 1;
+        }
+        else
+        {
+            mHistoryI[HISTORY_LENGTH - 1] = 0.0f;
+            mHistoryQ[HISTORY_LENGTH - 1] = 0.0f;
+
+            //Continue to render the shaped tail of the final frame before keying off
+            if(mTrailingSymbols > 0)
+            {
+                mTrailingSymbols--;
+            }
+            else if(mKeyed)
+            {
+                mKeyed = false;
+                mIncrementI = 0.0f;
+                mIncrementQ = 0.0f;
+            }
+        }
+    }
+}
@@ -0,0 +1,571 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.buffer.FloatNativeBuffer;
+import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.properties.SystemProperties;
+import io.github.dsheirer.sample.Broadcaster;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.util.ThreadPool;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base synthetic trunked site generator for capacity and load testing.  Generates a wideband complex sample stream
+ * containing a noise floor and the carriers of the modulators registered by the protocol specific sub-class.
+ *
+ * Calls arrive according to a Poisson process at the configured calls per minute rate with exponentially distributed
+ * call durations (minimum 1 second).  Each call is assigned to a random idle call slot (a traffic channel or a
+ * traffic channel timeslot) and the sub-class is notified to announce the call on the control channel.  Calls that
+ * arrive when all call slots are busy are counted as blocked.
+ *
+ * The channel plan uses 12.5 kHz channel spacing where channel 0 is the control channel and channels 1 to N are
+ * traffic channels, centered on the tuned frequency.  Call statistics are logged periodically so that the number of
+ * grants issued by the generator can be compared to the traffic channels allocated by the decoder.
+ *
+ * @param <T> call slot type
+ */
+public abstract class LoadGenerator<T extends LoadGenerator.CallSlot>
+{
+    private final static Logger mLog = LoggerFactory.getLogger(LoadGenerator.class);
+
+    public static final int SAMPLE_RATE = 2_400_000;
+    protected static final int CHANNEL_SPACING = 12_500;
+    protected static final int TALKGROUP_COUNT = 4000;
+    protected static final int GRANT_REPEAT_COUNT = 2;
+    protected static final float CARRIER_AMPLITUDE = 0.01f;
+    private static final int MINIMUM_CALL_DURATION_MS = 1_000;
+    private static final int GENERATION_INTERVAL_MS = 50;
+    private static final int SAMPLES_PER_INTERVAL = SAMPLE_RATE / 1000 * GENERATION_INTERVAL_MS;
+    private static final double USABLE_BANDWIDTH = 0.8;
+    private static final long STATUS_LOG_INTERVAL_MS = 30_000;
+    private static final float NOISE_AMPLITUDE = 0.0005f;
+    private static final int NOISE_TABLE_SIZE = 1 << 17;
+
+    protected final Random mRandom = new Random();
+    private final String mName;
+    private final Broadcaster<INativeBuffer> mNativeBufferBroadcaster = new Broadcaster<>();
+    private final List<IModulator> mModulators = new ArrayList<>();
+    private final List<T> mCallSlots = new ArrayList<>();
+    private final Set<Integer> mActiveTalkgroups = new HashSet<>();
+    private final float[] mNoise = new float[NOISE_TABLE_SIZE];
+    private final AtomicLong mCallCount = new AtomicLong();
+    private final AtomicLong mGrantCount = new AtomicLong();
+    private final AtomicLong mBlockedCount = new AtomicLong();
+    private final long mFrequency;
+    private final long mBaseFrequency;
+    private final int mTrafficChannelCount;
+    private final double mCallsPerSample;
+    private final double mMeanCallDurationSamples;
+    private long mSampleCounter;
+    private long mNextCallArrival;
+    private long mNextStatusLog;
+    private ScheduledFuture<?> mScheduledFuture;
+
+    /**
+     * Constructs an instance using the configuration from system properties with the property prefix.
+     * @param name of the generator for logging
+     * @param propertyPrefix for the frequency, traffic.channels, calls.per.minute and call.duration properties
+     * @param defaultFrequency in hertz
+     * @param defaultTrafficChannels count
+     * @param defaultCallsPerMinute mean call arrival rate
+     * @param defaultCallDuration mean call duration in milliseconds
+     */
+    protected LoadGenerator(String name, String propertyPrefix, int defaultFrequency, int defaultTrafficChannels,
+                            int defaultCallsPerMinute, int defaultCallDuration)
+    {
+        mName = name;
+        SystemProperties properties = SystemProperties.getInstance();
+        mFrequency = properties.get(propertyPrefix + ".frequency", defaultFrequency);
+
+        int maxTrafficChannels = (int)(SAMPLE_RATE * USABLE_BANDWIDTH / CHANNEL_SPACING) - 1;
+        int trafficChannels = properties.get(propertyPrefix + ".traffic.channels", defaultTrafficChannels);
+
+        if(trafficChannels < 1 || trafficChannels > maxTrafficChannels)
+        {
+            mLog.warn(mName + " traffic channel count [" + trafficChannels + "] is outside the supported range of 1 - " +
+                maxTrafficChannels + " - using " + Math.min(Math.max(trafficChannels, 1), maxTrafficChannels));
+            trafficChannels = Math.min(Math.max(trafficChannels, 1), maxTrafficChannels);
+        }
+
+        mTrafficChannelCount = trafficChannels;
+
+        int callsPerMinute = Math.max(properties.get(propertyPrefix + ".calls.per.minute", defaultCallsPerMinute), 1);
+        int callDuration = Math.max(properties.get(propertyPrefix + ".call.duration", defaultCallDuration),
+            MINIMUM_CALL_DURATION_MS);
+        mCallsPerSample = callsPerMinute / (60.0 * SAMPLE_RATE);
+        mMeanCallDurationSamples = callDuration / 1000.0 * SAMPLE_RATE;
+
+        //Center the channel plan on the tuned frequency, aligned to 125 Hz so that the channel frequencies can be
+        //represented by both the P25 identifier update (5 Hz) and the DMR absolute channel (125 Hz) resolutions
+        long baseFrequency = mFrequency - ((long)trafficChannels * CHANNEL_SPACING / 2);
+        mBaseFrequency = baseFrequency - (baseFrequency % 125);
+
+        for(int x = 0; x < NOISE_TABLE_SIZE; x++)
+        {
+            mNoise[x] = (float)(mRandom.nextGaussian() * NOISE_AMPLITUDE);
+        }
+
+        mNextCallArrival = getNextCallInterval();
+
+        mLog.info(mName + " - control channel: " + getControlChannelFrequency() + " traffic channels: " +
+            trafficChannels + " calls/minute: " + callsPerMinute + " mean call duration: " + callDuration + " ms");
+    }
+
+    /**
+     * Name of the generator
+     */
+    public String getName()
+    {
+        return mName;
+    }
+
+    /**
+     * Center frequency of the generated sample stream.
+     */
+    public long getFrequency()
+    {
+        return mFrequency;
+    }
+
+    /**
+     * Sample rate of the generated sample stream.
+     */
+    public double getSampleRate()
+    {
+        return SAMPLE_RATE;
+    }
+
+    /**
+     * Number of complex samples in each generated buffer.
+     */
+    public int getSamplesPerInterval()
+    {
+        return SAMPLES_PER_INTERVAL;
+    }
+
+    /**
+     * Frequency of the control channel.
+     */
+    public long getControlChannelFrequency()
+    {
+        return getChannelFrequency(0);
+    }
+
+    /**
+     * Total number of calls started by the generator.
+     */
+    public long getCallCount()
+    {
+        return mCallCount.get();
+    }
+
+    /**
+     * Total number of channel grants transmitted on the control channel.
+     */
+    public long getGrantCount()
+    {
+        return mGrantCount.get();
+    }
+
+    /**
+     * Total number of calls that arrived when all call slots were busy.
+     */
+    public long getBlockedCount()
+    {
+        return mBlockedCount.get();
+    }
+
+    /**
+     * Current number of active calls.
+     */
+    public int getActiveCallCount()
+    {
+        int count = 0;
+
+        for(T callSlot: mCallSlots)
+        {
+            if(callSlot.isActive())
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Maximum number of simultaneous calls.
+     */
+    public int getCallCapacity()
+    {
+        return mCallSlots.size();
+    }
+
+    /**
+     * Number of traffic channels in the channel plan.
+     */
+    protected int getTrafficChannelCount()
+    {
+        return mTrafficChannelCount;
+    }
+
+    /**
+     * Base frequency of the channel plan (ie channel 0).
+     */
+    protected long getBaseFrequency()
+    {
+        return mBaseFrequency;
+    }
+
+    /**
+     * Frequency of the channel number.
+     */
+    protected long getChannelFrequency(int channel)
+    {
+        return mBaseFrequency + ((long)channel * CHANNEL_SPACING);
+    }
+
+    /**
+     * Frequency offset of the channel number relative to the center frequency.
+     */
+    protected double getOffset(int channel)
+    {
+        return getChannelFrequency(channel) - mFrequency;
+    }
+
+    /**
+     * Current sample count, used as the generator clock.
+     */
+    protected long getSampleCounter()
+    {
+        return mSampleCounter;
+    }
+
+    /**
+     * Registers a modulator to contribute a carrier to the generated samples.
+     */
+    protected void addModulator(IModulator modulator)
+    {
+        mModulators.add(modulator);
+    }
+
+    /**
+     * Registers a call slot that can be assigned calls.
+     */
+    protected void addCallSlot(T callSlot)
+    {
+        mCallSlots.add(callSlot);
+    }
+
+    /**
+     * Call slots registered with this generator
+     */
+    protected List<T> getCallSlots()
+    {
+        return mCallSlots;
+    }
+
+    /**
+     * Counts a channel grant transmitted on the control channel.
+     */
+    protected void grantTransmitted()
+    {
+        mGrantCount.incrementAndGet();
+    }
+
+    /**
+     * Indicates if the call duration for the active call slot has elapsed.
+     */
+    protected boolean isCallComplete(T callSlot)
+    {
+        return mSampleCounter >= callSlot.getCallEnd();
+    }
+
+    /**
+     * Ends the call on the call slot and releases the talkgroup so that it can be assigned to another call.
+     */
+    protected void endCall(T callSlot)
+    {
+        callSlot.setActive(false);
+        mActiveTalkgroups.remove(callSlot.getTalkgroup());
+    }
+
+    /**
+     * Announces a call that was assigned to the call slot, typically by queueing channel grants on the control
+     * channel.
+     */
+    protected abstract void grant(T callSlot);
+
+    /**
+     * Exponentially distributed interval until the next call arrival, in samples.
+     */
+    private long getNextCallInterval()
+    {
+        return (long)(-Math.log(1.0 - mRandom.nextDouble()) / mCallsPerSample);
+    }
+
+    /**
+     * Exponentially distributed call duration, in samples.
+     */
+    private long getCallDuration()
+    {
+        long duration = (long)(-Math.log(1.0 - mRandom.nextDouble()) * mMeanCallDurationSamples);
+        return Math.max(duration, (long)MINIMUM_CALL_DURATION_MS * SAMPLE_RATE / 1000);
+    }
+
+    /**
+     * Starts a new call on an idle call slot and announces the call, or counts the call as blocked when all call
+     * slots are busy.
+     */
+    private void startCall()
+    {
+        mCallCount.incrementAndGet();
+
+        int offset = mRandom.nextInt(mCallSlots.size());
+
+        for(int x = 0; x < mCallSlots.size(); x++)
+        {
+            T callSlot = mCallSlots.get((offset + x) % mCallSlots.size());
+
+            if(!callSlot.isActive())
+            {
+                callSlot.start(getIdleTalkgroup(), 1 + mRandom.nextInt(0xFFFFFE), mSampleCounter + getCallDuration());
+                grant(callSlot);
+                return;
+            }
+        }
+
+        mBlockedCount.incrementAndGet();
+    }
+
+    /**
+     * Selects a random talkgroup that is not currently active on another call slot.
+     */
+    private int getIdleTalkgroup()
+    {
+        int talkgroup = 1 + mRandom.nextInt(TALKGROUP_COUNT);
+
+        while(mActiveTalkgroups.contains(talkgroup))
+        {
+            talkgroup = 1 + mRandom.nextInt(TALKGROUP_COUNT);
+        }
+
+        mActiveTalkgroups.add(talkgroup);
+        return talkgroup;
+    }
+
+    /**
+     * Starts the generator producing samples
+     */
+    private void start()
+    {
+        if(mScheduledFuture == null)
+        {
+            mScheduledFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(new Generator(), 0, GENERATION_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+        }
+        else
+        {
+            throw new IllegalStateException(mName + " is already started");
+        }
+    }
+
+    /**
+     * Stops the generator from producing samples
+     */
+    private void stop()
+    {
+        if(mScheduledFuture != null)
+        {
+            mScheduledFuture.cancel(true);
+            mScheduledFuture = null;
+        }
+        else
+        {
+            throw new IllegalStateException(mName + " is already stopped");
+        }
+    }
+
+    /**
+     * Registers the listener to receive samples and auto-starts the generator if this is the first listener.
+     *
+     * @param listener to receive complex sample buffers
+     */
+    public void addListener(Listener<INativeBuffer> listener)
+    {
+        mNativeBufferBroadcaster.addListener(listener);
+
+        if(mNativeBufferBroadcaster.getListenerCount() == 1)
+        {
+            start();
+        }
+    }
+
+    /**
+     * Removes the listener and stops the generator if there are no more listeners.
+     */
+    public void removeListener(Listener<INativeBuffer> listener)
+    {
+        mNativeBufferBroadcaster.removeListener(listener);
+
+        if(mNativeBufferBroadcaster.getListenerCount() == 0)
+        {
+            stop();
+        }
+    }
+
+    /**
+     * Generates a buffer of samples containing the noise floor and each keyed channel.
+     */
+    private float[] generate()
+    {
+        float[] samples = new float[SAMPLES_PER_INTERVAL * 2];
+
+        //Copy the noise floor from the pre-calculated gaussian noise table, starting at a random offset
+        int noiseOffset = mRandom.nextInt(NOISE_TABLE_SIZE);
+        int pointer = 0;
+
+        while(pointer < samples.length)
+        {
+            int length = Math.min(samples.length - pointer, NOISE_TABLE_SIZE - noiseOffset);
+            System.arraycopy(mNoise, noiseOffset, samples, pointer, length);
+            pointer += length;
+            noiseOffset = 0;
+        }
+
+        for(IModulator modulator: mModulators)
+        {
+            modulator.modulate(samples);
+        }
+
+        mSampleCounter += SAMPLES_PER_INTERVAL;
+
+        while(mSampleCounter >= mNextCallArrival)
+        {
+            startCall();
+            mNextCallArrival += getNextCallInterval();
+        }
+
+        return samples;
+    }
+
+    /**
+     * Logs the call statistics.
+     */
+    private void logStatus()
+    {
+        mLog.info(mName + " - calls: " + getCallCount() + " grants: " + getGrantCount() + " blocked: " +
+            getBlockedCount() + " active: " + getActiveCallCount() + "/" + getCallCapacity());
+    }
+
+    /**
+     * Generates a complex sample buffer and distributes the buffer to registered listeners
+     */
+    public class Generator implements Runnable
+    {
+        @Override
+        public void run()
+        {
+            try
+            {
+                if(mNativeBufferBroadcaster.hasListeners())
+                {
+                    float[] samples = generate();
+                    long now = System.currentTimeMillis();
+                    mNativeBufferBroadcaster.broadcast(new FloatNativeBuffer(samples, now, SAMPLE_RATE / 1000.0f));
+
+                    if(now >= mNextStatusLog)
+                    {
+                        if(mNextStatusLog > 0)
+                        {
+                            logStatus();
+                        }
+
+                        mNextStatusLog = now + STATUS_LOG_INTERVAL_MS;
+                    }
+                }
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Error generating " + mName + " samples", t);
+            }
+        }
+    }
+
+    /**
+     * Call slot (traffic channel or traffic channel timeslot) that can carry one call at a time.
+     */
+    public static class CallSlot
+    {
+        private int mTalkgroup;
+        private int mSource;
+        private long mCallEnd;
+        private volatile boolean mActive;
+
+        public int getTalkgroup()
+        {
+            return mTalkgroup;
+        }
+
+        public int getSource()
+        {
+            return mSource;
+        }
+
+        public long getCallEnd()
+        {
+            return mCallEnd;
+        }
+
+        public boolean isActive()
+        {
+            return mActive;
+        }
+
+        void setActive(boolean active)
+        {
+            mActive = active;
+        }
+
+        /**
+         * Starts a call on this call slot.  Sub-classes can override to reset the call transmit sequence.
+         * @param talkgroup for the call
+         * @param source radio for the call
+         * @param callEnd sample count when the call ends
+         */
+        protected void start(int talkgroup, int source, long callEnd)
+        {
+            mTalkgroup = talkgroup;
+            mSource = source;
+            mCallEnd = callEnd;
+            mActive = true;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.source.tuner.ITunerErrorListener;
+import io.github.dsheirer.source.tuner.Tuner;
+import io.github.dsheirer.source.tuner.TunerClass;
+import io.github.dsheirer.source.tuner.TunerType;
+import io.github.dsheirer.source.tuner.manager.TestPolyphaseChannelSourceManager;
+
+/**
+ * Testing tuner that produces a synthetic trunked site (control channel plus traffic channels with simulated calls)
+ * from a load generator for capacity and load testing without live RF.
+ */
+public class LoadGeneratorTuner extends Tuner
+{
+    /**
+     * Constructs an instance
+     * @param loadGenerator to produce samples
+     * @param tunerErrorListener to receive errors
+     */
+    public LoadGeneratorTuner(LoadGenerator<?> loadGenerator, ITunerErrorListener tunerErrorListener)
+    {
+        super(new LoadGeneratorTunerController(loadGenerator), tunerErrorListener);
+        setChannelSourceManager(new TestPolyphaseChannelSourceManager(getTunerController()));
+    }
+
+    /**
+     * Returns the tuner controller cast as a load generator tuner controller.
+     */
+    public LoadGeneratorTunerController getTunerController()
+    {
+        return (LoadGeneratorTunerController)super.getTunerController();
+    }
+
+    @Override
+    public String getPreferredName()
+    {
+        return getTunerController().getLoadGenerator().getName();
+    }
+
+    @Override
+    public String getUniqueID()
+    {
+        return getPreferredName();
+    }
+
+    @Override
+    public TunerClass getTunerClass()
+    {
+        return TunerClass.TEST_TUNER;
+    }
+
+    @Override
+    public TunerType getTunerType()
+    {
+        return TunerType.TEST;
+    }
+
+    @Override
+    public double getSampleSize()
+    {
+        return 16.0;
+    }
+
+    @Override
+    public int getMaximumUSBBitsPerSecond()
+    {
+        return 0;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.source.SourceException;
+import io.github.dsheirer.source.tuner.LoggingTunerErrorListener;
+import io.github.dsheirer.source.tuner.TunerController;
+import io.github.dsheirer.source.tuner.TunerType;
+import io.github.dsheirer.source.tuner.configuration.TunerConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tuner controller for a synthetic load generator.  The center frequency and sample rate are fixed by the
+ * generator channel plan.
+ */
+public class LoadGeneratorTunerController extends TunerController
+{
+    private final static Logger mLog = LoggerFactory.getLogger(LoadGeneratorTunerController.class);
+
+    public static final long MINIMUM_FREQUENCY = 1l;
+    public static final long MAXIMUM_FREQUENCY = 3_000_000_000l;
+    public static final int DC_NOISE_BANDWIDTH = 0;
+    public static final double USABLE_BANDWIDTH_PERCENTAGE = 0.80;
+
+    private final LoadGenerator<?> mLoadGenerator;
+
+    /**
+     * Constructs an instance
+     * @param loadGenerator to produce samples
+     */
+    public LoadGeneratorTunerController(LoadGenerator<?> loadGenerator)
+    {
+        super(new LoggingTunerErrorListener());
+
+        setMinimumFrequency(MINIMUM_FREQUENCY);
+        setMaximumFrequency(MAXIMUM_FREQUENCY);
+        setMiddleUnusableHalfBandwidth(DC_NOISE_BANDWIDTH);
+        setUsableBandwidthPercentage(USABLE_BANDWIDTH_PERCENTAGE);
+
+        mLoadGenerator = loadGenerator;
+
+        try
+        {
+            mFrequencyController.setFrequency(mLoadGenerator.getFrequency());
+            mFrequencyController.setSampleRate((int)mLoadGenerator.getSampleRate());
+        }
+        catch(Exception e)
+        {
+            mLog.error("Error setting " + mLoadGenerator.getName() + " frequency and sample rate", e);
+        }
+    }
+
+    /**
+     * Load generator that produces the samples for this tuner controller
+     */
+    public LoadGenerator<?> getLoadGenerator()
+    {
+        return mLoadGenerator;
+    }
+
+    @Override
+    public int getBufferSampleCount()
+    {
+        return mLoadGenerator.getSamplesPerInterval();
+    }
+
+    @Override
+    public void start() throws SourceException
+    {
+        //No-op
+    }
+
+    @Override
+    public void stop()
+    {
+        //No-op
+    }
+
+    @Override
+    public TunerType getTunerType()
+    {
+        return TunerType.TEST;
+    }
+
+    @Override
+    public void addBufferListener(Listener<INativeBuffer> listener)
+    {
+        mLoadGenerator.addListener(listener);
+    }
+
+    @Override
+    public void removeBufferListener(Listener<INativeBuffer> listener)
+    {
+        mLoadGenerator.removeListener(listener);
+    }
+
+    @Override
+    public void apply(TunerConfiguration config) throws SourceException
+    {
+        mLog.error("Request to apply tuner configuration was ignored");
+    }
+
+    /**
+     * Current center frequency for this tuner
+     */
+    @Override
+    public long getTunedFrequency() throws SourceException
+    {
+        return mLoadGenerator.getFrequency();
+    }
+
+    /**
+     * Ignored - the center frequency is fixed by the load generator channel plan.
+     */
+    @Override
+    public void setTunedFrequency(long frequency) throws SourceException
+    {
+        if(frequency != mLoadGenerator.getFrequency())
+        {
+            mLog.warn("Request to change " + mLoadGenerator.getName() + " center frequency to [" + frequency +
+                "] was ignored");
+        }
+    }
+
+    /**
+     * Current sample rate for this tuner controller
+     */
+    @Override
+    public double getCurrentSampleRate()
+    {
+        return mLoadGenerator.getSampleRate();
+    }
+}
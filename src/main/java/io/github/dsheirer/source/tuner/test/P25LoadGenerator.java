@@ -0,0 +1,438 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.properties.SystemProperties;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Synthetic APCO-25 trunked site generator for capacity and load testing.  Generates a wideband complex sample stream
+ * containing a Phase 1 C4FM control channel that broadcasts site status and group voice channel grants and a
+ * configurable number of traffic channels that carry simulated calls.
+ *
+ * In Phase 1 mode, each traffic channel is a C4FM FDMA channel that carries one call.  Calls are announced on the
+ * control channel with a group voice channel grant and are then maintained with grant updates while the traffic
+ * channel transmits LDU1/LDU2 frames, followed by a TDU when the call ends.
+ *
+ * In Phase 2 mode, each traffic channel is an H-DQPSK two-slot TDMA channel that carries a call on each timeslot.  The
+ * control channel additionally broadcasts a TDMA identifier update and grants reference the TDMA channel number for
+ * the timeslot.  Each timeslot transmits MAC PTT, voice timeslots and MAC END PTT for a call and MAC IDLE otherwise,
+ * and the channel keys off when both timeslots are idle.
+ *
+ * The channel plan uses identifier (band) 1 (and band 2 for TDMA channels) with 12.5 kHz channel spacing where
+ * channel 0 is the control channel and channels 1 to N are traffic channels, centered on the tuned frequency.
+ *
+ * Configure via system properties:
+ * test.tuner.p25.load.generator.enabled (default: false) - adds the load generator tuner at startup
+ * test.tuner.p25.load.generator.phase2 (default: false) - use Phase 2 TDMA traffic channels
+ * test.tuner.p25.load.generator.frequency (default: 851000000) - center frequency in hertz
+ * test.tuner.p25.load.generator.traffic.channels (default: 50) - number of traffic channels
+ * test.tuner.p25.load.generator.calls.per.minute (default: 240) - mean call arrival rate
+ * test.tuner.p25.load.generator.call.duration (default: 12000) - mean call duration in milliseconds
+ */
+public class P25LoadGenerator extends LoadGenerator<P25LoadGenerator.P25CallSlot>
+{
+    private final static Logger mLog = LoggerFactory.getLogger(P25LoadGenerator.class);
+
+    public static final String NAME = "P25 Load Generator";
+    public static final String PROPERTY_PREFIX = "test.tuner.p25.load.generator";
+    public static final String ENABLED_PROPERTY = PROPERTY_PREFIX + ".enabled";
+    public static final String PHASE2_PROPERTY = PROPERTY_PREFIX + ".phase2";
+
+    public static final int DEFAULT_FREQUENCY = 851_000_000;
+    private static final int DEFAULT_TRAFFIC_CHANNELS = 50;
+    private static final int DEFAULT_CALLS_PER_MINUTE = 240;
+    private static final int DEFAULT_CALL_DURATION_MS = 12_000;
+
+    private static final int BAND = 1;
+    private static final int TDMA_BAND = 2;
+    private static final int NAC = 0x293;
+    private static final int WACN = 0xBEE00;
+    private static final int SYSTEM = 0x2A1;
+    private static final int RFSS = 1;
+    private static final int SITE = 1;
+    private static final int MAC_MESSAGE_REPEAT_COUNT = 2;
+
+    private final P25P1FrameEncoder mEncoder = new P25P1FrameEncoder(NAC);
+    private final Queue<BinaryMessage> mGrantQueue = new ArrayDeque<>();
+    private final Queue<BinaryMessage> mBroadcastQueue = new ArrayDeque<>();
+    private final boolean mPhase2;
+    private final int[] mLDU1Frame;
+    private final int[] mLDU2Frame;
+    private final int[] mTDUFrame;
+    private long mNextBroadcast;
+    private int mUpdatePointer;
+
+    /**
+     * Constructs an instance using the configuration from system properties.
+     */
+    public P25LoadGenerator()
+    {
+        super(NAME, PROPERTY_PREFIX, DEFAULT_FREQUENCY, DEFAULT_TRAFFIC_CHANNELS, DEFAULT_CALLS_PER_MINUTE,
+            DEFAULT_CALL_DURATION_MS);
+
+        mPhase2 = SystemProperties.getInstance().get(PHASE2_PROPERTY, false);
+        mLDU1Frame = mEncoder.getLDU(true);
+        mLDU2Frame = mEncoder.getLDU(false);
+        mTDUFrame = mEncoder.getTDU();
+
+        float[][] lookup = C4FMModulator.getLookupTables(CARRIER_AMPLITUDE);
+        addModulator(new C4FMModulator(SAMPLE_RATE, getOffset(0), lookup[0], lookup[1], new ControlChannel()));
+
+        for(int channel = 1; channel <= getTrafficChannelCount(); channel++)
+        {
+            if(mPhase2)
+            {
+                //TDMA channel numbers address each timeslot: physical channel * 2 + (timeslot - 1)
+                P25CallSlot timeslot1 = new P25CallSlot(TDMA_BAND, channel * 2);
+                P25CallSlot timeslot2 = new P25CallSlot(TDMA_BAND, channel * 2 + 1);
+                addCallSlot(timeslot1);
+                addCallSlot(timeslot2);
+                addModulator(new HDQPSKModulator(SAMPLE_RATE, getOffset(channel), CARRIER_AMPLITUDE,
+                    new TDMATrafficChannel(timeslot1, timeslot2)));
+            }
+            else
+            {
+                P25CallSlot callSlot = new P25CallSlot(BAND, channel);
+                addCallSlot(callSlot);
+                addModulator(new C4FMModulator(SAMPLE_RATE, getOffset(channel), lookup[0], lookup[1],
+                    new TrafficChannel(callSlot)));
+            }
+        }
+
+        mLog.info("P25 load generator - NAC: " + Integer.toHexString(NAC).toUpperCase() + " traffic channels: " +
+            (mPhase2 ? "Phase 2 TDMA" : "Phase 1 FDMA"));
+    }
+
+    /**
+     * Indicates if the load generator tuner is enabled via system properties.
+     */
+    public static boolean isEnabled()
+    {
+        return SystemProperties.getInstance().get(ENABLED_PROPERTY, false);
+    }
+
+    /**
+     * Queues the group voice channel grant for the call.
+     */
+    @Override
+    protected void grant(P25CallSlot callSlot)
+    {
+        BinaryMessage grant = P25P1FrameEncoder.getGroupVoiceChannelGrant(callSlot.getBand(), callSlot.getChannel(),
+            callSlot.getTalkgroup(), callSlot.getSource());
+
+        for(int x = 0; x < GRANT_REPEAT_COUNT; x++)
+        {
+            mGrantQueue.add(grant);
+        }
+    }
+
+    /**
+     * Creates a grant update TSBK for the next one or two active calls, or null if there are no active calls.
+     */
+    private BinaryMessage getNextGrantUpdate()
+    {
+        List<P25CallSlot> callSlots = getCallSlots();
+        P25CallSlot first = null;
+
+        for(int x = 0; x < callSlots.size(); x++)
+        {
+            P25CallSlot callSlot = callSlots.get(mUpdatePointer++ % callSlots.size());
+
+            if(callSlot.isActive())
+            {
+                if(first == null)
+                {
+                    first = callSlot;
+                }
+                else
+                {
+                    return P25P1FrameEncoder.getGroupVoiceChannelGrantUpdate(first.getBand(), first.getChannel(),
+                        first.getTalkgroup(), callSlot.getBand(), callSlot.getChannel(), callSlot.getTalkgroup());
+                }
+            }
+        }
+
+        if(first != null)
+        {
+            return P25P1FrameEncoder.getGroupVoiceChannelGrantUpdate(first.getBand(), first.getChannel(),
+                first.getTalkgroup(), first.getBand(), first.getChannel(), first.getTalkgroup());
+        }
+
+        return null;
+    }
+
+    /**
+     * Control channel frame provider.  Each TSDU carries up to three TSBKs, prioritized as queued channel grants,
+     * then the periodic site status broadcasts and then grant updates for active calls.
+     */
+    private class ControlChannel implements IFrameProvider
+    {
+        private final BinaryMessage mIdentifierUpdate = P25P1FrameEncoder.getIdentifierUpdate(BAND,
+            getBaseFrequency(), CHANNEL_SPACING);
+        private final BinaryMessage mIdentifierUpdateTDMA = P25P1FrameEncoder.getIdentifierUpdateTDMA(TDMA_BAND,
+            getBaseFrequency(), CHANNEL_SPACING);
+        private final BinaryMessage mNetworkStatus = P25P1FrameEncoder.getNetworkStatusBroadcast(WACN, SYSTEM, BAND, 0);
+        private final BinaryMessage mRFSSStatus = P25P1FrameEncoder.getRFSSStatusBroadcast(SYSTEM, RFSS, SITE, BAND, 0);
+
+        @Override
+        public int[] nextFrame()
+        {
+            if(getSampleCounter() >= mNextBroadcast)
+            {
+                mBroadcastQueue.add(mIdentifierUpdate);
+
+                if(mPhase2)
+                {
+                    mBroadcastQueue.add(mIdentifierUpdateTDMA);
+                }
+
+                mBroadcastQueue.add(mNetworkStatus);
+                mBroadcastQueue.add(mRFSSStatus);
+                mNextBroadcast = getSampleCounter() + SAMPLE_RATE;
+            }
+
+            List<BinaryMessage> tsbks = new ArrayList<>(3);
+
+            while(tsbks.size() < 3 && !mGrantQueue.isEmpty())
+            {
+                tsbks.add(mGrantQueue.poll());
+                grantTransmitted();
+            }
+
+            while(tsbks.size() < 3 && !mBroadcastQueue.isEmpty())
+            {
+                tsbks.add(mBroadcastQueue.poll());
+            }
+
+            while(tsbks.size() < 3)
+            {
+                BinaryMessage update = getNextGrantUpdate();
+
+                if(update == null)
+                {
+                    break;
+                }
+
+                tsbks.add(update);
+            }
+
+            if(tsbks.isEmpty())
+            {
+                tsbks.add(mNetworkStatus);
+            }
+
+            return mEncoder.getTSDU(tsbks.toArray(new BinaryMessage[0]));
+        }
+    }
+
+    /**
+     * Phase 1 traffic channel frame provider.  Transmits alternating LDU1 and LDU2 frames while a call is active and a
+     * TDU when the call ends, and then keys off until the next call is assigned to the channel.
+     */
+    private class TrafficChannel implements IFrameProvider
+    {
+        private final P25CallSlot mCallSlot;
+
+        /**
+         * Constructs an instance
+         * @param callSlot for the channel
+         */
+        public TrafficChannel(P25CallSlot callSlot)
+        {
+            mCallSlot = callSlot;
+        }
+
+        @Override
+        public int[] nextFrame()
+        {
+            if(!mCallSlot.isActive())
+            {
+                return null;
+            }
+
+            if(isCallComplete(mCallSlot))
+            {
+                endCall(mCallSlot);
+                return mTDUFrame;
+            }
+
+            return mCallSlot.getSequence() % 2 == 0 ? mLDU1Frame : mLDU2Frame;
+        }
+    }
+
+    /**
+     * Phase 2 two-slot TDMA traffic channel frame provider.  Transmits a super frame fragment carrying two timeslots
+     * for each logical channel while either timeslot has an active call, and keys off when both timeslots are idle.
+     */
+    private class TDMATrafficChannel implements IFrameProvider
+    {
+        private final P25P2FrameEncoder mP2Encoder = new P25P2FrameEncoder(WACN, SYSTEM, NAC);
+        private final BinaryMessage mIdleTimeslot = mP2Encoder.getFacchTimeslot(P25P2FrameEncoder.getIdle());
+        private final BinaryMessage mVoiceTimeslot = P25P2FrameEncoder.getVoiceTimeslot();
+        private final P25CallSlot mTimeslot1;
+        private final P25CallSlot mTimeslot2;
+        private BinaryMessage mPushToTalk1;
+        private BinaryMessage mPushToTalk2;
+        private int mFragmentCounter;
+        private boolean mKeyed;
+
+        /**
+         * Constructs an instance
+         * @param timeslot1 call slot for logical channel 1
+         * @param timeslot2 call slot for logical channel 2
+         */
+        public TDMATrafficChannel(P25CallSlot timeslot1, P25CallSlot timeslot2)
+        {
+            mTimeslot1 = timeslot1;
+            mTimeslot2 = timeslot2;
+        }
+
+        @Override
+        public int[] nextFrame()
+        {
+            if(!mTimeslot1.isActive() && !mTimeslot2.isActive())
+            {
+                mKeyed = false;
+                return null;
+            }
+
+            if(!mKeyed)
+            {
+                mKeyed = true;
+                mFragmentCounter = 0;
+            }
+
+            BinaryMessage[] channel1 = {nextTimeslot(mTimeslot1), nextTimeslot(mTimeslot1)};
+            BinaryMessage[] channel2 = {nextTimeslot(mTimeslot2), nextTimeslot(mTimeslot2)};
+
+            int fragment = mFragmentCounter % P25P2FrameEncoder.FRAGMENTS_PER_SUPERFRAME;
+            int superframe = (mFragmentCounter / P25P2FrameEncoder.FRAGMENTS_PER_SUPERFRAME) % 4;
+            mFragmentCounter++;
+            return mP2Encoder.getFragment(fragment, superframe, channel1, channel2);
+        }
+
+        /**
+         * Next timeslot for the call slot: MAC PTT at the start of the call, voice while the call is active, MAC END
+         * PTT when the call ends and MAC IDLE when the call slot is idle.
+         */
+        private BinaryMessage nextTimeslot(P25CallSlot callSlot)
+        {
+            if(!callSlot.isActive())
+            {
+                return mIdleTimeslot;
+            }
+
+            int sequence = callSlot.getSequence();
+
+            if(sequence < MAC_MESSAGE_REPEAT_COUNT)
+            {
+                return mP2Encoder.getFacchTimeslot(P25P2FrameEncoder.getPushToTalk(callSlot.getTalkgroup(),
+                    callSlot.getSource()));
+            }
+
+            if(callSlot.getEndSequence() < 0)
+            {
+                if(!isCallComplete(callSlot))
+                {
+                    return mVoiceTimeslot;
+                }
+
+                callSlot.setEndSequence(sequence);
+            }
+
+            if(sequence - callSlot.getEndSequence() == MAC_MESSAGE_REPEAT_COUNT - 1)
+            {
+                endCall(callSlot);
+            }
+
+            return mP2Encoder.getFacchTimeslot(mP2Encoder.getEndPushToTalk(callSlot.getTalkgroup(),
+                callSlot.getSource()));
+        }
+    }
+
+    /**
+     * P25 call slot for an FDMA traffic channel or a TDMA traffic channel timeslot.  Tracks the sequence of frames or
+     * timeslots transmitted for the call.
+     */
+    public static class P25CallSlot extends LoadGenerator.CallSlot
+    {
+        private final int mBand;
+        private final int mChannel;
+        private int mSequence;
+        private int mEndSequence;
+
+        /**
+         * Constructs an instance
+         * @param band identifier for the channel
+         * @param channel number, or TDMA channel number for a timeslot
+         */
+        public P25CallSlot(int band, int channel)
+        {
+            mBand = band;
+            mChannel = channel;
+        }
+
+        public int getBand()
+        {
+            return mBand;
+        }
+
+        public int getChannel()
+        {
+            return mChannel;
+        }
+
+        /**
+         * Sequence number of the next frame or timeslot for the call, post-incremented.
+         */
+        int getSequence()
+        {
+            return mSequence++;
+        }
+
+        /**
+         * Sequence number of the first call termination timeslot, or -1 if the call is not ending.
+         */
+        int getEndSequence()
+        {
+            return mEndSequence;
+        }
+
+        void setEndSequence(int endSequence)
+        {
+            mEndSequence = endSequence;
+        }
+
+        @Override
+        protected void start(int talkgroup, int source, long callEnd)
+        {
+            mSequence = 0;
+            mEndSequence = -1;
+            super.start(talkgroup, source, callEnd);
+        }
+    }
+}
@@ -0,0 +1,462 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.edac.CRCP25;
+import io.github.dsheirer.edac.trellis.P25_1_2_Node;
+import io.github.dsheirer.module.decode.p25.phase1.P25P1DataUnitID;
+import io.github.dsheirer.module.decode.p25.phase1.P25P1Interleave;
+import io.github.dsheirer.module.decode.p25.phase1.message.tsbk.Opcode;
+import io.github.dsheirer.module.decode.p25.reference.ChannelType;
+import java.util.Random;
+
+/**
+ * APCO-25 Phase 1 frame encoder for synthetic (test) signal generation.  Produces framed dibit sequences (sync, NID,
+ * payload and status symbols) for Trunking Signaling Data Units (TSDU), Logical Link Data Units (LDU1/LDU2) and
+ * Terminator Data Units (TDU), encoded so that they are decodable by the P25 Phase 1 decoder.
+ *
+ * Dibits are represented as integer values 0-3 where the first transmitted bit is the MSB (ie 1 = D01_PLUS_3).
+ *
+ * Note: LDU frames carry a valid sync and NID with a pseudo-random voice/link control payload.  They exercise the
+ * traffic channel demodulation and framing path but do not carry decodable link control or audio.
+ */
+public class P25P1FrameEncoder
+{
+    private static final long SYNC = 0x5575F5FF77FFl;
+    private static final int STATUS_SYMBOL_INTERVAL = 35;
+    private static final int STATUS_SYMBOL = 1; //D01_PLUS_3 - outbound channel idle
+    private static final long NID_GENERATOR = getNIDGeneratorPolynomial();
+    private static final int[] LDU_PAYLOAD = getPseudoRandomDibits(P25P1DataUnitID.LOGICAL_LINK_DATA_UNIT_1
+            .getMessageLength() / 2);
+
+    private final int mNAC;
+
+    /**
+     * Constructs an instance
+     * @param nac network access code for the NID of each frame.
+     */
+    public P25P1FrameEncoder(int nac)
+    {
+        mNAC = nac & 0xFFF;
+    }
+
+    /**
+     * Creates a TSDU frame with up to three TSBK messages.  The last block flag is set on the final message.
+     * @param tsbks containing 80-bit TSBK messages (opcode, vendor and arguments) without CRC.
+     * @return framed dibits
+     */
+    public int[] getTSDU(BinaryMessage... tsbks)
+    {
+        int[] dibits = new int[56 + (98 * tsbks.length)];
+        int pointer = addSyncAndNID(dibits, P25P1DataUnitID.TRUNKING_SIGNALING_BLOCK_1.getValue());
+
+        for(int x = 0; x < tsbks.length; x++)
+        {
+            BinaryMessage encoded = encodeTSBK(tsbks[x], x == tsbks.length - 1);
+
+            for(int y = 0; y < 196; y += 2)
+            {
+                dibits[pointer++] = (encoded.get(y) ? 2 : 0) + (encoded.get(y + 1) ? 1 : 0);
+            }
+        }
+
+        return insertStatusSymbols(dibits);
+    }
+
+    /**
+     * Creates an LDU1 or LDU2 voice frame with a pseudo-random payload.
+     * @param ldu1 true for LDU1 or false for LDU2
+     * @return framed dibits
+     */
+    public int[] getLDU(boolean ldu1)
+    {
+        P25P1DataUnitID duid = ldu1 ? P25P1DataUnitID.LOGICAL_LINK_DATA_UNIT_1 :
+                P25P1DataUnitID.LOGICAL_LINK_DATA_UNIT_2;
+        int[] dibits = new int[56 + LDU_PAYLOAD.length];
+        int pointer = addSyncAndNID(dibits, duid.getValue());
+        System.arraycopy(LDU_PAYLOAD, 0, dibits, pointer, LDU_PAYLOAD.length);
+        return insertStatusSymbols(dibits);
+    }
+
+    /**
+     * Creates a TDU (terminator) frame.
+     * @return framed dibits
+     */
+    public int[] getTDU()
+    {
+        int[] dibits = new int[56 + (P25P1DataUnitID.TERMINATOR_DATA_UNIT.getMessageLength() / 2)];
+        addSyncAndNID(dibits, P25P1DataUnitID.TERMINATOR_DATA_UNIT.getValue());
+        return insertStatusSymbols(dibits);
+    }
+
+    /**
+     * Loads the frame sync and the BCH encoded network identifier (NID) into the dibit array.
+     * @return pointer to the next dibit following the NID.
+     */
+    private int addSyncAndNID(int[] dibits, int duid)
+    {
+        int pointer = 0;
+
+        for(int shift = 46; shift >= 0; shift -= 2)
+        {
+            dibits[pointer++] = (int)((SYNC >> shift) & 0x3);
+        }
+
+        long nid = getNID(mNAC, duid);
+
+        for(int shift = 62; shift >= 0; shift -= 2)
+        {
+            dibits[pointer++] = (int)((nid >> shift) & 0x3);
+        }
+
+        return pointer;
+    }
+
+    /**
+     * Inserts a status symbol after each 35 dibits, counted from the start of the frame, including a trailing status
+     * symbol when the frame ends on a status symbol boundary.
+     */
+    private static int[] insertStatusSymbols(int[] dibits)
+    {
+        int[] framed = new int[dibits.length + (dibits.length / STATUS_SYMBOL_INTERVAL)];
+        int pointer = 0;
+
+        for(int x = 0; x < dibits.length; x++)
+        {
+            framed[pointer++] = dibits[x];
+
+            if((x + 1) % STATUS_SYMBOL_INTERVAL == 0)
+            {
+                framed[pointer++] = STATUS_SYMBOL;
+            }
+        }
+
+        return framed;
+    }
+
+    /**
+     * Creates the 64-bit NID containing the NAC, DUID, BCH(63,16,23) parity and an overall even parity bit.
+     * @param nac network access code
+     * @param duid data unit identifier
+     * @return NID with the first transmitted bit in bit position 63.
+     */
+    public static long getNID(int nac, int duid)
+    {
+        long message = ((long)(nac & 0xFFF) << 4) | (duid & 0xF);
+        long codeword = message << 47;
+        long remainder = codeword;
+
+        for(int bit = 62; bit >= 47; bit--)
+        {
+            if((remainder & (1l << bit)) != 0)
+            {
+                remainder ^= NID_GENERATOR << (bit - 47);
+            }
+        }
+
+        codeword |= remainder;
+
+        return (codeword << 1) | (Long.bitCount(codeword) & 1);
+    }
+
+    /**
+     * Calculates the generator polynomial for the narrow-sense BCH(63,16,23) code over GF(2^6) with primitive
+     * polynomial x6 + x + 1, as the product of the minimal polynomials for roots a^1 through a^22.
+     *
+     * @return generator polynomial (degree 47) with coefficient N in bit position N.
+     */
+    private static long getNIDGeneratorPolynomial()
+    {
+        int[] exp = new int[63];
+        int value = 1;
+
+        for(int x = 0; x < 63; x++)
+        {
+            exp[x] = value;
+            value <<= 1;
+
+            if((value & 0x40) != 0)
+            {
+                value ^= 0x43;
+            }
+        }
+
+        //Collect the cyclotomic closure of the roots
+        boolean[] roots = new boolean[63];
+
+        for(int x = 1; x <= 22; x++)
+        {
+            int root = x;
+
+            while(!roots[root])
+            {
+                roots[root] = true;
+                root = (root * 2) % 63;
+            }
+        }
+
+        //Polynomial coefficients over GF(2^6), stored as field element values
+        int[] polynomial = new int[64];
+        polynomial[0] = 1;
+        int degree = 0;
+
+        for(int root = 0; root < 63; root++)
+        {
+            if(roots[root])
+            {
+                //Multiply by (x + a^root)
+                for(int x = degree + 1; x > 0; x--)
+                {
+                    polynomial[x] = polynomial[x - 1] ^ multiply(polynomial[x], exp[root], exp);
+                }
+
+                polynomial[0] = multiply(polynomial[0], exp[root], exp);
+                degree++;
+            }
+        }
+
+        long generator = 0;
+
+        for(int x = 0; x <= degree; x++)
+        {
+            if(polynomial[x] != 0)
+            {
+                generator |= (1l << x);
+            }
+        }
+
+        return generator;
+    }
+
+    /**
+     * Multiplies two GF(2^6) field elements.
+     */
+    private static int multiply(int a, int b, int[] exp)
+    {
+        if(a == 0 || b == 0)
+        {
+            return 0;
+        }
+
+        return exp[(log(a, exp) + log(b, exp)) % 63];
+    }
+
+    /**
+     * Logarithm of a non-zero GF(2^6) field element.
+     */
+    private static int log(int a, int[] exp)
+    {
+        for(int x = 0; x < 63; x++)
+        {
+            if(exp[x] == a)
+            {
+                return x;
+            }
+        }
+
+        throw new IllegalArgumentException("Field element must be non-zero");
+    }
+
+    /**
+     * Applies the CRC-CCITT checksum, 1/2 rate trellis coding and interleaving to a TSBK message.
+     * @param tsbk with 80 message bits
+     * @param lastBlock to set the last block flag
+     * @return 196-bit encoded and interleaved block.
+     */
+    public static BinaryMessage encodeTSBK(BinaryMessage tsbk, boolean lastBlock)
+    {
+        BinaryMessage message = new BinaryMessage(96);
+
+        for(int x = tsbk.nextSetBit(0); x >= 0 && x < 80; x = tsbk.nextSetBit(x + 1))
+        {
+            message.set(x);
+        }
+
+        if(lastBlock)
+        {
+            message.set(0);
+        }
+        else
+        {
+            message.clear(0);
+        }
+
+        int checksum = 0xFFFF;
+
+        for(int x = message.nextSetBit(0); x >= 0 && x < 80; x = message.nextSetBit(x + 1))
+        {
+            checksum ^= CRCP25.CCITT_80_CHECKSUMS[x];
+        }
+
+        message.load(80, 16, checksum);
+
+        //1/2 rate trellis encoder - 48 input dibits plus a flushing dibit produce 49 four-bit constellation points
+        BinaryMessage encoded = new BinaryMessage(196);
+        int state = 0;
+
+        for(int x = 0; x < 49; x++)
+        {
+            int input = 0;
+
+            if(x < 48)
+            {
+                input = (message.get(x * 2) ? 2 : 0) + (message.get(x * 2 + 1) ? 1 : 0);
+            }
+
+            encoded.load(x * 4, 4, P25_1_2_Node.TRANSITION_MATRIX[state][input]);
+            state = input;
+        }
+
+        BinaryMessage interleaved = new BinaryMessage(196);
+
+        for(int x = 0; x < 196; x++)
+        {
+            if(encoded.get(P25P1Interleave.DATA_DEINTERLEAVE[x]))
+            {
+                interleaved.set(x);
+            }
+        }
+
+        return interleaved;
+    }
+
+    /**
+     * Creates an empty 80-bit outbound TSBK message with the opcode loaded.
+     */
+    private static BinaryMessage getTSBK(Opcode opcode)
+    {
+        BinaryMessage tsbk = new BinaryMessage(80);
+        tsbk.load(2, 6, opcode.getCode());
+        return tsbk;
+    }
+
+    /**
+     * Creates a group voice channel grant TSBK.
+     */
+    public static BinaryMessage getGroupVoiceChannelGrant(int band, int channel, int group, int source)
+    {
+        BinaryMessage tsbk = getTSBK(Opcode.OSP_GROUP_VOICE_CHANNEL_GRANT);
+        tsbk.load(24, 4, band);
+        tsbk.load(28, 12, channel);
+        tsbk.load(40, 16, group);
+        tsbk.load(56, 24, source);
+        return tsbk;
+    }
+
+    /**
+     * Creates a group voice channel grant update TSBK for one or two channel/group pairs.
+     */
+    public static BinaryMessage getGroupVoiceChannelGrantUpdate(int bandA, int channelA, int groupA, int bandB,
+                                                                int channelB, int groupB)
+    {
+        BinaryMessage tsbk = getTSBK(Opcode.OSP_GROUP_VOICE_CHANNEL_GRANT_UPDATE);
+        tsbk.load(16, 4, bandA);
+        tsbk.load(20, 12, channelA);
+        tsbk.load(32, 16, groupA);
+        tsbk.load(48, 4, bandB);
+        tsbk.load(52, 12, channelB);
+        tsbk.load(64, 16, groupB);
+        return tsbk;
+    }
+
+    /**
+     * Creates an identifier update (IDEN_UP) TSBK for an FDMA frequency band with no transmit offset.
+     * @param band identifier 0-15
+     * @param baseFrequency in hertz
+     * @param channelSpacing in hertz
+     */
+    public static BinaryMessage getIdentifierUpdate(int band, long baseFrequency, int channelSpacing)
+    {
+        BinaryMessage tsbk = getTSBK(Opcode.OSP_IDENTIFIER_UPDATE);
+        tsbk.load(16, 4, band);
+        tsbk.load(20, 9, 12500 / 125);
+        tsbk.load(30, 8, 0x80);
+        tsbk.load(38, 10, channelSpacing / 125);
+        tsbk.load(48, 32, baseFrequency / 5);
+        return tsbk;
+    }
+
+    /**
+     * Creates an identifier update TDMA (IDEN_UP_TDMA) TSBK for a two-slot TDMA frequency band with no transmit offset.
+     * Channel numbers in the band identify the timeslot, where the frequency is the base frequency plus the channel
+     * spacing multiplied by channel / 2, and the timeslot is (channel % 2) + 1.
+     * @param band identifier 0-15
+     * @param baseFrequency in hertz
+     * @param channelSpacing in hertz
+     */
+    public static BinaryMessage getIdentifierUpdateTDMA(int band, long baseFrequency, int channelSpacing)
+    {
+        BinaryMessage tsbk = getTSBK(Opcode.OSP_IDENTIFIER_UPDATE_TDMA);
+        tsbk.load(16, 4, band);
+        tsbk.load(20, 4, ChannelType.TYPE_3.ordinal());
+        tsbk.load(25, 13, 0x80);
+        tsbk.load(38, 10, channelSpacing / 125);
+        tsbk.load(48, 32, baseFrequency / 5);
+        return tsbk;
+    }
+
+    /**
+     * Creates a network status broadcast TSBK.
+     */
+    public static BinaryMessage getNetworkStatusBroadcast(int wacn, int system, int band, int channel)
+    {
+        BinaryMessage tsbk = getTSBK(Opcode.OSP_NETWORK_STATUS_BROADCAST);
+        tsbk.load(16, 8, 1);
+        tsbk.load(24, 20, wacn);
+        tsbk.load(44, 12, system);
+        tsbk.load(56, 4, band);
+        tsbk.load(60, 12, channel);
+        tsbk.load(72, 8, 0x70);
+        return tsbk;
+    }
+
+    /**
+     * Creates an RFSS status broadcast TSBK.
+     */
+    public static BinaryMessage getRFSSStatusBroadcast(int system, int rfss, int site, int band, int channel)
+    {
+        BinaryMessage tsbk = getTSBK(Opcode.OSP_RFSS_STATUS_BROADCAST);
+        tsbk.load(16, 8, 1);
+        tsbk.load(28, 12, system);
+        tsbk.load(40, 8, rfss);
+        tsbk.load(48, 8, site);
+        tsbk.load(56, 4, band);
+        tsbk.load(60, 12, channel);
+        tsbk.load(72, 8, 0x70);
+        return tsbk;
+    }
+
+    /**
+     * Creates a fixed pseudo-random dibit sequence.
+     */
+    private static int[] getPseudoRandomDibits(int length)
+    {
+        Random random = new Random(25);
+        int[] dibits = new int[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            dibits[x] = random.nextInt(4);
+        }
+
+        return dibits;
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.dsp.symbol.FrameSync;
+import io.github.dsheirer.edac.CRCP25;
+import io.github.dsheirer.edac.ReedSolomon_63_35_29_P25;
+import io.github.dsheirer.module.decode.p25.phase2.enumeration.DataUnitID;
+import io.github.dsheirer.module.decode.p25.phase2.enumeration.LCHType;
+import io.github.dsheirer.module.decode.p25.phase2.message.isch.ISCHDecoder;
+import io.github.dsheirer.module.decode.p25.phase2.message.mac.MacPduType;
+import io.github.dsheirer.module.decode.p25.phase2.timeslot.ScramblingSequence;
+import java.util.Random;
+
+/**
+ * APCO-25 Phase 2 TDMA traffic channel encoder for synthetic (test) signal generation.  Produces 720-dibit super frame
+ * fragments (I-ISCH, S-ISCH sync and four scrambled timeslots) for the two logical channels of a TDMA voice channel,
+ * encoded so that they are decodable by the P25 Phase 2 decoder.
+ *
+ * Timeslots are created unscrambled with the data unit ID embedded and are scrambled with the WACN/System/NAC
+ * scrambling sequence when they are placed into a fragment.  Signaling timeslots carry a FACCH with RS(63,35)
+ * protected MAC PTT, MAC END PTT or MAC IDLE PDUs.
+ *
+ * Dibits are represented as integer values 0-3 where the first transmitted bit is the MSB (ie 1 = D01_PLUS_3).
+ *
+ * Note: voice timeslots are 4V timeslots with a pseudo-random vocoder payload and no ESS, so they exercise the traffic
+ * channel framing and call tracking but do not carry decodable audio.
+ */
+public class P25P2FrameEncoder
+{
+    public static final int FRAGMENT_DIBITS = 720;
+    public static final int FRAGMENTS_PER_SUPERFRAME = 3;
+    public static final int TIMESLOT_LENGTH = 320;
+    private static final int FRAGMENT_BITS = FRAGMENT_DIBITS * 2;
+    private static final int ISCH_LENGTH = 40;
+    private static final int[] ISCH_STARTS = {0, 360};
+    private static final int[] SYNC_STARTS = {720, 1080};
+    private static final int[] TIMESLOT_STARTS = {40, 400, 760, 1120};
+    private static final int[] DUID_INDEXES = {0, 1, 74, 75, 244, 245, 318, 319};
+    private static final long ISCH_CODE_WORD_OFFSET = 0x184229d461l;
+    private static final int MAC_PDU_LENGTH = 156;
+    private static final int MAC_CRC_START = 144;
+    private static final int FACCH_INFO_SYMBOLS = 26;
+    private static final int FACCH_PARITY_SYMBOLS = 19;
+    private static final int FACCH_FIRST_PARITY = 27;
+    private static final int[] FACCH_INDEXES = getFacchIndexes();
+    private static final int UNENCRYPTED = 0x80;
+    private static final BinaryMessage VOICE_PAYLOAD = getPseudoRandomBits(TIMESLOT_LENGTH);
+
+    private final ScramblingSequence mScramblingSequence = new ScramblingSequence();
+    private final ReedSolomon_63_35_29_P25 mReedSolomon = new ReedSolomon_63_35_29_P25();
+    private final int mNAC;
+
+    /**
+     * Constructs an instance
+     * @param wacn for the scrambling sequence
+     * @param system for the scrambling sequence
+     * @param nac for the scrambling sequence and MAC END PTT color code
+     */
+    public P25P2FrameEncoder(int wacn, int system, int nac)
+    {
+        mNAC = nac & 0xFFF;
+        mScramblingSequence.update(wacn, system, mNAC);
+    }
+
+    /**
+     * Creates a super frame fragment.  Fragments 1 and 2 carry the timeslots in channel order 1, 2, 1, 2 and the final
+     * fragment carries the timeslots in channel order 1, 2, 2, 1.
+     *
+     * @param fragment index within the super frame (0-2)
+     * @param superframe sequence counter (0-3)
+     * @param channel1 the two timeslots for logical channel 1, in transmit order
+     * @param channel2 the two timeslots for logical channel 2, in transmit order
+     * @return fragment dibits
+     */
+    public int[] getFragment(int fragment, int superframe, BinaryMessage[] channel1, BinaryMessage[] channel2)
+    {
+        BinaryMessage message = new BinaryMessage(FRAGMENT_BITS);
+
+        for(int channel = 0; channel < 2; channel++)
+        {
+            BinaryMessage isch = new BinaryMessage(9);
+            isch.load(0, 2, LCHType.VCH.ordinal());
+            isch.load(2, 2, channel);
+            isch.load(4, 2, fragment);
+            isch.load(7, 2, superframe);
+            message.load(ISCH_STARTS[channel], ISCH_LENGTH, ISCHDecoder.getCodeWord(isch) ^ ISCH_CODE_WORD_OFFSET);
+        }
+
+        for(int sync: SYNC_STARTS)
+        {
+            message.load(sync, ISCH_LENGTH, FrameSync.P25_PHASE2_NORMAL.getSync());
+        }
+
+        boolean finalFragment = fragment == FRAGMENTS_PER_SUPERFRAME - 1;
+        BinaryMessage[] timeslots = {channel1[0], channel2[0], finalFragment ? channel2[1] : channel1[1],
+            finalFragment ? channel1[1] : channel2[1]};
+
+        for(int x = 0; x < timeslots.length; x++)
+        {
+            BinaryMessage scrambled = new BinaryMessage(TIMESLOT_LENGTH);
+            scrambled.xor(timeslots[x]);
+
+            if(!isUnscrambled(timeslots[x]))
+            {
+                scrambled.xor(mScramblingSequence.getTimeslotSequence((fragment * 4) + x));
+            }
+
+            //The data unit ID is not scrambled
+            for(int index: DUID_INDEXES)
+            {
+                scrambled.set(index, timeslots[x].get(index));
+            }
+
+            for(int y = scrambled.nextSetBit(0); y >= 0 && y < TIMESLOT_LENGTH; y = scrambled.nextSetBit(y + 1))
+            {
+                message.set(TIMESLOT_STARTS[x] + y);
+            }
+        }
+
+        return toDibits(message);
+    }
+
+    /**
+     * Indicates if the timeslot carries an unscrambled data unit ID.
+     */
+    private static boolean isUnscrambled(BinaryMessage timeslot)
+    {
+        int duid = 0;
+
+        for(int index: DUID_INDEXES)
+        {
+            duid = (duid << 1) | (timeslot.get(index) ? 1 : 0);
+        }
+
+        return duid == DataUnitID.UNSCRAMBLED_FACCH.getValueWithParity() ||
+            duid == DataUnitID.UNSCRAMBLED_SACCH.getValueWithParity() ||
+            duid == DataUnitID.UNSCRAMBLED_LCCH.getValueWithParity();
+    }
+
+    /**
+     * Creates an unscrambled 4V voice timeslot with a pseudo-random vocoder payload.
+     */
+    public static BinaryMessage getVoiceTimeslot()
+    {
+        BinaryMessage timeslot = new BinaryMessage(TIMESLOT_LENGTH);
+        timeslot.xor(VOICE_PAYLOAD);
+        setDataUnitID(timeslot, DataUnitID.VOICE_4);
+        return timeslot;
+    }
+
+    /**
+     * Creates an unscrambled FACCH timeslot carrying the RS(63,35) encoded MAC PDU.  The data unit ID indicates a
+     * scrambled FACCH so that the timeslot is scrambled when it is placed into a fragment.
+     * @param macPdu 156-bit MAC PDU with CRC-12 applied
+     */
+    public BinaryMessage getFacchTimeslot(BinaryMessage macPdu)
+    {
+        int[] codeword = new int[63];
+
+        for(int x = 0; x < FACCH_INFO_SYMBOLS; x++)
+        {
+            codeword[FACCH_FIRST_PARITY + FACCH_INFO_SYMBOLS - x] = macPdu.getInt(x * 6, x * 6 + 5);
+        }
+
+        mReedSolomon.encode(codeword);
+
+        BinaryMessage timeslot = new BinaryMessage(TIMESLOT_LENGTH);
+
+        //Transmit order is information symbols 1-26 (codeword 53-28) then parity symbols 1-19 (codeword 27-9)
+        for(int symbol = 0; symbol < FACCH_INFO_SYMBOLS + FACCH_PARITY_SYMBOLS; symbol++)
+        {
+            int value = codeword[FACCH_FIRST_PARITY + FACCH_INFO_SYMBOLS - symbol];
+
+            for(int bit = 0; bit < 6; bit++)
+            {
+                if((value & (0x20 >> bit)) != 0)
+                {
+                    timeslot.set(FACCH_INDEXES[symbol * 6 + bit]);
+                }
+            }
+        }
+
+        setDataUnitID(timeslot, DataUnitID.SCRAMBLED_FACCH);
+        return timeslot;
+    }
+
+    /**
+     * Creates a MAC PTT PDU for an unencrypted group call.
+     */
+    public static BinaryMessage getPushToTalk(int group, int source)
+    {
+        BinaryMessage pdu = getMacPdu(MacPduType.MAC_1_PTT);
+        pdu.load(80, 8, UNENCRYPTED);
+        pdu.load(104, 24, source);
+        pdu.load(128, 16, group);
+        applyCRC(pdu);
+        return pdu;
+    }
+
+    /**
+     * Creates a MAC END PTT PDU for a group call.
+     */
+    public BinaryMessage getEndPushToTalk(int group, int source)
+    {
+        BinaryMessage pdu = getMacPdu(MacPduType.MAC_2_END_PTT);
+        pdu.load(12, 12, mNAC);
+        pdu.load(104, 24, source);
+        pdu.load(128, 16, group);
+        applyCRC(pdu);
+        return pdu;
+    }
+
+    /**
+     * Creates a MAC IDLE PDU carrying a null information message.
+     */
+    public static BinaryMessage getIdle()
+    {
+        BinaryMessage pdu = getMacPdu(MacPduType.MAC_3_IDLE);
+        applyCRC(pdu);
+        return pdu;
+    }
+
+    /**
+     * Creates an empty MAC PDU with the PDU type.
+     */
+    private static BinaryMessage getMacPdu(MacPduType type)
+    {
+        BinaryMessage pdu = new BinaryMessage(MAC_PDU_LENGTH);
+        pdu.load(0, 3, type.ordinal());
+        return pdu;
+    }
+
+    /**
+     * Calculates and loads the FACCH CRC-12 checksum into the MAC PDU.
+     */
+    private static void applyCRC(BinaryMessage pdu)
+    {
+        pdu.load(MAC_CRC_START, 12, CRCP25.calculateCrc12_FACCH(pdu));
+    }
+
+    /**
+     * Loads the data unit ID with parity into the data unit ID bits of the timeslot.
+     */
+    private static void setDataUnitID(BinaryMessage timeslot, DataUnitID dataUnitID)
+    {
+        int value = dataUnitID.getValueWithParity();
+
+        for(int x = 0; x < DUID_INDEXES.length; x++)
+        {
+            timeslot.set(DUID_INDEXES[x], (value & (0x80 >> x)) != 0);
+        }
+    }
+
+    /**
+     * Timeslot bit indexes for the 45 FACCH symbols (6 bits each), skipping the data unit ID bits and the bits
+     * reserved for the S-ISCH in the middle of the timeslot.
+     */
+    private static int[] getFacchIndexes()
+    {
+        int[] indexes = new int[(FACCH_INFO_SYMBOLS + FACCH_PARITY_SYMBOLS) * 6];
+        int pointer = 0;
+
+        for(int x = 2; pointer < indexes.length; x++)
+        {
+            if(x != 74 && x != 75 && x != 244 && x != 245 && (x < 138 || x > 179))
+            {
+                indexes[pointer++] = x;
+            }
+        }
+
+        return indexes;
+    }
+
+    /**
+     * Converts the fragment bits to dibits.
+     */
+    private static int[] toDibits(BinaryMessage message)
+    {
+        int[] dibits = new int[FRAGMENT_DIBITS];
+
+        for(int x = 0; x < dibits.length; x++)
+        {
+            dibits[x] = (message.get(x * 2) ? 2 : 0) + (message.get(x * 2 + 1) ? 1 : 0);
+        }
+
+        return dibits;
+    }
+
+    /**
+     * Creates a fixed pseudo-random bit sequence.
+     */
+    private static BinaryMessage getPseudoRandomBits(int length)
+    {
+        Random random = new Random(0x5EED);
+        BinaryMessage bits = new BinaryMessage(length);
+
+        for(int x = 0; x < length; x++)
+        {
+            if(random.nextBoolean())
+            {
+                bits.set(x);
+            }
+        }
+
+        return bits;
+    }
+}
@@ -21,6 +21,7 @@ package io.github.dsheirer.source.tuner.ui;
 
 import io.github.dsheirer.gui.editor.Editor;
 import io.github.dsheirer.preference.UserPreferences;
+import io.github.dsheirer.source.tuner.TunerClass;
 import io.github.dsheirer.source.tuner.TunerFactory;
 import io.github.dsheirer.source.tuner.manager.DiscoveredTuner;
 import io.github.dsheirer.source.tuner.manager.IDiscoveredTunerStatusListener;
@@ -103,7 +104,16 @@ public class DiscoveredTunerEditor extends Editor<DiscoveredTuner> implements ID
 
         if(hasItem())
         {
-            mEditor = TunerFactory.getEditor(mUserPreferences, getItem(), mTunerManager);
+            //Test tuners don't have a tuner editor
+            if(getItem().getTunerClass() == TunerClass.TEST_TUNER)
+            {
+                mEditor = mEmptyEditor;
+            }
+            else
+            {
+                mEditor = TunerFactory.getEditor(mUserPreferences, getItem(), mTunerManager);
+            }
+
             getItem().addTunerStatusListener(this);
         }
         else
@@ -56,12 +56,14 @@ public class DiscoveredTunerModel extends AbstractTableModel implements Listener
     public static final int COLUMN_TUNER_TYPE = 2;
     public static final int COLUMN_FREQUENCY = 3;
     public static final int COLUMN_CHANNEL_COUNT = 4;
+    public static final int COLUMN_PROCESSING_LOAD = 5;
     private static final String MHZ = " MHz";
-    private static final String[] COLUMN_HEADERS = {"Status","Class", "Type", "Frequency", "Channels"};
+    private static final String[] COLUMN_HEADERS = {"Status","Class", "Type", "Frequency", "Channels", "Load"};
 
     private List<DiscoveredTuner> mDiscoveredTuners = new CopyOnWriteArrayList<>();
     private List<Listener<TunerEvent>> mTunerEventListeners = new ArrayList<>();
     private DecimalFormat mFrequencyFormat = new DecimalFormat("0.00000");
+    private DecimalFormat mLoadFormat = new DecimalFormat("0%");
     private Lock mLock = new ReentrantLock();
     private TunerConfigurationManager mTunerConfigurationManager;
 
@@ -468,6 +470,24 @@ public class DiscoveredTunerModel extends AbstractTableModel implements Listener
         broadcast(event);
     }
 
+    /**
+     * Refreshes the processing load column for all tuners.  Invoked periodically by the tuner manager.
+     */
+    public void refreshProcessingLoad()
+    {
+        int rowCount = getRowCount();
+
+        if(rowCount > 0)
+        {
+            EventQueue.invokeLater(() -> {
+                for(int row = 0; row < getRowCount(); row++)
+                {
+                    fireTableCellUpdated(row, COLUMN_PROCESSING_LOAD);
+                }
+            });
+        }
+    }
+
     @Override
     public int getRowCount()
     {
@@ -522,6 +542,15 @@ public class DiscoveredTunerModel extends AbstractTableModel implements Listener
                     {
                         return "";
                     }
+                case COLUMN_PROCESSING_LOAD:
+                    if(discoveredTuner.hasTuner())
+                    {
+                        return mLoadFormat.format(discoveredTuner.getTuner().getChannelSourceManager().getProcessingLoad());
+                    }
+                    else
+                    {
+                        return "";
+                    }
                 default:
                     break;
             }
@@ -20,6 +20,8 @@ package io.github.dsheirer.source.tuner.usb;
 
 import io.github.dsheirer.buffer.INativeBuffer;
 import io.github.dsheirer.buffer.INativeBufferFactory;
+import io.github.dsheirer.buffer.TransferByteBuffer;
+import io.github.dsheirer.properties.SystemProperties;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.source.SourceException;
 import io.github.dsheirer.source.tuner.ITunerErrorListener;
@@ -28,6 +30,7 @@ import io.github.dsheirer.source.tuner.TunerType;
 import io.github.dsheirer.source.tuner.manager.TunerManager;
 import io.github.dsheirer.util.ThreadPool;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.LinkedTransferQueue;
@@ -53,6 +56,18 @@ public abstract class USBTunerController extends TunerController
     private static final int USB_INTERFACE = 0x0;  //Common value for all currently supported devices
     private static final int USB_CONFIGURATION = 0x1;  //Common value for all currently supported devices
     private static final int USB_BULK_TRANSFER_BUFFER_POOL_SIZE = 8;
+    /**
+     * Additional transfers allocated in zero-copy mode that are submitted in place of transfers that are still being
+     * read by downstream consumers.
+     */
+    private static final int USB_BULK_TRANSFER_SPARE_POOL_SIZE = 16;
+
+    /**
+     * System property to enable zero-copy USB transfers, where native buffers read the samples directly from the
+     * transfer buffer instead of a copy in the JVM heap.  Only applies to tuners whose native buffer factory supports
+     * zero-copy buffers.
+     */
+    public static final String ZERO_COPY_TRANSFERS_ENABLED = "usb.tuner.zero.copy.transfers.enabled";
     protected static final byte USB_BULK_TRANSFER_ENDPOINT = (byte) 0x81;
     private static final long USB_BULK_TRANSFER_TIMEOUT_MS = 2000l;
 
@@ -356,6 +371,9 @@ public abstract class USBTunerController extends TunerController
             //Perform final event processing iteration so LibUsb returns all of our cancelled tranfers
             mEventProcessor.handleFinalEvents();
 
+            //Copy any samples still held by downstream consumers so that all transfers are available for reuse
+            mTransferManager.detachOutstandingBuffers();
+
             streamingCleanup();
         }
     }
@@ -531,6 +549,9 @@ public abstract class USBTunerController extends TunerController
         private int mTransferErrorCount = 0;
         private List<Transfer> mErrorTransfers = new ArrayList<>();
         private int mResubmitFailureLogCount = 0;
+        private boolean mZeroCopyTransfers = false;
+        private ArrayDeque<Transfer> mSpareTransfers = new ArrayDeque<>();
+        private ArrayDeque<TransferByteBuffer> mOutstandingBuffers = new ArrayDeque<>();
 
         /**
          * Creates USB Transfers to carry the streaming sample data.  Transfer buffers are backed by native memory
@@ -544,8 +565,18 @@ public abstract class USBTunerController extends TunerController
             if(mAvailableTransfers == null)
             {
                 mAvailableTransfers = new ArrayList<>();
+                mZeroCopyTransfers = getNativeBufferFactory().isZeroCopySupported() &&
+                        SystemProperties.getInstance().get(ZERO_COPY_TRANSFERS_ENABLED, false);
+
+                int poolSize = USB_BULK_TRANSFER_BUFFER_POOL_SIZE;
+
+                if(mZeroCopyTransfers)
+                {
+                    mLog.info("Using zero-copy USB transfers for tuner on bus [" + mBus + "] port [" + mPortAddress + "]");
+                    poolSize += USB_BULK_TRANSFER_SPARE_POOL_SIZE;
+                }
 
-                for(int x = 0; x < USB_BULK_TRANSFER_BUFFER_POOL_SIZE; x++)
+                for(int x = 0; x < poolSize; x++)
                 {
                     Transfer transfer = LibUsb.allocTransfer();
 
@@ -575,14 +606,24 @@ public abstract class USBTunerController extends TunerController
         }
 
         /**
-         * Submits the transfers to start sample stream processing
+         * Submits the transfers to start sample stream processing.  In zero-copy mode, transfers beyond the standard
+         * pool size are held as spares.
          * @param transfers to submit
          */
-        private void submitTransfers(List<Transfer> transfers)
+        private synchronized void submitTransfers(List<Transfer> transfers)
         {
+            mSpareTransfers.clear();
+
             for(Transfer transfer: transfers)
             {
-                submitTransfer(transfer);
+                if(mInProgressTransfers.size() < USB_BULK_TRANSFER_BUFFER_POOL_SIZE)
+                {
+                    submitTransfer(transfer);
+                }
+                else
+                {
+                    mSpareTransfers.add(transfer);
+                }
             }
         }
 
@@ -682,6 +723,9 @@ public abstract class USBTunerController extends TunerController
          */
         private void freeTransfers()
         {
+            detachOutstandingBuffers();
+            mSpareTransfers.clear();
+
             if(mAvailableTransfers != null)
             {
                 for(Transfer transfer: mAvailableTransfers)
@@ -726,6 +770,13 @@ public abstract class USBTunerController extends TunerController
                 case LibUsb.TRANSFER_CANCELLED:
                     int transferLength = transfer.actualLength();
 
+                    if(transferLength > 0 && mZeroCopyTransfers && mAutoResubmitTransfers)
+                    {
+                        //The transfer is resubmitted once downstream consumers release the native buffer
+                        dispatchZeroCopyTransfer(transfer);
+                        break;
+                    }
+
                     if(transferLength > 0)
                     {
                         dispatchTransfer(transfer);
@@ -765,6 +816,100 @@ public abstract class USBTunerController extends TunerController
             INativeBuffer nativeBuffer = getNativeBufferFactory().getBuffer(transfer.buffer(), System.currentTimeMillis());
             mNativeBufferBroadcaster.broadcast(nativeBuffer);
         }
+
+        /**
+         * Dispatches a native buffer that reads the samples directly from the transfer's native memory.  The transfer
+         * is returned for reuse once all consumers release the native buffer, or when the transfer is reclaimed
+         * because the spare transfers are exhausted.
+         * @param transfer to dispatch
+         */
+        private void dispatchZeroCopyTransfer(Transfer transfer)
+        {
+            TransferByteBuffer transferBuffer = new TransferByteBuffer(transfer.buffer(), transfer.buffer().capacity(),
+                    returned -> transferReturned(transfer, returned));
+
+            synchronized(this)
+            {
+                mOutstandingBuffers.add(transferBuffer);
+                replenishTransfers();
+            }
+
+            INativeBuffer nativeBuffer = getNativeBufferFactory().getBuffer(transferBuffer, System.currentTimeMillis());
+            mNativeBufferBroadcaster.broadcast(nativeBuffer);
+
+            //Release the reference held on behalf of this transfer manager
+            nativeBuffer.release();
+        }
+
+        /**
+         * Keeps the standard quantity of transfers in progress by submitting spare transfers.  When no spares are
+         * available, the oldest outstanding native buffer is detached (copied to the heap) to reclaim its transfer.
+         */
+        private synchronized void replenishTransfers()
+        {
+            while(mAutoResubmitTransfers && mInProgressTransfers.size() < USB_BULK_TRANSFER_BUFFER_POOL_SIZE)
+            {
+                Transfer spare = mSpareTransfers.poll();
+
+                if(spare != null)
+                {
+                    submitTransfer(spare);
+                }
+                else
+                {
+                    TransferByteBuffer oldest = mOutstandingBuffers.peek();
+
+                    if(oldest == null)
+                    {
+                        return;
+                    }
+
+                    //Detaching invokes transferReturned() which resubmits the transfer and removes the buffer
+                    if(!oldest.detach())
+                    {
+                        mOutstandingBuffers.remove(oldest);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Callback when downstream consumers release a zero-copy transfer buffer, or when the buffer is detached.
+         * Resubmits the transfer, or holds it as a spare when the standard quantity of transfers is in progress.
+         * @param transfer that was returned
+         * @param transferBuffer that wrapped the transfer
+         */
+        private synchronized void transferReturned(Transfer transfer, TransferByteBuffer transferBuffer)
+        {
+            mOutstandingBuffers.remove(transferBuffer);
+            transfer.buffer().rewind();
+
+            if(mAutoResubmitTransfers && mInProgressTransfers.size() < USB_BULK_TRANSFER_BUFFER_POOL_SIZE)
+            {
+                submitTransfer(transfer);
+            }
+            else
+            {
+                mSpareTransfers.add(transfer);
+            }
+        }
+
+        /**
+         * Detaches (copies to the heap) all native buffers that are still held by downstream consumers so that the
+         * transfers can be safely resubmitted or freed.
+         */
+        private synchronized void detachOutstandingBuffers()
+        {
+            while(!mOutstandingBuffers.isEmpty())
+            {
+                TransferByteBuffer transferBuffer = mOutstandingBuffers.peek();
+
+                if(!transferBuffer.detach())
+                {
+                    mOutstandingBuffers.remove(transferBuffer);
+                }
+            }
+        }
     }
 
     /**
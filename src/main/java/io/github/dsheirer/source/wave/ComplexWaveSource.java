@@ -20,6 +20,7 @@ package io.github.dsheirer.source.wave;
 
 import io.github.dsheirer.buffer.FloatNativeBuffer;
 import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.record.compressed.CompressedBasebandReader;
 import io.github.dsheirer.sample.ConversionUtils;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.SampleType;
@@ -42,6 +43,10 @@ import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
+/**
+ * Complex sample file source for baseband recordings in 16-bit stereo wave format or the lossless compressed baseband
+ * recording format.
+ */
 public class ComplexWaveSource extends Source implements IControllableFileSource, AutoCloseable
 {
     private final static Logger mLog = LoggerFactory.getLogger(ComplexWaveSource.class);
@@ -53,6 +58,7 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
     private long mFrequency = 0;
     private Listener<INativeBuffer> mListener;
     private AudioInputStream mInputStream;
+    private CompressedBasebandReader mCompressedReader;
     private File mFile;
     private boolean mAutoReplay;
     private ScheduledFuture<?> mReplayController;
@@ -129,6 +135,11 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
      */
     public AudioFormat getAudioFormat()
     {
+        if(mCompressedReader != null)
+        {
+            return new AudioFormat((float)mCompressedReader.getSampleRate(), 16, 2, true, false);
+        }
+
         if(mInputStream == null)
         {
             throw new IllegalStateException("Source not opened or started");
@@ -140,7 +151,7 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
     @Override
     public void start()
     {
-        if(mInputStream == null)
+        if(!isOpen())
         {
             try
             {
@@ -184,12 +195,22 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
     @Override
     public long getFrameCount() throws IOException
     {
+        if(mCompressedReader != null)
+        {
+            return mCompressedReader.getSampleCount();
+        }
+
         return 0;
     }
 
     @Override
     public double getSampleRate()
     {
+        if(mCompressedReader != null)
+        {
+            return mCompressedReader.getSampleRate();
+        }
+
         if(mInputStream != null)
         {
             return mInputStream.getFormat().getSampleRate();
@@ -220,6 +241,12 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
      */
     public void close() throws IOException
     {
+        if(mCompressedReader != null)
+        {
+            mCompressedReader.close();
+            mCompressedReader = null;
+        }
+
         if(mInputStream != null)
         {
             mInputStream.close();
@@ -232,7 +259,19 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
      */
     public void open() throws IOException, UnsupportedAudioFileException
     {
-        if(mInputStream == null)
+        if(!isOpen() && CompressedBasebandReader.isCompressedRecording(mFile))
+        {
+            mCompressedReader = new CompressedBasebandReader(mFile.toPath());
+            mBytesPerFrame = 4;
+
+            if(mFrequency == 0)
+            {
+                mFrequency = mCompressedReader.getFrequency();
+            }
+
+            broadcast(0);
+        }
+        else if(mInputStream == null)
         {
             mInputStream = AudioSystem.getAudioInputStream(mFile);
 
@@ -253,6 +292,60 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
         }
     }
 
+    /**
+     * Indicates if the source file is open
+     */
+    private boolean isOpen()
+    {
+        return mInputStream != null || mCompressedReader != null;
+    }
+
+    /**
+     * Moves the read position to the specified frame (complex sample) in the recording.
+     * @param frame to seek to
+     * @throws IOException if there is an error repositioning the recording
+     */
+    public void seek(long frame) throws IOException
+    {
+        if(mCompressedReader != null)
+        {
+            mCompressedReader.seek(frame);
+            mFrameCounter = (int)(mCompressedReader.getPosition() * mBytesPerFrame);
+            broadcast(mFrameCounter);
+        }
+        else if(mInputStream != null)
+        {
+            //Wave files are not indexed - reopen and skip forward to the frame
+            close();
+
+            try
+            {
+                open();
+            }
+            catch(UnsupportedAudioFileException e)
+            {
+                throw new IOException("Unable to reopen wave file", e);
+            }
+
+            long toSkip = frame * mBytesPerFrame;
+
+            while(toSkip > 0)
+            {
+                long skipped = mInputStream.skip(toSkip);
+
+                if(skipped <= 0)
+                {
+                    break;
+                }
+
+                toSkip -= skipped;
+            }
+
+            mFrameCounter = (int)(frame * mBytesPerFrame - toSkip);
+            broadcast(mFrameCounter);
+        }
+    }
+
     /**
      * Reads the number of frames and sends a buffer to the listener
      */
@@ -267,7 +360,35 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
      */
     public void next(int frames, boolean broadcast) throws IOException
     {
-        if(mInputStream != null)
+        if(mCompressedReader != null)
+        {
+            long position = mCompressedReader.getPosition();
+            float[] samples = new float[frames * 2];
+            int samplesRead = mCompressedReader.read(samples);
+
+            mFrameCounter += samplesRead * mBytesPerFrame;
+
+            broadcast(mFrameCounter);
+
+            if(broadcast && mListener != null)
+            {
+                if(samplesRead <= 0)
+                {
+                    throw new IOException("End of file reached");
+                }
+
+                if(samplesRead < frames)
+                {
+                    samples = Arrays.copyOf(samples, samplesRead * 2);
+                }
+
+                //Looping playback uses the current time, otherwise use the sample-accurate recorded timestamp
+                long timestamp = mAutoReplay ? System.currentTimeMillis() : mCompressedReader.getTimestamp(position);
+                mListener.receive(new FloatNativeBuffer(samples, timestamp,
+                        (float)(mCompressedReader.getSampleRate() / 1000.0)));
+            }
+        }
+        else if(mInputStream != null)
         {
             byte[] buffer = new byte[mBytesPerFrame * frames];
 
@@ -347,6 +468,11 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
      */
     public static boolean supports(File file)
     {
+        if(CompressedBasebandReader.isCompressedRecording(file))
+        {
+            return true;
+        }
+
         try(AudioInputStream ais = AudioSystem.getAudioInputStream(file))
         {
             AudioFormat format = ais.getFormat();
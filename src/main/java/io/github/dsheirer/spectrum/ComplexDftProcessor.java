@@ -53,11 +53,14 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
     private FloatFFT_1D mFFT = new FloatFFT_1D(mDFTSize.getSize());
     private int mFrameRate;
     private AtomicBoolean mRunning = new AtomicBoolean();
+    private boolean mStarted;
+    private volatile boolean mSuspended;
     private ScheduledFuture<?> mProcessorTaskHandle;
     private ScheduledExecutorService mExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory("sdrtrunk dft processor"));
     private CopyOnWriteArrayList<DFTResultsConverter> mListeners = new CopyOnWriteArrayList<>();
     private NativeBufferManager mDftBufferManager = new NativeBufferManager(mDFTSize.getSize() * 2);
     private float[] mPreviousSamples = new float[mDFTSize.getSize() * 2];
+    private float[] mSamples = new float[mDFTSize.getSize() * 2];
 
     public ComplexDftProcessor()
     {
@@ -124,7 +127,16 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
 
     public void start()
     {
-        if(mProcessorTaskHandle == null)
+        mStarted = true;
+        schedule();
+    }
+
+    /**
+     * Schedules the DFT calculation task when it is not already scheduled and processing is not suspended.
+     */
+    private void schedule()
+    {
+        if(mProcessorTaskHandle == null && !mSuspended)
         {
             //Schedule the DFT to run calculations at a fixed rate
             int initialDelay = 0;
@@ -137,7 +149,15 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
 
     public void stop()
     {
-        //Cancel running DFT calculation task
+        mStarted = false;
+        cancel();
+    }
+
+    /**
+     * Cancels the running DFT calculation task
+     */
+    private void cancel()
+    {
         if(mProcessorTaskHandle != null)
         {
             mProcessorTaskHandle.cancel(false);
@@ -145,6 +165,41 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
         }
     }
 
+    /**
+     * Suspends or resumes DFT calculations without changing the started state of this processor.  While suspended,
+     * incoming sample buffers are ignored and no results are dispatched.  Use this when no display is attached to
+     * the converters so that the FFT is not calculated for results that will never be seen.
+     *
+     * @param suspended true to suspend or false to resume processing
+     */
+    public void setSuspended(boolean suspended)
+    {
+        if(mSuspended != suspended)
+        {
+            mSuspended = suspended;
+
+            if(suspended)
+            {
+                cancel();
+                clearBuffer();
+            }
+            else if(mStarted)
+            {
+                //Discard any stale buffer that was received concurrently with the suspend request
+                clearBuffer();
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Indicates if DFT calculations are suspended
+     */
+    public boolean isSuspended()
+    {
+        return mSuspended;
+    }
+
     public boolean isRunning()
     {
         return mProcessorTaskHandle != null;
@@ -162,7 +217,10 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
     @Override
     public void receive(T buffer)
     {
-        mDftBufferManager.add(buffer);
+        if(!mSuspended)
+        {
+            mDftBufferManager.add(buffer);
+        }
     }
 
     private void calculate()
@@ -174,10 +232,18 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
 
         try
         {
+            //Reuse the samples array from the previous calculation, since converters do not retain the dispatched array
+            if(mSamples.length != mDFTSize.getSize() * 2)
+            {
+                mSamples = new float[mDFTSize.getSize() * 2];
+            }
+
             //If this throws an IO exception, the buffer queue is (temporarily) empty and we return from the method
-            float[] samples = mDftBufferManager.get(mDFTSize.getSize());
+            float[] samples = mSamples;
+            mDftBufferManager.get(samples);
             WindowFactory.apply(mWindow, samples);
             mFFT.complexForward(samples);
+            mSamples = mPreviousSamples;
             mPreviousSamples = samples;
         }
         catch(IOException ioe)
@@ -18,7 +18,8 @@
 package io.github.dsheirer.spectrum;
 
 /**
- * Interface for passing the output of DFT processing
+ * Interface for passing the output of DFT processing.  Providers may reuse the results array for each update, so
+ * listeners must copy the values to retain them beyond the receive call.
  */
 public interface DFTResultsListener
 {
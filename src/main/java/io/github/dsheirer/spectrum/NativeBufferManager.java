@@ -36,7 +36,9 @@ import java.util.concurrent.LinkedTransferQueue;
  * Transferred native buffers are enqueued on the consumer side until enough samples are amassed to satisfy a get
  * operation.
  *
- * The queuing on both the producer and consumer side ensures the thread-safe transfer queue never overfills.
+ * The queuing on both the producer and consumer side ensures the thread-safe transfer queue never overfills.  The
+ * producer and consumer queues are each guarded by their own lock so that the producer and consumer threads don't
+ * contend with each other, and clear() acquires both locks so that it can be invoked safely from any thread.
  *
  * The estimated request size argument sets the initial quota of samples to enqueue on the producer size.  This value
  * is updated on the consumer side with each request.  This class is designed for the get() operation to consistently
@@ -46,10 +48,10 @@ import java.util.concurrent.LinkedTransferQueue;
  */
 public class NativeBufferManager<T extends INativeBuffer>
 {
-    private LinkedTransferQueue<T> mTransferQueue = new LinkedTransferQueue<>();
-    private List<T> mProducerQueue = new ArrayList<>();
-    private List<T> mConsumerQueue = new ArrayList<>();
-    private int mRequestSize;
+    private final LinkedTransferQueue<T> mTransferQueue = new LinkedTransferQueue<>();
+    private final List<T> mProducerQueue = new ArrayList<>();
+    private final List<T> mConsumerQueue = new ArrayList<>();
+    private volatile int mRequestSize;
     private int mProducerAvailable;
 
     /**
@@ -66,19 +68,24 @@ public class NativeBufferManager<T extends INativeBuffer>
      */
     public void add(T nativeBuffer)
     {
-        //If we have enough produced buffers and the transfer queue is empty ... move them to the queue
-        if(mProducerAvailable >= mRequestSize && mTransferQueue.isEmpty())
+        synchronized(mProducerQueue)
         {
-            mTransferQueue.addAll(mProducerQueue);
-            mProducerQueue.clear();
-            mProducerAvailable = 0;
-        }
+            //If we have enough produced buffers and the transfer queue is empty ... move them to the queue
+            if(mProducerAvailable >= mRequestSize && mTransferQueue.isEmpty())
+            {
+                mTransferQueue.addAll(mProducerQueue);
+                mProducerQueue.clear();
+                mProducerAvailable = 0;
+            }
 
-        //Add this buffer to the producer queue if it's needed to meet the anticipated request size
-        if(mProducerAvailable < mRequestSize)
-        {
-            mProducerQueue.add(nativeBuffer);
-            mProducerAvailable += nativeBuffer.sampleCount();
+            //Add this buffer to the producer queue if it's needed to meet the anticipated request size
+            if(mProducerAvailable < mRequestSize)
+            {
+                //Hold the buffer until it is consumed or cleared
+                nativeBuffer.retain();
+                mProducerQueue.add(nativeBuffer);
+                mProducerAvailable += nativeBuffer.sampleCount();
+            }
         }
     }
 
@@ -87,9 +94,34 @@ public class NativeBufferManager<T extends INativeBuffer>
      */
     public void clear()
     {
-        mTransferQueue.clear();
-        mProducerQueue.clear();
-        mConsumerQueue.clear();
+        List<T> cleared = new ArrayList<>();
+
+        synchronized(mConsumerQueue)
+        {
+            synchronized(mProducerQueue)
+            {
+                mTransferQueue.drainTo(cleared);
+                cleared.addAll(mProducerQueue);
+                mProducerQueue.clear();
+                mProducerAvailable = 0;
+            }
+
+            cleared.addAll(mConsumerQueue);
+            mConsumerQueue.clear();
+        }
+
+        release(cleared);
+    }
+
+    /**
+     * Releases the buffers
+     */
+    private void release(List<T> buffers)
+    {
+        for(T buffer: buffers)
+        {
+            buffer.release();
+        }
     }
 
     /**
@@ -101,50 +133,65 @@ public class NativeBufferManager<T extends INativeBuffer>
      */
     public float[] get(int requestedSamples) throws IOException
     {
+        float[] samples = new float[requestedSamples * 2];
+        get(samples);
+        return samples;
+    }
+
+    /**
+     * Fills the samples array with interleaved complex samples.  If there are not sufficient samples in the queue to
+     * fully fill the array, an IOException is thrown and the array contents are unchanged.
+     * @param samples array to fill with (2 samples for each I & Q pair) values.
+     * @throws IOException if there are (temporarily) insufficient samples available.
+     */
+    public void get(float[] samples) throws IOException
+    {
+        int requestedSamples = samples.length / 2;
+
         //Update the producer's sample quota if it changes
         if(requestedSamples != mRequestSize)
         {
             mRequestSize = requestedSamples;
         }
 
-        List<T> drained = new ArrayList<>();
-        mTransferQueue.drainTo(drained);
-        mConsumerQueue.addAll(drained);
-
-        int count = 0;
-
-        for(T buffer: mConsumerQueue)
+        synchronized(mConsumerQueue)
         {
-            count += buffer.sampleCount();
-        }
+            mTransferQueue.drainTo(mConsumerQueue);
 
-        if(count < requestedSamples)
-        {
-            throw new IOException("Insufficient samples.  Please try again later");
-        }
-
-        float[] samples = new float[requestedSamples * 2];
-        int samplesPointer = 0;
+            int count = 0;
 
-        for(T buffer: mConsumerQueue)
-        {
-            Iterator<InterleavedComplexSamples> iterator = buffer.iteratorInterleaved();
+            for(T buffer: mConsumerQueue)
+            {
+                count += buffer.sampleCount();
+            }
 
-            while(iterator.hasNext() && samplesPointer < samples.length)
+            if(count < requestedSamples)
             {
-                InterleavedComplexSamples complexSamples = iterator.next();
-                int toCopy = Math.min(samples.length - samplesPointer, complexSamples.samples().length);
-                System.arraycopy(complexSamples.samples(), 0, samples, samplesPointer, toCopy);
-                samplesPointer += toCopy;
+                throw new IOException("Insufficient samples.  Please try again later");
             }
 
-            if(samplesPointer >= samples.length)
+            int samplesPointer = 0;
+
+            for(T buffer: mConsumerQueue)
             {
-                break;
+                Iterator<InterleavedComplexSamples> iterator = buffer.iteratorInterleaved();
+
+                while(iterator.hasNext() && samplesPointer < samples.length)
+                {
+                    InterleavedComplexSamples complexSamples = iterator.next();
+                    int toCopy = Math.min(samples.length - samplesPointer, complexSamples.samples().length);
+                    System.arraycopy(complexSamples.samples(), 0, samples, samplesPointer, toCopy);
+                    samplesPointer += toCopy;
+                }
+
+                if(samplesPointer >= samples.length)
+                {
+                    break;
+                }
             }
-        }
 
-        mConsumerQueue.clear();
-        return samples;
+            release(mConsumerQueue);
+            mConsumerQueue.clear();
+        }
     }
 }
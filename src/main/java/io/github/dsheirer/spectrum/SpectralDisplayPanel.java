@@ -52,8 +52,10 @@ import java.awt.Dimension;
 import java.awt.EventQueue;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
+import java.awt.event.HierarchyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
 import java.util.ArrayList;
@@ -89,6 +91,7 @@ public class SpectralDisplayPanel extends JPanel
 
     public static final String FFT_SIZE_PROPERTY = "spectral.display.dft.size";
     public static final String SPECTRAL_DISPLAY_ENABLED = "spectral.display.enabled";
+    public static final String UPDATE_DECIMATION_PROPERTY = "spectral.display.update.decimation";
     public static final int NO_ZOOM = 0;
     public static final int MAX_ZOOM = 6;
 
@@ -393,11 +396,52 @@ public class SpectralDisplayPanel extends JPanel
          * spectrum panel to receive the processed dft results
          */
         mComplexDftProcessor = new ComplexDftProcessor();
-        mDFTConverter = new ComplexDecibelConverter();
+        ComplexDecibelConverter converter = new ComplexDecibelConverter();
+        int decimation = SystemProperties.getInstance().get(UPDATE_DECIMATION_PROPERTY, 1);
+
+        if(decimation > 1)
+        {
+            //Decimated updates (e.g. remote displays) carry the peak of each bin across the skipped result sets
+            converter.setUpdateDecimation(decimation);
+            converter.setPeakHold(true);
+        }
+
+        mDFTConverter = converter;
         mComplexDftProcessor.addConverter(mDFTConverter);
 
         mDFTConverter.addListener((DFTResultsListener)mSpectrumPanel);
         mDFTConverter.addListener((DFTResultsListener)mWaterfallPanel);
+
+        /**
+         * Suspend DFT processing while this display is not showing or is collapsed to zero size
+         */
+        addHierarchyListener(e -> {
+            if((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0)
+            {
+                updateDisplayAttached();
+            }
+        });
+        addComponentListener(new ComponentAdapter()
+        {
+            @Override
+            public void componentResized(ComponentEvent e)
+            {
+                updateDisplayAttached();
+            }
+        });
+
+        updateDisplayAttached();
+    }
+
+    /**
+     * Suspends the DFT processor when this panel is not showing or has no visible area and resumes it otherwise.
+     */
+    private void updateDisplayAttached()
+    {
+        if(mComplexDftProcessor != null)
+        {
+            mComplexDftProcessor.setSuspended(!isShowing() || getWidth() <= 0 || getHeight() <= 0);
+        }
     }
 
     /**
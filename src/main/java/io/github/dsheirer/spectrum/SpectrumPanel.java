@@ -68,8 +68,10 @@ public class SpectrumPanel extends JPanel implements DFTResultsListener, Setting
     //Defines the panel inset along the bottom for frequency display
     private float mSpectrumInset = 20.0f;
 
-    //Current DFT output bins in dB
+    //Current DFT output bins in dB.  Updated on the DFT thread and read on the event dispatch thread under the lock
     private float[] mDisplayFFTBins = new float[1];
+    private final Object mDisplayFFTBinsLock = new Object();
+    private float[] mPaintBins = new float[1];
 
     //Averaging across multiple DFT result sets
     private int mAveraging = 4;
@@ -126,31 +128,34 @@ public class SpectrumPanel extends JPanel implements DFTResultsListener, Setting
             currentFFTBins = new float[currentFFTBins.length];
         }
 
-        //Construct and/or resize our DFT results variables
-        if(mDisplayFFTBins == null ||
-            mDisplayFFTBins.length != currentFFTBins.length)
-        {
-            mDisplayFFTBins = currentFFTBins;
-        }
-
         //Apply smoothing across the bins of the DFT results
         float[] smoothedBins = mSmoothingFilter.filter(currentFFTBins);
 
-        //Apply averaging over multiple DFT output frames
-        if(mAveraging > 1)
+        synchronized(mDisplayFFTBinsLock)
         {
-            float gain = 1.0f / (float)mAveraging;
+            //Construct and/or resize our DFT results variables.  The results array is reused by the converter, so copy it.
+            if(mDisplayFFTBins == null ||
+                mDisplayFFTBins.length != currentFFTBins.length)
+            {
+                mDisplayFFTBins = currentFFTBins.clone();
+            }
+
+            //Apply averaging over multiple DFT output frames
+            if(mAveraging > 1)
+            {
+                float gain = 1.0f / (float)mAveraging;
 
-            for(int x = 0; x < mDisplayFFTBins.length; x++)
+                for(int x = 0; x < mDisplayFFTBins.length; x++)
+                {
+                    mDisplayFFTBins[x] +=
+                        (smoothedBins[x] - mDisplayFFTBins[x]) * gain;
+                }
+            }
+            else
             {
-                mDisplayFFTBins[x] +=
-                    (smoothedBins[x] - mDisplayFFTBins[x]) * gain;
+                System.arraycopy(smoothedBins, 0, mDisplayFFTBins, 0, mDisplayFFTBins.length);
             }
         }
-        else
-        {
-            mDisplayFFTBins = smoothedBins;
-        }
 
         repaint();
     }
@@ -327,7 +332,11 @@ public class SpectrumPanel extends JPanel implements DFTResultsListener, Setting
      */
     public void clearSpectrum()
     {
-        Arrays.fill(mDisplayFFTBins, 0.0f);
+        synchronized(mDisplayFFTBinsLock)
+        {
+            Arrays.fill(mDisplayFFTBins, 0.0f);
+        }
+
         repaint();
     }
 
@@ -391,32 +400,43 @@ public class SpectrumPanel extends JPanel implements DFTResultsListener, Setting
     }
 
     /**
-     * Returns the DFT result bins, or a zoomed and offset version of the bins
-     * when the display is zoomed.
+     * Returns a copy of the DFT result bins, or a zoomed and offset version of the bins
+     * when the display is zoomed.  The copy is made under the lock so that a frame is never
+     * rendered while the DFT thread is updating the bins.  The copy is made into a paint buffer
+     * that is only accessed on the Swing event thread and reused across paints, so the returned
+     * array is only valid until the next call.
      */
     private float[] getBins()
     {
-        if(mZoom == 0)
+        synchronized(mDisplayFFTBinsLock)
         {
-            return mDisplayFFTBins;
-        }
-        else
-        {
-            int length = mDisplayFFTBins.length / getZoomMultiplier();
-
-            int offset = mZoomWindowOffset;
+            int length = mDisplayFFTBins.length;
+            int offset = 0;
 
-            if((offset + length) >= mDisplayFFTBins.length)
+            if(mZoom != 0)
             {
-                offset = mDisplayFFTBins.length - length;
+                length = mDisplayFFTBins.length / getZoomMultiplier();
+
+                offset = mZoomWindowOffset;
+
+                if((offset + length) >= mDisplayFFTBins.length)
+                {
+                    offset = mDisplayFFTBins.length - length;
+                }
+
+                if(offset < 0)
+                {
+                    offset = 0;
+                }
             }
 
-            if(offset < 0)
+            if(mPaintBins.length != length)
             {
-                offset = 0;
+                mPaintBins = new float[length];
             }
 
-            return Arrays.copyOfRange(mDisplayFFTBins, offset, offset + length);
+            System.arraycopy(mDisplayFFTBins, offset, mPaintBins, 0, length);
+            return mPaintBins;
         }
     }
 
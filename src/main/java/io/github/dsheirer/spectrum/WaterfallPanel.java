@@ -24,16 +24,16 @@ import io.github.dsheirer.settings.Setting;
 import io.github.dsheirer.settings.SettingChangeListener;
 import io.github.dsheirer.settings.SettingsManager;
 import java.awt.Color;
-import java.awt.EventQueue;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Image;
 import java.awt.Point;
 import java.awt.geom.Line2D;
-import java.awt.image.ColorModel;
-import java.awt.image.MemoryImageSource;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
 import java.text.DecimalFormat;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.commons.math3.util.FastMath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,14 +53,20 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
     private static final String PAUSED = "PAUSED - Right Click to Unpause";
     private static final String DISABLED = "DISABLED - Right Click to Select a Tuner";
 
+    private final Object mPixelLock = new Object();
+    private final AtomicBoolean mRepaintPending = new AtomicBoolean();
     private byte[] mPixels;
-    private byte[] mPausedPixels;
+    private int mTopRow;
+    private BufferedImage mPausedImage;
+    private int mPausedTopRow;
     private int mDFTSize = 4096;
     private int mImageHeight = 700;
-    private MemoryImageSource mMemoryImageSource;
-    private ColorModel mColorModel = WaterfallColorModel.getDefaultColorModel();
+    private IndexColorModel mColorModel = WaterfallColorModel.getDefaultColorModel();
     private Color mColorSpectrumCursor;
-    private Image mWaterfallImage;
+    private BufferedImage mWaterfallImage;
+    private BufferedImage mDisplayImage;
+    private byte[] mDisplayPixels;
+    private int mPendingRows;
 
     private Point mCursorLocation = new Point(0, 0);
     private boolean mCursorVisible = false;
@@ -77,6 +83,10 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
      * time.  Maps DFT frequency bin decibel values into a 256 bucket color map
      * for display.
      *
+     * The waterfall image is a ring of pixel rows that is updated by the DFT processing thread.  Each new row
+     * overwrites the oldest row and advances the top row index, so the image is never shifted.  Repaint requests
+     * are coalesced so that the Swing event thread only renders the most recent state of the ring.
+     *
      * @param settingsManager
      */
     public WaterfallPanel(SettingsManager settingsManager)
@@ -99,29 +109,30 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
         }
 
         mSettingsManager = null;
-        mMemoryImageSource = null;
     }
 
     /**
-     * Resets the memory image source and byte backing array when the DFT point
-     * size has changed
+     * Resets the waterfall image and byte backing array when the DFT point size has changed.  Callers must hold
+     * the pixel lock once the panel is constructed.
      */
     private void reset()
     {
-        mPixels = new byte[mDFTSize * mImageHeight];
-
-        mMemoryImageSource = new MemoryImageSource(mDFTSize,
-            mImageHeight,
-            mColorModel,
-            mPixels,
-            0,
-            mDFTSize);
-
-        mMemoryImageSource.setAnimated(true);
-
-        mWaterfallImage = createImage(mMemoryImageSource);
+        mWaterfallImage = new BufferedImage(mDFTSize, mImageHeight, BufferedImage.TYPE_BYTE_INDEXED, mColorModel);
+        mPixels = ((DataBufferByte)mWaterfallImage.getRaster().getDataBuffer()).getData();
+        mTopRow = 0;
+        mPendingRows = mImageHeight;
+        mPausedImage = null;
+    }
 
-        repaint();
+    /**
+     * Requests a repaint from the Swing event thread unless a previously requested repaint is still pending.
+     */
+    private void requestRepaint()
+    {
+        if(mRepaintPending.compareAndSet(false, true))
+        {
+            repaint();
+        }
     }
 
     /**
@@ -131,7 +142,11 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
     {
         if(paused)
         {
-            mPausedPixels = mPixels.clone();
+            synchronized(mPixelLock)
+            {
+                mPausedImage = new BufferedImage(mColorModel, mWaterfallImage.copyData(null), false, null);
+                mPausedTopRow = mTopRow;
+            }
         }
 
         mPaused = paused;
@@ -288,13 +303,36 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
      */
     public void paintComponent(Graphics g)
     {
+        mRepaintPending.set(false);
+
         super.paintComponent(g);
 
         int multiplier = getZoomMultiplier();
 
         double binPixelWidth = getBinPixelWidth(multiplier);
         int offset = (int)(getPixelOffset(multiplier) - binPixelWidth);
-        g.drawImage(mWaterfallImage, offset, 0, (getWidth() * multiplier) + (int)binPixelWidth, mImageHeight, this);
+        int width = (getWidth() * multiplier) + (int)binPixelWidth;
+
+        BufferedImage image;
+        int topRow;
+
+        //Only snapshot the ring index and the new rows under the lock and paint the (scaled) image outside of it
+        synchronized(mPixelLock)
+        {
+            if(mPaused && mPausedImage != null)
+            {
+                image = mPausedImage;
+                topRow = mPausedTopRow;
+            }
+            else
+            {
+                image = updateDisplayImage();
+                topRow = mTopRow;
+            }
+        }
+
+        paintRing(g, image, topRow, offset, width);
+
         Graphics2D graphics = (Graphics2D)g;
         graphics.setColor(mColorSpectrumCursor);
 
@@ -318,6 +356,56 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
         graphics.dispose();
     }
 
+    /**
+     * Copies the rows received since the last paint from the waterfall ring into the display image, so that the
+     * display image can be painted on the Swing event thread without holding the pixel lock.  Callers must hold the
+     * pixel lock.
+     *
+     * @return display image with the same ring layout as the waterfall image
+     */
+    private BufferedImage updateDisplayImage()
+    {
+        if(mDisplayImage == null || mDisplayImage.getWidth() != mWaterfallImage.getWidth() ||
+            mDisplayImage.getHeight() != mWaterfallImage.getHeight())
+        {
+            mDisplayImage = new BufferedImage(mDFTSize, mImageHeight, BufferedImage.TYPE_BYTE_INDEXED, mColorModel);
+            mDisplayPixels = ((DataBufferByte)mDisplayImage.getRaster().getDataBuffer()).getData();
+            mPendingRows = mImageHeight;
+        }
+
+        //The newest rows start at the top row and wrap around the end of the ring
+        for(int x = 0; x < mPendingRows; x++)
+        {
+            int rowOffset = ((mTopRow + x) % mImageHeight) * mDFTSize;
+            System.arraycopy(mPixels, rowOffset, mDisplayPixels, rowOffset, mDFTSize);
+        }
+
+        mPendingRows = 0;
+        return mDisplayImage;
+    }
+
+    /**
+     * Paints the ring image in two slices: from the top (newest) row to the end of the image, followed by the
+     * start of the image up to the top row.
+     *
+     * @param g graphics
+     * @param image to paint
+     * @param topRow index of the newest row in the image
+     * @param x offset for the image
+     * @param width of the painted image
+     */
+    private void paintRing(Graphics g, BufferedImage image, int topRow, int x, int width)
+    {
+        int height = image.getHeight();
+        int split = height - topRow;
+        g.drawImage(image, x, 0, x + width, split, 0, topRow, image.getWidth(), height, null);
+
+        if(topRow > 0)
+        {
+            g.drawImage(image, x, split, x + width, height, 0, 0, image.getWidth(), topRow, null);
+        }
+    }
+
     /**
      * When zoom level is greater than zero, paints a small indicator at the
      * bottom center of the screen showing the location of the zoom window
@@ -349,15 +437,14 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
     }
 
     /**
-     * Implements the DFT results listener interface method.  This is the primary method for receiving new frequency bin results.
+     * Implements the DFT results listener interface method.  This is the primary method for receiving new frequency
+     * bin results.  The new row of pixels is rendered directly into the waterfall ring on the calling thread.
      */
     @Override
     public void receive(float[] update)
     {
         mDisabled = false;
 
-        byte[] newPixels = new byte[update.length];
-
         /**
          * Find the average value and scale the display to it
          */
@@ -371,68 +458,57 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
         float average = (float)(sum / (double)update.length - 1);
         float scale = 256.0f / average;
 
-        for(int x = 0; x < update.length - 1; x++)
+        synchronized(mPixelLock)
         {
-            float value = (average - update[x]) * scale;
-
-            if(value < 0)
+            //If our FFT size changes, reset our pixel map and image
+            if(mDFTSize != update.length)
             {
-                newPixels[x] = 0;
+                mDFTSize = update.length;
+                reset();
             }
-            else if(value > 255)
-            {
-                newPixels[x] = (byte)255;
-            }
-            else
-            {
-                newPixels[x] = (byte)value;
-            }
-        }
 
-        //Task the swing event thread to add the new pixels to the pixel array and update the display
-        EventQueue.invokeLater(() -> {
-            if(mMemoryImageSource != null)
+            //Advance the ring so that the new row replaces the oldest row and becomes the top row
+            mTopRow = (mTopRow == 0 ? mImageHeight : mTopRow) - 1;
+            int rowOffset = mTopRow * mDFTSize;
+
+            for(int x = 0; x < update.length - 1; x++)
             {
-                //If our FFT size changes, reset our pixel map and image source
-                if(mDFTSize != newPixels.length)
+                float value = (average - update[x]) * scale;
+
+                if(value < 0)
                 {
-                    mDFTSize = newPixels.length;
-                    reset();
+                    mPixels[rowOffset + x] = 0;
                 }
-
-                //Move the pixels down a row and add in the new pixels row
-                System.arraycopy(mPixels, 0, mPixels, mDFTSize, mPixels.length - mDFTSize);
-                System.arraycopy(newPixels, 0, mPixels, 0, newPixels.length);
-
-                if(mPaused)
+                else if(value > 255)
                 {
-                    mMemoryImageSource.newPixels(mPausedPixels, mColorModel, 0, mDFTSize);
+                    mPixels[rowOffset + x] = (byte)255;
                 }
                 else
                 {
-                    mMemoryImageSource.newPixels(mPixels, mColorModel, 0, mDFTSize);
+                    mPixels[rowOffset + x] = (byte)value;
                 }
             }
-        });
+
+            mPixels[rowOffset + update.length - 1] = 0;
+            mPendingRows = Math.min(mPendingRows + 1, mImageHeight);
+        }
+
+        if(!mPaused)
+        {
+            requestRepaint();
+        }
     }
 
     public void clearWaterfall()
     {
-        Arrays.fill(mPixels, (byte)0);
-        mDisabled = true;
+        synchronized(mPixelLock)
+        {
+            Arrays.fill(mPixels, (byte)0);
+            mTopRow = 0;
+            mPendingRows = mImageHeight;
+        }
 
-        EventQueue.invokeLater(() -> {
-            if(mMemoryImageSource != null)
-            {
-                try
-                {
-                    mMemoryImageSource.newPixels(mPixels, mColorModel, 0, mDFTSize);
-                }
-                catch(Exception e)
-                {
-                    mLog.error("Temporary error updating cleared waterfall panel - " + e.getLocalizedMessage());
-                }
-            }
-        });
+        mDisabled = true;
+        requestRepaint();
     }
 }
@@ -18,8 +18,7 @@
  */
 package io.github.dsheirer.spectrum.converter;
 
-
-import org.apache.commons.math3.util.FastMath;
+import java.util.Arrays;
 
 /**
  * Converts complex DFT output to scaled dB values with a maximum amplitude of 0 dB and all values scaled to the
@@ -58,56 +57,148 @@ import org.apache.commons.math3.util.FastMath;
  */
 public class ComplexDecibelConverter extends DFTResultsConverter
 {
+	private static final IDecibelCalculator STATIC_CALCULATOR =
+		DecibelCalculatorFactory.getCalculator(DecibelCalculatorFactory.POWER);
+	private final IDecibelCalculator mCalculator = DecibelCalculatorFactory.getCalculator(DecibelCalculatorFactory.POWER);
+	private float[] mProcessed = new float[0];
+	private float[] mAverages;
+	private int mAveraging = 1;
+	private boolean mPeakHold;
+	private int mUpdateDecimation = 1;
+	private int mFrameCount;
+
 	/**
 	 * Converts the output of the JTransforms FloatFFT_1D.complexForward() calculation into the power spectrum in
 	 * decibels, normalized to the sample bit depth.
+	 *
+	 * The dispatched results array is reused for each update, so listeners must copy the values if they need to
+	 * retain them beyond the receive call.
 	 */
 	public ComplexDecibelConverter()
 	{
 	}
 
+	/**
+	 * Sets the number of DFT result sets to average across, applied in the same pass as the decibel conversion.
+	 * @param averaging period, 1 for no averaging
+	 */
+	public void setAveraging(int averaging)
+	{
+		if(averaging < 1)
+		{
+			throw new IllegalArgumentException("Averaging period must be 1 or greater");
+		}
+
+		mAveraging = averaging;
+		mAverages = null;
+	}
+
+	/**
+	 * Enables peak hold where each dispatched update contains the maximum value of each bin across the result sets
+	 * that were converted since the previous update.  Only meaningful when the update decimation is greater than 1.
+	 */
+	public void setPeakHold(boolean peakHold)
+	{
+		mPeakHold = peakHold;
+	}
+
+	/**
+	 * Sets the decimated update mode where only every Nth result set is dispatched to listeners, for example for
+	 * remote displays.  Result sets that are not dispatched are only converted when averaging or peak hold needs them.
+	 * @param decimation 1 to dispatch every result set
+	 */
+	public void setUpdateDecimation(int decimation)
+	{
+		if(decimation < 1)
+		{
+			throw new IllegalArgumentException("Update decimation must be 1 or greater");
+		}
+
+		mUpdateDecimation = decimation;
+		mFrameCount = 0;
+	}
+
+	/**
+	 * Converts complex DFT results to decibels.
+	 * @param results from the complex forward DFT
+	 * @return new array of power values in decibels
+	 */
 	public static float[] convert(float[] results)
+	{
+		float[] processed = new float[results.length / 2];
+		convert(results, processed);
+		return processed;
+	}
+
+	/**
+	 * Converts complex DFT results to decibels into the processed array, swapping the upper and lower halves of the
+	 * JTransforms DFT results for correct display.
+	 * @param results from the complex forward DFT
+	 * @param processed array to receive the power values in decibels, half the length of the results array
+	 */
+	public static void convert(float[] results, float[] processed)
+	{
+		convert(STATIC_CALCULATOR, results, processed, null, 0.0f, false);
+	}
+
+	/**
+	 * Converts complex DFT results using the calculator with the upper and lower halves of the results swapped.
+	 */
+	private static void convert(IDecibelCalculator calculator, float[] results, float[] processed, float[] averages,
+								float gain, boolean peakHold)
 	{
 		int halfResults = results.length / 2;
 		float dftBinSizeScalor = 1.0f / (float) halfResults;
-		float[] processed = new float[halfResults];
 		int middle = processed.length / 2;
 
-		float temp, decibels;
-		for(int x = 0; x < results.length; x += 2)
+		calculator.convert(results, 0, middle, dftBinSizeScalor, processed, middle, averages, gain, peakHold);
+		calculator.convert(results, middle, halfResults - middle, dftBinSizeScalor, processed, 0, averages, gain,
+			peakHold);
+	}
+
+	@Override
+	public void receive(float[] results)
+    {
+		int length = results.length / 2;
+
+		if(mProcessed.length != length)
 		{
-			//Calculate the magnitude squared (power) value from each bin's real and imaginary value and scale it to the
-			// DFT bin size squared. Convert the scaled value to decibels.
-			temp = ((results[x] * results[x]) + (results[x + 1] * results[x + 1]));
+			mProcessed = new float[length];
+			mAverages = null;
+			mFrameCount = 0;
+		}
 
-			if(temp == 0)
-			{
-				decibels = -196.0f;
-			}
-			else
-			{
-				decibels = 10.0f * (float)FastMath.log10(temp * dftBinSizeScalor);
-			}
+		boolean dispatchUpdate = ++mFrameCount >= mUpdateDecimation;
 
-			// We have to swap the upper and lower halves of the JTransforms DFT results for correct display
-			int index = x / 2;
+		//Without averaging or peak hold, result sets that are not dispatched don't need to be converted
+		if(!dispatchUpdate && mAveraging == 1 && !mPeakHold)
+		{
+			return;
+		}
 
-			if(index >= middle)
-			{
-				processed[index - middle] = decibels;
-			}
-			else
+		float[] averages = null;
+		float gain = 1.0f / (float)mAveraging;
+
+		if(mAveraging > 1)
+		{
+			if(mAverages == null)
 			{
-				processed[index + middle] = decibels;
+				//Seed the averages with the first result set
+				mAverages = new float[length];
+				Arrays.fill(mAverages, IDecibelCalculator.ZERO_POWER_DECIBELS);
+				gain = 1.0f;
 			}
+
+			averages = mAverages;
 		}
 
-		return processed;
-	}
+		//The first result set in each update interval overwrites the previously dispatched values
+		convert(mCalculator, results, mProcessed, averages, gain, mPeakHold && mFrameCount > 1);
 
-	@Override
-	public void receive(float[] results)
-    {
-		dispatch(convert(results));
+		if(dispatchUpdate)
+		{
+			mFrameCount = 0;
+			dispatch(mProcessed);
+		}
     }
 }
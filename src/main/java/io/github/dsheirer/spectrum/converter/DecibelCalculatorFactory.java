@@ -0,0 +1,63 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.spectrum.converter;
+
+import io.github.dsheirer.vector.calibrate.CalibrationManager;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+
+/**
+ * Factory for creating an optimal scalar or vector (SIMD) decibel calculator implementation
+ */
+public class DecibelCalculatorFactory
+{
+    /**
+     * Log10 multiplier for power decibel values
+     */
+    public static final float POWER = 10.0f;
+
+    /**
+     * Selects and instantiates the best decibel calculator version, scalar or vector, based on previous calibration.
+     * @param multiplier for log10 values, use POWER for power decibels
+     * @return calculator
+     */
+    public static IDecibelCalculator getCalculator(float multiplier)
+    {
+        Implementation implementation = CalibrationManager.getInstance()
+            .getImplementation(CalibrationType.DECIBEL_CALCULATOR);
+        return getCalculator(multiplier, implementation);
+    }
+
+    /**
+     * Instantiates the specified decibel calculator implementation.
+     * @param multiplier for log10 values, use POWER for power decibels
+     * @param implementation to construct
+     * @return calculator
+     */
+    public static IDecibelCalculator getCalculator(float multiplier, Implementation implementation)
+    {
+        return switch(implementation)
+        {
+            case VECTOR_SIMD_PREFERRED, VECTOR_SIMD_512, VECTOR_SIMD_256, VECTOR_SIMD_128, VECTOR_SIMD_64 ->
+                new VectorDecibelCalculator(multiplier);
+            case SCALAR, UNCALIBRATED -> new ScalarDecibelCalculator(multiplier);
+            default -> throw new IllegalArgumentException("Unknown implementation type: " + implementation);
+        };
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.spectrum.converter;
+
+/**
+ * Converts interleaved complex DFT bins to decibels with optional exponential averaging and peak hold applied in the
+ * same pass over the bins.  For each bin:
+ *
+ * decibels = multiplier * log10( (real * real + imaginary * imaginary) * scale )
+ * average = average + (decibels - average) * gain
+ * output = peakHold ? max(output, average) : average
+ *
+ * Implementations are stateless and can be shared across threads.
+ */
+public interface IDecibelCalculator
+{
+    /**
+     * Decibel value used for bins with zero or subnormal (less than Float.MIN_NORMAL) scaled power
+     */
+    float ZERO_POWER_DECIBELS = -196.0f;
+
+    /**
+     * Converts a run of DFT bins into the output array.
+     * @param bins interleaved complex DFT results
+     * @param binOffset index of the first complex bin to convert
+     * @param length number of complex bins to convert
+     * @param scale applied to each bin power before conversion
+     * @param output array to receive the decibel values
+     * @param outputOffset index in the output (and averages) array for the first converted bin
+     * @param averages running averages updated in place, or null for no averaging
+     * @param gain averaging gain (1 / averaging period), ignored when averages is null
+     * @param peakHold true to retain the larger of the existing output value and the new value
+     */
+    void convert(float[] bins, int binOffset, int length, float scale, float[] output, int outputOffset,
+                 float[] averages, float gain, boolean peakHold);
+}
@@ -1,12 +1,13 @@
 package io.github.dsheirer.spectrum.converter;
 
-import org.apache.commons.math3.util.FastMath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class RealDecibelConverter extends DFTResultsConverter
 {
 	private static final Logger mLog = LoggerFactory.getLogger( RealDecibelConverter.class );
+	private final IDecibelCalculator mCalculator = DecibelCalculatorFactory.getCalculator( 20.0f );
+	private float[] mProcessed = new float[ 0 ];
 
 	public RealDecibelConverter()
 	{
@@ -17,26 +18,22 @@ public class RealDecibelConverter extends DFTResultsConverter
 	 * calculation into a normalized power spectrum in decibels, per description
 	 * in Lyons, Understanding Digital Signal Processing, 3e, page 141.
 	 * 
-	 * Note: this is only calculating the lower half of the spectrum
+	 * Note: this is only calculating the lower half of the spectrum.  The
+	 * dispatched array is reused for each result set.
 	 */
 	@Override
     public void receive( float[] results )
     {
-		float dftBinSizeScalor = 1.0f / (float)results.length;
-		
-		float[] processed = new float[ results.length / 4 ];
+		int length = results.length / 4;
 
-		int index = 0;
-		
-		for( int x = 0; x < processed.length; x ++ )
+		if( mProcessed.length != length )
 		{
-			index = x * 2;
-			
-			processed[ x ] = 20.0f * (float) FastMath.log10(
-				( ( results[ index ] * results[ index ] ) + 
-				  ( results[ index + 1 ] * results[ index + 1 ] ) ) * dftBinSizeScalor );
+			mProcessed = new float[ length ];
 		}
 
-		dispatch( processed );
+		mCalculator.convert( results, 0, length, 1.0f / (float)results.length,
+			mProcessed, 0, null, 0.0f, false );
+
+		dispatch( mProcessed );
     }
 }
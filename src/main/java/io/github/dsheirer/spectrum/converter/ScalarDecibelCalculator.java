@@ -0,0 +1,75 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.spectrum.converter;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Scalar decibel calculator
+ */
+public class ScalarDecibelCalculator implements IDecibelCalculator
+{
+    private final float mMultiplier;
+
+    /**
+     * Constructs an instance
+     * @param multiplier for log10 values, 10 for power decibels
+     */
+    public ScalarDecibelCalculator(float multiplier)
+    {
+        mMultiplier = multiplier;
+    }
+
+    @Override
+    public void convert(float[] bins, int binOffset, int length, float scale, float[] output, int outputOffset,
+                        float[] averages, float gain, boolean peakHold)
+    {
+        float power, decibels;
+        int index;
+
+        for(int x = 0; x < length; x++)
+        {
+            index = (binOffset + x) * 2;
+            power = ((bins[index] * bins[index]) + (bins[index + 1] * bins[index + 1])) * scale;
+
+            //Zero or subnormal power, matching the vector calculator which can't approximate log2 for subnormals
+            if(power < Float.MIN_NORMAL)
+            {
+                decibels = ZERO_POWER_DECIBELS;
+            }
+            else
+            {
+                decibels = mMultiplier * (float)FastMath.log10(power);
+            }
+
+            index = outputOffset + x;
+
+            if(averages != null)
+            {
+                averages[index] += (decibels - averages[index]) * gain;
+                decibels = averages[index];
+            }
+
+            if(!peakHold || decibels > output[index])
+            {
+                output[index] = decibels;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.spectrum.converter;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD decibel calculator using the preferred float vector species for the host processor.
+ *
+ * Bin power is calculated from two vectors of interleaved samples at a time and log10 is approximated from the float
+ * exponent and a series expansion of the mantissa.  The output matches the ScalarDecibelCalculator within 1e-5 dB,
+ * or within one float ulp for values beyond +/-128 dB where the float resolution is coarser than 1e-5 dB.
+ */
+public class VectorDecibelCalculator implements IDecibelCalculator
+{
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    //Swaps adjacent lanes so that each real lane can be summed with its imaginary lane
+    private static final VectorShuffle<Float> SWAP_PAIRS = VectorShuffle.fromOp(SPECIES, lane -> lane ^ 1);
+    //Gathers the even lanes into both the lower and the upper half of the vector
+    private static final VectorShuffle<Float> EVEN_LANES = VectorShuffle.fromOp(SPECIES,
+            lane -> (lane * 2) % LANES);
+    private static final VectorMask<Float> HIGH_LANES = VectorMask.fromLong(SPECIES,
+            ((1L << LANES) - 1) & ~((1L << (LANES / 2)) - 1));
+    private static final int MANTISSA_MASK = 0x007FFFFF;
+    private static final int EXPONENT_ONE = 0x3F800000;
+    //Series coefficients for log2(m) = 2 / ln(2) * (t + t^3/3 + t^5/5 + ...) where t = (m - 1) / (m + 1)
+    private static final float LN2_SCALE = (float)(2.0 / Math.log(2.0));
+    private static final float C1 = LN2_SCALE;
+    private static final float C3 = LN2_SCALE / 3.0f;
+    private static final float C5 = LN2_SCALE / 5.0f;
+    private static final float C7 = LN2_SCALE / 7.0f;
+    private static final float C9 = LN2_SCALE / 9.0f;
+    private static final float C11 = LN2_SCALE / 11.0f;
+    //Clears the low mantissa bits so that the product with an 8-bit float exponent is exact
+    private static final int HIGH_PART_MASK = 0xFFFFFF00;
+    private final float mLog2MultiplierHigh;
+    private final float mLog2MultiplierLow;
+    private final ScalarDecibelCalculator mScalarCalculator;
+
+    /**
+     * Constructs an instance
+     * @param multiplier for log10 values, 10 for power decibels
+     */
+    public VectorDecibelCalculator(float multiplier)
+    {
+        //Split multiplier * log10(2) into a high part and a low correction so that the output is rounded only once
+        double log2Multiplier = multiplier * Math.log10(2.0);
+        mLog2MultiplierHigh = Float.intBitsToFloat(Float.floatToIntBits((float)log2Multiplier) & HIGH_PART_MASK);
+        mLog2MultiplierLow = (float)(log2Multiplier - mLog2MultiplierHigh);
+        mScalarCalculator = new ScalarDecibelCalculator(multiplier);
+    }
+
+    @Override
+    public void convert(float[] bins, int binOffset, int length, float scale, float[] output, int outputOffset,
+                        float[] averages, float gain, boolean peakHold)
+    {
+        int x = 0;
+
+        for(; x <= length - LANES; x += LANES)
+        {
+            int binIndex = (binOffset + x) * 2;
+            FloatVector a = FloatVector.fromArray(SPECIES, bins, binIndex);
+            FloatVector b = FloatVector.fromArray(SPECIES, bins, binIndex + LANES);
+            a = a.mul(a);
+            b = b.mul(b);
+            a = a.add(a.rearrange(SWAP_PAIRS));
+            b = b.add(b.rearrange(SWAP_PAIRS));
+            //Scale the power before the log, like the scalar calculator, to avoid float cancellation error
+            FloatVector power = a.rearrange(EVEN_LANES).blend(b.rearrange(EVEN_LANES), HIGH_LANES).mul(scale);
+
+            FloatVector decibels = log2(power, mLog2MultiplierHigh, mLog2MultiplierLow)
+                    .blend(ZERO_POWER_DECIBELS, power.lt(Float.MIN_NORMAL));
+
+            int index = outputOffset + x;
+
+            if(averages != null)
+            {
+                FloatVector average = FloatVector.fromArray(SPECIES, averages, index);
+                decibels = average.add(decibels.sub(average).mul(gain));
+                decibels.intoArray(averages, index);
+            }
+
+            if(peakHold)
+            {
+                decibels = decibels.max(FloatVector.fromArray(SPECIES, output, index));
+            }
+
+            decibels.intoArray(output, index);
+        }
+
+        if(x < length)
+        {
+            mScalarCalculator.convert(bins, binOffset + x, length - x, scale, output, outputOffset + x, averages,
+                    gain, peakHold);
+        }
+    }
+
+    /**
+     * Approximates multiplier * log2 for each lane of positive normal float values, where the multiplier is the sum of
+     * the high and low parts.  The exponent term scaled by the high part is exact and the remaining (small) terms are
+     * added to it last, so that the result is only rounded at the output magnitude.
+     */
+    private static FloatVector log2(FloatVector value, float multiplierHigh, float multiplierLow)
+    {
+        IntVector bits = value.reinterpretAsInts();
+        FloatVector exponent = (FloatVector)bits.lanewise(VectorOperators.LSHR, 23).sub(127)
+                .convert(VectorOperators.I2F, 0);
+        FloatVector mantissa = bits.and(MANTISSA_MASK).or(EXPONENT_ONE).reinterpretAsFloats();
+        FloatVector t = mantissa.sub(1.0f).div(mantissa.add(1.0f));
+        FloatVector t2 = t.mul(t);
+        FloatVector series = t2.mul(C11).add(C9).mul(t2).add(C7).mul(t2).add(C5).mul(t2).add(C3).mul(t2).add(C1);
+        FloatVector correction = exponent.mul(multiplierLow).add(series.mul(t).mul(multiplierHigh + multiplierLow));
+        return correction.add(exponent.mul(multiplierHigh));
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.util;
+
+import io.github.dsheirer.controller.NamingThreadFactory;
+import io.github.dsheirer.properties.SystemProperties;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cooperative scheduler that runs dispatcher processing intervals on a fixed pool of worker threads sized to the
+ * number of processor cores, instead of each dispatcher running on its own thread.  This keeps the thread count and
+ * context switching flat as the number of decoding channels grows.
+ *
+ * Each scheduled dispatch is queued at most once and runs on only one worker at a time, so a channel's buffers are
+ * always processed in order.  Each worker services its own queues first and steals work from the other workers when
+ * idle.  High priority dispatches are serviced across all workers before normal priority dispatches.
+ *
+ * The scheduler is disabled by default and is enabled with the dispatch.scheduler.enabled system property.  The
+ * worker count defaults to the number of available processors and can be set with the dispatch.scheduler.threads
+ * system property.
+ */
+public class DispatchScheduler
+{
+    private static final Logger mLog = LoggerFactory.getLogger(DispatchScheduler.class);
+    public static final String ENABLED_PROPERTY = "dispatch.scheduler.enabled";
+    public static final String THREAD_COUNT_PROPERTY = "dispatch.scheduler.threads";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static DispatchScheduler sInstance;
+    private static Boolean sEnabled;
+
+    private final Worker[] mWorkers;
+    private final AtomicInteger mNextWorker = new AtomicInteger();
+    private final ScheduledExecutorService mTimer;
+
+    /**
+     * Constructs an instance
+     * @param workerCount number of worker threads
+     */
+    private DispatchScheduler(int workerCount)
+    {
+        mWorkers = new Worker[workerCount];
+        NamingThreadFactory threadFactory = new NamingThreadFactory("sdrtrunk dispatch worker");
+
+        for(int x = 0; x < workerCount; x++)
+        {
+            mWorkers[x] = new Worker(x);
+            Thread thread = threadFactory.newThread(mWorkers[x]);
+            thread.setDaemon(true);
+            mWorkers[x].setThread(thread);
+            thread.start();
+        }
+
+        mTimer = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory("sdrtrunk dispatch timer"));
+        mLog.info("Dispatch scheduler started with [" + workerCount + "] worker threads");
+    }
+
+    /**
+     * Indicates if the cooperative dispatch scheduler is enabled via system properties.
+     */
+    public static synchronized boolean isEnabled()
+    {
+        if(sEnabled == null)
+        {
+            sEnabled = SystemProperties.getInstance().get(ENABLED_PROPERTY, false);
+        }
+
+        return sEnabled;
+    }
+
+    /**
+     * Shared scheduler instance, created on first access.
+     */
+    public static synchronized DispatchScheduler getInstance()
+    {
+        if(sInstance == null)
+        {
+            int threads = SystemProperties.getInstance().get(THREAD_COUNT_PROPERTY,
+                    Runtime.getRuntime().availableProcessors());
+            sInstance = new DispatchScheduler(Math.max(1, threads));
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Schedules the runnable to run on the worker pool at a fixed interval.
+     * @param runnable to run each interval
+     * @param interval in milliseconds
+     * @param priority for the runnable
+     * @return scheduled dispatch that can be used to change the priority or to cancel.
+     */
+    public ScheduledDispatch schedule(Runnable runnable, long interval, DispatchPriority priority)
+    {
+        int home = Math.floorMod(mNextWorker.getAndIncrement(), mWorkers.length);
+        ScheduledDispatch scheduledDispatch = new ScheduledDispatch(runnable, home, priority);
+        scheduledDispatch.setFuture(mTimer.scheduleAtFixedRate(scheduledDispatch::submit, 0, interval,
+                TimeUnit.MILLISECONDS));
+        return scheduledDispatch;
+    }
+
+    /**
+     * Queues the dispatch on its home worker and wakes a worker to service it.
+     */
+    private void enqueue(ScheduledDispatch scheduledDispatch)
+    {
+        Worker home = mWorkers[scheduledDispatch.getHomeWorker()];
+        home.getQueue(scheduledDispatch.getPriority()).offer(scheduledDispatch);
+
+        if(home.isParked())
+        {
+            home.unpark();
+        }
+        else
+        {
+            //Home worker is busy - wake an idle worker so that it can steal the work
+            for(Worker worker: mWorkers)
+            {
+                if(worker.isParked())
+                {
+                    worker.unpark();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the next dispatch for the worker, servicing high priority work across all workers first, then the worker's
+     * own normal priority work and finally stealing normal priority work from other workers.
+     */
+    private ScheduledDispatch next(Worker worker)
+    {
+        ScheduledDispatch next = worker.mHighQueue.pollFirst();
+
+        if(next == null)
+        {
+            next = steal(worker, DispatchPriority.HIGH);
+        }
+
+        if(next == null)
+        {
+            next = worker.mNormalQueue.pollFirst();
+        }
+
+        if(next == null)
+        {
+            next = steal(worker, DispatchPriority.NORMAL);
+        }
+
+        return next;
+    }
+
+    /**
+     * Steals the oldest queued dispatch of the specified priority from another worker.
+     */
+    private ScheduledDispatch steal(Worker thief, DispatchPriority priority)
+    {
+        for(int x = 1; x < mWorkers.length; x++)
+        {
+            Worker victim = mWorkers[(thief.mIndex + x) % mWorkers.length];
+            ScheduledDispatch stolen = victim.getQueue(priority).pollFirst();
+
+            if(stolen != null)
+            {
+                return stolen;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Indicates if any worker has queued work.
+     */
+    private boolean hasWork()
+    {
+        for(Worker worker: mWorkers)
+        {
+            if(!worker.mHighQueue.isEmpty() || !worker.mNormalQueue.isEmpty())
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Worker thread with high and normal priority queues.
+     */
+    private class Worker implements Runnable
+    {
+        private final int mIndex;
+        private final ConcurrentLinkedDeque<ScheduledDispatch> mHighQueue = new ConcurrentLinkedDeque<>();
+        private final ConcurrentLinkedDeque<ScheduledDispatch> mNormalQueue = new ConcurrentLinkedDeque<>();
+        private volatile boolean mParked;
+        private Thread mThread;
+
+        public Worker(int index)
+        {
+            mIndex = index;
+        }
+
+        public void setThread(Thread thread)
+        {
+            mThread = thread;
+        }
+
+        public ConcurrentLinkedDeque<ScheduledDispatch> getQueue(DispatchPriority priority)
+        {
+            return priority == DispatchPriority.HIGH ? mHighQueue : mNormalQueue;
+        }
+
+        public boolean isParked()
+        {
+            return mParked;
+        }
+
+        public void unpark()
+        {
+            LockSupport.unpark(mThread);
+        }
+
+        @Override
+        public void run()
+        {
+            while(true)
+            {
+                ScheduledDispatch scheduledDispatch = next(this);
+
+                if(scheduledDispatch != null)
+                {
+                    scheduledDispatch.execute();
+                }
+                else
+                {
+                    mParked = true;
+
+                    //Recheck after flagging as parked so that a concurrent enqueue can't be missed
+                    if(!hasWork())
+                    {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+
+                    mParked = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runnable scheduled for periodic execution on the worker pool.
+     */
+    public class ScheduledDispatch
+    {
+        private final Runnable mRunnable;
+        private final int mHomeWorker;
+        private final AtomicBoolean mQueued = new AtomicBoolean();
+        private volatile DispatchPriority mPriority;
+        private volatile boolean mCancelled;
+        private ScheduledFuture<?> mFuture;
+
+        private ScheduledDispatch(Runnable runnable, int homeWorker, DispatchPriority priority)
+        {
+            mRunnable = runnable;
+            mHomeWorker = homeWorker;
+            mPriority = priority;
+        }
+
+        private void setFuture(ScheduledFuture<?> future)
+        {
+            mFuture = future;
+        }
+
+        private int getHomeWorker()
+        {
+            return mHomeWorker;
+        }
+
+        /**
+         * Current priority
+         */
+        public DispatchPriority getPriority()
+        {
+            return mPriority;
+        }
+
+        /**
+         * Changes the priority, effective from the next processing interval.
+         */
+        public void setPriority(DispatchPriority priority)
+        {
+            mPriority = priority;
+        }
+
+        /**
+         * Cancels future processing intervals.  A processing interval that is currently running is allowed to
+         * complete.
+         */
+        public void cancel()
+        {
+            mCancelled = true;
+
+            if(mFuture != null)
+            {
+                mFuture.cancel(false);
+            }
+        }
+
+        /**
+         * Queues this dispatch for the current interval, unless it is still queued or running from a prior interval.
+         */
+        private void submit()
+        {
+            if(!mCancelled && mQueued.compareAndSet(false, true))
+            {
+                enqueue(this);
+            }
+        }
+
+        /**
+         * Executes the runnable on the current worker thread.
+         */
+        private void execute()
+        {
+            try
+            {
+                if(!mCancelled)
+                {
+                    mRunnable.run();
+                }
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Error during scheduled dispatch processing", t);
+            }
+            finally
+            {
+                mQueued.set(false);
+            }
+        }
+    }
+}
@@ -37,6 +37,9 @@ import org.slf4j.LoggerFactory;
  * registered listener on this consumer/dispatcher thread.  Internally uses a single-thread thread pool to effect a
  * timer-based interval for processing to avoid excessive context switching inherent in a blocking queue.  Sizes the
  * thread pool to a single thread to ensure Garbage Collector can efficiently clean objects created on the thread.
+ *
+ * Dispatchers that enable cooperative scheduling run their processing intervals on the shared dispatch scheduler
+ * worker pool instead of a dedicated thread, when the dispatch scheduler is enabled.
  */
 public class Dispatcher<E> implements Listener<E>
 {
@@ -49,6 +52,9 @@ public class Dispatcher<E> implements Listener<E>
     private ScheduledFuture<?> mScheduledFuture;
     private final long mInterval;
     private HeartbeatManager mHeartbeatManager;
+    private boolean mCooperativeScheduling;
+    private DispatchPriority mPriority = DispatchPriority.NORMAL;
+    private DispatchScheduler.ScheduledDispatch mScheduledDispatch;
 
     /**
      * Constructs an instance of a Dispatcher with integrated heartbeat support.
@@ -82,6 +88,32 @@ public class Dispatcher<E> implements Listener<E>
         mThreadName = threadName;
     }
 
+    /**
+     * Enables this dispatcher to run on the shared dispatch scheduler worker pool, when the scheduler is enabled,
+     * instead of a dedicated thread.  Takes effect the next time this dispatcher is started.
+     * @param cooperativeScheduling true to use the shared worker pool.
+     */
+    public void setCooperativeScheduling(boolean cooperativeScheduling)
+    {
+        mCooperativeScheduling = cooperativeScheduling;
+    }
+
+    /**
+     * Sets the scheduling priority for this dispatcher when it runs on the shared dispatch scheduler.
+     * @param priority to apply
+     */
+    public void setPriority(DispatchPriority priority)
+    {
+        mPriority = priority;
+
+        DispatchScheduler.ScheduledDispatch scheduledDispatch = mScheduledDispatch;
+
+        if(scheduledDispatch != null)
+        {
+            scheduledDispatch.setPriority(priority);
+        }
+    }
+
     /**
      * Sets or changes the listener to receive buffers from this processor.
      * @param listener to receive buffers
@@ -102,7 +134,47 @@ public class Dispatcher<E> implements Listener<E>
     {
         if(mRunning.get())
         {
+            queued(e);
             mQueue.add(e);
+
+            //If stop() cleared the queue between the running check and the add, discard the element so that it isn't
+            //held in the queue of a stopped dispatcher
+            if(!mRunning.get())
+            {
+                clearQueue();
+            }
+        }
+    }
+
+    /**
+     * Invoked before an element is added to the queue.  Sub-classes can override to acquire resources that must be
+     * held while the element is queued.
+     * @param e that is being queued
+     */
+    protected void queued(E e)
+    {
+    }
+
+    /**
+     * Invoked after a queued element is dispatched to the listener, or discarded when the queue is cleared.
+     * Sub-classes can override to release resources acquired in queued().
+     * @param e that was dispatched or discarded
+     */
+    protected void dequeued(E e)
+    {
+    }
+
+    /**
+     * Removes all elements from the queue without dispatching them.
+     */
+    private void clearQueue()
+    {
+        List<E> elements = new ArrayList<>();
+        mQueue.drainTo(elements);
+
+        for(E element: elements)
+        {
+            dequeued(element);
         }
     }
 
@@ -120,17 +192,27 @@ public class Dispatcher<E> implements Listener<E>
                 mScheduledFuture.cancel(false);
             }
 
+            cancelScheduledDispatch();
+
             if(mExecutorService != null)
             {
                 mExecutorService.shutdown();
                 mExecutorService = null;
             }
 
-            mQueue.clear();
-            mExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(mThreadName));
+            clearQueue();
 
             Runnable r = (mHeartbeatManager != null ? new ProcessorWithHeartbeat() : new Processor());
-            mScheduledFuture = mExecutorService.scheduleAtFixedRate(r, 0, mInterval, TimeUnit.MILLISECONDS);
+
+            if(mCooperativeScheduling && DispatchScheduler.isEnabled())
+            {
+                mScheduledDispatch = DispatchScheduler.getInstance().schedule(r, mInterval, mPriority);
+            }
+            else
+            {
+                mExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(mThreadName));
+                mScheduledFuture = mExecutorService.scheduleAtFixedRate(r, 0, mInterval, TimeUnit.MILLISECONDS);
+            }
         }
     }
 
@@ -147,9 +229,11 @@ public class Dispatcher<E> implements Listener<E>
                 //be able to release those locks or we'll get a deadlock situation.
                 mScheduledFuture.cancel(false);
                 mScheduledFuture = null;
-                mQueue.clear();
             }
 
+            cancelScheduledDispatch();
+            clearQueue();
+
             if(mExecutorService != null)
             {
                 mExecutorService.shutdown();
@@ -173,6 +257,8 @@ public class Dispatcher<E> implements Listener<E>
                 mScheduledFuture = null;
             }
 
+            cancelScheduledDispatch();
+
             if(mExecutorService != null)
             {
                 mExecutorService.shutdown();
@@ -197,10 +283,24 @@ public class Dispatcher<E> implements Listener<E>
                                 mListener.getClass() + "]", t);
                     }
                 }
+
+                dequeued(element);
             }
         }
     }
 
+    /**
+     * Cancels processing on the shared dispatch scheduler, if scheduled.
+     */
+    private void cancelScheduledDispatch()
+    {
+        if(mScheduledDispatch != null)
+        {
+            mScheduledDispatch.cancel();
+            mScheduledDispatch = null;
+        }
+    }
+
     /**
      * Indicates if this processor is currently running
      */
@@ -232,6 +332,8 @@ public class Dispatcher<E> implements Listener<E>
                             mListener.getClass() + "]", t);
                 }
             }
+
+            dequeued(element);
         }
     }
 
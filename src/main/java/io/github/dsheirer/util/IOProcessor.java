@@ -0,0 +1,149 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.util;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a processing task repeatedly on a dedicated I/O thread (a virtual thread, unless disabled) as a replacement for
+ * scheduling I/O-bound tasks on the shared platform thread pools.
+ *
+ * In hand-off mode the task runs each time a producer signals that work is available, or after the interval elapses
+ * when there is no signal, so producers don't incur polling latency and the interval only serves housekeeping such as
+ * aging off queued work.  In fixed-rate mode the task runs at a fixed rate, like ScheduledExecutorService, for paced
+ * output such as audio streaming, and signals are ignored.
+ */
+public class IOProcessor
+{
+    private final static Logger mLog = LoggerFactory.getLogger(IOProcessor.class);
+    private final String mName;
+    private final Runnable mTask;
+    private final long mIntervalNanos;
+    private final boolean mFixedRate;
+    private final Semaphore mSignal = new Semaphore(0);
+    private volatile Thread mThread;
+
+    /**
+     * Constructs an instance
+     * @param name for the processing thread
+     * @param task to run
+     * @param interval in milliseconds between runs (fixed-rate) or maximum wait between runs (hand-off).
+     * @param fixedRate true to run at a fixed rate or false to run when signalled.
+     */
+    public IOProcessor(String name, Runnable task, long interval, boolean fixedRate)
+    {
+        mName = name;
+        mTask = task;
+        mIntervalNanos = TimeUnit.MILLISECONDS.toNanos(interval);
+        mFixedRate = fixedRate;
+    }
+
+    /**
+     * Starts the processing thread.
+     */
+    public synchronized void start()
+    {
+        if(mThread == null)
+        {
+            mSignal.drainPermits();
+            Thread thread = ThreadPool.getIOThreadBuilder(mName).unstarted(this::process);
+            mThread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops and interrupts the processing thread.
+     */
+    public synchronized void stop()
+    {
+        Thread thread = mThread;
+        mThread = null;
+
+        if(thread != null)
+        {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Indicates if this processor is started.
+     */
+    public boolean isRunning()
+    {
+        return mThread != null;
+    }
+
+    /**
+     * Signals the processing thread that work is available so that the task runs without waiting for the interval.
+     */
+    public void signal()
+    {
+        if(mSignal.availablePermits() == 0)
+        {
+            mSignal.release();
+        }
+    }
+
+    /**
+     * Processing loop.  Runs until this processor is stopped, or restarted with a new thread.
+     */
+    private void process()
+    {
+        long nextRun = System.nanoTime();
+
+        while(mThread == Thread.currentThread())
+        {
+            try
+            {
+                mTask.run();
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Error while running I/O processor task [" + mName + "]", t);
+            }
+
+            try
+            {
+                if(mFixedRate)
+                {
+                    nextRun += mIntervalNanos;
+                    long wait = nextRun - System.nanoTime();
+
+                    if(wait > 0)
+                    {
+                        Thread.sleep(Duration.ofNanos(wait));
+                    }
+                }
+                else if(mSignal.tryAcquire(mIntervalNanos, TimeUnit.NANOSECONDS))
+                {
+                    mSignal.drainPermits();
+                }
+            }
+            catch(InterruptedException ie)
+            {
+                //Stop requested - loop condition exits unless restarted
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package io.github.dsheirer.util;
 
 import io.github.dsheirer.controller.NamingThreadFactory;
+import io.github.dsheirer.properties.SystemProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +34,14 @@ public class ThreadPool
             Executors.newScheduledThreadPool(4, new NamingThreadFactory("sdrtrunk scheduled"));
     public static ExecutorService CACHED =
             Executors.newCachedThreadPool(new NamingThreadFactory("sdrtrunk cached"));
+    public static ExecutorService VIRTUAL =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sdrtrunk virtual thread ", 1).factory());
+
+    /**
+     * System property to disable the use of virtual threads for I/O-bound tasks (e.g. audio broadcasters).
+     */
+    public static final String VIRTUAL_THREADS_ENABLED_PROPERTY = "io.virtual.threads.enabled";
+    private static Boolean sVirtualThreadsEnabled;
 
     /**
      * Application-wide shared thread pools and scheduled executor service.
@@ -41,6 +50,43 @@ public class ThreadPool
     {
     }
 
+    /**
+     * Indicates if I/O-bound tasks should run on virtual threads.  Enabled by default.
+     */
+    public static synchronized boolean isVirtualThreadsEnabled()
+    {
+        if(sVirtualThreadsEnabled == null)
+        {
+            sVirtualThreadsEnabled = SystemProperties.getInstance().get(VIRTUAL_THREADS_ENABLED_PROPERTY, true);
+        }
+
+        return sVirtualThreadsEnabled;
+    }
+
+    /**
+     * Executor for I/O-bound tasks that block on network or file access.
+     * @return virtual thread executor, or the cached platform thread pool when virtual threads are disabled.
+     */
+    public static ExecutorService getIOExecutor()
+    {
+        return isVirtualThreadsEnabled() ? VIRTUAL : CACHED;
+    }
+
+    /**
+     * Thread builder for a long-running I/O-bound task.
+     * @param name for the thread
+     * @return virtual thread builder, or a daemon platform thread builder when virtual threads are disabled.
+     */
+    public static Thread.Builder getIOThreadBuilder(String name)
+    {
+        if(isVirtualThreadsEnabled())
+        {
+            return Thread.ofVirtual().name(name);
+        }
+
+        return Thread.ofPlatform().name(name).daemon(true);
+    }
+
     public static void logSettings()
     {
         mLog.info("Application thread pool created SCHEDULED and CACHED executors threads");
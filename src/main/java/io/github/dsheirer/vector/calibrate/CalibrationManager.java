@@ -25,9 +25,15 @@ import io.github.dsheirer.preference.calibration.VectorCalibrationPreference;
 import io.github.dsheirer.vector.calibrate.airspy.AirspySampleConverterCalibration;
 import io.github.dsheirer.vector.calibrate.airspy.AirspyUnpackedCalibration;
 import io.github.dsheirer.vector.calibrate.airspy.AirspyUnpackedInterleavedCalibration;
+import io.github.dsheirer.vector.calibrate.channelizer.ChannelizerFilterBankCalibration;
+import io.github.dsheirer.vector.calibrate.converter.ByteSampleConverterCalibration;
+import io.github.dsheirer.vector.calibrate.converter.DecibelCalculatorCalibration;
+import io.github.dsheirer.vector.calibrate.converter.ShortSampleConverterCalibration;
 import io.github.dsheirer.vector.calibrate.demodulator.DifferentialDemodulatorCalibration;
 import io.github.dsheirer.vector.calibrate.demodulator.FmDemodulatorCalibration;
+import io.github.dsheirer.vector.calibrate.filter.ComplexFirFilterCalibration;
 import io.github.dsheirer.vector.calibrate.filter.FirFilterCalibration;
+import io.github.dsheirer.vector.calibrate.filter.PolyphaseResamplerCalibration;
 import io.github.dsheirer.vector.calibrate.filter.RealDcRemovalCalibration;
 import io.github.dsheirer.vector.calibrate.filter.RealHalfBand11TapFilterCalibration;
 import io.github.dsheirer.vector.calibrate.filter.RealHalfBand15TapFilterCalibration;
@@ -103,16 +109,21 @@ public class CalibrationManager
             sInstance.add(new AirspyUnpackedCalibration());
             sInstance.add(new AirspyUnpackedInterleavedCalibration());
             sInstance.add(new AmDemodulatorCalibration());
+            sInstance.add(new ByteSampleConverterCalibration());
+            sInstance.add(new ChannelizerFilterBankCalibration());
             sInstance.add(new ComplexGainCalibration());
             sInstance.add(new ComplexGainControlCalibration());
             sInstance.add(new ComplexOscillatorCalibration());
             sInstance.add(new ComplexMixerCalibration());
+            sInstance.add(new DecibelCalculatorCalibration());
             sInstance.add(new DMRSoftSyncCalibration());
             sInstance.add(new DifferentialDemodulatorCalibration());
+            sInstance.add(new ComplexFirFilterCalibration());
             sInstance.add(new FirFilterCalibration());
             sInstance.add(new FmDemodulatorCalibration());
             sInstance.add(new InterpolatorCalibration());
             sInstance.add(new MagnitudeCalibration());
+            sInstance.add(new PolyphaseResamplerCalibration());
             sInstance.add(new RealDcRemovalCalibration());
             sInstance.add(new RealHalfBand11TapFilterCalibration());
             sInstance.add(new RealHalfBand15TapFilterCalibration());
@@ -120,6 +131,7 @@ public class CalibrationManager
             sInstance.add(new RealHalfBand63TapFilterCalibration());
             sInstance.add(new RealHalfBandDefaultFilterCalibration());
             sInstance.add(new RealOscillatorCalibration());
+            sInstance.add(new ShortSampleConverterCalibration());
 //            sInstance.add(new HilbertCalibration()); //Not currently used
             sInstance.add(new WindowCalibration()); //Not currently used
         }
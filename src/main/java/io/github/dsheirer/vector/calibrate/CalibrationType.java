@@ -36,10 +36,13 @@ public enum CalibrationType
     AIRSPY_UNPACKED_INTERLEAVED_ITERATOR("Airspy Unpacked Interleaved Iterator", 1),
     AIRSPY_UNPACKED_ITERATOR("Airspy Unpacked Iterator", 1),
     AM_DEMODULATOR("AM Demodulator", 1),
+    CHANNELIZER_FILTER_BANK("Polyphase Channelizer Filter Bank", 1),
     DC_REMOVAL_REAL("Real DC Removal Filter", 1),
+    DECIBEL_CALCULATOR("Decibel Calculator", 1),
     DMR_SOFT_SYNC_DETECTOR("DMR Soft Sync Detector", 1),
     DIFFERENTIAL_DEMODULATOR("DQPSK Demodulator", 1),
     FILTER_FIR("FIR Filter", 1),
+    FILTER_FIR_COMPLEX("Complex FIR Filter", 1),
     FILTER_HALF_BAND_REAL_11_TAP("Real Half-Band Decimation Filter - 11 Tap", 1),
     FILTER_HALF_BAND_REAL_15_TAP("Real Half-Band Decimation Filter - 15 Tap", 1),
     FILTER_HALF_BAND_REAL_23_TAP("Real Half-Band Decimation Filter - 23 Tap", 1),
@@ -52,6 +55,9 @@ public enum CalibrationType
     MAGNITUDE("Magnitude", 1),
     MIXER_COMPLEX("Complex Mixer", 1),
     OSCILLATOR_REAL("Real Oscillator", 1),
+    RESAMPLER_POLYPHASE("Polyphase Resampler", 1),
+    SAMPLE_CONVERTER_BYTE("8-bit Sample Converter", 1),
+    SAMPLE_CONVERTER_SHORT("16-bit Sample Converter", 1),
     SQUELCHING_FM_DEMODULATOR("Squelching FM Demodulator", 1),
     WINDOW("Window", 1);
 
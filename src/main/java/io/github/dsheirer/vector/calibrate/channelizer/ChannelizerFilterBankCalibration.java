@@ -0,0 +1,125 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.vector.calibrate.channelizer;
+
+import io.github.dsheirer.dsp.filter.channelizer.ChannelizerFilterBank;
+import io.github.dsheirer.dsp.filter.channelizer.ScalarChannelizerFilterBank;
+import io.github.dsheirer.dsp.filter.channelizer.VectorChannelizerFilterBank;
+import io.github.dsheirer.vector.calibrate.Calibration;
+import io.github.dsheirer.vector.calibrate.CalibrationException;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+
+/**
+ * Calibrates the polyphase channelizer filter bank implementations to determine the optimal instance.
+ */
+public class ChannelizerFilterBankCalibration extends Calibration
+{
+    //Sized for a 10 MHz tuner channelized into 400 channels (800 I/Q sub-channels) with 17 taps per channel
+    private static final int SUB_CHANNEL_COUNT = 800;
+    private static final int TAPS_PER_CHANNEL = 17;
+    private static final int ITERATION_DURATION_MS = 1000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int TEST_ITERATIONS = 5;
+    private ChannelizerFilterBank mScalarFilterBank = new ScalarChannelizerFilterBank();
+    private ChannelizerFilterBank mVectorFilterBank = new VectorChannelizerFilterBank();
+
+    /**
+     * Constructs an instance
+     */
+    public ChannelizerFilterBankCalibration()
+    {
+        super(CalibrationType.CHANNELIZER_FILTER_BANK);
+    }
+
+    @Override public void calibrate() throws CalibrationException
+    {
+        float[] samples = getFloatSamples(SUB_CHANNEL_COUNT * TAPS_PER_CHANNEL);
+        float[] filter = getFloatSamples(SUB_CHANNEL_COUNT * TAPS_PER_CHANNEL);
+
+        Mean scalarMean = new Mean();
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            long score = test(mScalarFilterBank, samples, filter);
+            scalarMean.increment(score);
+        }
+
+        mLog.info("CHANNELIZER FILTER BANK WARMUP - SCALAR:" + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        Mean vectorMean = new Mean();
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            long score = test(mVectorFilterBank, samples, filter);
+            vectorMean.increment(score);
+        }
+
+        mLog.info("CHANNELIZER FILTER BANK WARMUP - VECTOR:" + DECIMAL_FORMAT.format(vectorMean.getResult()));
+
+        scalarMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            long score = test(mScalarFilterBank, samples, filter);
+            scalarMean.increment(score);
+        }
+
+        mLog.info("CHANNELIZER FILTER BANK - SCALAR:" + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        vectorMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            long score = test(mVectorFilterBank, samples, filter);
+            vectorMean.increment(score);
+        }
+
+        mLog.info("CHANNELIZER FILTER BANK - VECTOR:" + DECIMAL_FORMAT.format(vectorMean.getResult()));
+
+        if(scalarMean.getResult() > vectorMean.getResult())
+        {
+            setImplementation(Implementation.SCALAR);
+        }
+        else
+        {
+            setImplementation(Implementation.VECTOR_SIMD_PREFERRED);
+        }
+
+        mLog.info("CHANNELIZER FILTER BANK - IMPLEMENTATION SET TO:" + getImplementation());
+    }
+
+    private long test(ChannelizerFilterBank filterBank, float[] samples, float[] filter)
+    {
+        float[] accumulator = new float[SUB_CHANNEL_COUNT];
+        long start = System.currentTimeMillis();
+        double sum = 0.0;
+        long count = 0;
+
+        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        {
+            filterBank.filter(samples, filter, accumulator, SUB_CHANNEL_COUNT, TAPS_PER_CHANNEL);
+            sum += accumulator[2];
+            count++;
+        }
+
+        return count + (long)(sum * 0);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.vector.calibrate.converter;
+
+import io.github.dsheirer.spectrum.converter.DecibelCalculatorFactory;
+import io.github.dsheirer.spectrum.converter.IDecibelCalculator;
+import io.github.dsheirer.vector.calibrate.Calibration;
+import io.github.dsheirer.vector.calibrate.CalibrationException;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+
+/**
+ * Calculates the optimal (scalar vs vector) implementation for the DFT results decibel calculator.
+ */
+public class DecibelCalculatorCalibration extends Calibration
+{
+    private static final int BUFFER_SIZE = 4096;
+    private static final int ITERATION_DURATION_MS = 1000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int TEST_ITERATIONS = 5;
+    private IDecibelCalculator mScalarCalculator;
+    private IDecibelCalculator mVectorCalculator;
+
+    /**
+     * Constructs an instance
+     */
+    public DecibelCalculatorCalibration()
+    {
+        super(CalibrationType.DECIBEL_CALCULATOR);
+        mScalarCalculator = DecibelCalculatorFactory.getCalculator(DecibelCalculatorFactory.POWER,
+            Implementation.SCALAR);
+        mVectorCalculator = DecibelCalculatorFactory.getCalculator(DecibelCalculatorFactory.POWER,
+            Implementation.VECTOR_SIMD_PREFERRED);
+    }
+
+    @Override public void calibrate() throws CalibrationException
+    {
+        float[] bins = getFloatSamples(BUFFER_SIZE * 2);
+        float[] output = new float[BUFFER_SIZE];
+        float[] averages = new float[BUFFER_SIZE];
+
+        Mean scalarMean = new Mean();
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            scalarMean.increment(test(mScalarCalculator, bins, output, averages));
+        }
+
+        mLog.info("DECIBEL CALCULATOR WARMUP - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        Mean vectorMean = new Mean();
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            vectorMean.increment(test(mVectorCalculator, bins, output, averages));
+        }
+
+        mLog.info("DECIBEL CALCULATOR WARMUP - VECTOR: " + DECIMAL_FORMAT.format(vectorMean.getResult()));
+
+        //Test starts ...
+        scalarMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            scalarMean.increment(test(mScalarCalculator, bins, output, averages));
+        }
+
+        mLog.info("DECIBEL CALCULATOR - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        vectorMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            vectorMean.increment(test(mVectorCalculator, bins, output, averages));
+        }
+
+        mLog.info("DECIBEL CALCULATOR - VECTOR: " + DECIMAL_FORMAT.format(vectorMean.getResult()));
+
+        if(scalarMean.getResult() > vectorMean.getResult())
+        {
+            setImplementation(Implementation.SCALAR);
+        }
+        else
+        {
+            setImplementation(Implementation.VECTOR_SIMD_PREFERRED);
+        }
+
+        mLog.info("DECIBEL CALCULATOR - OPTIMAL IMPLEMENTATION SET TO: " + getImplementation());
+    }
+
+    private long test(IDecibelCalculator calculator, float[] bins, float[] output, float[] averages)
+    {
+        long start = System.currentTimeMillis();
+        double accumulator = 0.0d;
+        long count = 0;
+
+        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        {
+            calculator.convert(bins, 0, output.length, 1.0f / output.length, output, 0, averages, 0.25f, true);
+            accumulator += output[3];
+            count++;
+        }
+
+        return count + (long)(accumulator * 0);
+    }
+}
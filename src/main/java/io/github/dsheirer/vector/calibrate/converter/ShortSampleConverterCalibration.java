@@ -0,0 +1,131 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.vector.calibrate.converter;
+
+import io.github.dsheirer.buffer.convert.IShortSampleConverter;
+import io.github.dsheirer.buffer.convert.SampleConverterFactory;
+import io.github.dsheirer.vector.calibrate.Calibration;
+import io.github.dsheirer.vector.calibrate.CalibrationException;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+import java.util.Random;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+
+/**
+ * Calculates the optimal (scalar vs vector) implementation for the 16-bit (RSP) sample converter.
+ */
+public class ShortSampleConverterCalibration extends Calibration
+{
+    private static final int BUFFER_SIZE = 2048;
+    private static final int ITERATION_DURATION_MS = 1000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int TEST_ITERATIONS = 5;
+    private IShortSampleConverter mScalarConverter;
+    private IShortSampleConverter mVectorConverter;
+
+    /**
+     * Constructs an instance
+     */
+    public ShortSampleConverterCalibration()
+    {
+        super(CalibrationType.SAMPLE_CONVERTER_SHORT);
+        mScalarConverter = SampleConverterFactory.getShortSampleConverter(Implementation.SCALAR);
+        mVectorConverter = SampleConverterFactory.getShortSampleConverter(Implementation.VECTOR_SIMD_PREFERRED);
+    }
+
+    @Override public void calibrate() throws CalibrationException
+    {
+        Mean scalarMean = new Mean();
+
+        Random random = new Random();
+        short[] i = new short[BUFFER_SIZE];
+        short[] q = new short[BUFFER_SIZE];
+
+        for(int x = 0; x < BUFFER_SIZE; x++)
+        {
+            i[x] = (short)random.nextInt();
+            q[x] = (short)random.nextInt();
+        }
+
+        float[] interleaved = new float[BUFFER_SIZE * 2];
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            scalarMean.increment(test(mScalarConverter, i, q, interleaved));
+        }
+
+        mLog.info("16-BIT SAMPLE CONVERTER WARMUP - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        Mean vectorMean = new Mean();
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            vectorMean.increment(test(mVectorConverter, i, q, interleaved));
+        }
+
+        mLog.info("16-BIT SAMPLE CONVERTER WARMUP - VECTOR: " + DECIMAL_FORMAT.format(vectorMean.getResult()));
+
+        //Test starts ...
+        scalarMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            scalarMean.increment(test(mScalarConverter, i, q, interleaved));
+        }
+
+        mLog.info("16-BIT SAMPLE CONVERTER - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        vectorMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            vectorMean.increment(test(mVectorConverter, i, q, interleaved));
+        }
+
+        mLog.info("16-BIT SAMPLE CONVERTER - VECTOR: " + DECIMAL_FORMAT.format(vectorMean.getResult()));
+
+        if(scalarMean.getResult() > vectorMean.getResult())
+        {
+            setImplementation(Implementation.SCALAR);
+        }
+        else
+        {
+            setImplementation(Implementation.VECTOR_SIMD_PREFERRED);
+        }
+
+        mLog.info("16-BIT SAMPLE CONVERTER - OPTIMAL IMPLEMENTATION SET TO: " + getImplementation());
+    }
+
+    private long test(IShortSampleConverter converter, short[] i, short[] q, float[] interleaved)
+    {
+        long start = System.currentTimeMillis();
+        double accumulator = 0.0d;
+        long count = 0;
+
+        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        {
+            converter.convertInterleaved(i, q, 0, interleaved);
+            accumulator += interleaved[3];
+            count++;
+        }
+
+        return count + (long)(accumulator * 0);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.vector.calibrate.filter;
+
+import io.github.dsheirer.dsp.filter.resample.PolyphaseResampler;
+import io.github.dsheirer.dsp.filter.resample.ResamplerFactory;
+import io.github.dsheirer.vector.calibrate.Calibration;
+import io.github.dsheirer.vector.calibrate.CalibrationException;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+
+/**
+ * Calculates the optimal (scalar vs vector) implementation for the polyphase resampler.
+ */
+public class PolyphaseResamplerCalibration extends Calibration
+{
+    private static final int BUFFER_SIZE = 512;
+    private static final double INPUT_RATE = 8000.0;
+    private static final double OUTPUT_RATE = 22050.0;
+    private static final int ITERATION_DURATION_MS = 1000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int TEST_ITERATIONS = 5;
+    private PolyphaseResampler mScalarResampler;
+    private PolyphaseResampler mVectorResampler;
+
+    /**
+     * Constructs an instance
+     */
+    public PolyphaseResamplerCalibration()
+    {
+        super(CalibrationType.RESAMPLER_POLYPHASE);
+        mScalarResampler = ResamplerFactory.getResampler(INPUT_RATE, OUTPUT_RATE, Implementation.SCALAR);
+        mVectorResampler = ResamplerFactory.getResampler(INPUT_RATE, OUTPUT_RATE,
+            Implementation.VECTOR_SIMD_PREFERRED);
+    }
+
+    @Override public void calibrate() throws CalibrationException
+    {
+        Mean scalarMean = new Mean();
+
+        float[] samples = getFloatSamples(BUFFER_SIZE);
+        float[] output = new float[mScalarResampler.getMaximumOutputLength(BUFFER_SIZE)];
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            scalarMean.increment(test(mScalarResampler, samples, output));
+        }
+
+        mLog.info("POLYPHASE RESAMPLER WARMUP - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        Mean vectorMean = new Mean();
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            vectorMean.increment(test(mVectorResampler, samples, output));
+        }
+
+        mLog.info("POLYPHASE RESAMPLER WARMUP - VECTOR: " + DECIMAL_FORMAT.format(vectorMean.getResult()));
+
+        //Test starts ...
+        scalarMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            scalarMean.increment(test(mScalarResampler, samples, output));
+        }
+
+        mLog.info("POLYPHASE RESAMPLER - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        vectorMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            vectorMean.increment(test(mVectorResampler, samples, output));
+        }
+
+        mLog.info("POLYPHASE RESAMPLER - VECTOR: " + DECIMAL_FORMAT.format(vectorMean.getResult()));
+
+        if(scalarMean.getResult() > vectorMean.getResult())
+        {
+            setImplementation(Implementation.SCALAR);
+        }
+        else
+        {
+            setImplementation(Implementation.VECTOR_SIMD_PREFERRED);
+        }
+
+        mLog.info("POLYPHASE RESAMPLER - OPTIMAL IMPLEMENTATION SET TO: " + getImplementation());
+    }
+
+    private long test(PolyphaseResampler resampler, float[] samples, float[] output)
+    {
+        long start = System.currentTimeMillis();
+        double accumulator = 0.0d;
+        long count = 0;
+
+        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        {
+            resampler.resample(samples, 0, samples.length, output, 0);
+            accumulator += output[3];
+            count++;
+        }
+
+        return count + (long)(accumulator * 0);
+    }
+}
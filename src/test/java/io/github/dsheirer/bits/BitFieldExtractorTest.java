@@ -0,0 +1,174 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.bits;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JUnit tests for bit field extraction from binary messages.
+ */
+public class BitFieldExtractorTest
+{
+    private static final int MESSAGE_SIZE = 288;
+    private static final int MESSAGE_COUNT = 200;
+
+    /**
+     * Test: extract contiguous, fragmented, descending, word-crossing and 32-bit fields, with and without an offset,
+     * from random, all-zero and all-one messages.
+     *
+     * Success: every extracted value matches a reference per-bit gather of the field indices.
+     */
+    @Test
+    void testFieldsMatchPerBitGather()
+    {
+        List<int[]> fields = new ArrayList<>();
+        fields.add(range(0, 1));
+        fields.add(range(5, 8));
+        fields.add(range(17, 15));
+        fields.add(range(40, 24));
+        fields.add(range(56, 32));
+        fields.add(range(60, 16));
+        fields.add(range(0, 32));
+        fields.add(range(48, 32));
+        fields.add(range(250, 32));
+        fields.add(concat(range(10, 4), range(100, 4)));
+        fields.add(concat(range(30, 20), range(90, 12)));
+        fields.add(concat(range(3, 16), range(61, 16)));
+        fields.add(concat(range(120, 2), range(60, 17), range(200, 13)));
+        fields.add(new int[]{1, 3, 5, 7, 9, 11, 13, 15, 17, 19, 21, 23, 25, 27, 29, 31, 33, 35});
+        fields.add(descending(95, 20));
+        fields.add(descending(127, 32));
+        fields.add(concat(descending(70, 8), range(70, 16)));
+
+        Random random = new Random(41);
+
+        for(int x = 0; x < MESSAGE_COUNT; x++)
+        {
+            BinaryMessage message = new BinaryMessage(MESSAGE_SIZE);
+
+            for(int bit = 0; bit < MESSAGE_SIZE; bit++)
+            {
+                //Include all-zero and all-one messages along with the random messages
+                if(x == 1 || (x > 1 && random.nextBoolean()))
+                {
+                    message.set(bit);
+                }
+            }
+
+            for(int[] field: fields)
+            {
+                assertEquals(gather(message, field, 0), message.getInt(field), "Field " + describe(field));
+
+                int maxIndex = 0;
+
+                for(int index: field)
+                {
+                    maxIndex = Math.max(maxIndex, index);
+                }
+
+                int offset = 1 + random.nextInt(MESSAGE_SIZE - maxIndex - 1);
+                assertEquals(gather(message, field, offset), message.getInt(field, offset),
+                    "Field " + describe(field) + " offset " + offset);
+                assertEquals(gather(message, field, 0), message.getInt(FragmentedIntField.of(field)),
+                    "Fragmented field " + describe(field));
+            }
+
+            for(int start = 0; start + 32 <= MESSAGE_SIZE; start += 7)
+            {
+                for(int length = 1; length <= 32; length++)
+                {
+                    int[] field = range(start, length);
+                    assertEquals(gather(message, field, 0),
+                        message.getInt(IntField.range(start, start + length - 1)),
+                        "Int field " + describe(field));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reference implementation: gathers the field value a bit at a time.
+     */
+    private static int gather(BinaryMessage message, int[] indices, int offset)
+    {
+        int value = 0;
+
+        for(int index: indices)
+        {
+            value <<= 1;
+
+            if(message.get(index + offset))
+            {
+                value++;
+            }
+        }
+
+        return value;
+    }
+
+    private static int[] range(int start, int length)
+    {
+        int[] indices = new int[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            indices[x] = start + x;
+        }
+
+        return indices;
+    }
+
+    private static int[] descending(int start, int length)
+    {
+        int[] indices = new int[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            indices[x] = start - x;
+        }
+
+        return indices;
+    }
+
+    private static int[] concat(int[]... arrays)
+    {
+        List<Integer> indices = new ArrayList<>();
+
+        for(int[] array: arrays)
+        {
+            for(int index: array)
+            {
+                indices.add(index);
+            }
+        }
+
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String describe(int[] field)
+    {
+        return "[" + field[0] + " .. " + field[field.length - 1] + "] length " + field.length;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.filter.resample;
+
+import io.github.dsheirer.vector.calibrate.Implementation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for the rational ratio polyphase filter bank and resampler.
+ */
+public class PolyphaseResamplerTest
+{
+    private static final double TONE_FREQUENCY = 1000.0;
+    private static final int CHUNK_SIZE = 333;
+    private static final Implementation[] IMPLEMENTATIONS = {Implementation.SCALAR,
+        Implementation.VECTOR_SIMD_PREFERRED};
+
+    /**
+     * Test: calculate the interpolation and decimation rates for common audio sample rate pairs.
+     *
+     * Success: each ratio is the exact reduced fraction of output rate / input rate.
+     */
+    @Test
+    void testRatio()
+    {
+        assertEquals(new PolyphaseFilterBank.Ratio(441, 80), PolyphaseFilterBank.getRatio(8000, 44100));
+        assertEquals(new PolyphaseFilterBank.Ratio(80, 441), PolyphaseFilterBank.getRatio(44100, 8000));
+        assertEquals(new PolyphaseFilterBank.Ratio(6, 1), PolyphaseFilterBank.getRatio(8000, 48000));
+        assertEquals(new PolyphaseFilterBank.Ratio(1, 6), PolyphaseFilterBank.getRatio(48000, 8000));
+        assertEquals(new PolyphaseFilterBank.Ratio(2, 1), PolyphaseFilterBank.getRatio(8000, 16000));
+        assertEquals(new PolyphaseFilterBank.Ratio(1, 1), PolyphaseFilterBank.getRatio(8000, 8000));
+    }
+
+    /**
+     * Test: calculate the ratio for a sample rate pair that has no exact representation within the maximum number of
+     * filter bank phases.
+     *
+     * Success: the interpolation rate does not exceed the maximum phase count and the ratio closely approximates the
+     * requested resample factor.
+     */
+    @Test
+    void testApproximateRatio()
+    {
+        double inputRate = 8000.0;
+        double outputRate = 8000.0 * Math.PI;
+        PolyphaseFilterBank.Ratio ratio = PolyphaseFilterBank.getRatio(inputRate, outputRate);
+
+        assertTrue(ratio.interpolation() <= PolyphaseFilterBank.MAXIMUM_PHASES, "Interpolation exceeds maximum phases");
+        assertEquals(outputRate / inputRate, (double)ratio.interpolation() / ratio.decimation(), 1e-5);
+    }
+
+    /**
+     * Test: calculate the ratio for zero, negative and unsupported sample rates.
+     *
+     * Success: an IllegalArgumentException is thrown for each.
+     */
+    @Test
+    void testInvalidRatio()
+    {
+        assertThrows(IllegalArgumentException.class, () -> PolyphaseFilterBank.getRatio(0, 44100));
+        assertThrows(IllegalArgumentException.class, () -> PolyphaseFilterBank.getRatio(8000, 0));
+        assertThrows(IllegalArgumentException.class, () -> PolyphaseFilterBank.getRatio(-8000, 44100));
+        assertThrows(IllegalArgumentException.class, () -> PolyphaseFilterBank.getRatio(8000, -44100));
+        assertThrows(IllegalArgumentException.class, () -> PolyphaseFilterBank.getRatio(8000, 8000.0 * 2000));
+    }
+
+    /**
+     * Test: upsample a 1 kHz tone from 8 kHz to 44.1 kHz with the scalar and vector resamplers, in odd sized chunks.
+     *
+     * Success: the output length matches the resample ratio and the output tone has the input frequency and amplitude.
+     */
+    @Test
+    void testUpsampleTone()
+    {
+        for(Implementation implementation: IMPLEMENTATIONS)
+        {
+            assertTone(8000, 44100, implementation);
+        }
+    }
+
+    /**
+     * Test: downsample a 1 kHz tone from 48 kHz to 8 kHz with the scalar and vector resamplers, in odd sized chunks.
+     *
+     * Success: the output length matches the resample ratio and the output tone has the input frequency and amplitude.
+     */
+    @Test
+    void testDownsampleTone()
+    {
+        for(Implementation implementation: IMPLEMENTATIONS)
+        {
+            assertTone(48000, 8000, implementation);
+        }
+    }
+
+    /**
+     * Test: downsample a tone above the output Nyquist frequency from 48 kHz to 8 kHz.
+     *
+     * Success: the tone is attenuated by the anti-aliasing filter instead of aliasing into the output.
+     */
+    @Test
+    void testDownsampleAliasRejection()
+    {
+        PolyphaseResampler resampler = ResamplerFactory.getResampler(48000, 8000, Implementation.SCALAR);
+        float[] input = getTone(6000.0, 48000, 48000);
+        float[] output = new float[resampler.getMaximumOutputLength(input.length)];
+        int length = resampler.resample(input, 0, input.length, output, 0);
+
+        double peak = 0.0;
+
+        //Skip the filter startup transient
+        for(int x = length / 4; x < length; x++)
+        {
+            peak = Math.max(peak, Math.abs(output[x]));
+        }
+
+        assertTrue(peak < 0.01, "Aliased tone should be attenuated, peak: " + peak);
+    }
+
+    /**
+     * Resamples one second of a 1 kHz tone in odd sized chunks and asserts the output length, frequency and amplitude.
+     */
+    private static void assertTone(int inputRate, int outputRate, Implementation implementation)
+    {
+        PolyphaseResampler resampler = ResamplerFactory.getResampler(inputRate, outputRate, implementation);
+        float[] input = getTone(TONE_FREQUENCY, inputRate, inputRate);
+        float[] output = new float[resampler.getMaximumOutputLength(input.length)];
+        int length = 0;
+
+        for(int offset = 0; offset < input.length; offset += CHUNK_SIZE)
+        {
+            int count = Math.min(CHUNK_SIZE, input.length - offset);
+            length += resampler.resample(input, offset, count, output, length);
+        }
+
+        PolyphaseFilterBank.Ratio ratio = PolyphaseFilterBank.getRatio(inputRate, outputRate);
+        long expectedLength = ((long)input.length * ratio.interpolation() + ratio.decimation() - 1) /
+            ratio.decimation();
+        assertEquals(expectedLength, length, implementation + " output length");
+
+        //Measure the frequency from the interpolated positive-going zero crossings, skipping the filter startup
+        int start = length / 4;
+        double firstCrossing = -1.0;
+        double lastCrossing = -1.0;
+        int crossings = 0;
+        double peak = 0.0;
+
+        for(int x = start + 1; x < length; x++)
+        {
+            peak = Math.max(peak, Math.abs(output[x]));
+
+            if(output[x - 1] < 0.0f && output[x] >= 0.0f)
+            {
+                double crossing = (x - 1) + (output[x - 1] / (output[x - 1] - output[x]));
+
+                if(firstCrossing < 0.0)
+                {
+                    firstCrossing = crossing;
+                }
+
+                lastCrossing = crossing;
+                crossings++;
+            }
+        }
+
+        double frequency = (crossings - 1) * (double)outputRate / (lastCrossing - firstCrossing);
+        assertEquals(TONE_FREQUENCY, frequency, 0.5, implementation + " output frequency");
+        assertEquals(1.0, peak, 0.02, implementation + " output amplitude");
+    }
+
+    /**
+     * Creates a unit amplitude tone.
+     */
+    private static float[] getTone(double frequency, double sampleRate, int length)
+    {
+        float[] samples = new float[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            samples[x] = (float)Math.sin(2.0 * Math.PI * frequency * x / sampleRate);
+        }
+
+        return samples;
+    }
+}
@@ -21,9 +21,14 @@ package io.github.dsheirer.edac.bch;
 
 import io.github.dsheirer.bits.CorrectedBinaryMessage;
 import io.github.dsheirer.bits.IntField;
+import io.github.dsheirer.source.tuner.test.P25P1FrameEncoder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
  * Tests for the BCH decoder for APCO25 NID fragments protected by a BCH(63,16,23) code
@@ -161,6 +166,69 @@ public class BCH_63_16_23_P25_Test
         return Collections.emptyList();
     }
 
+    /**
+     * Test: create NIDs with the P25 Phase 1 frame encoder for a range of NAC and DUID values, compare each NID to the
+     * NID created from the generator matrix and decode each NID with up to 11 random bit errors.
+     *
+     * Success: the encoder NIDs match the generator matrix NIDs and the decoder recovers the NAC and DUID values.
+     */
+    @Test
+    void testFrameEncoderNID()
+    {
+        BCH_63_16_23_P25 decoder = new BCH_63_16_23_P25();
+        Random random = new Random(44);
+
+        for(int nac: new int[]{0x001, 0x293, 0x7FF, 0xF7E, 0xFFF})
+        {
+            for(int duid: new int[]{0x0, 0x3, 0x5, 0x7, 0xA, 0xC, 0xF})
+            {
+                CorrectedBinaryMessage encoded = fromLong(P25P1FrameEncoder.getNID(nac, duid));
+                CorrectedBinaryMessage expected = create(nac, duid);
+                assertEquals(expected.getSubMessage(0, 63), encoded.getSubMessage(0, 63),
+                    "NID mismatch for NAC " + nac + " DUID " + duid);
+
+                for(int errorCount = 0; errorCount <= 11; errorCount++)
+                {
+                    CorrectedBinaryMessage corrupted = encoded.getSubMessage(0, 63);
+                    List<Integer> errors = new ArrayList<>();
+
+                    while(errors.size() < errorCount)
+                    {
+                        int error = random.nextInt(63);
+
+                        if(!errors.contains(error))
+                        {
+                            errors.add(error);
+                            corrupted.flip(error);
+                        }
+                    }
+
+                    decoder.decode(corrupted);
+                    assertEquals(nac, corrupted.getInt(NAC_FIELD), "NAC with bit errors " + errors);
+                    assertEquals(duid, corrupted.getInt(DUID_FIELD), "DUID with bit errors " + errors);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a message from the NID value where the first transmitted bit is in bit position 63.
+     */
+    private static CorrectedBinaryMessage fromLong(long nid)
+    {
+        CorrectedBinaryMessage message = new CorrectedBinaryMessage(64);
+
+        for(int x = 0; x < 64; x++)
+        {
+            if(((nid >> (63 - x)) & 1) == 1)
+            {
+                message.set(x);
+            }
+        }
+
+        return message;
+    }
+
     public static void main(String[] args)
     {
         System.out.println("Starting ....");
@@ -0,0 +1,106 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.p25.phase1;
+
+import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.message.IMessage;
+import io.github.dsheirer.source.tuner.test.P25P1FrameEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for P25 Phase 1 message framer timestamps.
+ */
+public class P25P1MessageFramerTest
+{
+    private static final int NAC = 0x293;
+    private static final int SYMBOL_RATE = 4800;
+
+    /**
+     * Test: anchor the framer to a sample buffer timestamp far in the past and feed encoded TSDU frames, then re-anchor
+     * the framer to a second timestamp and feed the same frames again.
+     *
+     * Success: every message timestamp falls between the anchor timestamp and the anchor plus the duration of the
+     * symbols fed since the anchor, and timestamps after the second anchor follow the new anchor and not the wall clock.
+     */
+    @Test
+    void testTimestampsFollowSampleTimestamps()
+    {
+        P25P1FrameEncoder encoder = new P25P1FrameEncoder(NAC);
+        int[] tsdu = encoder.getTSDU(P25P1FrameEncoder.getGroupVoiceChannelGrant(1, 100, 1234, 5678),
+                P25P1FrameEncoder.getRFSSStatusBroadcast(1, 2, 3, 1, 100));
+
+        List<IMessage> messages = new ArrayList<>();
+        P25P1MessageFramer framer = new P25P1MessageFramer(9600);
+        framer.setListener(messages::add);
+
+        long firstAnchor = 1_000_000L;
+        framer.setCurrentTime(firstAnchor);
+        int firstSymbolCount = feed(framer, tsdu, 3);
+        assertFalse(messages.isEmpty(), "Framer should decode messages from the encoded TSDU frames");
+        assertTimestamps(messages, firstAnchor, firstSymbolCount);
+
+        messages.clear();
+        long secondAnchor = 2_000_000L;
+        framer.setCurrentTime(secondAnchor);
+        int secondSymbolCount = feed(framer, tsdu, 2);
+        assertFalse(messages.isEmpty(), "Framer should decode messages after re-anchoring");
+        assertTimestamps(messages, secondAnchor, secondSymbolCount);
+    }
+
+    /**
+     * Feeds the dibit values to the framer the specified number of times.
+     * @return number of symbols fed
+     */
+    private static int feed(P25P1MessageFramer framer, int[] dibits, int repeats)
+    {
+        for(int x = 0; x < repeats; x++)
+        {
+            for(int value: dibits)
+            {
+                framer.receive(Dibit.fromValue(value));
+            }
+        }
+
+        return dibits.length * repeats;
+    }
+
+    /**
+     * Asserts that each message timestamp lies within the symbol span that followed the anchor timestamp and that
+     * timestamps do not decrease.
+     */
+    private static void assertTimestamps(List<IMessage> messages, long anchor, int symbolCount)
+    {
+        long maximum = anchor + (symbolCount * 1000L / SYMBOL_RATE) + 1;
+        long previous = anchor;
+
+        for(IMessage message: messages)
+        {
+            long timestamp = message.getTimestamp();
+            assertTrue(timestamp >= previous, "Timestamp " + timestamp + " should not precede " + previous);
+            assertTrue(timestamp <= maximum, "Timestamp " + timestamp + " should not exceed " + maximum);
+            previous = timestamp;
+        }
+    }
+}
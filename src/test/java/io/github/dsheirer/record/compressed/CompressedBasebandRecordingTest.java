@@ -0,0 +1,283 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.record.compressed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for the compressed baseband recording block codec, writer and reader.
+ */
+public class CompressedBasebandRecordingTest
+{
+    private static final double SAMPLE_RATE = 2_400_000.0;
+    private static final long FREQUENCY = 851_000_000L;
+    private static final long START_TIMESTAMP = 1_700_000_000_000L;
+    private static final int BLOCK_SIZE = CompressedBasebandWriter.DEFAULT_SAMPLES_PER_BLOCK;
+
+    /**
+     * Test: encode and decode blocks of 8, 12 and 16-bit noise, a slow tone, full scale alternating extremes that force
+     * residual escapes, and short blocks that are smaller than the predictor order.
+     *
+     * Success: every decoded block is identical to the encoded samples.
+     */
+    @Test
+    void testCodecRoundTrip() throws IOException
+    {
+        Random random = new Random(1234);
+
+        for(int bits: new int[]{8, 12, 16})
+        {
+            int maximum = (1 << (bits - 1)) - 1;
+            int[] samples = new int[BLOCK_SIZE * 2];
+
+            for(int x = 0; x < samples.length; x++)
+            {
+                samples[x] = random.nextInt(maximum * 2 + 1) - maximum;
+            }
+
+            assertCodecRoundTrip(samples, BLOCK_SIZE);
+        }
+
+        int[] tone = new int[BLOCK_SIZE * 2];
+
+        for(int x = 0; x < BLOCK_SIZE; x++)
+        {
+            tone[x * 2] = (int)(Math.cos(x * 0.01) * 30000);
+            tone[x * 2 + 1] = (int)(Math.sin(x * 0.01) * 30000);
+        }
+
+        assertCodecRoundTrip(tone, BLOCK_SIZE);
+
+        int[] extremes = new int[BLOCK_SIZE * 2];
+
+        for(int x = 0; x < extremes.length; x++)
+        {
+            extremes[x] = (x / 2) % 2 == 0 ? Short.MAX_VALUE : -Short.MAX_VALUE;
+        }
+
+        assertCodecRoundTrip(extremes, BLOCK_SIZE);
+
+        for(int count = 1; count <= 3; count++)
+        {
+            assertCodecRoundTrip(new int[]{100, -100, 2000, -2000, 32767, -32767}, count);
+        }
+    }
+
+    /**
+     * Test: write a multi-block recording in uneven buffer sizes, then read it back sequentially, after seeking by
+     * sample index and after seeking by timestamp.
+     *
+     * Success: the header values, block index, sample count, block timestamps and all sample values match what was
+     * written.
+     */
+    @Test
+    void testWriteReadRoundTrip() throws IOException
+    {
+        Path path = Files.createTempFile("compressed_baseband_test", CompressedBasebandWriter.FILE_EXTENSION);
+
+        try
+        {
+            short[] samples = writeRecording(path, BLOCK_SIZE * 3 + 1000);
+            int sampleCount = samples.length / 2;
+
+            try(CompressedBasebandReader reader = new CompressedBasebandReader(path))
+            {
+                assertEquals(SAMPLE_RATE, reader.getSampleRate());
+                assertEquals(FREQUENCY, reader.getFrequency());
+                assertEquals(16, reader.getBitsPerSample());
+                assertEquals(START_TIMESTAMP, reader.getStartTimestamp());
+                assertEquals(4, reader.getBlockCount());
+                assertEquals(sampleCount, reader.getSampleCount());
+                assertEquals(START_TIMESTAMP, reader.getTimestamp(0));
+
+                //Block timestamps are derived from millisecond buffer timestamps, so allow for truncation
+                long expectedTimestamp = START_TIMESTAMP + (long)(BLOCK_SIZE * 2 * 1000.0 / SAMPLE_RATE);
+                assertTrue(Math.abs(expectedTimestamp - reader.getTimestamp(BLOCK_SIZE * 2)) <= 1,
+                    "Block timestamp should be within 1 ms of " + expectedTimestamp);
+
+                assertSamples(samples, reader, 0, sampleCount);
+
+                long seekIndex = BLOCK_SIZE + 12345;
+                reader.seek(seekIndex);
+                assertEquals(seekIndex, reader.getPosition());
+                assertSamples(samples, reader, seekIndex, 5000);
+
+                reader.seekToTimestamp(reader.getTimestamp(BLOCK_SIZE * 2));
+                assertEquals(BLOCK_SIZE * 2, reader.getPosition());
+                assertSamples(samples, reader, BLOCK_SIZE * 2, 100);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Test: remove the block index and trailer from a closed recording to simulate a recording that was not closed
+     * normally.
+     *
+     * Success: the reader rebuilds the block index by scanning the block headers and reads all of the samples.
+     */
+    @Test
+    void testIndexRecovery() throws IOException
+    {
+        Path path = Files.createTempFile("compressed_baseband_test", CompressedBasebandWriter.FILE_EXTENSION);
+
+        try
+        {
+            short[] samples = writeRecording(path, BLOCK_SIZE * 2 + 500);
+
+            try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE))
+            {
+                ByteBuffer trailer = ByteBuffer.allocate(CompressedBasebandWriter.TRAILER_SIZE);
+                channel.read(trailer, channel.size() - CompressedBasebandWriter.TRAILER_SIZE);
+                channel.truncate(trailer.getLong(0));
+            }
+
+            try(CompressedBasebandReader reader = new CompressedBasebandReader(path))
+            {
+                assertEquals(3, reader.getBlockCount());
+                assertEquals(samples.length / 2, reader.getSampleCount());
+                assertSamples(samples, reader, 0, samples.length / 2);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Test: corrupt the bits per sample and the samples per block header values of a recording.
+     *
+     * Success: the reader rejects each corrupted recording with an IOException.
+     */
+    @Test
+    void testInvalidHeader() throws IOException
+    {
+        Path path = Files.createTempFile("compressed_baseband_test", CompressedBasebandWriter.FILE_EXTENSION);
+
+        try
+        {
+            //Header offsets: magic (8), version (4), sample rate (8), frequency (8), bits per sample, samples per block
+            int bitsPerSampleOffset = 28;
+            int samplesPerBlockOffset = 32;
+
+            for(int[] corruption: new int[][]{{bitsPerSampleOffset, 13}, {bitsPerSampleOffset, 0},
+                {samplesPerBlockOffset, 0}, {samplesPerBlockOffset, -1}, {samplesPerBlockOffset, Integer.MAX_VALUE}})
+            {
+                writeRecording(path, 1000);
+
+                try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+                {
+                    ByteBuffer value = ByteBuffer.allocate(4);
+                    value.putInt(corruption[1]);
+                    value.flip();
+                    channel.write(value, corruption[0]);
+                }
+
+                assertThrows(IOException.class, () -> new CompressedBasebandReader(path).close(),
+                    "Header value [" + corruption[1] + "] at offset [" + corruption[0] + "] should be rejected");
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Encodes and decodes the samples and verifies that the decoded samples are identical.
+     */
+    private static void assertCodecRoundTrip(int[] samples, int sampleCount) throws IOException
+    {
+        byte[] payload = BasebandBlockCodec.encode(samples, sampleCount);
+        int[] decoded = new int[sampleCount * 2];
+        BasebandBlockCodec.decode(payload, sampleCount, decoded);
+
+        int[] expected = new int[sampleCount * 2];
+        System.arraycopy(samples, 0, expected, 0, expected.length);
+        assertArrayEquals(expected, decoded);
+    }
+
+    /**
+     * Writes a recording of random 16-bit noise plus a tone, in buffers of varying size.
+     * @return the interleaved samples that were written
+     */
+    private static short[] writeRecording(Path path, int sampleCount) throws IOException
+    {
+        Random random = new Random(5678);
+        short[] samples = new short[sampleCount * 2];
+
+        for(int x = 0; x < sampleCount; x++)
+        {
+            samples[x * 2] = (short)(Math.cos(x * 0.05) * 10000 + random.nextInt(2001) - 1000);
+            samples[x * 2 + 1] = (short)(Math.sin(x * 0.05) * 10000 + random.nextInt(2001) - 1000);
+        }
+
+        try(CompressedBasebandWriter writer = new CompressedBasebandWriter(path, SAMPLE_RATE, FREQUENCY, 16,
+            START_TIMESTAMP))
+        {
+            int pointer = 0;
+            int bufferSize = 777;
+
+            while(pointer < sampleCount)
+            {
+                int length = Math.min(bufferSize, sampleCount - pointer);
+                short[] buffer = new short[length * 2];
+                System.arraycopy(samples, pointer * 2, buffer, 0, buffer.length);
+                writer.write(buffer, START_TIMESTAMP + (long)(pointer * 1000.0 / SAMPLE_RATE));
+                pointer += length;
+                bufferSize = bufferSize * 3 % 20011 + 1;
+            }
+        }
+
+        return samples;
+    }
+
+    /**
+     * Reads the samples from the reader's current position and compares them to the expected samples.
+     */
+    private static void assertSamples(short[] expected, CompressedBasebandReader reader, long start, int count)
+        throws IOException
+    {
+        float[] buffer = new float[count * 2];
+        assertEquals(count, reader.read(buffer));
+
+        for(int x = 0; x < buffer.length; x++)
+        {
+            assertEquals(expected[(int)(start * 2) + x], Math.round(buffer[x] * Short.MAX_VALUE),
+                "Sample mismatch at interleaved index " + ((start * 2) + x));
+        }
+    }
+}
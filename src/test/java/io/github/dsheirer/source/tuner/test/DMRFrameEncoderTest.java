@@ -0,0 +1,247 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.message.IMessage;
+import io.github.dsheirer.module.decode.dmr.DMRCrcMaskManager;
+import io.github.dsheirer.module.decode.dmr.DMRDecoder;
+import io.github.dsheirer.module.decode.dmr.DMRHardSymbolProcessor;
+import io.github.dsheirer.module.decode.dmr.DMRMessageFramer;
+import io.github.dsheirer.module.decode.dmr.DMRMessageProcessor;
+import io.github.dsheirer.module.decode.dmr.DecodeConfigDMR;
+import io.github.dsheirer.module.decode.dmr.channel.DMRChannel;
+import io.github.dsheirer.module.decode.dmr.message.data.csbk.standard.grant.TalkgroupVoiceChannelGrant;
+import io.github.dsheirer.module.decode.dmr.message.data.header.VoiceHeader;
+import io.github.dsheirer.module.decode.dmr.message.data.lc.full.GroupVoiceChannelUser;
+import io.github.dsheirer.module.decode.dmr.message.data.terminator.Terminator;
+import io.github.dsheirer.module.decode.dmr.message.type.DataType;
+import io.github.dsheirer.module.decode.dmr.message.voice.VoiceEMBMessage;
+import io.github.dsheirer.module.decode.dmr.message.voice.VoiceMessage;
+import io.github.dsheirer.sample.complex.ComplexSamples;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for the DMR Tier III synthetic burst encoder used by the load generator.
+ */
+public class DMRFrameEncoderTest
+{
+    private static final int COLOR_CODE = 1;
+    private static final int LCN = 7;
+    private static final int TIMESLOT = 2;
+    private static final int TALKGROUP = 1234;
+    private static final int SOURCE = 5678;
+    private static final long FREQUENCY = 851_012_500;
+    private static final double SAMPLE_RATE = 50000.0;
+
+    /**
+     * Test: feed the dibits of an encoded multi-block talkgroup voice channel grant on timeslot 1 and a voice call
+     * (voice header, voice super frame and terminator) on timeslot 2 to the DMR hard symbol processor, message framer
+     * and message processor.
+     *
+     * Success: the grant is reassembled with valid CRCs and carries the talkgroup, radio, timeslot and absolute
+     * frequency, the voice header and terminator carry valid group voice channel user link control and each voice
+     * burst is decoded in the correct timeslot.
+     */
+    @Test
+    void testBurstRoundTrip()
+    {
+        DMRCrcMaskManager crcMaskManager = new DMRCrcMaskManager(false);
+        DMRMessageFramer framer = new DMRMessageFramer(crcMaskManager);
+        DMRMessageProcessor processor = new DMRMessageProcessor(new DecodeConfigDMR(), crcMaskManager);
+        List<IMessage> messages = new ArrayList<>();
+        processor.setMessageListener(messages::add);
+        framer.setListener(processor);
+        framer.start();
+        DMRHardSymbolProcessor symbolProcessor = new DMRHardSymbolProcessor(framer);
+
+        for(int[] burst: getBursts())
+        {
+            for(int dibit: burst)
+            {
+                symbolProcessor.process(Dibit.fromValue(dibit));
+            }
+        }
+
+        assertDecoded(messages, 1);
+    }
+
+    /**
+     * Test: modulate the encoded grant and voice call bursts with the 4-FSK modulator using DMR deviation and
+     * demodulate the complex samples with the DMR decoder.
+     *
+     * Success: the grant, voice header, voice bursts and terminator are recovered with the encoded values.
+     */
+    @Test
+    void testModulatedRoundTrip()
+    {
+        List<int[]> bursts = getBursts();
+        int repeats = 3;
+        int[] pointer = {0};
+        float[][] tables = C4FMModulator.getLookupTables(0.5f);
+        C4FMModulator modulator = new C4FMModulator(SAMPLE_RATE, 0.0, C4FMModulator.DMR_DEVIATION_PER_LEVEL,
+                tables[0], tables[1], () -> pointer[0] < bursts.size() * repeats ?
+                bursts.get(pointer[0]++ % bursts.size()) : null);
+
+        List<IMessage> messages = new ArrayList<>();
+        DMRDecoder decoder = new DMRDecoder(new DecodeConfigDMR(), false);
+        decoder.setSampleRate(SAMPLE_RATE);
+        decoder.setMessageListener(messages::add);
+        decoder.start();
+
+        long timestamp = System.currentTimeMillis();
+        int bufferCount = (int)(bursts.size() * repeats * 0.03 * SAMPLE_RATE / 2048) + 4;
+
+        for(int buffer = 0; buffer < bufferCount; buffer++)
+        {
+            float[] interleaved = new float[4096];
+            modulator.modulate(interleaved);
+
+            float[] i = new float[interleaved.length / 2];
+            float[] q = new float[interleaved.length / 2];
+
+            for(int x = 0; x < i.length; x++)
+            {
+                i[x] = interleaved[x * 2];
+                q[x] = interleaved[x * 2 + 1];
+            }
+
+            decoder.receive(new ComplexSamples(i, q, timestamp));
+            timestamp += (long)(i.length * 1000 / SAMPLE_RATE);
+        }
+
+        decoder.stop();
+
+        //The first repetition may be lost while the demodulator acquires the signal
+        assertDecoded(messages, repeats - 1);
+    }
+
+    /**
+     * Creates a sequence of bursts with a multi-block talkgroup voice channel grant on timeslot 1 and a voice call
+     * (voice header, voice super frame and terminator) on timeslot 2.
+     */
+    private static List<int[]> getBursts()
+    {
+        DMRFrameEncoder encoder = new DMRFrameEncoder(COLOR_CODE);
+        List<int[]> bursts = new ArrayList<>();
+
+        //Idle bursts on both timeslots to establish the burst timing
+        for(int x = 0; x < 2; x++)
+        {
+            bursts.add(encoder.getDataBurst(1, DataType.SLOT_IDLE, DMRFrameEncoder.getIdle()));
+            bursts.add(encoder.getDataBurst(2, DataType.SLOT_IDLE, DMRFrameEncoder.getIdle()));
+        }
+
+        BinaryMessage[] grant = encoder.getTalkgroupVoiceChannelGrant(LCN, TIMESLOT, TALKGROUP, SOURCE, FREQUENCY);
+        bursts.add(encoder.getDataBurst(1, DataType.MBC_HEADER, grant[0]));
+        bursts.add(encoder.getDataBurst(2, DataType.VOICE_HEADER,
+                DMRFrameEncoder.getVoiceHeaderLinkControl(TALKGROUP, SOURCE)));
+        bursts.add(encoder.getDataBurst(1, DataType.MBC_BLOCK, grant[1]));
+
+        for(int frame = 0; frame < DMRFrameEncoder.getVoiceSuperFrameLength(); frame++)
+        {
+            bursts.add(encoder.getVoiceBurst(2, frame));
+            bursts.add(encoder.getDataBurst(1, DataType.SLOT_IDLE, DMRFrameEncoder.getIdle()));
+        }
+
+        bursts.add(encoder.getDataBurst(2, DataType.TLC, DMRFrameEncoder.getTerminatorLinkControl(TALKGROUP, SOURCE)));
+        bursts.add(encoder.getDataBurst(1, DataType.SLOT_IDLE, DMRFrameEncoder.getIdle()));
+        bursts.add(encoder.getDataBurst(2, DataType.SLOT_IDLE, DMRFrameEncoder.getIdle()));
+        return bursts;
+    }
+
+    /**
+     * Asserts that the decoded messages contain at least the minimum number of valid grants, voice headers and
+     * terminators with the encoded values, and a full voice super frame for each voice header.
+     */
+    private static void assertDecoded(List<IMessage> messages, int minimum)
+    {
+        int grants = 0;
+        int headers = 0;
+        int terminators = 0;
+        int voiceBursts = 0;
+
+        for(IMessage message: messages)
+        {
+            if(message instanceof TalkgroupVoiceChannelGrant channelGrant)
+            {
+                assertTrue(channelGrant.isValid(), "Grant should pass CRC check");
+                assertTrue(channelGrant.hasAbsoluteChannelParameters(), "Grant should carry absolute parameters");
+                assertEquals(TALKGROUP, channelGrant.getDestinationTalkgroup().getValue().intValue());
+                assertEquals(SOURCE, channelGrant.getSourceRadio().getValue().intValue());
+                DMRChannel channel = channelGrant.getChannel();
+                assertEquals(LCN, channel.getChannelNumber());
+                assertEquals(TIMESLOT, channel.getTimeslot());
+                assertEquals(FREQUENCY, channel.getDownlinkFrequency());
+                grants++;
+            }
+            else if(message instanceof VoiceHeader voiceHeader)
+            {
+                assertTrue(voiceHeader.isValid(), "Voice header should pass BPTC check");
+                assertEquals(TIMESLOT, voiceHeader.getTimeslot());
+                assertLinkControl(voiceHeader.getLCMessage());
+                headers++;
+            }
+            else if(message instanceof Terminator terminator)
+            {
+                assertTrue(terminator.isValid(), "Terminator should pass BPTC check");
+                assertEquals(TIMESLOT, terminator.getTimeslot());
+                assertLinkControl(terminator.getLCMessage());
+                terminators++;
+            }
+            else if(message instanceof VoiceMessage voice)
+            {
+                assertEquals(TIMESLOT, voice.getTimeslot());
+
+                if(voice instanceof VoiceEMBMessage emb)
+                {
+                    assertTrue(emb.getEMB().isValid(), "EMB should be valid");
+                    assertEquals(COLOR_CODE, emb.getEMB().getColorCode());
+                }
+
+                voiceBursts++;
+            }
+        }
+
+        assertTrue(grants >= minimum, "Expected decoded talkgroup voice channel grants: " + grants);
+        assertTrue(headers >= minimum, "Expected decoded voice headers: " + headers);
+        assertTrue(terminators >= minimum, "Expected decoded terminators: " + terminators);
+        assertTrue(voiceBursts >= minimum * DMRFrameEncoder.getVoiceSuperFrameLength(),
+                "Expected decoded voice bursts: " + voiceBursts);
+    }
+
+    /**
+     * Asserts that the link control is a valid group voice channel user message with the encoded talkgroup and radio.
+     */
+    private static void assertLinkControl(IMessage linkControl)
+    {
+        assertTrue(linkControl instanceof GroupVoiceChannelUser, "Expected group voice channel user link control");
+        GroupVoiceChannelUser user = (GroupVoiceChannelUser)linkControl;
+        assertTrue(user.isValid(), "Link control should pass RS(12,9) check");
+        assertEquals(TALKGROUP, user.getTalkgroup().getValue().intValue());
+        assertEquals(SOURCE, user.getRadio().getValue().intValue());
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.message.IMessage;
+import io.github.dsheirer.module.decode.p25.identifier.channel.APCO25Channel;
+import io.github.dsheirer.module.decode.p25.phase1.P25P1DecoderC4FM;
+import io.github.dsheirer.module.decode.p25.phase1.P25P1MessageFramer;
+import io.github.dsheirer.module.decode.p25.phase1.message.P25P1Message;
+import io.github.dsheirer.module.decode.p25.phase1.message.tsbk.standard.osp.FrequencyBandUpdateTDMA;
+import io.github.dsheirer.module.decode.p25.phase1.message.tsbk.standard.osp.GroupVoiceChannelGrant;
+import io.github.dsheirer.module.decode.p25.phase1.message.tsbk.standard.osp.RFSSStatusBroadcast;
+import io.github.dsheirer.sample.complex.ComplexSamples;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for the P25 Phase 1 synthetic frame encoder used by the load generator.
+ */
+public class P25P1FrameEncoderTest
+{
+    private static final int NAC = 0x293;
+    private static final int BAND = 1;
+    private static final int CHANNEL = 100;
+    private static final int TDMA_BAND = 2;
+    private static final long BASE_FREQUENCY = 851_006_250;
+    private static final int GROUP = 1234;
+    private static final int SOURCE = 5678;
+    private static final double SAMPLE_RATE = 50000.0;
+
+    /**
+     * Test: feed the dibits of encoded TSDU frames carrying a group voice channel grant and an RFSS status broadcast
+     * to the P25 Phase 1 message framer.
+     *
+     * Success: both TSBKs are decoded with valid CRCs and carry the encoded NAC, talkgroup, radio and channel values.
+     */
+    @Test
+    void testTSDUFramerRoundTrip()
+    {
+        int[] tsdu = getTSDU();
+
+        List<IMessage> messages = new ArrayList<>();
+        P25P1MessageFramer framer = new P25P1MessageFramer(9600);
+        framer.setListener(messages::add);
+        framer.setCurrentTime(System.currentTimeMillis());
+
+        for(int x = 0; x < 3; x++)
+        {
+            for(int value: tsdu)
+            {
+                framer.receive(Dibit.fromValue(value));
+            }
+        }
+
+        assertDecoded(messages);
+    }
+
+    /**
+     * Test: feed the dibits of an encoded TSDU frame carrying a TDMA identifier update to the P25 Phase 1 message
+     * framer.
+     *
+     * Success: the identifier update describes a two-slot TDMA band with the encoded base frequency and spacing, and
+     * resolves TDMA channel numbers to the frequency of the physical channel.
+     */
+    @Test
+    void testTDMAIdentifierUpdate()
+    {
+        P25P1FrameEncoder encoder = new P25P1FrameEncoder(NAC);
+        int[] tsdu = encoder.getTSDU(P25P1FrameEncoder.getIdentifierUpdateTDMA(TDMA_BAND, BASE_FREQUENCY, 12500));
+
+        List<IMessage> messages = new ArrayList<>();
+        P25P1MessageFramer framer = new P25P1MessageFramer(9600);
+        framer.setListener(messages::add);
+        framer.setCurrentTime(System.currentTimeMillis());
+
+        for(int x = 0; x < 3; x++)
+        {
+            for(int value: tsdu)
+            {
+                framer.receive(Dibit.fromValue(value));
+            }
+        }
+
+        int updates = 0;
+
+        for(IMessage message: messages)
+        {
+            if(message instanceof FrequencyBandUpdateTDMA update)
+            {
+                assertTrue(update.isValid(), "Identifier update should pass CRC check");
+                assertEquals(TDMA_BAND, update.getIdentifier());
+                assertTrue(update.isTDMA(), "Identifier update should describe a TDMA band");
+                assertEquals(2, update.getTimeslotCount());
+                assertEquals(BASE_FREQUENCY, update.getBaseFrequency());
+                assertEquals(12500, update.getChannelSpacing());
+                assertFalse(update.hasTransmitOffset(), "Identifier update should not have a transmit offset");
+                assertEquals(BASE_FREQUENCY + 12500 * 3, update.getDownlinkFrequency(6));
+                assertEquals(BASE_FREQUENCY + 12500 * 3, update.getDownlinkFrequency(7));
+                updates++;
+            }
+        }
+
+        assertTrue(updates > 0, "Expected decoded TDMA identifier updates");
+    }
+
+    /**
+     * Test: modulate encoded TSDU frames with the C4FM modulator and demodulate the complex samples with the P25
+     * Phase 1 C4FM decoder.
+     *
+     * Success: the group voice channel grant and RFSS status broadcast are recovered with the encoded NAC and values.
+     */
+    @Test
+    void testTSDUModulatedRoundTrip()
+    {
+        int[] tsdu = getTSDU();
+        int[] frames = {0};
+        float[][] tables = C4FMModulator.getLookupTables(0.5f);
+        C4FMModulator modulator = new C4FMModulator(SAMPLE_RATE, 0.0, tables[0], tables[1], () ->
+            frames[0]++ < 40 ? tsdu : null);
+
+        List<IMessage> messages = new ArrayList<>();
+        P25P1DecoderC4FM decoder = new P25P1DecoderC4FM();
+        decoder.setSampleRate(SAMPLE_RATE);
+        decoder.setMessageListener(messages::add);
+        decoder.start();
+
+        long timestamp = System.currentTimeMillis();
+
+        for(int buffer = 0; buffer < 100; buffer++)
+        {
+            float[] interleaved = new float[4096];
+            modulator.modulate(interleaved);
+
+            float[] i = new float[interleaved.length / 2];
+            float[] q = new float[interleaved.length / 2];
+
+            for(int x = 0; x < i.length; x++)
+            {
+                i[x] = interleaved[x * 2];
+                q[x] = interleaved[x * 2 + 1];
+            }
+
+            decoder.receive(new ComplexSamples(i, q, timestamp));
+            timestamp += (long)(i.length * 1000 / SAMPLE_RATE);
+        }
+
+        decoder.stop();
+
+        assertDecoded(messages);
+    }
+
+    /**
+     * Creates a TSDU frame with a group voice channel grant and an RFSS status broadcast.
+     */
+    private static int[] getTSDU()
+    {
+        P25P1FrameEncoder encoder = new P25P1FrameEncoder(NAC);
+        return encoder.getTSDU(P25P1FrameEncoder.getGroupVoiceChannelGrant(BAND, CHANNEL, GROUP, SOURCE),
+                P25P1FrameEncoder.getRFSSStatusBroadcast(1, 2, 3, BAND, CHANNEL));
+    }
+
+    /**
+     * Asserts that the decoded messages contain valid group voice channel grant and RFSS status broadcast TSBKs with
+     * the encoded values.
+     */
+    private static void assertDecoded(List<IMessage> messages)
+    {
+        int grants = 0;
+        int statusBroadcasts = 0;
+
+        for(IMessage message: messages)
+        {
+            if(message instanceof GroupVoiceChannelGrant grant)
+            {
+                assertTrue(grant.isValid(), "Grant should pass CRC check");
+                assertEquals(NAC, ((P25P1Message)grant).getNAC().getValue());
+                assertEquals(GROUP, grant.getGroupAddress().getValue());
+                assertEquals(SOURCE, grant.getSourceAddress().getValue());
+                APCO25Channel channel = grant.getChannel();
+                assertEquals(BAND, channel.getValue().getDownlinkBandIdentifier());
+                assertEquals(CHANNEL, channel.getValue().getDownlinkChannelNumber());
+                grants++;
+            }
+            else if(message instanceof RFSSStatusBroadcast status)
+            {
+                assertTrue(status.isValid(), "RFSS status broadcast should pass CRC check");
+                assertEquals(NAC, ((P25P1Message)status).getNAC().getValue());
+                statusBroadcasts++;
+            }
+        }
+
+        assertTrue(grants > 0, "Expected decoded group voice channel grants");
+        assertTrue(statusBroadcasts > 0, "Expected decoded RFSS status broadcasts");
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.message.IMessage;
+import io.github.dsheirer.module.decode.p25.phase2.DecodeConfigP25Phase2;
+import io.github.dsheirer.module.decode.p25.phase2.P25P2DecoderHDQPSK;
+import io.github.dsheirer.module.decode.p25.phase2.P25P2MessageFramer;
+import io.github.dsheirer.module.decode.p25.phase2.P25P2MessageProcessor;
+import io.github.dsheirer.module.decode.p25.phase2.enumeration.ScrambleParameters;
+import io.github.dsheirer.module.decode.p25.phase2.message.mac.MacMessage;
+import io.github.dsheirer.module.decode.p25.phase2.message.mac.MacPduType;
+import io.github.dsheirer.module.decode.p25.phase2.message.mac.structure.EndPushToTalk;
+import io.github.dsheirer.module.decode.p25.phase2.message.mac.structure.PushToTalk;
+import io.github.dsheirer.module.decode.p25.phase2.timeslot.Voice4Timeslot;
+import io.github.dsheirer.sample.complex.ComplexSamples;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for the P25 Phase 2 synthetic super frame fragment encoder used by the load generator.
+ */
+public class P25P2FrameEncoderTest
+{
+    private static final int WACN = 0xBEE00;
+    private static final int SYSTEM = 0x2A1;
+    private static final int NAC = 0x293;
+    private static final int GROUP = 1234;
+    private static final int SOURCE = 5678;
+    private static final int VOICE_TIMESLOTS = 12;
+    private static final double SAMPLE_RATE = 50000.0;
+
+    /**
+     * Test: feed the dibits of encoded super frame fragments carrying a call (MAC PTT, 4V voice and MAC END PTT) on
+     * logical channel 1 and MAC IDLE on logical channel 2 to the P25 Phase 2 message framer and message processor
+     * with the scrambling parameters.
+     *
+     * Success: the MAC PDUs pass the RS(63,35) and CRC-12 checks and carry the encoded talkgroup and radio, and the
+     * voice timeslots are descrambled and decoded on channel 1.
+     */
+    @Test
+    void testFragmentFramerRoundTrip()
+    {
+        List<IMessage> messages = new ArrayList<>();
+        P25P2MessageFramer framer = new P25P2MessageFramer(null);
+        framer.setScrambleParameters(new ScrambleParameters(WACN, SYSTEM, NAC));
+        P25P2MessageProcessor processor = new P25P2MessageProcessor();
+        processor.setMessageListener(messages::add);
+        framer.setListener(processor);
+        framer.setTimestamp(System.currentTimeMillis());
+
+        for(int[] fragment: getFragments())
+        {
+            for(int dibit: fragment)
+            {
+                framer.receive(Dibit.fromValue(dibit));
+            }
+        }
+
+        assertDecoded(messages, 1);
+    }
+
+    /**
+     * Test: modulate the encoded super frame fragments with the H-DQPSK modulator and demodulate the complex samples
+     * with the P25 Phase 2 H-DQPSK decoder configured with the scrambling parameters.
+     *
+     * Success: the MAC PTT, voice timeslots and MAC END PTT are recovered with the encoded values.
+     */
+    @Test
+    void testFragmentModulatedRoundTrip()
+    {
+        List<int[]> fragments = getFragments();
+        int repeats = 3;
+        int[] pointer = {0};
+        HDQPSKModulator modulator = new HDQPSKModulator(SAMPLE_RATE, 0.0, 0.5f, () ->
+            pointer[0] < fragments.size() * repeats ? fragments.get(pointer[0]++ % fragments.size()) : null);
+
+        DecodeConfigP25Phase2 config = new DecodeConfigP25Phase2();
+        config.setScrambleParameters(new ScrambleParameters(WACN, SYSTEM, NAC));
+        config.setAutoDetectScrambleParameters(false);
+        List<IMessage> messages = new ArrayList<>();
+        P25P2DecoderHDQPSK decoder = new P25P2DecoderHDQPSK(config);
+        decoder.setSampleRate(SAMPLE_RATE);
+        decoder.setMessageListener(messages::add);
+        decoder.start();
+
+        long timestamp = System.currentTimeMillis();
+        int samples = (int)(fragments.size() * repeats * P25P2FrameEncoder.FRAGMENT_DIBITS * SAMPLE_RATE / 6000);
+        int bufferCount = (samples / 2048) + 4;
+
+        for(int buffer = 0; buffer < bufferCount; buffer++)
+        {
+            float[] interleaved = new float[4096];
+            modulator.modulate(interleaved);
+
+            float[] i = new float[interleaved.length / 2];
+            float[] q = new float[interleaved.length / 2];
+
+            for(int x = 0; x < i.length; x++)
+            {
+                i[x] = interleaved[x * 2];
+                q[x] = interleaved[x * 2 + 1];
+            }
+
+            decoder.receive(new ComplexSamples(i, q, timestamp));
+            timestamp += (long)(i.length * 1000 / SAMPLE_RATE);
+        }
+
+        decoder.stop();
+
+        //The first repetition may be lost while the demodulator acquires the signal
+        assertDecoded(messages, repeats - 1);
+    }
+
+    /**
+     * Creates a sequence of super frame fragments with a call on logical channel 1 and an idle logical channel 2.
+     */
+    private static List<int[]> getFragments()
+    {
+        P25P2FrameEncoder encoder = new P25P2FrameEncoder(WACN, SYSTEM, NAC);
+        BinaryMessage idle = encoder.getFacchTimeslot(P25P2FrameEncoder.getIdle());
+        List<BinaryMessage> channel1 = new ArrayList<>();
+        List<BinaryMessage> channel2 = new ArrayList<>();
+
+        //Idle timeslots to establish the fragment timing
+        for(int x = 0; x < 6; x++)
+        {
+            channel1.add(idle);
+        }
+
+        BinaryMessage ptt = encoder.getFacchTimeslot(P25P2FrameEncoder.getPushToTalk(GROUP, SOURCE));
+        channel1.add(ptt);
+        channel1.add(ptt);
+
+        for(int x = 0; x < VOICE_TIMESLOTS; x++)
+        {
+            channel1.add(P25P2FrameEncoder.getVoiceTimeslot());
+        }
+
+        BinaryMessage end = encoder.getFacchTimeslot(encoder.getEndPushToTalk(GROUP, SOURCE));
+        channel1.add(end);
+        channel1.add(end);
+
+        while(channel1.size() % (P25P2FrameEncoder.FRAGMENTS_PER_SUPERFRAME * 2) != 0)
+        {
+            channel1.add(idle);
+        }
+
+        while(channel2.size() < channel1.size())
+        {
+            channel2.add(idle);
+        }
+
+        List<int[]> fragments = new ArrayList<>();
+
+        for(int x = 0; x < channel1.size() / 2; x++)
+        {
+            int fragment = x % P25P2FrameEncoder.FRAGMENTS_PER_SUPERFRAME;
+            int superframe = (x / P25P2FrameEncoder.FRAGMENTS_PER_SUPERFRAME) % 4;
+            fragments.add(encoder.getFragment(fragment, superframe,
+                new BinaryMessage[]{channel1.get(x * 2), channel1.get(x * 2 + 1)},
+                new BinaryMessage[]{channel2.get(x * 2), channel2.get(x * 2 + 1)}));
+        }
+
+        return fragments;
+    }
+
+    /**
+     * Asserts that the decoded messages contain at least the minimum number of MAC PTT and MAC END PTT PDUs that pass
+     * the RS(63,35) and CRC checks with the encoded values and the encoded voice timeslots on channel 1.
+     */
+    private static void assertDecoded(List<IMessage> messages, int minimum)
+    {
+        int ptt = 0;
+        int end = 0;
+        int idle = 0;
+        int voice = 0;
+
+        for(IMessage message: messages)
+        {
+            //Fragments received while the demodulator is acquiring the signal may fail the RS(63,35) or CRC checks
+            if(message instanceof MacMessage mac && mac.isValid())
+            {
+                if(mac.getMacStructure() instanceof PushToTalk pushToTalk)
+                {
+                    assertEquals(1, mac.getTimeslot());
+                    assertFalse(pushToTalk.isEncrypted(), "Call should be unencrypted");
+                    assertEquals(GROUP, pushToTalk.getGroupAddress().getValue());
+                    assertEquals(SOURCE, pushToTalk.getSourceAddress().getValue());
+                    ptt++;
+                }
+                else if(mac.getMacStructure() instanceof EndPushToTalk endPushToTalk)
+                {
+                    assertEquals(1, mac.getTimeslot());
+                    assertEquals(GROUP, endPushToTalk.getGroupAddress().getValue());
+                    assertEquals(SOURCE, endPushToTalk.getSourceAddress().getValue());
+                    end++;
+                }
+                else if(mac.getMacPduType() == MacPduType.MAC_3_IDLE)
+                {
+                    idle++;
+                }
+            }
+            else if(message instanceof Voice4Timeslot voice4Timeslot)
+            {
+                assertEquals(1, voice4Timeslot.getTimeslot());
+                voice++;
+            }
+        }
+
+        assertTrue(ptt >= minimum * 2, "Expected decoded MAC PTT PDUs: " + ptt);
+        assertTrue(end >= minimum * 2, "Expected decoded MAC END PTT PDUs: " + end);
+        assertTrue(idle > 0, "Expected decoded MAC IDLE PDUs");
+        assertTrue(voice >= minimum * VOICE_TIMESLOTS, "Expected decoded voice timeslots: " + voice);
+    }
+}
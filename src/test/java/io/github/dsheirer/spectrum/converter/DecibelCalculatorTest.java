@@ -0,0 +1,211 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.spectrum.converter;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JUnit tests comparing the vector (SIMD) decibel calculator to the scalar decibel calculator.
+ */
+public class DecibelCalculatorTest
+{
+    private static final float TOLERANCE_DB = 1e-5f;
+    private static final int DFT_SIZE = 4096;
+    private static final float SCALE = 1.0f / (DFT_SIZE * DFT_SIZE);
+    //Not a multiple of any vector lane count, so that the scalar tail is exercised
+    private static final int LENGTH = DFT_SIZE - 3;
+    private static final int BIN_OFFSET = 1;
+    private static final int OUTPUT_OFFSET = 2;
+    private static final float GAIN = 0.25f;
+
+    private final IDecibelCalculator mScalar = new ScalarDecibelCalculator(DecibelCalculatorFactory.POWER);
+    private final IDecibelCalculator mVector = new VectorDecibelCalculator(DecibelCalculatorFactory.POWER);
+
+    /**
+     * Test: convert DFT bins spanning a wide range of magnitudes with both calculators.
+     *
+     * Success: vector output matches scalar output within 1e-5 dB (or one float ulp beyond +/-128 dB) for every bin,
+     * including the scalar tail.
+     */
+    @Test
+    void testConversion()
+    {
+        float[] bins = getBins(new Random(1));
+        float[] scalarOutput = new float[DFT_SIZE];
+        float[] vectorOutput = new float[DFT_SIZE];
+
+        mScalar.convert(bins, BIN_OFFSET, LENGTH, SCALE, scalarOutput, OUTPUT_OFFSET, null, 0.0f, false);
+        mVector.convert(bins, BIN_OFFSET, LENGTH, SCALE, vectorOutput, OUTPUT_OFFSET, null, 0.0f, false);
+
+        assertMatches(scalarOutput, vectorOutput, "conversion");
+    }
+
+    /**
+     * Test: convert several frames of DFT bins with exponential averaging using both calculators.
+     *
+     * Success: the vector running averages are the exact exponential average of the vector decibel values and match
+     * the scalar running averages within 1e-5 dB plus one float ulp for the rounding accumulated by the average.
+     */
+    @Test
+    void testAveraging()
+    {
+        Random random = new Random(2);
+        float[] scalarOutput = new float[DFT_SIZE];
+        float[] vectorOutput = new float[DFT_SIZE];
+        float[] frameOutput = new float[DFT_SIZE];
+        float[] scalarAverages = new float[DFT_SIZE];
+        Arrays.fill(scalarAverages, -100.0f);
+        float[] vectorAverages = scalarAverages.clone();
+        float[] expectedAverages = scalarAverages.clone();
+
+        for(int frame = 0; frame < 8; frame++)
+        {
+            float[] bins = getBins(random);
+            mScalar.convert(bins, BIN_OFFSET, LENGTH, SCALE, scalarOutput, OUTPUT_OFFSET, scalarAverages, GAIN, false);
+            mVector.convert(bins, BIN_OFFSET, LENGTH, SCALE, vectorOutput, OUTPUT_OFFSET, vectorAverages, GAIN, false);
+            mVector.convert(bins, BIN_OFFSET, LENGTH, SCALE, frameOutput, OUTPUT_OFFSET, null, 0.0f, false);
+
+            for(int x = OUTPUT_OFFSET; x < OUTPUT_OFFSET + LENGTH; x++)
+            {
+                expectedAverages[x] += (frameOutput[x] - expectedAverages[x]) * GAIN;
+            }
+        }
+
+        for(int x = OUTPUT_OFFSET; x < OUTPUT_OFFSET + LENGTH; x++)
+        {
+            assertEquals(expectedAverages[x], vectorAverages[x], "Vector average at index " + x);
+            assertEquals(vectorAverages[x], vectorOutput[x], "Vector averaged output at index " + x);
+
+            float tolerance = Math.max(TOLERANCE_DB, Math.ulp(scalarAverages[x])) + Math.ulp(scalarAverages[x]);
+            assertEquals(scalarAverages[x], vectorAverages[x], tolerance, "Average at index " + x);
+            assertEquals(scalarAverages[x], scalarOutput[x], "Scalar averaged output at index " + x);
+        }
+    }
+
+    /**
+     * Test: convert several frames of DFT bins with peak hold using both calculators.
+     *
+     * Success: the vector output matches the scalar output within 1e-5 dB and retains the peak value of each bin.
+     */
+    @Test
+    void testPeakHold()
+    {
+        Random random = new Random(3);
+        float[] scalarOutput = new float[DFT_SIZE];
+        Arrays.fill(scalarOutput, IDecibelCalculator.ZERO_POWER_DECIBELS);
+        float[] vectorOutput = scalarOutput.clone();
+        float[] peaks = scalarOutput.clone();
+        float[] frame = scalarOutput.clone();
+
+        for(int x = 0; x < 8; x++)
+        {
+            float[] bins = getBins(random);
+            mScalar.convert(bins, BIN_OFFSET, LENGTH, SCALE, scalarOutput, OUTPUT_OFFSET, null, 0.0f, true);
+            mVector.convert(bins, BIN_OFFSET, LENGTH, SCALE, vectorOutput, OUTPUT_OFFSET, null, 0.0f, true);
+            mScalar.convert(bins, BIN_OFFSET, LENGTH, SCALE, frame, OUTPUT_OFFSET, null, 0.0f, false);
+
+            for(int y = 0; y < DFT_SIZE; y++)
+            {
+                peaks[y] = Math.max(peaks[y], frame[y]);
+            }
+        }
+
+        assertMatches(scalarOutput, vectorOutput, "peak hold");
+        assertMatches(peaks, scalarOutput, "peak values");
+    }
+
+    /**
+     * Test: convert bins with zero, subnormal and smallest normal power in both the vector lanes and the scalar tail.
+     *
+     * Success: both calculators output the zero power decibel value for zero and subnormal power and a finite value
+     * for the smallest normal power.
+     */
+    @Test
+    void testZeroAndSubnormalPower()
+    {
+        float subnormal = (float)Math.sqrt(Float.MIN_NORMAL / 4.0);
+        float normal = (float)Math.sqrt(Float.MIN_NORMAL) * 1.001f;
+        float[] bins = new float[DFT_SIZE * 2];
+
+        for(int x = 0; x < DFT_SIZE; x++)
+        {
+            switch(x % 4)
+            {
+                case 0 -> bins[x * 2] = 0.0f;
+                case 1 -> bins[x * 2] = Float.MIN_VALUE;
+                case 2 -> bins[x * 2 + 1] = subnormal;
+                default -> bins[x * 2] = normal;
+            }
+        }
+
+        float[] scalarOutput = new float[DFT_SIZE];
+        float[] vectorOutput = new float[DFT_SIZE];
+        mScalar.convert(bins, 0, LENGTH, 1.0f, scalarOutput, 0, null, 0.0f, false);
+        mVector.convert(bins, 0, LENGTH, 1.0f, vectorOutput, 0, null, 0.0f, false);
+
+        for(int x = 0; x < LENGTH; x++)
+        {
+            if(x % 4 == 3)
+            {
+                float expected = 10.0f * (float)Math.log10(normal * normal);
+                assertEquals(expected, scalarOutput[x], 1e-4f, "Scalar normal power at bin " + x);
+                assertEquals(expected, vectorOutput[x], 1e-4f, "Vector normal power at bin " + x);
+            }
+            else
+            {
+                assertEquals(IDecibelCalculator.ZERO_POWER_DECIBELS, scalarOutput[x], "Scalar zero power at bin " + x);
+                assertEquals(IDecibelCalculator.ZERO_POWER_DECIBELS, vectorOutput[x], "Vector zero power at bin " + x);
+            }
+        }
+    }
+
+    /**
+     * Creates interleaved complex DFT bins with magnitudes spanning about 140 dB.
+     */
+    private static float[] getBins(Random random)
+    {
+        float[] bins = new float[(DFT_SIZE + BIN_OFFSET) * 2];
+
+        for(int x = 0; x < bins.length; x++)
+        {
+            float magnitude = (float)Math.pow(10.0, random.nextDouble() * 7.0 - 3.0);
+            bins[x] = (float)random.nextGaussian() * magnitude;
+        }
+
+        return bins;
+    }
+
+    /**
+     * Asserts that the actual values match the expected values within the tolerance, or within one float ulp for
+     * values where the float resolution is coarser than the tolerance.
+     */
+    private static void assertMatches(float[] expected, float[] actual, String label)
+    {
+        for(int x = 0; x < expected.length; x++)
+        {
+            float tolerance = Math.max(TOLERANCE_DB, Math.ulp(expected[x]));
+            assertEquals(expected[x], actual[x], tolerance, label + " at index " + x);
+        }
+    }
+}